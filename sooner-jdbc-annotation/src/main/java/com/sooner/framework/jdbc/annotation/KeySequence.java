@@ -51,4 +51,19 @@ public @interface KeySequence {
      */
     Class clazz() default Long.class;
 
+    /**
+     * <p>
+     * 每次从数据库获取的序列值个数，大于 1 时在内存中分配，批量插入减少一次查询序列的往返
+     * </p>
+     */
+    int allocationSize() default 1;
+
+    /**
+     * <p>
+     * 序列 INCREMENT BY 与 allocationSize 一致，一次 NEXTVAL 预留整段序列值；
+     * 否则单次查询多行获取 allocationSize 个序列值
+     * </p>
+     */
+    boolean pooled() default false;
+
 }
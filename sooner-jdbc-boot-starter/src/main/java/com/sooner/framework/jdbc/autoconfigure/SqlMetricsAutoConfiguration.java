@@ -0,0 +1,78 @@
+package com.sooner.framework.jdbc.autoconfigure;
+
+import java.io.File;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.sooner.framework.jdbc.extension.plugins.SqlMetricsInterceptor;
+import com.sooner.framework.jdbc.extension.plugins.metrics.JmxSqlMetricsExporter;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SlowQueryJournal;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetricsExporter;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-Configuration}
+ * for SQL execution metrics. Enabled by {@code mybatis-plus.metrics.enabled=true}, contributes a
+ * {@link SqlMetricsInterceptor} which is picked up by {@link MybatisPlusAutoConfiguration},
+ * exports it as a JMX MBean keyed by data source name and starts every {@link SqlMetricsExporter}
+ * bean. Slow queries are written to a {@link SlowQueryJournal} when
+ * {@code mybatis-plus.metrics.journal-file} is set.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnClass(SqlSessionFactory.class)
+@ConditionalOnProperty(prefix = "mybatis-plus.metrics", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlMetricsProperties.class)
+@AutoConfigureBefore(MybatisPlusAutoConfiguration.class)
+public class SqlMetricsAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public SqlMetricsInterceptor sqlMetricsInterceptor(SqlMetricsProperties properties,
+                                                       ObjectProvider<List<SqlMetricsExporter>> exportersProvider,
+                                                       ListableBeanFactory beanFactory) {
+        SqlMetricsInterceptor interceptor = new SqlMetricsInterceptor();
+        interceptor.setSlowMillis(properties.getSlowMillis());
+        interceptor.setSlowSampleRate(properties.getSlowSampleRate());
+        if (properties.isJmx()) {
+            interceptor.addExporter(new JmxSqlMetricsExporter(properties.getJmxObjectName(),
+                jmxDataSource(properties, beanFactory)));
+        }
+        if (StringUtils.hasText(properties.getJournalFile())) {
+            SlowQueryJournal journal = new SlowQueryJournal(new File(properties.getJournalFile()),
+                properties.getJournalCapacity());
+            journal.setMaxFileSize(properties.getJournalMaxFileSize());
+            journal.setMaxHistory(properties.getJournalMaxHistory());
+            journal.setFormat(properties.isJournalFormat());
+            journal.start();
+            interceptor.setSlowQueryJournal(journal);
+        }
+        List<SqlMetricsExporter> exporters = exportersProvider.getIfAvailable();
+        if (exporters != null) {
+            exporters.forEach(interceptor::addExporter);
+        }
+        return interceptor;
+    }
+
+    private String jmxDataSource(SqlMetricsProperties properties, ListableBeanFactory beanFactory) {
+        if (StringUtils.hasText(properties.getJmxDataSource())) {
+            return properties.getJmxDataSource();
+        }
+        String[] names = beanFactory.getBeanNamesForType(DataSource.class, false, false);
+        return names.length == 1 ? names[0] : JmxSqlMetricsExporter.DEFAULT_DATA_SOURCE;
+    }
+}
@@ -0,0 +1,159 @@
+package com.sooner.framework.jdbc.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.sooner.framework.jdbc.extension.plugins.metrics.JmxSqlMetricsExporter;
+
+/**
+ * Configuration properties for SQL execution metrics.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "mybatis-plus.metrics")
+public class SqlMetricsProperties {
+
+    /**
+     * Whether to collect SQL execution metrics.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Executions slower than this (milliseconds) are counted as slow queries.
+     */
+    private long slowMillis = 1000;
+
+    /**
+     * Fraction (0 ~ 1) of slow queries whose SQL text is captured.
+     */
+    private double slowSampleRate = 0.1;
+
+    /**
+     * Whether to export the metrics as a JMX MBean.
+     */
+    private boolean jmx = true;
+
+    /**
+     * Object name of the JMX MBean.
+     */
+    private String jmxObjectName = JmxSqlMetricsExporter.DEFAULT_OBJECT_NAME;
+
+    /**
+     * Value of the "datasource" key appended to the JMX object name, defaults to the name of
+     * the DataSource bean when there is exactly one.
+     */
+    private String jmxDataSource;
+
+    /**
+     * File the slow query journal is written to, no journal if not set.
+     */
+    private String journalFile;
+
+    /**
+     * Number of slow queries buffered before new ones are dropped.
+     */
+    private int journalCapacity = 1024;
+
+    /**
+     * Size (bytes) after which the journal file is rolled over.
+     */
+    private long journalMaxFileSize = 10 * 1024 * 1024;
+
+    /**
+     * Number of rolled over journal files to keep.
+     */
+    private int journalMaxHistory = 5;
+
+    /**
+     * Whether to format the SQL written to the journal.
+     */
+    private boolean journalFormat = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowMillis() {
+        return slowMillis;
+    }
+
+    public void setSlowMillis(long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    public double getSlowSampleRate() {
+        return slowSampleRate;
+    }
+
+    public void setSlowSampleRate(double slowSampleRate) {
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    public boolean isJmx() {
+        return jmx;
+    }
+
+    public void setJmx(boolean jmx) {
+        this.jmx = jmx;
+    }
+
+    public String getJmxObjectName() {
+        return jmxObjectName;
+    }
+
+    public void setJmxObjectName(String jmxObjectName) {
+        this.jmxObjectName = jmxObjectName;
+    }
+
+    public String getJmxDataSource() {
+        return jmxDataSource;
+    }
+
+    public void setJmxDataSource(String jmxDataSource) {
+        this.jmxDataSource = jmxDataSource;
+    }
+
+    public String getJournalFile() {
+        return journalFile;
+    }
+
+    public void setJournalFile(String journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    public int getJournalCapacity() {
+        return journalCapacity;
+    }
+
+    public void setJournalCapacity(int journalCapacity) {
+        this.journalCapacity = journalCapacity;
+    }
+
+    public long getJournalMaxFileSize() {
+        return journalMaxFileSize;
+    }
+
+    public void setJournalMaxFileSize(long journalMaxFileSize) {
+        this.journalMaxFileSize = journalMaxFileSize;
+    }
+
+    public int getJournalMaxHistory() {
+        return journalMaxHistory;
+    }
+
+    public void setJournalMaxHistory(int journalMaxHistory) {
+        this.journalMaxHistory = journalMaxHistory;
+    }
+
+    public boolean isJournalFormat() {
+        return journalFormat;
+    }
+
+    public void setJournalFormat(boolean journalFormat) {
+        this.journalFormat = journalFormat;
+    }
+}
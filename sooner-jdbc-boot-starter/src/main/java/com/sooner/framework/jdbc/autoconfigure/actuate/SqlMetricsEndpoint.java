@@ -0,0 +1,43 @@
+package com.sooner.framework.jdbc.autoconfigure.actuate;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetrics;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetricsSnapshot;
+
+/**
+ * {@link Endpoint} exposing the SQL execution metrics collected by
+ * {@link com.sooner.framework.jdbc.extension.plugins.SqlMetricsInterceptor}.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@Endpoint(id = "sqlmetrics")
+public class SqlMetricsEndpoint {
+
+    private final SqlMetrics sqlMetrics;
+
+    public SqlMetricsEndpoint(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @ReadOperation
+    public List<SqlMetricsSnapshot> statements() {
+        return sqlMetrics.getSnapshots();
+    }
+
+    @ReadOperation
+    public SqlMetricsSnapshot statement(@Selector String id) {
+        return sqlMetrics.getSnapshot(id);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlMetrics.reset();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sooner.framework.jdbc.autoconfigure.actuate;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.sooner.framework.jdbc.autoconfigure.SqlMetricsAutoConfiguration;
+import com.sooner.framework.jdbc.extension.plugins.SqlMetricsInterceptor;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-Configuration}
+ * for the {@link SqlMetricsEndpoint}. Only applies when spring-boot-actuator is on the classpath
+ * and SQL execution metrics are enabled.
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnBean(SqlMetricsInterceptor.class)
+@AutoConfigureAfter(SqlMetricsAutoConfiguration.class)
+public class SqlMetricsEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SqlMetricsEndpoint sqlMetricsEndpoint(SqlMetricsInterceptor sqlMetricsInterceptor) {
+        return new SqlMetricsEndpoint(sqlMetricsInterceptor.getSqlMetrics());
+    }
+}
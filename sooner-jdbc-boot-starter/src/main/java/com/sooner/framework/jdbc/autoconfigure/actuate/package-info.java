@@ -0,0 +1,4 @@
+/**
+ * Spring Boot Actuator Endpoint
+ */
+package com.sooner.framework.jdbc.autoconfigure.actuate;
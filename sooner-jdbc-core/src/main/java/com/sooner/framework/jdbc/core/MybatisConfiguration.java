@@ -15,12 +15,26 @@
  */
 package com.sooner.framework.jdbc.core;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import com.sooner.framework.jdbc.core.config.GlobalConfig;
+import com.sooner.framework.jdbc.core.toolkit.Constants;
 import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
 import org.apache.ibatis.binding.MapperRegistry;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 
 /**
@@ -44,6 +58,10 @@ public class MybatisConfiguration extends Configuration {
      * Mapper 注册
      */
     public final MybatisMapperRegistry mybatisMapperRegistry = new MybatisMapperRegistry(this);
+    /**
+     * 全局配置
+     */
+    private volatile GlobalConfig globalConfig;
 
     /**
      * 初始化调用
@@ -91,6 +109,42 @@ public class MybatisConfiguration extends Configuration {
         super.addMappedStatement(ms);
     }
 
+    /**
+     * <p>
+     * 参数包含 Constants.FETCH_SIZE 时覆盖语句 fetchSize（游标查询按次指定）
+     * </p>
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public StatementHandler newStatementHandler(Executor executor, MappedStatement mappedStatement, Object parameterObject,
+                                                RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+        if (parameterObject instanceof Map && ((Map) parameterObject).containsKey(Constants.FETCH_SIZE)) {
+            Object fetchSize = ((Map) parameterObject).get(Constants.FETCH_SIZE);
+            if (fetchSize instanceof Integer) {
+                StatementHandler statementHandler = new RoutingStatementHandler(executor, mappedStatement,
+                    parameterObject, rowBounds, resultHandler, boundSql) {
+                    @Override
+                    public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
+                        Statement statement = super.prepare(connection, transactionTimeout);
+                        try {
+                            statement.setFetchSize((Integer) fetchSize);
+                        } catch (SQLException e) {
+                            try {
+                                statement.close();
+                            } catch (SQLException ignored) {
+                                // ignore
+                            }
+                            throw new ExecutorException("Error setting fetch size. Cause: " + e, e);
+                        }
+                        return statement;
+                    }
+                };
+                return (StatementHandler) interceptorChain.pluginAll(statementHandler);
+            }
+        }
+        return super.newStatementHandler(executor, mappedStatement, parameterObject, rowBounds, resultHandler, boundSql);
+    }
+
     @Override
     public void setDefaultScriptingLanguage(Class<?> driver) {
         if (driver == null) {
@@ -140,4 +194,12 @@ public class MybatisConfiguration extends Configuration {
         super.setMapUnderscoreToCamelCase(mapUnderscoreToCamelCase);
         this.mapUnderscoreToCamelCase = mapUnderscoreToCamelCase;
     }
+
+    public GlobalConfig getGlobalConfig() {
+        return globalConfig;
+    }
+
+    public void setGlobalConfig(GlobalConfig globalConfig) {
+        this.globalConfig = globalConfig;
+    }
 }
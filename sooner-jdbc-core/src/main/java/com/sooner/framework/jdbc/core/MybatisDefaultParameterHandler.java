@@ -17,6 +17,7 @@ package com.sooner.framework.jdbc.core;
 
 import com.sooner.framework.jdbc.annotation.IdType;
 import com.sooner.framework.jdbc.core.handlers.MetaObjectHandler;
+import com.sooner.framework.jdbc.core.metadata.EntityAccessor;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.*;
 import org.apache.ibatis.executor.ErrorContext;
@@ -54,6 +55,10 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
     private final Object parameterObject;
     private final BoundSql boundSql;
     private final Configuration configuration;
+    /**
+     * 参数元对象，按需创建
+     */
+    private MetaObject metaObject;
 
     public MybatisDefaultParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
         super(mappedStatement, processBatch(mappedStatement, parameterObject), boundSql);
@@ -111,16 +116,20 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
             Collection<Object> parameters = getParameters(parameterObject);
             if (null != parameters) {
                 List<Object> objList = new ArrayList<>();
+                IdBatch idBatch = isInsert ? new IdBatch(parameters.size()) : null;
                 for (Object parameter : parameters) {
                     TableInfo tableInfo = TableInfoHelper.getTableInfo(parameter.getClass());
                     if (null != tableInfo) {
-                        objList.add(populateKeys(metaObjectHandler, tableInfo, ms, parameter, isInsert));
+                        objList.add(populateKeys(metaObjectHandler, tableInfo, ms, parameter, isInsert, idBatch));
                     } else {
                         /*
                          * 非表映射类不处理
                          */
                         objList.add(parameter);
                     }
+                    if (null != idBatch) {
+                        idBatch.advance();
+                    }
                 }
                 return objList;
             } else {
@@ -193,28 +202,50 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
      */
     protected static Object populateKeys(MetaObjectHandler metaObjectHandler, TableInfo tableInfo,
                                          MappedStatement ms, Object parameterObject, boolean isInsert) {
+        return populateKeys(metaObjectHandler, tableInfo, ms, parameterObject, isInsert, null);
+    }
+
+    private static Object populateKeys(MetaObjectHandler metaObjectHandler, TableInfo tableInfo, MappedStatement ms,
+                                       Object parameterObject, boolean isInsert, IdBatch idBatch) {
         if (null == tableInfo) {
             /* 不处理 */
             return parameterObject;
         }
-        /* 自定义元对象填充控制器 */
-        MetaObject metaObject = ms.getConfiguration().newMetaObject(parameterObject);
+        /* 实体属性访问器，参数不是该实体时使用 MetaObject */
+        EntityAccessor accessor = tableInfo.getEntityAccessor();
+        if (null != accessor && !accessor.getEntityClass().isInstance(parameterObject)) {
+            accessor = null;
+        }
+        MetaObject metaObject = null;
         // 填充主键
         if (isInsert && !StringUtils.isEmpty(tableInfo.getKeyProperty())
             && null != tableInfo.getIdType() && tableInfo.getIdType().getKey() >= 3) {
-            Object idValue = metaObject.getValue(tableInfo.getKeyProperty());
+            if (null == accessor) {
+                metaObject = ms.getConfiguration().newMetaObject(parameterObject);
+            }
+            Object idValue = null == accessor ? metaObject.getValue(tableInfo.getKeyProperty())
+                : accessor.getKey(parameterObject);
             /* 自定义 ID */
             if (StringUtils.checkValNull(idValue)) {
                 if (tableInfo.getIdType() == IdType.ID_WORKER) {
-                    metaObject.setValue(tableInfo.getKeyProperty(), IdWorker.getId());
+                    idValue = null == idBatch ? IdWorker.getId() : idBatch.next();
                 } else if (tableInfo.getIdType() == IdType.ID_WORKER_STR) {
-                    metaObject.setValue(tableInfo.getKeyProperty(), IdWorker.getIdStr());
+                    idValue = null == idBatch ? IdWorker.getIdStr() : String.valueOf(idBatch.next());
                 } else if (tableInfo.getIdType() == IdType.UUID) {
-                    metaObject.setValue(tableInfo.getKeyProperty(), IdWorker.get32UUID());
+                    idValue = IdWorker.get32UUID();
+                }
+                if (null == accessor) {
+                    metaObject.setValue(tableInfo.getKeyProperty(), idValue);
+                } else {
+                    accessor.setKey(parameterObject, idValue);
                 }
             }
         }
+        /* 自定义元对象填充控制器 */
         if (metaObjectHandler != null) {
+            if (null == metaObject) {
+                metaObject = ms.getConfiguration().newMetaObject(parameterObject);
+            }
             if (isInsert && metaObjectHandler.openInsertFill()) {
                 // 插入填充
                 metaObjectHandler.insertFill(metaObject);
@@ -223,7 +254,37 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
                 metaObjectHandler.updateFill(metaObject);
             }
         }
-        return metaObject.getOriginalObject();
+        return parameterObject;
+    }
+
+    /**
+     * <p>
+     * 获取参数属性值，实体或 et 实体属性优先使用属性访问器
+     * </p>
+     *
+     * @param propertyName 属性名
+     * @return 属性值
+     */
+    @SuppressWarnings("rawtypes")
+    private Object getPropertyValue(String propertyName) {
+        Object entity = parameterObject;
+        String property = propertyName;
+        if (parameterObject instanceof Map && propertyName.startsWith(Constants.ENTITY_SPOT)) {
+            Map map = (Map) parameterObject;
+            entity = map.containsKey(Constants.ENTITY) ? map.get(Constants.ENTITY) : null;
+            property = propertyName.substring(Constants.ENTITY_SPOT.length());
+        }
+        if (null != entity) {
+            EntityAccessor accessor = EntityAccessor.getAccessor(entity.getClass());
+            int index = null == accessor ? -1 : accessor.indexOf(property);
+            if (index >= 0) {
+                return accessor.get(entity, index);
+            }
+        }
+        if (null == metaObject) {
+            metaObject = configuration.newMetaObject(parameterObject);
+        }
+        return metaObject.getValue(propertyName);
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -252,8 +313,7 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
                     } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
                         value = parameterObject;
                     } else {
-                        MetaObject metaObject = configuration.newMetaObject(parameterObject);
-                        value = metaObject.getValue(propertyName);
+                        value = getPropertyValue(propertyName);
                         if (value == null && CollectionUtils.isNotEmpty(additionalParameters)) {
                             // issue #138
                             value = additionalParameters.get(propertyName);
@@ -273,4 +333,32 @@ public class MybatisDefaultParameterHandler extends DefaultParameterHandler {
             }
         }
     }
+
+    /**
+     * <p>
+     * 批量插入的 ID_WORKER 主键，首次使用时按剩余实体数一次生成
+     * </p>
+     */
+    private static final class IdBatch {
+
+        private int remaining;
+        private long[] ids;
+        private int index;
+
+        IdBatch(int size) {
+            this.remaining = size;
+        }
+
+        long next() {
+            if (null == ids || index == ids.length) {
+                ids = IdWorker.getIds(remaining);
+                index = 0;
+            }
+            return ids[index++];
+        }
+
+        void advance() {
+            remaining--;
+        }
+    }
 }
@@ -22,6 +22,8 @@ public interface ISqlRunner {
     String COUNT = "com.sooner.framework.core.mapper.SqlRunner.Count";
     String SQL_SCRIPT = "${sql}";
     String SQL = "sql";
+    String ARGS = "args";
+    String PAGE = "page";
 
     boolean insert(String sql, Object... args);
 
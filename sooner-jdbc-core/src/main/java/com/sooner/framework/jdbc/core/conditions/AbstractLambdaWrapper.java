@@ -15,16 +15,8 @@
  */
 package com.sooner.framework.jdbc.core.conditions;
 
-import java.util.Map;
-import java.util.Optional;
-
-import com.sooner.framework.jdbc.core.toolkit.Assert;
-import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
 import com.sooner.framework.jdbc.core.toolkit.LambdaUtils;
-import com.sooner.framework.jdbc.core.toolkit.StringPool;
-import com.sooner.framework.jdbc.core.toolkit.StringUtils;
 import com.sooner.framework.jdbc.core.toolkit.support.Property;
-import com.sooner.framework.jdbc.core.toolkit.support.SerializedLambda;
 
 /**
  * <p>
@@ -39,23 +31,8 @@ import com.sooner.framework.jdbc.core.toolkit.support.SerializedLambda;
 public abstract class AbstractLambdaWrapper<T, This extends AbstractLambdaWrapper<T, This>>
     extends AbstractWrapper<T, Property<T, ?>, This> {
 
-    private Map<String, String> columnMap = null;
-    private boolean initColumnMap = false;
-
     @Override
     protected String columnToString(Property<T, ?> column) {
-        return getColumn(LambdaUtils.resolve(column));
-    }
-
-    private String getColumn(SerializedLambda lambda) {
-        String fieldName = StringUtils.resolveFieldName(lambda.getImplMethodName());
-        if (!initColumnMap || columnMap.get(fieldName) == null) {
-            String entityClassName = lambda.getImplClass().replace(StringPool.SLASH, StringPool.DOT);
-            columnMap = LambdaUtils.getColumnMap(entityClassName);
-            Assert.notEmpty(columnMap, "该模式不能应用于非 baseMapper 的泛型 entity 之外的 entity!");
-            initColumnMap = true;
-        }
-        return Optional.ofNullable(columnMap.get(fieldName))
-            .orElseThrow(() -> ExceptionUtils.mpe("该模式不能应用于非数据库字段!"));
+        return LambdaUtils.getColumn(column);
     }
 }
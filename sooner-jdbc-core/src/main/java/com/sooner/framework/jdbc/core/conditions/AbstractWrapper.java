@@ -455,6 +455,23 @@ public abstract class AbstractWrapper<T, R, This extends AbstractWrapper<T, R, T
         return null;
     }
 
+    /**
+     * <p>
+     * 复制 Wrapper，已有片段渲染为固定文本后共享，参数表及计数器复制一份，实体对象为同一引用
+     * </p>
+     */
+    @Override
+    public synchronized This clone() {
+        expression.freeze();
+        This copy = instance(new AtomicInteger(paramNameSeq.get()), new HashMap<>(paramNameValuePairs));
+        copy.expression = expression.clone();
+        copy.entity = entity;
+        copy.entityClass = entityClass;
+        copy.paramAlias = paramAlias;
+        copy.lastSql = lastSql;
+        return copy;
+    }
+
     public MergeSegments getExpression() {
         return expression;
     }
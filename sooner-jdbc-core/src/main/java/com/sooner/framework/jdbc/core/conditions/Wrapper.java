@@ -59,6 +59,9 @@ public abstract class Wrapper<T> implements ISqlSegment {
         return StringUtils.isEmpty(getSqlSegment()) && null == getEntity();
     }
 
+    /**
+     * 复制 Wrapper（子类可覆盖为结构复制）
+     */
     @Override
     public Wrapper<T> clone() {
         return SerializationUtils.clone(this);
@@ -125,6 +125,14 @@ public class LambdaQueryWrapper<T> extends AbstractLambdaWrapper<T, LambdaQueryW
         return excludeColumns((Class<T>) entity.getClass(), excludeColumns);
     }
 
+    @Override
+    public LambdaQueryWrapper<T> clone() {
+        LambdaQueryWrapper<T> copy = super.clone();
+        copy.queryColumn = new ArrayList<>(queryColumn);
+        copy.excludeColumn = new ArrayList<>(excludeColumn);
+        return copy;
+    }
+
     @Override
     protected LambdaQueryWrapper<T> instance(AtomicInteger paramNameSeq, Map<String, Object> paramNameValuePairs) {
         return new LambdaQueryWrapper<>(entity, paramNameSeq, paramNameValuePairs, new MergeSegments());
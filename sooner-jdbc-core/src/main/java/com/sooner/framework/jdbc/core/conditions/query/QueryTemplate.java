@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.conditions.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.sooner.framework.jdbc.core.conditions.Wrapper;
+import com.sooner.framework.jdbc.core.toolkit.Assert;
+import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+
+/**
+ * <p>
+ * 查询模板，同一形态的查询条件只构建、渲染一次，之后每次只绑定参数值
+ * </p>
+ * <p>
+ * 例如：
+ * QueryTemplate&lt;User&gt; template = QueryTemplate.of(w -&gt; w.eq(User::getAge, QueryTemplate.param("age"))
+ * .in(User::getId, QueryTemplate.listParam("ids")));
+ * userMapper.selectList(template.bind(18, ids));
+ * </p>
+ * <p>
+ * 占位符可用于条件值（包括 like 及 apply、having 的参数），不能用于字段名及 SQL 文本，like 参数不能绑定 null；
+ * 模板在第一次绑定时编译，编译后不可变且线程安全
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class QueryTemplate<T> {
+
+    private static final String PARAM_TOKEN = "#{%s.paramNameValuePairs.%s}";
+    private static final String MARKER = "\u0000";
+
+    private final Function<LambdaQueryWrapper<T>, LambdaQueryWrapper<T>> func;
+    private volatile Compiled compiled;
+
+    private QueryTemplate(Function<LambdaQueryWrapper<T>, LambdaQueryWrapper<T>> func) {
+        this.func = func;
+    }
+
+    /**
+     * <p>
+     * 创建查询模板
+     * </p>
+     *
+     * @param func 构建查询条件，条件值使用 {@link #param(String)}、{@link #listParam(String)} 占位
+     */
+    public static <T> QueryTemplate<T> of(Function<LambdaQueryWrapper<T>, LambdaQueryWrapper<T>> func) {
+        Assert.notNull(func, "func must be not null");
+        return new QueryTemplate<>(func);
+    }
+
+    /**
+     * 单值占位符
+     *
+     * @param name 参数名
+     */
+    public static Object param(String name) {
+        Assert.isTrue(StringUtils.isNotEmpty(name), "param name must be not empty");
+        return new Placeholder(name, false);
+    }
+
+    /**
+     * 集合占位符，用于 in、notIn
+     *
+     * @param name 参数名
+     */
+    public static Collection<?> listParam(String name) {
+        Assert.isTrue(StringUtils.isNotEmpty(name), "param name must be not empty");
+        return Collections.singletonList(new Placeholder(name, true));
+    }
+
+    /**
+     * <p>
+     * 按参数在 SQL 中首次出现的顺序绑定参数值
+     * </p>
+     *
+     * @param values 参数值
+     */
+    public Wrapper<T> bind(Object... values) {
+        Compiled compiled = compile();
+        Assert.isTrue(values.length == compiled.names.size(), String.format(
+            "Template expects %s param(s) %s but got %s", compiled.names.size(), compiled.names, values.length));
+        Map<String, Object> namedValues = new HashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            namedValues.put(compiled.names.get(i), values[i]);
+        }
+        return compiled.bind(namedValues);
+    }
+
+    /**
+     * <p>
+     * 按参数名绑定参数值
+     * </p>
+     *
+     * @param values 参数名与参数值
+     */
+    public Wrapper<T> bind(Map<String, ?> values) {
+        Compiled compiled = compile();
+        for (String name : compiled.names) {
+            Assert.isTrue(values.containsKey(name), String.format("Template param '%s' is not bound", name));
+        }
+        return compiled.bind(values);
+    }
+
+    /**
+     * 参数名，按在 SQL 中首次出现的顺序
+     */
+    public List<String> getParamNames() {
+        return compile().names;
+    }
+
+    private Compiled compile() {
+        Compiled result = compiled;
+        if (null == result) {
+            synchronized (this) {
+                result = compiled;
+                if (null == result) {
+                    result = new Compiled(func.apply(new QueryWrapper<T>().lambda()));
+                    compiled = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 占位符
+     */
+    private static final class Placeholder {
+
+        private final String name;
+        private final boolean list;
+
+        Placeholder(String name, boolean list) {
+            this.name = name;
+            this.list = list;
+        }
+
+        @Override
+        public String toString() {
+            return MARKER + name + MARKER;
+        }
+    }
+
+    /**
+     * 参数绑定方式
+     */
+    private static final class Binding {
+
+        /**
+         * 渲染后的参数名，例如 MPGENVAL1
+         */
+        private final String paramName;
+        /**
+         * 占位符参数名，null 表示固定值
+         */
+        private final String name;
+        private final boolean list;
+        /**
+         * 固定值，或包含占位符的字符串（例如 like 的 %name%）
+         */
+        private final Object value;
+
+        Binding(String paramName, String name, boolean list, Object value) {
+            this.paramName = paramName;
+            this.name = name;
+            this.list = list;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 编译结果
+     */
+    private final class Compiled {
+
+        private final String sqlSegment;
+        private final String sqlSelect;
+        private final String paramAlias;
+        private final List<Binding> bindings = new ArrayList<>();
+        private final List<String> names;
+
+        Compiled(LambdaQueryWrapper<T> wrapper) {
+            this.sqlSegment = wrapper.getSqlSegment();
+            this.sqlSelect = wrapper.getSqlSelect();
+            this.paramAlias = wrapper.getParamAlias();
+            if (null != sqlSegment && sqlSegment.contains(MARKER)) {
+                throw ExceptionUtils.mpe("QueryTemplate param can only be used as condition value: " + sqlSegment);
+            }
+            // 参数按生成顺序即在 SQL 中出现的顺序排列
+            List<Map.Entry<String, Object>> params = new ArrayList<>(wrapper.getParamNameValuePairs().entrySet());
+            params.sort((a, b) -> Integer.compare(sequenceOf(a.getKey()), sequenceOf(b.getKey())));
+            Map<String, Boolean> nameTypes = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> param : params) {
+                Object value = param.getValue();
+                if (value instanceof Placeholder) {
+                    Placeholder placeholder = (Placeholder) value;
+                    addName(nameTypes, placeholder.name, placeholder.list);
+                    bindings.add(new Binding(param.getKey(), placeholder.name, placeholder.list, null));
+                } else if (value instanceof String && ((String) value).contains(MARKER)) {
+                    String text = (String) value;
+                    int start = text.indexOf(MARKER);
+                    int end = text.indexOf(MARKER, start + 1);
+                    String name = text.substring(start + 1, end);
+                    addName(nameTypes, name, false);
+                    bindings.add(new Binding(param.getKey(), name, false, text));
+                } else {
+                    bindings.add(new Binding(param.getKey(), null, false, value));
+                }
+            }
+            this.names = Collections.unmodifiableList(new ArrayList<>(nameTypes.keySet()));
+        }
+
+        private int sequenceOf(String paramName) {
+            int i = paramName.length();
+            while (i > 0 && Character.isDigit(paramName.charAt(i - 1))) {
+                i--;
+            }
+            return i == paramName.length() ? Integer.MAX_VALUE : Integer.parseInt(paramName.substring(i));
+        }
+
+        private void addName(Map<String, Boolean> nameTypes, String name, boolean list) {
+            Boolean previous = nameTypes.putIfAbsent(name, list);
+            Assert.isTrue(null == previous || previous == list,
+                String.format("Template param '%s' is used both as value and as list", name));
+        }
+
+        BoundWrapper<T> bind(Map<String, ?> values) {
+            Map<String, Object> paramNameValuePairs = new HashMap<>(bindings.size() * 2);
+            String sql = sqlSegment;
+            for (Binding binding : bindings) {
+                if (null == binding.name) {
+                    paramNameValuePairs.put(binding.paramName, binding.value);
+                } else if (binding.list) {
+                    sql = expand(sql, binding.paramName, values.get(binding.name), paramNameValuePairs);
+                } else if (null != binding.value) {
+                    // like 值拼接在字符串中，null 会变成 "null" 文本
+                    Object value = values.get(binding.name);
+                    Assert.notNull(value, String.format("Template like param '%s' must be not null", binding.name));
+                    paramNameValuePairs.put(binding.paramName, ((String) binding.value)
+                        .replace(MARKER + binding.name + MARKER, value.toString()));
+                } else {
+                    paramNameValuePairs.put(binding.paramName, values.get(binding.name));
+                }
+            }
+            return new BoundWrapper<>(sql, sqlSelect, paramNameValuePairs);
+        }
+
+        /**
+         * in 集合参数展开为多个参数，空集合展开为 NULL
+         */
+        private String expand(String sql, String paramName, Object value, Map<String, Object> paramNameValuePairs) {
+            Collection<?> collection;
+            if (value instanceof Collection) {
+                collection = (Collection<?>) value;
+            } else if (value instanceof Object[]) {
+                collection = Arrays.asList((Object[]) value);
+            } else {
+                collection = Collections.singletonList(value);
+            }
+            if (collection.isEmpty()) {
+                return sql.replace(String.format(PARAM_TOKEN, paramAlias, paramName), StringPool.NULL);
+            }
+            StringBuilder tokens = new StringBuilder(collection.size() * 40);
+            Iterator<?> iterator = collection.iterator();
+            for (int i = 0; iterator.hasNext(); i++) {
+                String itemName = paramName + StringPool.UNDERSCORE + i;
+                if (i > 0) {
+                    tokens.append(StringPool.COMMA);
+                }
+                tokens.append(String.format(PARAM_TOKEN, paramAlias, itemName));
+                paramNameValuePairs.put(itemName, iterator.next());
+            }
+            return sql.replace(String.format(PARAM_TOKEN, paramAlias, paramName), tokens);
+        }
+    }
+
+    /**
+     * <p>
+     * 绑定参数后的查询条件，作为 Wrapper 参数传入 Mapper 方法
+     * </p>
+     */
+    @SuppressWarnings("serial")
+    public static final class BoundWrapper<T> extends Wrapper<T> {
+
+        private final String sqlSegment;
+        private final String sqlSelect;
+        private final Map<String, Object> paramNameValuePairs;
+
+        BoundWrapper(String sqlSegment, String sqlSelect, Map<String, Object> paramNameValuePairs) {
+            this.sqlSegment = sqlSegment;
+            this.sqlSelect = sqlSelect;
+            this.paramNameValuePairs = paramNameValuePairs;
+        }
+
+        @Override
+        public T getEntity() {
+            return null;
+        }
+
+        @Override
+        public String getSqlSelect() {
+            return sqlSelect;
+        }
+
+        @Override
+        public String getSqlSegment() {
+            return sqlSegment;
+        }
+
+        public Map<String, Object> getParamNameValuePairs() {
+            return paramNameValuePairs;
+        }
+    }
+}
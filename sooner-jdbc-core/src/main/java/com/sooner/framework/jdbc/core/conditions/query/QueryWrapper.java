@@ -131,6 +131,13 @@ public class QueryWrapper<T> extends AbstractWrapper<T, String, QueryWrapper<T>>
         return new LambdaQueryWrapper<>(entity, paramNameSeq, paramNameValuePairs, expression);
     }
 
+    @Override
+    public QueryWrapper<T> clone() {
+        QueryWrapper<T> copy = super.clone();
+        copy.excludeColumns = excludeColumns;
+        return copy;
+    }
+
     @Override
     protected String columnToString(String column) {
         return column;
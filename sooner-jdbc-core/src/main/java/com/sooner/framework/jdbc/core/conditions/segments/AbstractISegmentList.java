@@ -78,4 +78,49 @@ public abstract class AbstractISegmentList extends ArrayList<ISqlSegment> implem
     protected void removeLast() {
         remove(size() - 1);
     }
+
+    /**
+     * <p>
+     * 将片段渲染为固定的 SQL 文本，渲染后的片段不再生成参数，可在复制的 Wrapper 之间共享
+     * </p>
+     *
+     * @return true 存在新渲染的片段
+     */
+    public boolean freeze() {
+        boolean changed = false;
+        for (int i = 0; i < size(); i++) {
+            ISqlSegment segment = get(i);
+            if (!(segment instanceof Enum) && !(segment instanceof FrozenSegment)) {
+                FrozenSegment frozen = new FrozenSegment(segment.getSqlSegment());
+                if (lastValue == segment) {
+                    lastValue = frozen;
+                }
+                set(i, frozen);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public AbstractISegmentList clone() {
+        return (AbstractISegmentList) super.clone();
+    }
+
+    /**
+     * 已渲染的 SQL 片段
+     */
+    private static final class FrozenSegment implements ISqlSegment {
+
+        private final String sqlSegment;
+
+        FrozenSegment(String sqlSegment) {
+            this.sqlSegment = sqlSegment;
+        }
+
+        @Override
+        public String getSqlSegment() {
+            return sqlSegment;
+        }
+    }
 }
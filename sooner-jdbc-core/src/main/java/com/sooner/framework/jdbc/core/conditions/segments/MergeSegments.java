@@ -36,6 +36,11 @@ public class MergeSegments implements ISqlSegment {
     private GroupBySegmentList groupBy = new GroupBySegmentList();
     private HavingSegmentList having = new HavingSegmentList();
     private OrderBySegmentList orderBy = new OrderBySegmentList();
+    /**
+     * 已渲染的 SQL 片段缓存，每次 add 之后失效
+     */
+    private String sqlSegment = StringPool.EMPTY;
+    private boolean cacheSqlSegment = true;
 
     public void add(ISqlSegment... iSqlSegments) {
         List<ISqlSegment> list = Arrays.asList(iSqlSegments);
@@ -49,27 +54,71 @@ public class MergeSegments implements ISqlSegment {
         } else {
             normal.addAll(list);
         }
+        cacheSqlSegment = false;
     }
 
+    /**
+     * <p>
+     * 片段只渲染一次，避免重复生成 MPGENVAL 参数
+     * </p>
+     */
     @Override
     public String getSqlSegment() {
+        if (cacheSqlSegment) {
+            return sqlSegment;
+        }
+        cacheSqlSegment = true;
         if (normal.isEmpty()) {
             if (!groupBy.isEmpty() || !orderBy.isEmpty()) {
-                return "1=1" + groupBy.getSqlSegment() + having.getSqlSegment() + orderBy.getSqlSegment();
+                sqlSegment = "1=1" + groupBy.getSqlSegment() + having.getSqlSegment() + orderBy.getSqlSegment();
             } else {
-                return StringPool.EMPTY;
+                sqlSegment = StringPool.EMPTY;
             }
         } else {
-            return normal.getSqlSegment() + groupBy.getSqlSegment() + having.getSqlSegment() + orderBy.getSqlSegment();
+            sqlSegment = normal.getSqlSegment() + groupBy.getSqlSegment() + having.getSqlSegment() + orderBy.getSqlSegment();
+        }
+        return sqlSegment;
+    }
+
+    /**
+     * <p>
+     * 渲染所有片段为固定 SQL 文本，见 {@link AbstractISegmentList#freeze()}
+     * </p>
+     */
+    public void freeze() {
+        boolean changed = normal.freeze();
+        changed |= groupBy.freeze();
+        changed |= having.freeze();
+        changed |= orderBy.freeze();
+        if (changed) {
+            cacheSqlSegment = false;
         }
     }
 
+    /**
+     * <p>
+     * 复制片段集合，片段本身共享，请先调用 {@link #freeze()}
+     * </p>
+     */
+    @Override
+    public MergeSegments clone() {
+        MergeSegments copy = new MergeSegments();
+        copy.normal = (NormalSegmentList) normal.clone();
+        copy.groupBy = (GroupBySegmentList) groupBy.clone();
+        copy.having = (HavingSegmentList) having.clone();
+        copy.orderBy = (OrderBySegmentList) orderBy.clone();
+        copy.sqlSegment = sqlSegment;
+        copy.cacheSqlSegment = cacheSqlSegment;
+        return copy;
+    }
+
     public NormalSegmentList getNormal() {
         return normal;
     }
 
     public void setNormal(NormalSegmentList normal) {
         this.normal = normal;
+        this.cacheSqlSegment = false;
     }
 
     public GroupBySegmentList getGroupBy() {
@@ -78,6 +127,7 @@ public class MergeSegments implements ISqlSegment {
 
     public void setGroupBy(GroupBySegmentList groupBy) {
         this.groupBy = groupBy;
+        this.cacheSqlSegment = false;
     }
 
     public HavingSegmentList getHaving() {
@@ -86,6 +136,7 @@ public class MergeSegments implements ISqlSegment {
 
     public void setHaving(HavingSegmentList having) {
         this.having = having;
+        this.cacheSqlSegment = false;
     }
 
     public OrderBySegmentList getOrderBy() {
@@ -94,5 +145,6 @@ public class MergeSegments implements ISqlSegment {
 
     public void setOrderBy(OrderBySegmentList orderBy) {
         this.orderBy = orderBy;
+        this.cacheSqlSegment = false;
     }
 }
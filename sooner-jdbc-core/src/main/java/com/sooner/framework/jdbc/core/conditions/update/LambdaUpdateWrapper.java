@@ -72,6 +72,13 @@ public class LambdaUpdateWrapper<T> extends AbstractLambdaWrapper<T, LambdaUpdat
         return typedThis;
     }
 
+    @Override
+    public LambdaUpdateWrapper<T> clone() {
+        LambdaUpdateWrapper<T> copy = super.clone();
+        copy.sqlSet = new ArrayList<>(sqlSet);
+        return copy;
+    }
+
     @Override
     protected LambdaUpdateWrapper<T> instance(AtomicInteger paramNameSeq, Map<String, Object> paramNameValuePairs) {
         return new LambdaUpdateWrapper<>(entity, paramNameSeq, paramNameValuePairs, new MergeSegments());
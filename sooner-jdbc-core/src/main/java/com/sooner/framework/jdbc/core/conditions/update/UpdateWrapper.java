@@ -124,6 +124,13 @@ public class UpdateWrapper<T> extends AbstractWrapper<T, String, UpdateWrapper<T
         return column;
     }
 
+    @Override
+    public UpdateWrapper<T> clone() {
+        UpdateWrapper<T> copy = super.clone();
+        copy.sqlSet = new ArrayList<>(sqlSet);
+        return copy;
+    }
+
     @Override
     protected UpdateWrapper<T> instance(AtomicInteger paramNameSeq, Map<String, Object> paramNameValuePairs) {
         return new UpdateWrapper<>(entity, paramNameSeq, paramNameValuePairs, new MergeSegments());
@@ -123,6 +123,14 @@ public class GlobalConfig implements Serializable {
          * 字段验证策略
          */
         private FieldStrategy fieldStrategy = FieldStrategy.NOT_NULL;
+        /**
+         * 注入的 insert、updateById 使用预编译 SqlSource（默认 true）
+         */
+        private boolean staticSqlSource = true;
+        /**
+         * 注入数据库原生 upsert 方法，saveOrUpdateBatch 优先使用（默认 false）
+         */
+        private boolean nativeUpsert = false;
 
         public DbType getDbType() {
             return dbType;
@@ -203,6 +211,22 @@ public class GlobalConfig implements Serializable {
         public void setFieldStrategy(FieldStrategy fieldStrategy) {
             this.fieldStrategy = fieldStrategy;
         }
+
+        public boolean isStaticSqlSource() {
+            return staticSqlSource;
+        }
+
+        public void setStaticSqlSource(boolean staticSqlSource) {
+            this.staticSqlSource = staticSqlSource;
+        }
+
+        public boolean isNativeUpsert() {
+            return nativeUpsert;
+        }
+
+        public void setNativeUpsert(boolean nativeUpsert) {
+            this.nativeUpsert = nativeUpsert;
+        }
     }
 
     public boolean isRefresh() {
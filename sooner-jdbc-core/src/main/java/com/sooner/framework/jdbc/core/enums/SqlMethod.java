@@ -28,6 +28,12 @@ public enum SqlMethod {
      * 插入
      */
     INSERT_ONE("insert", "插入一条数据（选择字段插入）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
+    INSERT_BATCH_SOME_COLUMN("insertBatchSomeColumn", "批量插入数据（固定字段多行 VALUES）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
+
+    /**
+     * 插入或更新（数据库原生 upsert，按数据库类型生成）
+     */
+    UPSERT("upsert", "主键存在更新否则插入一条数据", "%s"),
 
     /**
      * 删除
@@ -71,6 +77,7 @@ public enum SqlMethod {
     SELECT_MAPS("selectMaps", "查询满足条件所有数据", "<script>\nSELECT %s FROM %s %s\n</script>"),
     SELECT_MAPS_PAGE("selectMapsPage", "查询满足条件所有数据（并翻页）", "<script>\nSELECT %s FROM %s %s\n</script>"),
     SELECT_OBJS("selectObjs", "查询满足条件所有数据", "<script>\nSELECT %s FROM %s %s\n</script>"),
+    SELECT_CURSOR("selectCursor", "查询满足条件所有数据（游标）", "<script>\nSELECT %s FROM %s %s\n</script>"),
 
     /**
      * 逻辑删除 -> 查询
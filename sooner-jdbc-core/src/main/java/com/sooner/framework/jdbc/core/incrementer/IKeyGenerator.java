@@ -35,4 +35,17 @@ public interface IKeyGenerator {
      * @return sql
      */
     String executeSql(String incrementerName);
+
+    /**
+     * <p>
+     * 单次查询返回多行序列值的 SQL
+     * </p>
+     *
+     * @param incrementerName 序列名称
+     * @param size            序列值个数
+     * @return sql，不支持返回 null
+     */
+    default String executeBatchSql(String incrementerName, int size) {
+        return null;
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.incrementer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+
+import com.sooner.framework.jdbc.core.metadata.EntityAccessor;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+
+/**
+ * <p>
+ * 序列段分配主键生成器（hi/lo）
+ * </p>
+ * <p>
+ * 一次查询获取一段序列值，后续插入在内存中无锁分配，用尽后再查询下一段；
+ * 支持单个实体及批量插入的实体集合，已有主键的实体不分配
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class PooledSequenceKeyGenerator implements KeyGenerator {
+
+    private static final String[] COLLECTION_KEYS = {"list", "collection", "array", "et"};
+
+    private final TableInfo tableInfo;
+    /**
+     * 获取序列值 SQL
+     */
+    private final String sql;
+    /**
+     * 每段序列值个数
+     */
+    private final int allocationSize;
+    /**
+     * true: 单个 NEXTVAL 预留 [value, value + allocationSize)，false: SQL 返回多行序列值
+     */
+    private final boolean pooled;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    /**
+     * @param tableInfo      表信息
+     * @param sql            获取序列值 SQL
+     * @param allocationSize 每段序列值个数
+     * @param pooled         序列 INCREMENT BY 与 allocationSize 一致
+     */
+    public PooledSequenceKeyGenerator(TableInfo tableInfo, String sql, int allocationSize, boolean pooled) {
+        this.tableInfo = tableInfo;
+        this.sql = sql;
+        this.allocationSize = allocationSize;
+        this.pooled = pooled;
+    }
+
+    @Override
+    public void processBefore(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        for (Object entity : entities(parameter)) {
+            if (null == entity || !tableInfo.getClazz().isInstance(entity)) {
+                continue;
+            }
+            EntityAccessor accessor = tableInfo.getEntityAccessor();
+            if (null != accessor && accessor.hasKey() && accessor.getEntityClass().isInstance(entity)) {
+                if (null == accessor.getKey(entity)) {
+                    accessor.setKey(entity, nextId(executor));
+                }
+            } else {
+                MetaObject metaObject = ms.getConfiguration().newMetaObject(entity);
+                if (null == metaObject.getValue(tableInfo.getKeyProperty())) {
+                    metaObject.setValue(tableInfo.getKeyProperty(), nextId(executor));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void processAfter(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        // to do nothing
+    }
+
+    private static Collection<?> entities(Object parameter) {
+        if (parameter instanceof Map) {
+            Map<?, ?> parameterMap = (Map<?, ?>) parameter;
+            for (String key : COLLECTION_KEYS) {
+                if (parameterMap.containsKey(key)) {
+                    return entities(parameterMap.get(key));
+                }
+            }
+            return Collections.emptyList();
+        }
+        if (parameter instanceof Collection) {
+            return (Collection<?>) parameter;
+        }
+        if (parameter instanceof Object[]) {
+            return Arrays.asList((Object[]) parameter);
+        }
+        return Collections.singletonList(parameter);
+    }
+
+    /**
+     * <p>
+     * 分配下一个序列值，当前段用尽时由一个线程获取新段
+     * </p>
+     */
+    private Object nextId(Executor executor) {
+        Block block = current.get();
+        while (true) {
+            if (null != block) {
+                int index = block.index.getAndIncrement();
+                if (index < block.values.length) {
+                    return convert(block.values[index]);
+                }
+            }
+            synchronized (this) {
+                if (current.get() == block) {
+                    current.set(fetch(executor));
+                }
+                block = current.get();
+            }
+        }
+    }
+
+    private Block fetch(Executor executor) {
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                long[] values;
+                if (pooled) {
+                    if (!resultSet.next()) {
+                        throw new ExecutorException("Sequence query returned no value: " + sql);
+                    }
+                    long start = resultSet.getLong(1);
+                    values = new long[allocationSize];
+                    for (int i = 0; i < allocationSize; i++) {
+                        values[i] = start + i;
+                    }
+                } else {
+                    values = new long[allocationSize];
+                    int size = 0;
+                    while (resultSet.next()) {
+                        if (size == values.length) {
+                            values = Arrays.copyOf(values, size * 2);
+                        }
+                        values[size++] = resultSet.getLong(1);
+                    }
+                    if (size == 0) {
+                        throw new ExecutorException("Sequence query returned no value: " + sql);
+                    }
+                    values = size == values.length ? values : Arrays.copyOf(values, size);
+                }
+                return new Block(values);
+            }
+        } catch (SQLException e) {
+            throw new ExecutorException("Error selecting sequence values. Cause: " + e, e);
+        }
+    }
+
+    /**
+     * 转换为 @KeySequence 声明的主键类型
+     */
+    private Object convert(long value) {
+        Class<?> keyType = tableInfo.getKeySequence().clazz();
+        if (Integer.class == keyType || int.class == keyType) {
+            return (int) value;
+        }
+        if (String.class == keyType) {
+            return String.valueOf(value);
+        }
+        if (BigDecimal.class == keyType) {
+            return BigDecimal.valueOf(value);
+        }
+        if (BigInteger.class == keyType) {
+            return BigInteger.valueOf(value);
+        }
+        return value;
+    }
+
+    /**
+     * 序列值段
+     */
+    private static class Block {
+
+        private final long[] values;
+        private final AtomicInteger index = new AtomicInteger();
+
+        Block(long[] values) {
+            this.values = values;
+        }
+    }
+}
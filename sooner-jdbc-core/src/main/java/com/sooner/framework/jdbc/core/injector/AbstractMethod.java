@@ -15,16 +15,20 @@
  */
 package com.sooner.framework.jdbc.core.injector;
 
+import com.sooner.framework.jdbc.core.injector.source.AbstractTableSqlSource;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.ArrayUtils;
 import com.sooner.framework.jdbc.core.toolkit.Constants;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlHelper;
 import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.mapping.StatementType;
@@ -199,6 +203,19 @@ public abstract class AbstractMethod {
         return sqlScript;
     }
 
+    /**
+     * <p>
+     * 是否使用预编译 SqlSource
+     * </p>
+     *
+     * @param table 表信息
+     * @return true 使用
+     */
+    protected boolean isStaticSqlSource(TableInfo table) {
+        return GlobalConfigUtils.getGlobalConfig(configuration).getDbConfig().isStaticSqlSource()
+            && AbstractTableSqlSource.isSupported(table);
+    }
+
     /**
      * 查询
      */
@@ -218,6 +235,23 @@ public abstract class AbstractMethod {
             new NoKeyGenerator(), null, null);
     }
 
+    /**
+     * 游标查询，FORWARD_ONLY 并按数据库类型设置 fetchSize
+     */
+    protected MappedStatement addSelectCursorMappedStatement(Class<?> mapperClass, String id, SqlSource sqlSource,
+                                                             Class<?> resultType, TableInfo table) {
+        String statementName = mapperClass.getName() + StringPool.DOT + id;
+        if (hasMappedStatement(statementName)) {
+            System.err.println(StringPool.LEFT_BRACE + statementName + "} Has been loaded by XML or SqlProvider, ignoring the injection of the SQL.");
+            return null;
+        }
+        String resultMap = table.getResultMap();
+        return builderAssistant.addMappedStatement(id, sqlSource, StatementType.PREPARED, SqlCommandType.SELECT,
+            SqlHelper.cursorFetchSize(table.getDbType()), null, null, null, resultMap,
+            null == resultMap ? resultType : null, ResultSetType.FORWARD_ONLY, false, false, false,
+            new NoKeyGenerator(), null, null, configuration.getDatabaseId(), languageDriver, null);
+    }
+
     /**
      * 插入
      */
@@ -29,15 +29,18 @@ import com.sooner.framework.jdbc.core.injector.methods.Delete;
 import com.sooner.framework.jdbc.core.injector.methods.DeleteById;
 import com.sooner.framework.jdbc.core.injector.methods.DeleteByMap;
 import com.sooner.framework.jdbc.core.injector.methods.Insert;
+import com.sooner.framework.jdbc.core.injector.methods.InsertBatchSomeColumn;
 import com.sooner.framework.jdbc.core.injector.methods.SelectBatchByIds;
 import com.sooner.framework.jdbc.core.injector.methods.SelectById;
 import com.sooner.framework.jdbc.core.injector.methods.SelectByMap;
 import com.sooner.framework.jdbc.core.injector.methods.SelectCount;
+import com.sooner.framework.jdbc.core.injector.methods.SelectCursor;
 import com.sooner.framework.jdbc.core.injector.methods.SelectList;
 import com.sooner.framework.jdbc.core.injector.methods.SelectMaps;
 import com.sooner.framework.jdbc.core.injector.methods.SelectMapsPage;
 import com.sooner.framework.jdbc.core.injector.methods.SelectObjs;
 import com.sooner.framework.jdbc.core.injector.methods.Update;
+import com.sooner.framework.jdbc.core.injector.methods.Upsert;
 
 
 /**
@@ -55,6 +58,8 @@ public class DefaultSqlInjector extends AbstractSqlInjector {
     public List<AbstractMethod> getMethodList() {
         return Stream.of(
             new Insert(),
+            new InsertBatchSomeColumn(),
+            new Upsert(),
             new Delete(),
             new DeleteByMap(),
             new DeleteById(),
@@ -69,6 +74,7 @@ public class DefaultSqlInjector extends AbstractSqlInjector {
             new SelectMaps(),
             new SelectMapsPage(),
             new SelectObjs(),
+            new SelectCursor(),
             new SelectList(),
             new SelectPage()
         ).collect(Collectors.toList());
@@ -28,6 +28,7 @@ import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
 
 import com.sooner.framework.jdbc.core.assist.ISqlRunner;
+import com.sooner.framework.jdbc.core.injector.source.SqlRunnerSqlSource;
 
 /**
  * <p>
@@ -114,7 +115,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.SelectList' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class));
         createSelectMappedStatement(ISqlRunner.SELECT_LIST, sqlSource, Map.class);
     }
 
@@ -126,7 +128,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.SelectObjs' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Object.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Object.class));
         createSelectMappedStatement(ISqlRunner.SELECT_OBJS, sqlSource, Object.class);
     }
 
@@ -138,7 +141,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.Count' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class));
         createSelectMappedStatement(ISqlRunner.COUNT, sqlSource, Integer.class);
     }
 
@@ -150,7 +154,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.Insert' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class));
         createUpdateMappedStatement(ISqlRunner.INSERT, sqlSource, SqlCommandType.INSERT);
     }
 
@@ -162,7 +167,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.Update' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class));
         createUpdateMappedStatement(ISqlRunner.UPDATE, sqlSource, SqlCommandType.UPDATE);
     }
 
@@ -174,7 +180,8 @@ public class SqlRunnerInjector {
             logger.warn("MappedStatement 'SqlRunner.Delete' Already Exists");
             return;
         }
-        SqlSource sqlSource = languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class);
+        SqlSource sqlSource = new SqlRunnerSqlSource(configuration,
+            languageDriver.createSqlSource(configuration, ISqlRunner.SQL_SCRIPT, Map.class));
         createUpdateMappedStatement(ISqlRunner.DELETE, sqlSource, SqlCommandType.DELETE);
     }
 }
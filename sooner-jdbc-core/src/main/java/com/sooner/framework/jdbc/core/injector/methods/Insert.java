@@ -18,6 +18,7 @@ package com.sooner.framework.jdbc.core.injector.methods;
 import com.sooner.framework.jdbc.annotation.IdType;
 import com.sooner.framework.jdbc.core.enums.SqlMethod;
 import com.sooner.framework.jdbc.core.injector.AbstractMethod;
+import com.sooner.framework.jdbc.core.injector.source.InsertSqlSource;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
@@ -66,6 +67,9 @@ public class Insert extends AbstractMethod {
         }
         String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
         SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        if (isStaticSqlSource(tableInfo)) {
+            sqlSource = new InsertSqlSource(configuration, modelClass, tableInfo, sqlSource);
+        }
         return this.addInsertMappedStatement(mapperClass, modelClass, sqlMethod.getMethod(), sqlSource, keyGenerator, keyProperty, keyColumn);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.function.Predicate;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.core.enums.SqlMethod;
+import com.sooner.framework.jdbc.core.incrementer.PooledSequenceKeyGenerator;
+import com.sooner.framework.jdbc.core.injector.AbstractMethod;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
+
+/**
+ * <p>
+ * 批量插入，固定字段多行 VALUES（Oracle 使用 INSERT ALL）
+ * </p>
+ * <p>
+ * 字段不做非空判断，ID_WORKER 等主键由 MybatisDefaultParameterHandler 预先生成，
+ * 分批执行见 SqlHelper#insertBatchSomeColumn
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class InsertBatchSomeColumn extends AbstractMethod {
+
+    /**
+     * 集合中的实体参数名
+     */
+    private static final String ITEM = "et";
+    /**
+     * 字段筛选条件
+     */
+    private final Predicate<TableFieldInfo> predicate;
+
+    public InsertBatchSomeColumn() {
+        this(i -> true);
+    }
+
+    /**
+     * @param predicate 需要插入的字段，例如 i -> i.getFieldFill() != FieldFill.UPDATE
+     */
+    public InsertBatchSomeColumn(Predicate<TableFieldInfo> predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        KeyGenerator keyGenerator = new NoKeyGenerator();
+        SqlMethod sqlMethod = SqlMethod.INSERT_BATCH_SOME_COLUMN;
+        String columns = tableInfo.getFieldList().stream().filter(predicate)
+            .map(TableFieldInfo::getColumn).collect(joining(StringPool.COMMA));
+        String values = tableInfo.getFieldList().stream().filter(predicate)
+            .map(i -> SqlScriptUtils.safeParam(ITEM + StringPool.DOT + i.getEl())).collect(joining(StringPool.COMMA));
+        String keyProperty = null;
+        String keyColumn = null;
+        if (StringUtils.isNotEmpty(tableInfo.getKeyProperty())) {
+            if (tableInfo.getIdType() == IdType.AUTO) {
+                /* 自增主键 */
+                keyGenerator = new Jdbc3KeyGenerator();
+                keyProperty = tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            } else {
+                if (null != tableInfo.getKeySequence() && tableInfo.getKeySequence().allocationSize() > 1) {
+                    /* 序列段分配，批量插入前在内存中为实体分配主键 */
+                    KeyGenerator sequenceKeyGenerator = TableInfoHelper.genKeyGenerator(tableInfo, builderAssistant,
+                        sqlMethod.getMethod(), languageDriver);
+                    if (sequenceKeyGenerator instanceof PooledSequenceKeyGenerator) {
+                        keyGenerator = sequenceKeyGenerator;
+                    }
+                }
+                columns = joinColumn(tableInfo.getKeyColumn(), columns);
+                values = joinColumn(SqlScriptUtils.safeParam(ITEM + StringPool.DOT + tableInfo.getKeyProperty()), values);
+            }
+        }
+        String sql;
+        if (DbType.ORACLE == tableInfo.getDbType()) {
+            String into = String.format("INTO %s (%s) VALUES (%s)", tableInfo.getTableName(), columns, values);
+            sql = "<script>\nINSERT ALL " + SqlScriptUtils.convertForeach(into, "list", null, ITEM, StringPool.SPACE)
+                + " SELECT 1 FROM DUAL\n</script>";
+        } else {
+            String valuesScript = SqlScriptUtils.convertForeach(StringPool.LEFT_BRACKET + values + StringPool.RIGHT_BRACKET,
+                "list", null, ITEM, StringPool.COMMA);
+            sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(),
+                StringPool.LEFT_BRACKET + columns + StringPool.RIGHT_BRACKET, valuesScript);
+        }
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, sqlMethod.getMethod(), sqlSource, keyGenerator,
+            keyProperty, keyColumn);
+    }
+
+    private String joinColumn(String key, String columns) {
+        return StringUtils.isEmpty(columns) ? key : key + StringPool.COMMA + columns;
+    }
+}
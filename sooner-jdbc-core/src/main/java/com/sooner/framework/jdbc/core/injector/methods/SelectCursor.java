@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import com.sooner.framework.jdbc.core.enums.SqlMethod;
+import com.sooner.framework.jdbc.core.injector.AbstractMethod;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+
+/**
+ * <p>
+ * 根据 queryWrapper 条件游标查询
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SelectCursor extends AbstractMethod {
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        SqlMethod sqlMethod = SqlMethod.SELECT_CURSOR;
+        String sql = String.format(sqlMethod.getSql(), sqlSelectColumns(tableInfo, true),
+            tableInfo.getTableName(), this.sqlWhereEntityWrapper(tableInfo));
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addSelectCursorMappedStatement(mapperClass, sqlMethod.getMethod(), sqlSource, modelClass, tableInfo);
+    }
+}
@@ -17,6 +17,7 @@ package com.sooner.framework.jdbc.core.injector.methods;
 
 import com.sooner.framework.jdbc.core.enums.SqlMethod;
 import com.sooner.framework.jdbc.core.injector.AbstractMethod;
+import com.sooner.framework.jdbc.core.injector.source.UpdateByIdSqlSource;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.Constants;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -43,6 +44,10 @@ public class UpdateById extends AbstractMethod {
                 .append(" AND ${et.MP_OPTLOCK_VERSION_COLUMN}=#{et.MP_OPTLOCK_VERSION_ORIGINAL}")
                 .append("</if></if>"));
         SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        if (isStaticSqlSource(tableInfo)) {
+            sqlSource = new UpdateByIdSqlSource(configuration, modelClass, tableInfo, tableInfo.getFieldList(),
+                null, sqlSource);
+        }
         return addUpdateMappedStatement(mapperClass, modelClass, sqlMethod.getMethod(), sqlSource);
     }
 }
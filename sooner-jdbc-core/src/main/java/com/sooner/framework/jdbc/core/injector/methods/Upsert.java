@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.FieldStrategy;
+import com.sooner.framework.jdbc.core.enums.SqlMethod;
+import com.sooner.framework.jdbc.core.injector.AbstractMethod;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
+
+/**
+ * <p>
+ * 数据库原生 upsert，主键存在更新否则插入
+ * </p>
+ * <p>
+ * 插入全部字段，更新时跳过逻辑删除字段，非 IGNORED 策略字段为空时保留原值；
+ * 支持 MYSQL、MARIADB（ON DUPLICATE KEY UPDATE）、POSTGRE_SQL（ON CONFLICT）、ORACLE、H2（MERGE），
+ * 需开启 DbConfig#nativeUpsert
+ * </p>
+ * <p>
+ * 按插入语句执行：只做 insertFill 不做 updateFill，乐观锁插件不处理 version 字段
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class Upsert extends AbstractMethod {
+
+    /**
+     * 目标表别名
+     */
+    private static final String TARGET = "t";
+    /**
+     * MERGE 数据源别名
+     */
+    private static final String SOURCE = "s";
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        if (!GlobalConfigUtils.getGlobalConfig(configuration).getDbConfig().isNativeUpsert()
+            || StringUtils.isEmpty(tableInfo.getKeyProperty())) {
+            return null;
+        }
+        String sql = sqlUpsert(tableInfo);
+        if (null == sql) {
+            return null;
+        }
+        SqlMethod sqlMethod = SqlMethod.UPSERT;
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, String.format(sqlMethod.getSql(), sql), modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, sqlMethod.getMethod(), sqlSource,
+            new NoKeyGenerator(), null, null);
+    }
+
+    /**
+     * <p>
+     * 按数据库类型生成 upsert SQL，不支持返回 null
+     * </p>
+     *
+     * @param tableInfo 表信息
+     * @return sql
+     */
+    protected String sqlUpsert(TableInfo tableInfo) {
+        DbType dbType = tableInfo.getDbType();
+        List<TableFieldInfo> updateFields = tableInfo.getFieldList().stream()
+            .filter(i -> !(tableInfo.isLogicDelete() && i.isLogicDelete())).collect(Collectors.toList());
+        String columns = tableInfo.getKeyColumn() + tableInfo.getFieldList().stream()
+            .map(i -> StringPool.COMMA + i.getColumn()).collect(joining());
+        if (DbType.MYSQL == dbType || DbType.MARIADB == dbType) {
+            String values = SqlScriptUtils.safeParam(tableInfo.getKeyProperty()) + tableInfo.getFieldList().stream()
+                .map(i -> StringPool.COMMA + SqlScriptUtils.safeParam(i.getEl())).collect(joining());
+            String sets = updateFields.stream().map(i -> sqlSet(i, i.getColumn(), "VALUES(" + i.getColumn() + ")"))
+                .collect(joining(StringPool.COMMA));
+            return String.format("INSERT INTO %s (%s) VALUES (%s)%s", tableInfo.getTableName(), columns, values,
+                sets.isEmpty() ? StringPool.EMPTY : " ON DUPLICATE KEY UPDATE " + sets);
+        }
+        if (DbType.POSTGRE_SQL == dbType) {
+            String values = SqlScriptUtils.safeParam(tableInfo.getKeyProperty()) + tableInfo.getFieldList().stream()
+                .map(i -> StringPool.COMMA + SqlScriptUtils.safeParam(i.getEl())).collect(joining());
+            String sets = updateFields.stream().map(i -> sqlSet(i, TARGET + StringPool.DOT + i.getColumn(),
+                "EXCLUDED." + i.getColumn())).collect(joining(StringPool.COMMA));
+            return String.format("INSERT INTO %s AS %s (%s) VALUES (%s) ON CONFLICT (%s) DO %s", tableInfo.getTableName(),
+                TARGET, columns, values, tableInfo.getKeyColumn(), sets.isEmpty() ? "NOTHING" : "UPDATE SET " + sets);
+        }
+        if (DbType.ORACLE == dbType || DbType.H2 == dbType) {
+            String select = SqlScriptUtils.safeParam(tableInfo.getKeyProperty()) + " " + tableInfo.getKeyColumn()
+                + tableInfo.getFieldList().stream().map(i -> StringPool.COMMA + SqlScriptUtils.safeParam(i.getEl())
+                + " " + i.getColumn()).collect(joining());
+            String sets = updateFields.stream().map(i -> sqlSet(i, TARGET + StringPool.DOT + i.getColumn(),
+                SOURCE + StringPool.DOT + i.getColumn())).collect(joining(StringPool.COMMA));
+            String values = SOURCE + StringPool.DOT + tableInfo.getKeyColumn() + tableInfo.getFieldList().stream()
+                .map(i -> StringPool.COMMA + SOURCE + StringPool.DOT + i.getColumn()).collect(joining());
+            return String.format("MERGE INTO %s %s USING (SELECT %s FROM DUAL) %s ON (%s.%s = %s.%s)%s"
+                    + " WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)", tableInfo.getTableName(), TARGET, select, SOURCE,
+                TARGET, tableInfo.getKeyColumn(), SOURCE, tableInfo.getKeyColumn(),
+                sets.isEmpty() ? StringPool.EMPTY : " WHEN MATCHED THEN UPDATE SET " + sets, columns, values);
+        }
+        return null;
+    }
+
+    /**
+     * <p>
+     * 更新字段 SQL 片段，非 IGNORED 策略空值保留原值
+     * </p>
+     *
+     * @param fieldInfo 字段信息
+     * @param target    目标字段
+     * @param source    新值
+     * @return sql 片段
+     */
+    private String sqlSet(TableFieldInfo fieldInfo, String target, String source) {
+        String column = fieldInfo.getColumn();
+        if (StringUtils.isNotEmpty(fieldInfo.getUpdate())) {
+            return column + StringPool.EQUALS + String.format(fieldInfo.getUpdate(), target);
+        }
+        if (fieldInfo.getFieldStrategy() == FieldStrategy.IGNORED) {
+            return column + StringPool.EQUALS + source;
+        }
+        return column + StringPool.EQUALS + "COALESCE(" + source + StringPool.COMMA + target + StringPool.RIGHT_BRACKET;
+    }
+}
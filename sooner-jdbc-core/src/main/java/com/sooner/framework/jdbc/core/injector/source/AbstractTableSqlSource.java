@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.source;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.session.Configuration;
+
+import com.sooner.framework.jdbc.annotation.FieldStrategy;
+import com.sooner.framework.jdbc.core.metadata.EntityAccessor;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+
+/**
+ * <p>
+ * 预编译 SqlSource 抽象类
+ * </p>
+ * <p>
+ * 按 FieldStrategy 直接读取实体属性判断字段是否参与 SQL，不再走 OGNL 与动态节点树，
+ * 同一组字段的 SQL 只解析一次并缓存；参数形态不符合预期时回退到原动态 SqlSource
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public abstract class AbstractTableSqlSource implements SqlSource {
+
+    /**
+     * 缓存的 SQL 形态上限，超出后不再缓存
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    protected final Configuration configuration;
+    protected final Class<?> modelClass;
+    protected final TableInfo tableInfo;
+    /**
+     * 参与判断的字段
+     */
+    protected final List<TableFieldInfo> fieldList;
+    /**
+     * 字段 getter，null 表示该字段始终参与
+     */
+    private final Invoker[] getters;
+    /**
+     * 实体属性访问器及字段下标，-1 使用 getter
+     */
+    private final EntityAccessor accessor;
+    private final int[] accessorIndex;
+    /**
+     * 字段是否按空字符串判断
+     */
+    private final boolean[] notEmpty;
+    /**
+     * 原动态 SqlSource
+     */
+    private final SqlSource dynamicSqlSource;
+    private final Map<BitSet, SqlSource> sqlSourceCache = new ConcurrentHashMap<>();
+
+    protected AbstractTableSqlSource(Configuration configuration, Class<?> modelClass, TableInfo tableInfo,
+                                     List<TableFieldInfo> fieldList, SqlSource dynamicSqlSource) {
+        this.configuration = configuration;
+        this.modelClass = modelClass;
+        this.tableInfo = tableInfo;
+        this.fieldList = fieldList;
+        this.dynamicSqlSource = dynamicSqlSource;
+        this.getters = new Invoker[fieldList.size()];
+        this.notEmpty = new boolean[fieldList.size()];
+        this.accessor = tableInfo.getEntityAccessor();
+        this.accessorIndex = new int[fieldList.size()];
+        Reflector reflector = configuration.getReflectorFactory().findForClass(modelClass);
+        for (int i = 0; i < fieldList.size(); i++) {
+            TableFieldInfo fieldInfo = fieldList.get(i);
+            if (!isAlwaysPresent(fieldInfo) && fieldInfo.getFieldStrategy() != FieldStrategy.IGNORED) {
+                getters[i] = reflector.getGetInvoker(fieldInfo.getProperty());
+                accessorIndex[i] = null == accessor ? -1 : accessor.indexOf(fieldInfo.getProperty());
+                notEmpty[i] = fieldInfo.getFieldStrategy() == FieldStrategy.NOT_EMPTY && fieldInfo.isCharSequence();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * 是否支持预编译，存在 ${} 或 XML 转义内容时仍使用动态 SqlSource
+     * </p>
+     *
+     * @param tableInfo 表信息
+     * @return true 支持
+     */
+    public static boolean isSupported(TableInfo tableInfo) {
+        return tableInfo.getFieldList().stream().noneMatch(i -> isDynamicText(i.getEl())
+            || isDynamicText(i.getColumn()) || isDynamicText(i.getUpdate())
+            || (StringUtils.isNotEmpty(i.getUpdate()) && i.getUpdate().contains(StringPool.HASH_LEFT_BRACE)));
+    }
+
+    private static boolean isDynamicText(String text) {
+        return StringUtils.isNotEmpty(text) && (text.contains(StringPool.DOLLAR_LEFT_BRACE)
+            || text.contains(StringPool.AMPERSAND) || text.contains(StringPool.LEFT_CHEV));
+    }
+
+    /**
+     * 字段是否不受 FieldStrategy 约束始终参与（填充字段）
+     */
+    protected abstract boolean isAlwaysPresent(TableFieldInfo fieldInfo);
+
+    /**
+     * 从入参中取出实体，返回 null 时回退动态 SqlSource
+     */
+    protected abstract Object getEntity(Object parameterObject);
+
+    /**
+     * <p>
+     * 拼接 SQL，参数使用 #{} 占位
+     * </p>
+     *
+     * @param sql     SQL 缓冲
+     * @param present 参与的字段下标
+     */
+    protected abstract void appendSql(StringBuilder sql, BitSet present);
+
+    /**
+     * 参数属性前缀，例如 et.
+     */
+    protected String getPropertyPrefix() {
+        return null;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        Object entity = getEntity(parameterObject);
+        if (null == entity || !modelClass.isInstance(entity)) {
+            return dynamicSqlSource.getBoundSql(parameterObject);
+        }
+        BitSet present = new BitSet(getters.length);
+        for (int i = 0; i < getters.length; i++) {
+            if (isPresent(i, entity)) {
+                present.set(i);
+            }
+        }
+        SqlSource sqlSource = sqlSourceCache.get(present);
+        if (null == sqlSource) {
+            sqlSource = buildSqlSource(present);
+            if (sqlSourceCache.size() < MAX_CACHE_SIZE) {
+                sqlSourceCache.putIfAbsent(present, sqlSource);
+            }
+        }
+        return sqlSource.getBoundSql(parameterObject);
+    }
+
+    private boolean isPresent(int index, Object entity) {
+        Invoker getter = getters[index];
+        if (null == getter) {
+            return true;
+        }
+        Object value;
+        try {
+            value = accessorIndex[index] >= 0 && accessor.getEntityClass().isInstance(entity)
+                ? accessor.get(entity, accessorIndex[index]) : getter.invoke(entity, null);
+        } catch (Exception e) {
+            throw ExceptionUtils.mpe("Error getting property '" + fieldList.get(index).getProperty()
+                + "' of " + modelClass.getName(), e);
+        }
+        if (null == value) {
+            return false;
+        }
+        return !notEmpty[index] || ((CharSequence) value).length() > 0;
+    }
+
+    /**
+     * 解析 #{} 生成 StaticSqlSource，并补齐参数属性前缀
+     */
+    private SqlSource buildSqlSource(BitSet present) {
+        StringBuilder sql = new StringBuilder(256);
+        appendSql(sql, present);
+        SqlSourceBuilder sqlSourceBuilder = new SqlSourceBuilder(configuration);
+        SqlSource sqlSource = sqlSourceBuilder.parse(sql.toString(), modelClass, null);
+        String prefix = getPropertyPrefix();
+        if (StringUtils.isEmpty(prefix)) {
+            return sqlSource;
+        }
+        BoundSql boundSql = sqlSource.getBoundSql(null);
+        List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings().size());
+        for (ParameterMapping pm : boundSql.getParameterMappings()) {
+            parameterMappings.add(new ParameterMapping.Builder(configuration, prefix + pm.getProperty(), pm.getTypeHandler())
+                .javaType(pm.getJavaType()).jdbcType(pm.getJdbcType()).jdbcTypeName(pm.getJdbcTypeName())
+                .numericScale(pm.getNumericScale()).mode(pm.getMode()).resultMapId(pm.getResultMapId())
+                .expression(pm.getExpression()).build());
+        }
+        return new StaticSqlSource(configuration, boundSql.getSql(), parameterMappings);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.source;
+
+import java.util.BitSet;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.sooner.framework.jdbc.annotation.FieldFill;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
+
+/**
+ * <p>
+ * 插入一条数据（选择字段插入）预编译 SqlSource
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class InsertSqlSource extends AbstractTableSqlSource {
+
+    /**
+     * 主键是否参与插入
+     */
+    private final boolean withKey;
+
+    public InsertSqlSource(Configuration configuration, Class<?> modelClass, TableInfo tableInfo,
+                           SqlSource dynamicSqlSource) {
+        super(configuration, modelClass, tableInfo, tableInfo.getFieldList(), dynamicSqlSource);
+        this.withKey = StringUtils.isNotEmpty(tableInfo.getKeyProperty()) && tableInfo.getIdType() != IdType.AUTO;
+    }
+
+    @Override
+    protected boolean isAlwaysPresent(TableFieldInfo fieldInfo) {
+        return fieldInfo.getFieldFill() == FieldFill.INSERT || fieldInfo.getFieldFill() == FieldFill.INSERT_UPDATE;
+    }
+
+    @Override
+    protected Object getEntity(Object parameterObject) {
+        return parameterObject;
+    }
+
+    @Override
+    protected void appendSql(StringBuilder sql, BitSet present) {
+        sql.append("INSERT INTO ").append(tableInfo.getTableName()).append(StringPool.SPACE);
+        if (!withKey && present.isEmpty()) {
+            return;
+        }
+        StringBuilder values = new StringBuilder(128);
+        sql.append(StringPool.LEFT_BRACKET);
+        values.append(" VALUES (");
+        boolean first = true;
+        if (withKey) {
+            sql.append(tableInfo.getKeyColumn());
+            values.append(SqlScriptUtils.safeParam(tableInfo.getKeyProperty()));
+            first = false;
+        }
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            TableFieldInfo fieldInfo = fieldList.get(i);
+            if (!first) {
+                sql.append(StringPool.COMMA);
+                values.append(StringPool.COMMA);
+            }
+            sql.append(fieldInfo.getColumn());
+            values.append(SqlScriptUtils.safeParam(fieldInfo.getEl()));
+            first = false;
+        }
+        sql.append(StringPool.RIGHT_BRACKET).append(values).append(StringPool.RIGHT_BRACKET);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.sooner.framework.jdbc.core.assist.ISqlRunner;
+import com.sooner.framework.jdbc.core.toolkit.LruCache;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+
+/**
+ * <p>
+ * SqlRunner 预编译 SqlSource
+ * </p>
+ * <p>
+ * 入参包含 {@link ISqlRunner#ARGS} 时，将 SQL 模板中的 {0}、{1} 转换为 ? 并按类型处理器绑定参数，
+ * 同一模板只解析一次；集合参数与原拼接方式一致展开为 (?, ?)。否则使用原 ${sql} SqlSource 拼接 SQL
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlRunnerSqlSource implements SqlSource {
+
+    /**
+     * 缓存的 SQL 模板上限
+     */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final Configuration configuration;
+    /**
+     * 原 ${sql} SqlSource
+     */
+    private final SqlSource sqlSource;
+    private final LruCache<Object, SqlSource> sqlSourceCache = new LruCache<>(MAX_CACHE_SIZE);
+
+    public SqlRunnerSqlSource(Configuration configuration, SqlSource sqlSource) {
+        this.configuration = configuration;
+        this.sqlSource = sqlSource;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        if (!(parameterObject instanceof Map) || !((Map) parameterObject).containsKey(ISqlRunner.ARGS)) {
+            return sqlSource.getBoundSql(parameterObject);
+        }
+        Map<?, ?> parameterMap = (Map<?, ?>) parameterObject;
+        String sql = (String) parameterMap.get(ISqlRunner.SQL);
+        Object[] args = (Object[]) parameterMap.get(ISqlRunner.ARGS);
+        if (null == args) {
+            args = new Object[0];
+        }
+        // 集合参数的长度决定 ? 个数，纳入缓存键
+        int[] sizes = null;
+        for (int i = 0; i < args.length; i++) {
+            int size = sizeOf(args[i]);
+            if (size >= 0) {
+                if (null == sizes) {
+                    sizes = new int[args.length];
+                    Arrays.fill(sizes, -1);
+                }
+                sizes[i] = size;
+            }
+        }
+        Object cacheKey = null == sizes ? Arrays.asList(sql, args.length)
+            : Arrays.asList(sql, args.length, Arrays.toString(sizes));
+        SqlSource staticSqlSource = sqlSourceCache.get(cacheKey);
+        if (null == staticSqlSource) {
+            staticSqlSource = buildSqlSource(sql, args.length, sizes);
+            sqlSourceCache.put(cacheKey, staticSqlSource);
+        }
+        BoundSql boundSql = staticSqlSource.getBoundSql(parameterObject);
+        boundSql.setAdditionalParameter(ISqlRunner.ARGS, null == sizes ? args : flatten(args));
+        return boundSql;
+    }
+
+    /**
+     * 集合参数的长度，其它返回 -1
+     */
+    private static int sizeOf(Object arg) {
+        return arg instanceof Collection ? ((Collection<?>) arg).size() : -1;
+    }
+
+    private static Object[] flatten(Object[] args) {
+        List<Object> values = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg instanceof Collection) {
+                values.addAll((Collection<?>) arg);
+            } else {
+                values.add(arg);
+            }
+        }
+        return values.toArray();
+    }
+
+    /**
+     * <p>
+     * 解析 SQL 模板，{i} 替换为 ?，参数映射为 args[下标]
+     * </p>
+     * <p>
+     * 单引号字符串及双引号标识符中的 {i} 原样保留
+     * </p>
+     *
+     * @param sql    SQL 模板
+     * @param length 参数个数
+     * @param sizes  集合参数长度，null 表示无集合参数
+     */
+    private SqlSource buildSqlSource(String sql, int length, int[] sizes) {
+        int[] offsets = new int[length];
+        for (int i = 1; i < length; i++) {
+            offsets[i] = offsets[i - 1] + (null == sizes || sizes[i - 1] < 0 ? 1 : sizes[i - 1]);
+        }
+        StringBuilder builder = new StringBuilder(sql.length());
+        List<ParameterMapping> parameterMappings = new ArrayList<>();
+        int start = 0;
+        char quote = 0;
+        for (int open = 0; open < sql.length(); open++) {
+            char c = sql.charAt(open);
+            // 引号内为字面量，'' 转义相当于先结束再开始
+            if (0 != quote) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                quote = c;
+                continue;
+            }
+            if (c != '{') {
+                continue;
+            }
+            int close = sql.indexOf('}', open);
+            int index = close > open + 1 ? parseIndex(sql, open + 1, close) : -1;
+            if (index < 0 || index >= length) {
+                continue;
+            }
+            builder.append(sql, start, open);
+            boolean collection = null != sizes && sizes[index] >= 0;
+            int count = collection ? sizes[index] : 1;
+            if (collection) {
+                builder.append(StringPool.LEFT_BRACKET);
+            }
+            for (int i = 0; i < count; i++) {
+                builder.append(i == 0 ? StringPool.QUESTION_MARK : ", ?");
+                parameterMappings.add(new ParameterMapping.Builder(configuration,
+                    ISqlRunner.ARGS + "[" + (offsets[index] + i) + "]", Object.class).build());
+            }
+            if (collection) {
+                // 空集合使用 (NULL)，IN 条件不成立
+                builder.append(count == 0 ? "NULL)" : StringPool.RIGHT_BRACKET);
+            }
+            start = close + 1;
+            open = close;
+        }
+        builder.append(sql, start, sql.length());
+        return new StaticSqlSource(configuration, builder.toString(), parameterMappings);
+    }
+
+    private static int parseIndex(String sql, int begin, int end) {
+        int index = 0;
+        for (int i = begin; i < end; i++) {
+            char c = sql.charAt(i);
+            if (c < '0' || c > '9' || i - begin > 8) {
+                return -1;
+            }
+            index = index * 10 + c - '0';
+        }
+        return index;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.source;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.sooner.framework.jdbc.annotation.FieldFill;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.Constants;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
+
+/**
+ * <p>
+ * 根据ID 选择修改数据 预编译 SqlSource
+ * </p>
+ * <p>
+ * 乐观锁插件会把 et 替换为 Map，此时回退动态 SqlSource
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class UpdateByIdSqlSource extends AbstractTableSqlSource {
+
+    /**
+     * where 条件之后追加的 sql，例如逻辑删除条件
+     */
+    private final String sqlSuffix;
+
+    public UpdateByIdSqlSource(Configuration configuration, Class<?> modelClass, TableInfo tableInfo,
+                               List<TableFieldInfo> fieldList, String sqlSuffix, SqlSource dynamicSqlSource) {
+        super(configuration, modelClass, tableInfo, fieldList, dynamicSqlSource);
+        this.sqlSuffix = sqlSuffix;
+    }
+
+    @Override
+    protected boolean isAlwaysPresent(TableFieldInfo fieldInfo) {
+        return fieldInfo.getFieldFill() == FieldFill.UPDATE || fieldInfo.getFieldFill() == FieldFill.INSERT_UPDATE;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected Object getEntity(Object parameterObject) {
+        if (parameterObject instanceof Map) {
+            Map map = (Map) parameterObject;
+            if (map.containsKey(Constants.ENTITY)) {
+                return map.get(Constants.ENTITY);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected String getPropertyPrefix() {
+        return Constants.ENTITY_SPOT;
+    }
+
+    @Override
+    protected void appendSql(StringBuilder sql, BitSet present) {
+        sql.append("UPDATE ").append(tableInfo.getTableName());
+        boolean first = true;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            TableFieldInfo fieldInfo = fieldList.get(i);
+            sql.append(first ? " SET " : StringPool.COMMA).append(fieldInfo.getColumn()).append(StringPool.EQUALS);
+            if (StringUtils.isNotEmpty(fieldInfo.getUpdate())) {
+                sql.append(String.format(fieldInfo.getUpdate(), fieldInfo.getColumn()));
+            } else {
+                sql.append(SqlScriptUtils.safeParam(fieldInfo.getEl()));
+            }
+            first = false;
+        }
+        sql.append(" WHERE ").append(tableInfo.getKeyColumn()).append(StringPool.EQUALS)
+            .append(SqlScriptUtils.safeParam(tableInfo.getKeyProperty()));
+        if (StringUtils.isNotEmpty(sqlSuffix)) {
+            sql.append(sqlSuffix);
+        }
+    }
+}
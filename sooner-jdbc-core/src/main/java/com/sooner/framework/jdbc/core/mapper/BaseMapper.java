@@ -22,6 +22,7 @@ import java.util.Map;
 
 import com.sooner.framework.jdbc.core.metadata.IPage;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import com.sooner.framework.jdbc.core.conditions.Wrapper;
 import com.sooner.framework.jdbc.core.toolkit.Constants;
@@ -96,6 +97,18 @@ public interface BaseMapper<T> {
      */
     int insert(T entity);
 
+    /**
+     * <p>
+     * 批量插入（固定字段多行 VALUES，单条语句）
+     * </p>
+     * <p>
+     * 数据量较大时请使用 SqlHelper#insertBatchSomeColumn 按数据库参数上限分批
+     * </p>
+     *
+     * @param entityList 实体对象列表(不能为 null 以及 empty)
+     */
+    int insertBatchSomeColumn(List<T> entityList);
+
     /**
      * <p>
      * 根据 ID 删除
@@ -224,6 +237,18 @@ public interface BaseMapper<T> {
      */
     List<Object> selectObjs(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper);
 
+    /**
+     * <p>
+     * 根据 Wrapper 条件，游标查询全部记录
+     * </p>
+     * <p>
+     * 游标在 SqlSession 关闭后不可用，Spring 环境需在事务内使用
+     * </p>
+     *
+     * @param queryWrapper 实体对象封装操作类（可以为 null）
+     */
+    Cursor<T> selectCursor(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper);
+
     /**
      * <p>
      * 根据 entity 条件，查询全部记录（并翻页）
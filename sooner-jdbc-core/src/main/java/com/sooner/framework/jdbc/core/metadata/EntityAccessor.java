@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.metadata;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+
+import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+
+/**
+ * <p>
+ * 实体属性访问器
+ * </p>
+ * <p>
+ * 初始化表信息时通过 LambdaMetafactory 为主键及字段的 getter/setter 生成调用类，
+ * 按下标读写属性，替代 MetaObject 及反射调用；无法生成时退回 MyBatis Reflector
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@SuppressWarnings("unchecked")
+public class EntityAccessor {
+
+    private static final Log logger = LogFactory.getLog(EntityAccessor.class);
+    /**
+     * 缓存实体访问器，保存在实体类上，随实体类的类加载器一起回收
+     */
+    private static final ClassValue<AtomicReference<EntityAccessor>> ACCESSOR_CACHE = new ClassValue<AtomicReference<EntityAccessor>>() {
+        @Override
+        protected AtomicReference<EntityAccessor> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    /**
+     * JDK9+ MethodHandles.privateLookupIn
+     */
+    private static final Method PRIVATE_LOOKUP_IN = getPrivateLookupIn();
+
+    private final Class<?> entityClass;
+    private final Map<String, Integer> propertyIndex;
+    private final Function<Object, Object>[] getters;
+    private final BiConsumer<Object, Object>[] setters;
+    /**
+     * 主键下标，-1 表示无主键
+     */
+    private final int keyIndex;
+
+    private EntityAccessor(Class<?> entityClass, List<String> properties, int keyIndex) {
+        this.entityClass = entityClass;
+        this.keyIndex = keyIndex;
+        this.propertyIndex = new HashMap<>(properties.size() * 2);
+        this.getters = new Function[properties.size()];
+        this.setters = new BiConsumer[properties.size()];
+        MethodHandles.Lookup lookup = lookup(entityClass);
+        Reflector reflector = null;
+        for (int i = 0; i < properties.size(); i++) {
+            String property = properties.get(i);
+            propertyIndex.put(property, i);
+            Method getter = findGetter(entityClass, property);
+            getters[i] = null == getter ? null : createGetter(lookup, getter);
+            if (null == getters[i]) {
+                reflector = null == reflector ? new Reflector(entityClass) : reflector;
+                getters[i] = invokerGetter(reflector, property);
+            }
+            Method setter = findSetter(entityClass, property, null == getter ? null : getter.getReturnType());
+            setters[i] = null == setter ? null : createSetter(lookup, setter);
+            if (null == setters[i]) {
+                reflector = null == reflector ? new Reflector(entityClass) : reflector;
+                setters[i] = invokerSetter(reflector, property);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * 创建并缓存实体访问器
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @param tableInfo   表信息
+     * @return 实体访问器
+     */
+    public static EntityAccessor create(Class<?> entityClass, TableInfo tableInfo) {
+        List<String> properties = new ArrayList<>();
+        int keyIndex = -1;
+        if (StringUtils.isNotEmpty(tableInfo.getKeyProperty())) {
+            keyIndex = 0;
+            properties.add(tableInfo.getKeyProperty());
+        }
+        tableInfo.getFieldList().stream().map(TableFieldInfo::getProperty)
+            .filter(i -> !properties.contains(i)).forEach(properties::add);
+        EntityAccessor accessor = new EntityAccessor(entityClass, properties, keyIndex);
+        ACCESSOR_CACHE.get(entityClass).set(accessor);
+        return accessor;
+    }
+
+    /**
+     * <p>
+     * 获取实体访问器，仅精确匹配实体类
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @return 实体访问器，不存在返回 null
+     */
+    public static EntityAccessor getAccessor(Class<?> entityClass) {
+        return ACCESSOR_CACHE.get(entityClass).get();
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * 属性下标，不存在返回 -1
+     */
+    public int indexOf(String property) {
+        Integer index = propertyIndex.get(property);
+        return null == index ? -1 : index;
+    }
+
+    public Object get(Object entity, int index) {
+        return getters[index].apply(entity);
+    }
+
+    public void set(Object entity, int index, Object value) {
+        setters[index].accept(entity, value);
+    }
+
+    public boolean hasKey() {
+        return keyIndex >= 0;
+    }
+
+    public Object getKey(Object entity) {
+        return get(entity, keyIndex);
+    }
+
+    public void setKey(Object entity, Object value) {
+        set(entity, keyIndex, value);
+    }
+
+    private static Method getPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            // JDK8
+            return null;
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> entityClass) {
+        try {
+            if (null != PRIVATE_LOOKUP_IN) {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, entityClass, MethodHandles.lookup());
+            }
+            // JDK8 Lookup.in 会丢失私有访问权限，公共实体且类加载器可见时直接使用本类 Lookup
+            if (Modifier.isPublic(entityClass.getModifiers()) && Class.forName(entityClass.getName(), false,
+                EntityAccessor.class.getClassLoader()) == entityClass) {
+                return MethodHandles.lookup();
+            }
+            return null;
+        } catch (Exception e) {
+            logger.debug("Cannot lookup " + entityClass.getName() + ", use reflection accessor. Cause: " + e);
+            return null;
+        }
+    }
+
+    private static Method findGetter(Class<?> entityClass, String property) {
+        String name = StringUtils.capitalize(property);
+        for (Method method : entityClass.getMethods()) {
+            if (method.getParameterCount() == 0 && method.getReturnType() != void.class
+                && !Modifier.isStatic(method.getModifiers())
+                && (method.getName().equals("get" + name) || (method.getName().equals("is" + name)
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findSetter(Class<?> entityClass, String property, Class<?> type) {
+        String name = "set" + StringUtils.capitalize(property);
+        Method setter = null;
+        for (Method method : entityClass.getMethods()) {
+            if (method.getParameterCount() == 1 && method.getName().equals(name)
+                && !Modifier.isStatic(method.getModifiers())) {
+                if (null == type || method.getParameterTypes()[0] == type) {
+                    return method;
+                }
+                setter = null == setter ? method : setter;
+            }
+        }
+        return setter;
+    }
+
+    private static Function<Object, Object> createGetter(MethodHandles.Lookup lookup, Method method) {
+        if (null == lookup) {
+            return null;
+        }
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle,
+                MethodType.methodType(Object.class, method.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            logger.debug("Cannot generate getter " + method + ", use reflection accessor. Cause: " + t);
+            return null;
+        }
+    }
+
+    private static BiConsumer<Object, Object> createSetter(MethodHandles.Lookup lookup, Method method) {
+        if (null == lookup) {
+            return null;
+        }
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class), handle,
+                MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            logger.debug("Cannot generate setter " + method + ", use reflection accessor. Cause: " + t);
+            return null;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static Function<Object, Object> invokerGetter(Reflector reflector, String property) {
+        Invoker invoker = reflector.hasGetter(property) ? reflector.getGetInvoker(property) : null;
+        return entity -> {
+            if (null == invoker) {
+                throw ExceptionUtils.mpe("There is no getter for property named '" + property + "' in '"
+                    + reflector.getType().getName() + "'");
+            }
+            try {
+                return invoker.invoke(entity, null);
+            } catch (Exception e) {
+                throw ExceptionUtils.mpe("Error getting property '" + property + "'", e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> invokerSetter(Reflector reflector, String property) {
+        Invoker invoker = reflector.hasSetter(property) ? reflector.getSetInvoker(property) : null;
+        return (entity, value) -> {
+            if (null == invoker) {
+                throw ExceptionUtils.mpe("There is no setter for property named '" + property + "' in '"
+                    + reflector.getType().getName() + "'");
+            }
+            try {
+                invoker.invoke(entity, new Object[]{value});
+            } catch (Exception e) {
+                throw ExceptionUtils.mpe("Error setting property '" + property + "'", e);
+            }
+        };
+    }
+}
@@ -73,6 +73,17 @@ public interface IPage<T> extends Serializable {
         return true;
     }
 
+    /**
+     * <p>
+     * 查询总记录数【 默认：true 】
+     * </p>
+     *
+     * @return true 是 / false 否
+     */
+    default boolean isSearchCount() {
+        return true;
+    }
+
     /**
      * <p>
      * 计算当前分页偏移量
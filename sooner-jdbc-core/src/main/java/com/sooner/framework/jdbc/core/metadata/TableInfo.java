@@ -20,11 +20,13 @@ import com.sooner.framework.jdbc.annotation.IdType;
 import com.sooner.framework.jdbc.annotation.KeySequence;
 import com.sooner.framework.jdbc.core.toolkit.Assert;
 import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
 import com.sooner.framework.jdbc.core.toolkit.sql.SqlScriptUtils;
 import com.sooner.framework.jdbc.core.toolkit.sql.SqlUtils;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.util.List;
 
@@ -82,9 +84,9 @@ public class TableInfo {
      */
     private String currentNamespace;
     /**
-     * MybatisConfiguration 标记 (Configuration内存地址值)
+     * 所属 Configuration
      */
-    private String configMark;
+    private Configuration configuration;
     /**
      * 是否开启逻辑删除
      */
@@ -105,6 +107,10 @@ public class TableInfo {
      * 缓存主键字段的 sql select
      */
     private String sqlSelect;
+    /**
+     * 实体属性访问器
+     */
+    private EntityAccessor entityAccessor;
 
     /**
      * <p>
@@ -118,9 +124,34 @@ public class TableInfo {
         return currentNamespace + StringPool.DOT + sqlMethod;
     }
 
-    public void setConfigMark(Configuration configuration) {
+    public void setConfiguration(Configuration configuration) {
         Assert.notNull(configuration, "Error: You need Initialize MybatisConfiguration !");
-        this.configMark = configuration.toString();
+        this.configuration = configuration;
+    }
+
+    /**
+     * <p>
+     * 获取所属 Configuration 的 SqlSessionFactory
+     * </p>
+     * <p>
+     * 不缓存，全局配置被替换后仍取到当前的 SqlSessionFactory；
+     * MybatisConfiguration 直接持有全局配置，获取开销为字段读取
+     * </p>
+     */
+    public SqlSessionFactory getSqlSessionFactory() {
+        return null == configuration ? null : GlobalConfigUtils.getGlobalConfig(configuration).getSqlSessionFactory();
+    }
+
+    /**
+     * <p>
+     * 设置所属 Configuration
+     * </p>
+     *
+     * @deprecated 使用 {@link #setConfiguration(Configuration)}
+     */
+    @Deprecated
+    public void setConfigMark(Configuration configuration) {
+        this.setConfiguration(configuration);
     }
 
     public void setLogicDelete(boolean logicDelete) {
@@ -380,12 +411,35 @@ public class TableInfo {
         this.currentNamespace = currentNamespace;
     }
 
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * <p>
+     * MybatisConfiguration 标记 (Configuration内存地址值)
+     * </p>
+     *
+     * @deprecated 使用 {@link #getConfiguration()}
+     */
+    @Deprecated
     public String getConfigMark() {
-        return configMark;
+        return null == configuration ? null : configuration.toString();
     }
 
+    /**
+     * <p>
+     * 按标记设置所属 Configuration，仅能匹配已初始化实体所属的 Configuration
+     * </p>
+     *
+     * @deprecated 使用 {@link #setConfiguration(Configuration)}
+     */
+    @Deprecated
     public void setConfigMark(String configMark) {
-        this.configMark = configMark;
+        Configuration configuration = GlobalConfigUtils.getConfiguration(configMark);
+        if (null != configuration) {
+            this.setConfiguration(configuration);
+        }
     }
 
     public boolean isLogicDelete() {
@@ -419,4 +473,12 @@ public class TableInfo {
     public void setSqlSelect(String sqlSelect) {
         this.sqlSelect = sqlSelect;
     }
+
+    public EntityAccessor getEntityAccessor() {
+        return entityAccessor;
+    }
+
+    public void setEntityAccessor(EntityAccessor entityAccessor) {
+        this.entityAccessor = entityAccessor;
+    }
 }
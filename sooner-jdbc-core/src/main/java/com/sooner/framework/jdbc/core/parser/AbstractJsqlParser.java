@@ -43,6 +43,18 @@ public abstract class AbstractJsqlParser implements ISqlParser {
      * 日志
      */
     protected final Log logger = LogFactory.getLog(this.getClass());
+    /**
+     * 子类是否覆盖了 parser(MetaObject, String)
+     */
+    private final boolean customParser = isOverridden("parser", MetaObject.class, String.class);
+    /**
+     * 子类是否覆盖了 parser(MetaObject, String, Object)
+     */
+    private final boolean customCacheKeyParser = isOverridden("parser", MetaObject.class, String.class, Object.class);
+    /**
+     * 子类是否覆盖了 processParser，覆盖时按原方式逐条调用并以其结果生成 SQL
+     */
+    private final boolean customProcessParser = isOverridden("processParser", Statement.class);
 
     /**
      * <p>
@@ -56,12 +68,24 @@ public abstract class AbstractJsqlParser implements ISqlParser {
 
     @Override
     public SqlInfo parser(MetaObject metaObject, String sql) {
+        return this.doParser(metaObject, sql, null);
+    }
+
+    @Override
+    public SqlInfo parser(MetaObject metaObject, String sql, Object cacheKey) {
+        if (customParser) {
+            // 子类只覆盖了原解析方法
+            return this.parser(metaObject, sql);
+        }
+        return this.doParser(metaObject, sql, cacheKey);
+    }
+
+    private SqlInfo doParser(MetaObject metaObject, String sql, Object cacheKey) {
         if (this.allowProcess(metaObject)) {
-            try {
-                logger.debug("Original SQL: " + sql);
-                // fixed github pull/295
+            logger.debug("Original SQL: " + sql);
+            Statements statements = parseStatements(sql);
+            if (customProcessParser) {
                 StringBuilder sqlStringBuilder = new StringBuilder();
-                Statements statements = CCJSqlParserUtil.parseStatements(sql);
                 int i = 0;
                 for (Statement statement : statements.getStatements()) {
                     if (null != statement) {
@@ -76,8 +100,22 @@ public abstract class AbstractJsqlParser implements ISqlParser {
                     sqlInfo.setSql(sqlStringBuilder.toString());
                     return sqlInfo;
                 }
-            } catch (JSQLParserException e) {
-                throw ExceptionUtils.mpe("Failed to process, please exclude the tableName or statementId.\n Error SQL: " + sql, e);
+                return null;
+            }
+            boolean modified = false;
+            for (Statement statement : statements.getStatements()) {
+                if (null != statement) {
+                    modified |= this.processStatement(statement, cacheKey);
+                }
+            }
+            if (modified) {
+                String parserSql = toSql(statements);
+                if (!parserSql.isEmpty()) {
+                    logger.debug("parser sql: " + parserSql);
+                    SqlInfo sqlInfo = SqlInfo.newInstance();
+                    sqlInfo.setSql(parserSql);
+                    return sqlInfo;
+                }
             }
         }
         return null;
@@ -92,6 +130,22 @@ public abstract class AbstractJsqlParser implements ISqlParser {
      * @return
      */
     public SqlInfo processParser(Statement statement) {
+        this.processStatement(statement);
+        logger.debug("parser sql: " + statement.toString());
+        SqlInfo sqlInfo= SqlInfo.newInstance();
+        sqlInfo.setSql(statement.toString());
+        return sqlInfo;
+    }
+
+    /**
+     * <p>
+     * 在已解析的语法树上执行解析，不生成 SQL
+     * </p>
+     *
+     * @param statement JsqlParser Statement
+     * @return 是否修改了语法树
+     */
+    public boolean processStatement(Statement statement) {
         if (statement instanceof Insert) {
             this.processInsert((Insert) statement);
         } else if (statement instanceof Select) {
@@ -100,11 +154,82 @@ public abstract class AbstractJsqlParser implements ISqlParser {
             this.processUpdate((Update) statement);
         } else if (statement instanceof Delete) {
             this.processDelete((Delete) statement);
+        } else {
+            return false;
         }
-        logger.debug("parser sql: " + statement.toString());
-        SqlInfo sqlInfo= SqlInfo.newInstance();
-        sqlInfo.setSql(statement.toString());
-        return sqlInfo;
+        return this.isModifySql();
+    }
+
+    /**
+     * <p>
+     * 按缓存键在已解析的语法树上执行解析，可复用缓存键中已获取的上下文
+     * </p>
+     *
+     * @param statement JsqlParser Statement
+     * @param cacheKey  {@link #getCacheKey(MetaObject, String)} 返回的缓存键，可能为 null
+     * @return 是否修改了语法树
+     */
+    public boolean processStatement(Statement statement, Object cacheKey) {
+        return this.processStatement(statement);
+    }
+
+    /**
+     * <p>
+     * 是否修改 SQL，只做校验的解析器返回 false，不再重新生成 SQL
+     * </p>
+     */
+    public boolean isModifySql() {
+        return true;
+    }
+
+    /**
+     * <p>
+     * 是否可与相邻解析器共用语法树，子类覆盖了 parser 或 processParser 时必须按 SQL 文本调用
+     * </p>
+     */
+    boolean isShareStatement() {
+        return !customParser && !customCacheKeyParser && !customProcessParser;
+    }
+
+    private boolean isOverridden(String name, Class<?>... parameterTypes) {
+        for (Class<?> clazz = this.getClass(); clazz != AbstractJsqlParser.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // 继续查找父类
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 SQL，支持多条语句
+     */
+    public static Statements parseStatements(String sql) {
+        try {
+            // fixed github pull/295
+            return CCJSqlParserUtil.parseStatements(sql);
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("Failed to process, please exclude the tableName or statementId.\n Error SQL: " + sql, e);
+        }
+    }
+
+    /**
+     * 语法树生成 SQL，多条语句以 ; 分隔
+     */
+    public static String toSql(Statements statements) {
+        StringBuilder sqlStringBuilder = new StringBuilder();
+        int i = 0;
+        for (Statement statement : statements.getStatements()) {
+            if (null != statement) {
+                if (i++ > 0) {
+                    sqlStringBuilder.append(';');
+                }
+                sqlStringBuilder.append(statement.toString());
+            }
+        }
+        return sqlStringBuilder.toString();
     }
 
     /**
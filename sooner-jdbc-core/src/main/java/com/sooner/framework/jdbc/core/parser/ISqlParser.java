@@ -38,4 +38,31 @@ public interface ISqlParser {
      */
     SqlInfo parser(MetaObject metaObject, String sql);
 
+    /**
+     * <p>
+     * 缓存未命中时按缓存键解析 SQL，可复用缓存键中已获取的上下文，避免与缓存键不一致
+     * </p>
+     *
+     * @param metaObject 元对象
+     * @param sql        SQL 语句
+     * @param cacheKey   {@link #getCacheKey(MetaObject, String)} 返回的缓存键
+     * @return SQL 信息
+     */
+    default SqlInfo parser(MetaObject metaObject, String sql, Object cacheKey) {
+        return parser(metaObject, sql);
+    }
+
+    /**
+     * <p>
+     * 解析结果缓存键，相同键的解析结果必须相同，返回 null 不缓存
+     * </p>
+     *
+     * @param metaObject 元对象
+     * @param sql        SQL 语句
+     * @return 缓存键
+     */
+    default Object getCacheKey(MetaObject metaObject, String sql) {
+        return null;
+    }
+
 }
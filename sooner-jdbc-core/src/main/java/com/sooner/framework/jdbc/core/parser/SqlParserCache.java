@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.reflection.MetaObject;
+
+import com.sooner.framework.jdbc.core.toolkit.LruCache;
+
+/**
+ * <p>
+ * SQL 解析结果缓存
+ * </p>
+ * <p>
+ * 按解析器及 {@link ISqlParser#getCacheKey(MetaObject, String)} 缓存解析结果，
+ * 注入方法生成的 SQL 形态有限，命中后不再调用 JsqlParser
+ * </p>
+ * <p>
+ * 底层 {@link LruCache} 按缓存键分段加锁，减少并发语句之间的锁竞争
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlParserCache {
+
+    /**
+     * 解析器未修改 SQL 的占位结果
+     */
+    private static final SqlInfo NONE = SqlInfo.newInstance();
+    private final LruCache<List<Object>, SqlInfo> cache;
+
+    public SqlParserCache(int maxSize) {
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    /**
+     * <p>
+     * 解析 SQL，优先读取缓存
+     * </p>
+     *
+     * @param sqlParser  SQL 解析器
+     * @param metaObject 元对象
+     * @param sql        SQL 语句
+     * @return SQL 信息，null 表示未修改
+     */
+    public SqlInfo parser(ISqlParser sqlParser, MetaObject metaObject, String sql) {
+        Object key = sqlParser.getCacheKey(metaObject, sql);
+        if (null == key) {
+            return sqlParser.parser(metaObject, sql);
+        }
+        List<Object> cacheKey = Arrays.asList(sqlParser, key);
+        SqlInfo sqlInfo = cache.get(cacheKey);
+        if (null == sqlInfo) {
+            sqlInfo = sqlParser.parser(metaObject, sql, key);
+            cache.put(cacheKey, null == sqlInfo ? NONE : copy(sqlInfo));
+            return sqlInfo;
+        }
+        return sqlInfo == NONE ? null : copy(sqlInfo);
+    }
+
+    private static SqlInfo copy(SqlInfo sqlInfo) {
+        SqlInfo copy = SqlInfo.newInstance();
+        copy.setSql(sqlInfo.getSql());
+        copy.setOrderBy(sqlInfo.isOrderBy());
+        return copy;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+}
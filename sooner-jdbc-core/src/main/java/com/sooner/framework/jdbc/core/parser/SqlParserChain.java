@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.MetaObject;
+
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+
+/**
+ * <p>
+ * SQL 解析链，按顺序执行多个解析器
+ * </p>
+ * <p>
+ * 相邻的 {@link AbstractJsqlParser} 共用同一棵语法树：SQL 只解析一次，
+ * 各解析器依次处理语法树，最后有修改时才重新生成一次 SQL；
+ * 覆盖了 parser、processParser 的 {@link AbstractJsqlParser} 及其它 {@link ISqlParser} 按 SQL 文本执行
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlParserChain implements ISqlParser {
+
+    private static final Log logger = LogFactory.getLog(SqlParserChain.class);
+    /**
+     * 未执行的解析器缓存键
+     */
+    private static final Object SKIPPED = new Object();
+    private final List<ISqlParser> sqlParserList;
+
+    public SqlParserChain(List<ISqlParser> sqlParserList) {
+        this.sqlParserList = sqlParserList;
+    }
+
+    /**
+     * <p>
+     * 依次执行解析器
+     * </p>
+     *
+     * @param metaObject 元对象
+     * @param sql        SQL 语句
+     * @return SQL 信息，null 表示未修改
+     */
+    @Override
+    public SqlInfo parser(MetaObject metaObject, String sql) {
+        return this.parser(metaObject, sql, null);
+    }
+
+    /**
+     * <p>
+     * 依次执行解析器，各解析器使用 {@link #getCacheKey(MetaObject, String)} 中对应的缓存键
+     * </p>
+     */
+    @Override
+    public SqlInfo parser(MetaObject metaObject, String sql, Object cacheKey) {
+        List<?> cacheKeys = cacheKey instanceof List ? (List<?>) cacheKey : null;
+        String parserSql = sql;
+        boolean changed = false;
+        Statements statements = null;
+        boolean modified = false;
+        for (int i = 0; i < sqlParserList.size(); i++) {
+            ISqlParser sqlParser = sqlParserList.get(i);
+            Object key = null == cacheKeys ? null : cacheKeys.get(i);
+            if (sqlParser instanceof AbstractJsqlParser && ((AbstractJsqlParser) sqlParser).isShareStatement()) {
+                AbstractJsqlParser jsqlParser = (AbstractJsqlParser) sqlParser;
+                if (!jsqlParser.allowProcess(metaObject)) {
+                    continue;
+                }
+                if (null == statements) {
+                    statements = AbstractJsqlParser.parseStatements(parserSql);
+                }
+                for (Statement statement : statements.getStatements()) {
+                    if (null != statement) {
+                        modified |= jsqlParser.processStatement(statement, key);
+                    }
+                }
+            } else {
+                if (modified) {
+                    parserSql = AbstractJsqlParser.toSql(statements);
+                    changed = true;
+                    modified = false;
+                }
+                statements = null;
+                SqlInfo sqlInfo = sqlParser.parser(metaObject, parserSql, key);
+                if (null != sqlInfo) {
+                    parserSql = sqlInfo.getSql();
+                    changed = true;
+                }
+            }
+        }
+        if (modified) {
+            parserSql = AbstractJsqlParser.toSql(statements);
+            changed = true;
+        }
+        if (!changed) {
+            return null;
+        }
+        logger.debug("parser sql: " + parserSql);
+        SqlInfo sqlInfo = SqlInfo.newInstance();
+        sqlInfo.setSql(parserSql);
+        return sqlInfo;
+    }
+
+    /**
+     * <p>
+     * 所有解析器的缓存键，任一解析器不支持缓存时返回 null
+     * </p>
+     */
+    @Override
+    public Object getCacheKey(MetaObject metaObject, String sql) {
+        List<Object> cacheKey = new ArrayList<>(sqlParserList.size());
+        for (ISqlParser sqlParser : sqlParserList) {
+            if (sqlParser instanceof AbstractJsqlParser && !((AbstractJsqlParser) sqlParser).allowProcess(metaObject)) {
+                cacheKey.add(SKIPPED);
+                continue;
+            }
+            Object key = sqlParser.getCacheKey(metaObject, sql);
+            if (null == key) {
+                return null;
+            }
+            cacheKey.add(key);
+        }
+        return cacheKey;
+    }
+
+    public List<ISqlParser> getSqlParserList() {
+        return sqlParserList;
+    }
+}
@@ -86,4 +86,8 @@ public interface Constants {
      * collection
      */
     String COLLECTION = "coll";
+    /**
+     * 游标查询 fetchSize，带 MP_ 前缀避免与用户 Map 参数冲突
+     */
+    String FETCH_SIZE = "MP_FETCH_SIZE";
 }
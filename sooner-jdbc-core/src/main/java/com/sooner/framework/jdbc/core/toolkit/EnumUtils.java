@@ -15,9 +15,13 @@
  */
 package com.sooner.framework.jdbc.core.toolkit;
 
-
 import java.lang.reflect.Field;
-import java.util.Objects;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.sooner.framework.jdbc.core.enums.IEnum;
 
@@ -31,6 +35,31 @@ import com.sooner.framework.jdbc.core.enums.IEnum;
  */
 public class EnumUtils {
 
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    /**
+     * IEnum 枚举值映射表
+     */
+    private static final ClassValue<Map<Object, Enum<?>>> IENUM_VALUES = new ClassValue<Map<Object, Enum<?>>>() {
+        @Override
+        protected Map<Object, Enum<?>> computeValue(Class<?> type) {
+            Map<Object, Enum<?>> values = new HashMap<>();
+            for (Object e : type.getEnumConstants()) {
+                values.putIfAbsent(normalize(((IEnum<?>) e).getValue()), (Enum<?>) e);
+            }
+            return Collections.unmodifiableMap(values);
+        }
+    };
+    /**
+     * EnumValue 字段值映射表，按枚举类保存，随枚举类的类加载器一起回收
+     */
+    private static final ClassValue<Map<Field, Map<Object, Enum<?>>>> FIELD_VALUES = new ClassValue<Map<Field, Map<Object, Enum<?>>>>() {
+        @Override
+        protected Map<Field, Map<Object, Enum<?>>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * <p>
      * 值映射为枚举
@@ -41,28 +70,67 @@ public class EnumUtils {
      * @param <E>       对应枚举
      * @return
      */
+    @SuppressWarnings("unchecked")
     public static <E extends Enum<?> & IEnum> E valueOf(Class<E> enumClass, Object value) {
-        E[] es = enumClass.getEnumConstants();
-        for (E e : es) {
-            if (Objects.equals(e.getValue(), value)) {
-                return e;
-            }
-        }
-        return null;
+        return (E) IENUM_VALUES.get(enumClass).get(normalize(value));
     }
 
+    @SuppressWarnings("unchecked")
     public static <E extends Enum<?>> E valueOf(Class<E> enumClass, Object value, Field enumField) {
-        E[] es = enumClass.getEnumConstants();
-        for (E e : es) {
-            try {
-                if (Objects.equals(enumField.get(e), value)) {
-                    return e;
+        Map<Object, Enum<?>> values = FIELD_VALUES.get(enumClass).computeIfAbsent(enumField, k -> {
+            Map<Object, Enum<?>> map = new HashMap<>();
+            for (E e : enumClass.getEnumConstants()) {
+                try {
+                    map.putIfAbsent(normalize(enumField.get(e)), e);
+                } catch (IllegalAccessException e1) {
+
                 }
-            } catch (IllegalAccessException e1) {
+            }
+            return Collections.unmodifiableMap(map);
+        });
+        return (E) values.get(normalize(value));
+    }
 
+    /**
+     * <p>
+     * 数值统一为 Long 或去掉末尾 0 的 BigDecimal，使 Integer、Long、BigDecimal 等数据库返回值都能匹配
+     * </p>
+     *
+     * @param value 枚举值
+     * @return 映射表 Key
+     */
+    private static Object normalize(Object value) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        if (value instanceof Long) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        BigDecimal decimal;
+        if (value instanceof BigDecimal) {
+            decimal = (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            decimal = new BigDecimal((BigInteger) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                return value;
+            }
+            decimal = new BigDecimal(String.valueOf(value));
+        } else {
+            try {
+                decimal = new BigDecimal(value.toString());
+            } catch (NumberFormatException e) {
+                return value;
             }
         }
-        return null;
+        decimal = decimal.stripTrailingZeros();
+        if (decimal.scale() <= 0 && decimal.compareTo(LONG_MIN) >= 0 && decimal.compareTo(LONG_MAX) <= 0) {
+            return decimal.longValue();
+        }
+        return decimal;
     }
-
 }
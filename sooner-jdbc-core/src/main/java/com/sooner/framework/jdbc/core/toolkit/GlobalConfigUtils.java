@@ -22,11 +22,13 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.sooner.framework.jdbc.annotation.DbType;
 import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
 import com.sooner.framework.jdbc.core.config.GlobalConfig;
 import com.sooner.framework.jdbc.core.handlers.MetaObjectHandler;
 import com.sooner.framework.jdbc.core.incrementer.IKeyGenerator;
 import com.sooner.framework.jdbc.core.injector.DefaultSqlInjector;
 import com.sooner.framework.jdbc.core.injector.ISqlInjector;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.session.Configuration;
@@ -47,9 +49,13 @@ public class GlobalConfigUtils {
     private static final Log logger = LogFactory.getLog(GlobalConfigUtils.class);
 
     /**
-     * 缓存全局信息
+     * 缓存非 MybatisConfiguration 的全局信息(以 configuration 对象为 Key)
      */
-    private static final Map<String, GlobalConfig> GLOBAL_CONFIG = new ConcurrentHashMap<>();
+    private static final Map<Configuration, GlobalConfig> GLOBAL_CONFIG = new ConcurrentHashMap<>();
+    /**
+     * 缓存按标记访问且找不到对应 Configuration 的全局信息
+     */
+    private static final Map<String, GlobalConfig> MARK_GLOBAL_CONFIG = new ConcurrentHashMap<>();
 
     /**
      * <p>
@@ -59,9 +65,7 @@ public class GlobalConfigUtils {
      * @param clazz 实体类
      */
     public static SqlSessionFactory currentSessionFactory(Class<?> clazz) {
-        String configMark = TableInfoHelper.getTableInfo(clazz).getConfigMark();
-        GlobalConfig mybatisGlobalConfig = getGlobalConfig(configMark);
-        return mybatisGlobalConfig.getSqlSessionFactory();
+        return TableInfoHelper.getTableInfo(clazz).getSqlSessionFactory();
     }
 
     /**
@@ -79,7 +83,7 @@ public class GlobalConfigUtils {
 
     /**
      * <p>
-     * 设置全局设置(以configuration地址值作为Key)
+     * 设置全局设置，MybatisConfiguration 直接持有，其他 Configuration 以对象为 Key 缓存
      * <p/>
      *
      * @param configuration       Mybatis 容器配置对象
@@ -89,7 +93,11 @@ public class GlobalConfigUtils {
         Assert.isTrue(configuration != null && mybatisGlobalConfig != null,
             "Error: Could not setGlobalConfig !");
         // 设置全局设置
-        GLOBAL_CONFIG.put(configuration.toString(), mybatisGlobalConfig);
+        if (configuration instanceof MybatisConfiguration) {
+            ((MybatisConfiguration) configuration).setGlobalConfig(mybatisGlobalConfig);
+        } else {
+            GLOBAL_CONFIG.put(configuration, mybatisGlobalConfig);
+        }
     }
 
     /**
@@ -101,26 +109,71 @@ public class GlobalConfigUtils {
      */
     public static GlobalConfig getGlobalConfig(Configuration configuration) {
         Assert.notNull(configuration, "Error: You need Initialize MybatisConfiguration !");
-        return getGlobalConfig(configuration.toString());
+        if (configuration instanceof MybatisConfiguration) {
+            MybatisConfiguration mybatisConfiguration = (MybatisConfiguration) configuration;
+            GlobalConfig cache = mybatisConfiguration.getGlobalConfig();
+            if (cache == null) {
+                synchronized (mybatisConfiguration) {
+                    cache = mybatisConfiguration.getGlobalConfig();
+                    if (cache == null) {
+                        cache = initGlobalConfig();
+                        mybatisConfiguration.setGlobalConfig(cache);
+                    }
+                }
+            }
+            return cache;
+        }
+        return GLOBAL_CONFIG.computeIfAbsent(configuration, k -> initGlobalConfig());
     }
 
     /**
      * <p>
-     * 获取MybatisGlobalConfig (统一所有入口)
+     * 获取MybatisGlobalConfig
      * </p>
      *
-     * @param configMark 配置标记
+     * @param configMark 配置标记 (Configuration内存地址值)
+     * @deprecated 使用 {@link #getGlobalConfig(Configuration)}
      */
+    @Deprecated
     public static GlobalConfig getGlobalConfig(String configMark) {
-        GlobalConfig cache = GLOBAL_CONFIG.get(configMark);
-        if (cache == null) {
-            // 没有获取全局配置初始全局配置
-            logger.debug("DeBug: MyBatis Plus Global configuration Initializing !");
-            GlobalConfig globalConfig = defaults();
-            GLOBAL_CONFIG.put(configMark, globalConfig);
-            return globalConfig;
+        Configuration configuration = getConfiguration(configMark);
+        if (null == configuration) {
+            return MARK_GLOBAL_CONFIG.computeIfAbsent(configMark, k -> initGlobalConfig());
+        }
+        return getGlobalConfig(configuration);
+    }
+
+    /**
+     * <p>
+     * 按标记查找已登记全局配置或已初始化实体所属的 Configuration
+     * </p>
+     *
+     * @param configMark 配置标记 (Configuration内存地址值)
+     * @return 未找到返回 null
+     * @deprecated 仅用于兼容按标记访问的旧接口
+     */
+    @Deprecated
+    public static Configuration getConfiguration(String configMark) {
+        for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
+            Configuration configuration = tableInfo.getConfiguration();
+            if (null != configuration && configuration.toString().equals(configMark)) {
+                return configuration;
+            }
+        }
+        for (Configuration configuration : GLOBAL_CONFIG.keySet()) {
+            if (configuration.toString().equals(configMark)) {
+                return configuration;
+            }
         }
-        return cache;
+        return null;
+    }
+
+    /**
+     * 没有获取全局配置初始全局配置
+     */
+    private static GlobalConfig initGlobalConfig() {
+        logger.debug("DeBug: MyBatis Plus Global configuration Initializing !");
+        return defaults();
     }
 
     public static DbType getDbType(Configuration configuration) {
@@ -41,6 +41,17 @@ public class IdWorker {
         return String.valueOf(WORKER.nextId());
     }
 
+    /**
+     * <p>
+     * 批量获取ID，适用于批量插入
+     * </p>
+     *
+     * @param n ID 个数
+     */
+    public static long[] getIds(int n) {
+        return WORKER.nextIds(n);
+    }
+
     /**
      * <p>
      * 获取去掉"-" UUID
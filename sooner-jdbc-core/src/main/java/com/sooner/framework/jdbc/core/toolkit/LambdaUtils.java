@@ -20,7 +20,7 @@ import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.support.Property;
 import com.sooner.framework.jdbc.core.toolkit.support.SerializedLambda;
 
-import java.lang.ref.WeakReference;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -38,7 +38,14 @@ public final class LambdaUtils {
 
     private static final Map<String, Map<String, String>> LAMBDA_CACHE = new ConcurrentHashMap<>();
 
-    private static final Map<Class, WeakReference<SerializedLambda>> FUNC_CACHE = new ConcurrentHashMap<>();
+    /**
+     * lambda 类缓存最大条数
+     */
+    private static final int FUNC_CACHE_SIZE = 4096;
+    /**
+     * lambda 类与解析出的实体类、字段名及表字段，不保存 SerializedLambda 及其捕获参数
+     */
+    private static final LruCache<Class<?>, LambdaMeta> FUNC_CACHE = new LruCache<>(FUNC_CACHE_SIZE);
 
     /**
      * <p>
@@ -50,14 +57,28 @@ public final class LambdaUtils {
      * @return 返回解析后的结果
      */
     public static <T> SerializedLambda resolve(Property<T, ?> func) {
-        Class clazz = func.getClass();
-        return Optional.ofNullable(FUNC_CACHE.get(clazz))
-            .map(WeakReference::get)
-            .orElseGet(() -> {
-                SerializedLambda lambda = SerializedLambda.convert(func);
-                FUNC_CACHE.put(clazz, new WeakReference<>(lambda));
-                return lambda;
-            });
+        return SerializedLambda.convert(func);
+    }
+
+    /**
+     * <p>
+     * 获取 lambda 表达式对应的表字段
+     * </p>
+     *
+     * @param func 需要解析的 lambda 对象
+     * @param <T>  类型，被调用的 Function 对象的目标类型
+     * @return 表字段
+     */
+    public static <T> String getColumn(Property<T, ?> func) {
+        Class<?> funcClass = func.getClass();
+        LambdaMeta meta = FUNC_CACHE.get(funcClass);
+        if (null == meta) {
+            SerializedLambda lambda = resolve(func);
+            meta = new LambdaMeta(lambda.getImplClass().replace(StringPool.SLASH, StringPool.DOT),
+                StringUtils.resolveFieldName(lambda.getImplMethodName()));
+            FUNC_CACHE.put(funcClass, meta);
+        }
+        return meta.getColumn();
     }
 
     /**
@@ -81,7 +102,8 @@ public final class LambdaUtils {
      * @param sqlSelect 字段搜索
      */
     private static void saveCache(String className, String property, String sqlSelect) {
-        Map<String, String> cacheMap = LAMBDA_CACHE.getOrDefault(className, new HashMap<>());
+        // 复制后替换，已解析的 lambda 按映射对象是否变化判断失效
+        Map<String, String> cacheMap = new HashMap<>(LAMBDA_CACHE.getOrDefault(className, Collections.emptyMap()));
         cacheMap.put(property, sqlSelect);
         LAMBDA_CACHE.put(className, cacheMap);
     }
@@ -122,4 +144,49 @@ public final class LambdaUtils {
     public static Map<String, String> getColumnMap(String entityClassName) {
         return LAMBDA_CACHE.get(entityClassName);
     }
+
+    /**
+     * lambda 解析结果
+     */
+    private static final class LambdaMeta {
+
+        private final String entityClassName;
+        private final String fieldName;
+        private volatile ColumnCache column;
+
+        LambdaMeta(String entityClassName, String fieldName) {
+            this.entityClassName = entityClassName;
+            this.fieldName = fieldName;
+        }
+
+        /**
+         * 实体类重新注册后字段映射对象被替换，只重新解析该实体类的 lambda
+         */
+        String getColumn() {
+            Map<String, String> columnMap = getColumnMap(entityClassName);
+            ColumnCache cache = column;
+            if (null == cache || cache.columnMap != columnMap) {
+                Assert.notEmpty(columnMap, "该模式不能应用于非 baseMapper 的泛型 entity 之外的 entity!");
+                String value = Optional.ofNullable(columnMap.get(fieldName))
+                    .orElseThrow(() -> ExceptionUtils.mpe("该模式不能应用于非数据库字段!"));
+                cache = new ColumnCache(columnMap, value);
+                column = cache;
+            }
+            return cache.column;
+        }
+    }
+
+    /**
+     * lambda 对应表字段及解析时的字段映射
+     */
+    private static final class ColumnCache {
+
+        private final Map<String, String> columnMap;
+        private final String column;
+
+        ColumnCache(Map<String, String> columnMap, String column) {
+            this.columnMap = columnMap;
+            this.column = column;
+        }
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.toolkit;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 有界 LRU 缓存，可选写入后过期时间
+ * </p>
+ * <p>
+ * 按键散列到多个分段，各分段为独立加锁的访问顺序 LinkedHashMap，超出分段容量时淘汰分段内最久未访问的条目；
+ * 容量较小时只有一个分段，即严格 LRU
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class LruCache<K, V> {
+
+    /**
+     * 最大分段数
+     */
+    private static final int MAX_SEGMENTS = 16;
+    /**
+     * 每个分段最少缓存条数
+     */
+    private static final int MIN_SEGMENT_SIZE = 32;
+    /**
+     * 最大条目数
+     */
+    private final int maxSize;
+    /**
+     * 写入后过期毫秒数，小于等于 0 不过期
+     */
+    private final long expireMillis;
+    private final Segment<K, V>[] segments;
+    /**
+     * 命中及未命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public LruCache(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LruCache(int maxSize, long expireMillis) {
+        Assert.isTrue(maxSize > 0, "Error: LruCache maxSize must be greater than 0.");
+        this.maxSize = maxSize;
+        this.expireMillis = expireMillis;
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_SIZE <= maxSize) {
+            segmentCount <<= 1;
+        }
+        /* 分段容量向下取整，总条目数不超过 maxSize */
+        int segmentSize = maxSize / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment<>(segmentSize);
+        }
+    }
+
+    /**
+     * <p>
+     * 获取缓存值，不存在或已过期返回 null
+     * </p>
+     *
+     * @param key 键
+     * @return 缓存值
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segment(key);
+        V value;
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (null != entry && expireMillis > 0 && SystemClock.now() - entry.writeTime > expireMillis) {
+                segment.remove(key);
+                entry = null;
+            }
+            value = null == entry ? null : entry.value;
+        }
+        if (null == value) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, expireMillis > 0 ? SystemClock.now() : 0);
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 当前缓存键快照，分段内按访问顺序，不影响命中统计
+     */
+    public Set<K> keys() {
+        Set<K> keys = new LinkedHashSet<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                keys.addAll(segment.keySet());
+            }
+        }
+        return keys;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 命中率，未访问时为 0
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long requestCount = hits + missCount.sum();
+        return requestCount == 0 ? 0 : (double) hits / requestCount;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getExpireMillis() {
+        return expireMillis;
+    }
+
+    private Segment<K, V> segment(K key) {
+        int h = null == key ? 0 : key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    private static class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private static final long serialVersionUID = 1L;
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long writeTime;
+
+        Entry(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
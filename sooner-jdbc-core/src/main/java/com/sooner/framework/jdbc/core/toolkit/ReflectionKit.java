@@ -15,6 +15,7 @@
  */
 package com.sooner.framework.jdbc.core.toolkit;
 
+import com.sooner.framework.jdbc.core.metadata.EntityAccessor;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -79,6 +80,13 @@ public class ReflectionKit {
      * @return Object
      */
     public static Object getMethodValue(Class<?> cls, Object entity, String str) {
+        EntityAccessor accessor = EntityAccessor.getAccessor(cls);
+        if (null != accessor && cls.isInstance(entity)) {
+            int index = accessor.indexOf(str);
+            if (index >= 0) {
+                return accessor.get(entity, index);
+            }
+        }
         Map<String, Field> fieldMaps = getFieldMap(cls);
         try {
             if (CollectionUtils.isEmpty(fieldMaps)) {
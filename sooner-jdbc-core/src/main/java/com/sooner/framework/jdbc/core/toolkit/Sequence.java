@@ -22,6 +22,9 @@ import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * <p>
@@ -65,13 +68,13 @@ public class Sequence {
      */
     private long datacenterId;
     /**
-     * 并发控制
+     * 上次生产 ID 的时间戳（相对 twepoch）与序列号，高位时间戳低 12 位序列号，CAS 更新
      */
-    private long sequence = 0L;
+    private final AtomicLong state = new AtomicLong();
     /**
-     * 上次生产 ID 时间戳
+     * 序列用尽时可借用的未来毫秒数
      */
-    private long lastTimestamp = -1L;
+    private volatile long maxBorrowMillis = 0L;
 
     public Sequence() {
         this.datacenterId = getDatacenterId(maxDatacenterId);
@@ -146,47 +149,89 @@ public class Sequence {
      *
      * @return
      */
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        //闰秒
-        if (timestamp < lastTimestamp) {
-            long offset = lastTimestamp - timestamp;
-            if (offset <= 5) {
-                try {
-                    wait(offset << 1);
-                    timestamp = timeGen();
-                    if (timestamp < lastTimestamp) {
-                        throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            } else {
-                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+    public long nextId() {
+        return compose(next(1));
+    }
+
+    /**
+     * <p>
+     * 批量获取ID，同一毫秒内的连续ID一次 CAS 预留
+     * </p>
+     *
+     * @param n ID 个数
+     * @return
+     */
+    public long[] nextIds(int n) {
+        Assert.isTrue(n >= 0, "ids count can't be less than 0");
+        long[] ids = new long[n];
+        int filled = 0;
+        while (filled < n) {
+            long first = next(n - filled);
+            long count = Math.min(n - filled, sequenceMask - (first & sequenceMask) + 1);
+            for (long i = 0; i < count; i++) {
+                ids[filled++] = compose(first + i);
             }
         }
+        return ids;
+    }
 
-        if (lastTimestamp == timestamp) {
-            // 相同毫秒内，序列号自增
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                // 同一毫秒的序列数已经达到最大
-                timestamp = tilNextMillis(lastTimestamp);
+    /**
+     * <p>
+     * 预留最多 count 个同一毫秒内的连续序列，返回第一个的时间戳与序列号组合
+     * </p>
+     */
+    private long next(int count) {
+        while (true) {
+            // 先读取状态再读取时间，避免取时间后被其他线程抢先推进状态误判为时钟回拨
+            long prev = state.get();
+            long timestamp = timeGen() - twepoch;
+            long lastTimestamp = prev >>> sequenceBits;
+            long first;
+            if (timestamp > lastTimestamp) {
+                // 不同毫秒内，序列号置为 1 - 3 随机数
+                first = (timestamp << sequenceBits) | ThreadLocalRandom.current().nextLong(1, 3);
+            } else {
+                long offset = lastTimestamp - timestamp;
+                if (offset > maxBorrowMillis) {
+                    //闰秒，超出借用时间视为时钟回拨
+                    waitClock(offset - maxBorrowMillis);
+                    continue;
+                }
+                first = prev + 1;
+                if ((first & sequenceMask) == 0 && offset + 1 > maxBorrowMillis) {
+                    // 同一毫秒的序列数已经达到最大，且不能继续借用未来时间
+                    Thread.yield();
+                    continue;
+                }
+            }
+            long last = first + Math.min(count, sequenceMask - (first & sequenceMask) + 1) - 1;
+            if (state.compareAndSet(prev, last)) {
+                return first;
             }
-        } else {
-            // 不同毫秒内，序列号置为 1 - 3 随机数
-            sequence = ThreadLocalRandom.current().nextLong(1, 3);
         }
+    }
 
-        lastTimestamp = timestamp;
+    private void waitClock(long offset) {
+        if (offset > 5) {
+            throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(offset << 1));
+    }
 
-        // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
-        return ((timestamp - twepoch) << timestampLeftShift)
+    /**
+     * 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
+     */
+    private long compose(long packed) {
+        return ((packed >>> sequenceBits) << timestampLeftShift)
             | (datacenterId << datacenterIdShift)
             | (workerId << workerIdShift)
-            | sequence;
+            | (packed & sequenceMask);
     }
 
+    /**
+     * @deprecated 序列用尽时由 {@link #nextId()} 内部等待，不再调用
+     */
+    @Deprecated
     protected long tilNextMillis(long lastTimestamp) {
         long timestamp = timeGen();
         while (timestamp <= lastTimestamp) {
@@ -196,7 +241,23 @@ public class Sequence {
     }
 
     protected long timeGen() {
-        return SystemClock.now();
+        return System.currentTimeMillis();
+    }
+
+    public long getMaxBorrowMillis() {
+        return maxBorrowMillis;
+    }
+
+    /**
+     * <p>
+     * 同一毫秒序列用尽时最多借用的未来毫秒数，0 表示等待下一毫秒
+     * </p>
+     *
+     * @param maxBorrowMillis 借用毫秒数
+     */
+    public void setMaxBorrowMillis(long maxBorrowMillis) {
+        Assert.isFalse(maxBorrowMillis < 0, "maxBorrowMillis can't be less than 0");
+        this.maxBorrowMillis = maxBorrowMillis;
     }
 
 }
@@ -18,6 +18,8 @@ package com.sooner.framework.jdbc.core.toolkit;
 import com.sooner.framework.jdbc.annotation.*;
 import com.sooner.framework.jdbc.core.config.GlobalConfig;
 import com.sooner.framework.jdbc.core.incrementer.IKeyGenerator;
+import com.sooner.framework.jdbc.core.incrementer.PooledSequenceKeyGenerator;
+import com.sooner.framework.jdbc.core.metadata.EntityAccessor;
 import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.sql.SqlHelper;
@@ -37,7 +39,7 @@ import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.stream.Collectors.toList;
 
@@ -53,13 +55,52 @@ public class TableInfoHelper {
 
     private static final Log logger = LogFactory.getLog(TableInfoHelper.class);
     /**
-     * 缓存反射类表信息
+     * 缓存反射类表信息，保存在实体类上，随实体类的类加载器一起回收
      */
-    private static final Map<String, TableInfo> TABLE_INFO_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValue<AtomicReference<TableInfo>> TABLE_INFO_CACHE = new ClassValue<AtomicReference<TableInfo>>() {
+        @Override
+        protected AtomicReference<TableInfo> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    /**
+     * 已注册表信息的实体类，弱引用不阻止类加载器回收
+     */
+    private static final Map<Class<?>, Boolean> TABLE_INFO_CLASSES = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * 表信息注册版本，每次注册递增使已缓存的查找结果失效
+     */
+    private static volatile int tableInfoVersion = 0;
+    /**
+     * 按 Class 缓存查找结果，包括代理类、子类及找不到表信息的类
+     * <p>
+     * 其他类加载器（JDK、父加载器）的类只缓存 {@link Boolean#FALSE}，每次重新查找，
+     * 避免 TableInfoLookup 挂在这些类上阻止本类加载器回收
+     * </p>
+     */
+    private static final ClassValue<Object> TABLE_INFO_LOOKUP = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            if (!isLocalClass(type)) {
+                return Boolean.FALSE;
+            }
+            int version = tableInfoVersion;
+            TableInfo tableInfo = resolveTableInfo(type);
+            if (null == tableInfo) {
+                //找不到了,我也很绝望呀
+                logger.warn(ClassUtils.getUserClass(type).getName() + " Not Found TableInfoCache.");
+            }
+            return new TableInfoLookup(version, tableInfo);
+        }
+    };
     /**
      * 默认表主键
      */
     private static final String DEFAULT_ID_NAME = "id";
+    /**
+     * 序列段分配主键生成器 ID
+     */
+    private static final String POOLED_SEQUENCE_ID = "pooledSequence" + SelectKeyGenerator.SELECT_KEY_SUFFIX;
 
     /**
      * <p>
@@ -73,25 +114,51 @@ public class TableInfoHelper {
         if (clazz == null) {
             return null;
         }
-        TableInfo tableInfo = TABLE_INFO_CACHE.get(ClassUtils.getUserClass(clazz).getName());
-        if (null != tableInfo) {
-            return tableInfo;
+        Object lookup = TABLE_INFO_LOOKUP.get(clazz);
+        if (!(lookup instanceof TableInfoLookup)) {
+            return resolveTableInfo(clazz);
+        }
+        if (((TableInfoLookup) lookup).version != tableInfoVersion) {
+            // 注册了新的表信息，重新查找
+            TABLE_INFO_LOOKUP.remove(clazz);
+            lookup = TABLE_INFO_LOOKUP.get(clazz);
         }
+        return ((TableInfoLookup) lookup).tableInfo;
+    }
+
+    /**
+     * <p>
+     * 查找实体映射表信息，代理类取原始类，找不到时尝试父类
+     * </p>
+     */
+    private static TableInfo resolveTableInfo(Class<?> clazz) {
+        Class<?> userClass = ClassUtils.getUserClass(clazz);
+        TableInfo tableInfo = null;
         //尝试获取父类缓存
-        Class c = clazz;
-        while (null == tableInfo && Object.class != c) {
-            c = c.getSuperclass();
-            tableInfo = TABLE_INFO_CACHE.get(ClassUtils.getUserClass(c).getName());
-        }
-        if (null == tableInfo) {
-            //找不到了,我也很绝望呀
-            logger.warn(ClassUtils.getUserClass(clazz).getName() + "Not Found TableInfoCache.");
-        } else {
-            TABLE_INFO_CACHE.put(ClassUtils.getUserClass(clazz).getName(), tableInfo);
+        for (Class<?> c = userClass; null == tableInfo && null != c && Object.class != c; c = c.getSuperclass()) {
+            tableInfo = TABLE_INFO_CACHE.get(c).get();
         }
         return tableInfo;
     }
 
+    /**
+     * <p>
+     * 是否由本类的类加载器或其子加载器加载
+     * </p>
+     */
+    private static boolean isLocalClass(Class<?> clazz) {
+        ClassLoader local = TableInfoHelper.class.getClassLoader();
+        if (null == local) {
+            return true;
+        }
+        for (ClassLoader classLoader = clazz.getClassLoader(); null != classLoader; classLoader = classLoader.getParent()) {
+            if (classLoader == local) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * <p>
      * 获取表字段
@@ -124,7 +191,18 @@ public class TableInfoHelper {
      * @return 数据库表反射信息集合
      */
     public static List<TableInfo> getTableInfos() {
-        return new ArrayList<>(TABLE_INFO_CACHE.values());
+        List<Class<?>> classes;
+        synchronized (TABLE_INFO_CLASSES) {
+            classes = new ArrayList<>(TABLE_INFO_CLASSES.keySet());
+        }
+        List<TableInfo> tableInfos = new ArrayList<>(classes.size());
+        for (Class<?> clazz : classes) {
+            TableInfo tableInfo = TABLE_INFO_CACHE.get(clazz).get();
+            if (null != tableInfo) {
+                tableInfos.add(tableInfo);
+            }
+        }
+        return tableInfos;
     }
 
     /**
@@ -136,10 +214,10 @@ public class TableInfoHelper {
      * @return 数据库表反射信息
      */
     public synchronized static TableInfo initTableInfo(MapperBuilderAssistant builderAssistant, Class<?> clazz) {
-        TableInfo tableInfo = TABLE_INFO_CACHE.get(clazz.getName());
+        TableInfo tableInfo = TABLE_INFO_CACHE.get(clazz).get();
         if (tableInfo != null) {
-            if (tableInfo.getConfigMark() == null && builderAssistant != null) {
-                tableInfo.setConfigMark(builderAssistant.getConfiguration());
+            if (tableInfo.getConfiguration() == null && builderAssistant != null) {
+                tableInfo.setConfiguration(builderAssistant.getConfiguration());
             }
             return tableInfo;
         }
@@ -149,7 +227,7 @@ public class TableInfoHelper {
         GlobalConfig globalConfig;
         if (null != builderAssistant) {
             tableInfo.setCurrentNamespace(builderAssistant.getCurrentNamespace());
-            tableInfo.setConfigMark(builderAssistant.getConfiguration());
+            tableInfo.setConfiguration(builderAssistant.getConfiguration());
             tableInfo.setUnderCamel(builderAssistant.getConfiguration().isMapUnderscoreToCamelCase());
             globalConfig = GlobalConfigUtils.getGlobalConfig(builderAssistant.getConfiguration());
         } else {
@@ -163,8 +241,13 @@ public class TableInfoHelper {
         /* 初始化字段相关 */
         initTableFields(clazz, globalConfig, tableInfo);
 
+        /* 生成属性访问器 */
+        tableInfo.setEntityAccessor(EntityAccessor.create(clazz, tableInfo));
+
         /* 放入缓存 */
-        TABLE_INFO_CACHE.put(clazz.getName(), tableInfo);
+        TABLE_INFO_CACHE.get(clazz).set(tableInfo);
+        TABLE_INFO_CLASSES.put(clazz, Boolean.TRUE);
+        tableInfoVersion++;
 
         /* 缓存 Lambda 映射关系 */
         LambdaUtils.createCache(clazz, tableInfo);
@@ -502,6 +585,25 @@ public class TableInfoHelper {
         if (null == keyGenerator) {
             throw new IllegalArgumentException("not configure IKeyGenerator implementation class.");
         }
+        KeySequence keySequence = tableInfo.getKeySequence();
+        if (keySequence.allocationSize() > 1) {
+            // 序列段分配，同一表的插入方法共享
+            Configuration configuration = builderAssistant.getConfiguration();
+            String pooledId = builderAssistant.applyCurrentNamespace(POOLED_SEQUENCE_ID, false);
+            if (configuration.hasKeyGenerator(pooledId)) {
+                return configuration.getKeyGenerator(pooledId);
+            }
+            String sql = keySequence.pooled() ? keyGenerator.executeSql(keySequence.value())
+                : keyGenerator.executeBatchSql(keySequence.value(), keySequence.allocationSize());
+            if (null != sql) {
+                KeyGenerator pooledKeyGenerator = new PooledSequenceKeyGenerator(tableInfo, sql,
+                    keySequence.allocationSize(), keySequence.pooled());
+                configuration.addKeyGenerator(pooledId, pooledKeyGenerator);
+                return pooledKeyGenerator;
+            }
+            logger.warn(String.format("%s does not support batch sequence SQL, allocationSize of %s is ignored.",
+                keyGenerator.getClass().getName(), tableInfo.getClazz().getName()));
+        }
         String id = baseStatementId + SelectKeyGenerator.SELECT_KEY_SUFFIX;
         Class<?> resultTypeClass = tableInfo.getKeySequence().clazz();
         StatementType statementType = StatementType.PREPARED;
@@ -518,4 +620,18 @@ public class TableInfoHelper {
         builderAssistant.getConfiguration().addKeyGenerator(id, selectKeyGenerator);
         return selectKeyGenerator;
     }
+
+    /**
+     * 表信息查找结果
+     */
+    private static final class TableInfoLookup {
+
+        private final int version;
+        private final TableInfo tableInfo;
+
+        TableInfoLookup(int version, TableInfo tableInfo) {
+            this.version = version;
+            this.tableInfo = tableInfo;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.sooner.framework.jdbc.core.toolkit.sql;
 
+import com.sooner.framework.jdbc.annotation.DbType;
 import com.sooner.framework.jdbc.core.conditions.Wrapper;
 import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
 import com.sooner.framework.jdbc.core.metadata.IPage;
@@ -22,11 +23,15 @@ import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.*;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -40,6 +45,14 @@ public final class SqlHelper {
 
     private static final Log logger = LogFactory.getLog(SqlHelper.class);
     public static SqlSessionFactory FACTORY;
+    /**
+     * SQL Server 单条 INSERT VALUES 最大行数
+     */
+    private static final int SQL_SERVER_MAX_ROWS = 1000;
+    /**
+     * 游标查询默认 fetchSize
+     */
+    private static final int CURSOR_FETCH_SIZE = 1000;
 
 
     /**
@@ -188,4 +201,99 @@ public final class SqlHelper {
         }
         return qw;
     }
+
+    /**
+     * <p>
+     * 多行 VALUES 批量插入，按最大行数及数据库绑定参数上限分批执行
+     * </p>
+     * <p>
+     * 使用 BATCH SqlSession 时行数相同的批次合并为一次 JDBC 批处理，需调用方 flushStatements
+     * </p>
+     *
+     * @param sqlSession   SqlSession
+     * @param sqlStatement insertBatchSomeColumn 语句 ID
+     * @param entityList   实体列表
+     * @param maxRows      每条语句最大行数
+     */
+    public static <T> void insertBatchSomeColumn(SqlSession sqlSession, String sqlStatement, List<T> entityList,
+                                                 int maxRows) {
+        if (CollectionUtils.isEmpty(entityList)) {
+            return;
+        }
+        Configuration configuration = sqlSession.getConfiguration();
+        MappedStatement ms = configuration.getMappedStatement(sqlStatement);
+        Map<String, Object> param = new HashMap<>(4);
+        param.put("collection", entityList.subList(0, 1));
+        param.put("list", entityList.subList(0, 1));
+        int rowParameters = ms.getBoundSql(param).getParameterMappings().size();
+        int rows = insertBatchRows(GlobalConfigUtils.getDbType(configuration), rowParameters, maxRows);
+        int size = entityList.size();
+        for (int i = 0; i < size; i += rows) {
+            sqlSession.insert(sqlStatement, entityList.subList(i, Math.min(i + rows, size)));
+        }
+    }
+
+    /**
+     * <p>
+     * 多行 VALUES 单条语句行数，不超过 maxRows 且绑定参数不超过数据库上限
+     * </p>
+     *
+     * @param dbType        数据库类型
+     * @param rowParameters 每行绑定参数个数
+     * @param maxRows       最大行数
+     * @return 行数
+     */
+    public static int insertBatchRows(DbType dbType, int rowParameters, int maxRows) {
+        int rows = rowParameters > 0 ? Math.min(maxRows, maxParameters(dbType) / rowParameters) : maxRows;
+        if (DbType.SQL_SERVER == dbType || DbType.SQL_SERVER2005 == dbType) {
+            rows = Math.min(rows, SQL_SERVER_MAX_ROWS);
+        }
+        return Math.max(rows, 1);
+    }
+
+    /**
+     * <p>
+     * 单条语句绑定参数上限
+     * </p>
+     *
+     * @param dbType 数据库类型
+     * @return 参数个数
+     */
+    public static int maxParameters(DbType dbType) {
+        if (null == dbType) {
+            return Short.MAX_VALUE;
+        }
+        switch (dbType) {
+            case SQL_SERVER:
+            case SQL_SERVER2005:
+                // 上限 2100，预留 1 个
+                return 2099;
+            case SQLITE:
+                return 999;
+            case MYSQL:
+            case MARIADB:
+            case ORACLE:
+                return 65535;
+            default:
+                return Short.MAX_VALUE;
+        }
+    }
+
+    /**
+     * <p>
+     * 游标查询 fetchSize，MySQL、MariaDB 使用 Integer.MIN_VALUE 逐行流式读取
+     * </p>
+     * <p>
+     * PostgreSQL 仅在非自动提交时按 fetchSize 分批读取
+     * </p>
+     *
+     * @param dbType 数据库类型
+     * @return fetchSize
+     */
+    public static Integer cursorFetchSize(DbType dbType) {
+        if (DbType.MYSQL == dbType || DbType.MARIADB == dbType) {
+            return Integer.MIN_VALUE;
+        }
+        return CURSOR_FETCH_SIZE;
+    }
 }
@@ -21,6 +21,7 @@ import com.sooner.framework.jdbc.core.toolkit.SerializationUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 
 import java.io.*;
+import java.lang.reflect.Method;
 
 /**
  * 这个类是从 {@link java.lang.invoke.SerializedLambda} 里面 copy 过来的
@@ -46,12 +47,48 @@ public class SerializedLambda implements Serializable {
     private Object[] capturedArgs;
 
     /**
-     * 通过反序列化转换 class
+     * <p>
+     * 转换 lambda 对象，优先反射调用 writeReplace 获取 java.lang.invoke.SerializedLambda，失败时通过反序列化转换
+     * </p>
      *
      * @param lambda lambda对象
      * @return 返回解析后的 SerializedLambda
      */
     public static SerializedLambda convert(Property lambda) {
+        java.lang.invoke.SerializedLambda serialized;
+        try {
+            Method writeReplace = lambda.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            serialized = (java.lang.invoke.SerializedLambda) writeReplace.invoke(lambda);
+        } catch (ReflectiveOperationException | ClassCastException | SecurityException e) {
+            return deserialize(lambda);
+        }
+        SerializedLambda result = new SerializedLambda();
+        try {
+            result.capturingClass = Class.forName(serialized.getCapturingClass().replace(StringPool.SLASH, StringPool.DOT),
+                false, lambda.getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return deserialize(lambda);
+        }
+        result.functionalInterfaceClass = serialized.getFunctionalInterfaceClass();
+        result.functionalInterfaceMethodName = serialized.getFunctionalInterfaceMethodName();
+        result.functionalInterfaceMethodSignature = serialized.getFunctionalInterfaceMethodSignature();
+        result.implClass = serialized.getImplClass();
+        result.implMethodName = serialized.getImplMethodName();
+        result.implMethodSignature = serialized.getImplMethodSignature();
+        result.implMethodKind = serialized.getImplMethodKind();
+        result.instantiatedMethodType = serialized.getInstantiatedMethodType();
+        result.capturedArgs = new Object[serialized.getCapturedArgCount()];
+        for (int i = 0; i < result.capturedArgs.length; i++) {
+            result.capturedArgs[i] = serialized.getCapturedArg(i);
+        }
+        return result;
+    }
+
+    /**
+     * 通过反序列化转换 class
+     */
+    private static SerializedLambda deserialize(Property lambda) {
         byte[] bytes = SerializationUtils.serialize(lambda);
         try (ObjectInputStream objIn = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
             @Override
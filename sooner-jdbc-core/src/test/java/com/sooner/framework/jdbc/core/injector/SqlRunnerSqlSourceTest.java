@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.assist.ISqlRunner;
+import com.sooner.framework.jdbc.core.injector.source.SqlRunnerSqlSource;
+
+/**
+ * <p>
+ * SqlRunner 预编译 SqlSource 测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlRunnerSqlSourceTest {
+
+    private MappedStatement selectList() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        new SqlRunnerInjector().inject(configuration);
+        MappedStatement ms = configuration.getMappedStatement(ISqlRunner.SELECT_LIST);
+        Assert.assertTrue(ms.getSqlSource() instanceof SqlRunnerSqlSource);
+        return ms;
+    }
+
+    private static Map<String, Object> sqlMap(String sql, Object... args) {
+        Map<String, Object> sqlMap = new HashMap<>();
+        sqlMap.put(ISqlRunner.SQL, sql);
+        sqlMap.put(ISqlRunner.ARGS, args);
+        return sqlMap;
+    }
+
+    private static Object[] values(MappedStatement ms, BoundSql boundSql) {
+        MetaObject metaObject = ms.getConfiguration().newMetaObject(boundSql.getParameterObject());
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty)
+            .map(p -> boundSql.hasAdditionalParameter(p) ? boundSql.getAdditionalParameter(p) : metaObject.getValue(p))
+            .toArray();
+    }
+
+    @Test
+    public void testPrepared() {
+        MappedStatement ms = selectList();
+        String sql = "SELECT * FROM user WHERE name = {0} AND age > {1} OR nick = {0} AND note = '{9}'";
+        BoundSql boundSql = ms.getBoundSql(sqlMap(sql, "it's", 18));
+        Assert.assertEquals("SELECT * FROM user WHERE name = ? AND age > ? OR nick = ? AND note = '{9}'",
+            boundSql.getSql());
+        Assert.assertArrayEquals(new Object[]{"it's", 18, "it's"}, values(ms, boundSql));
+
+        BoundSql other = ms.getBoundSql(sqlMap(sql, "sooner", 20));
+        Assert.assertSame(boundSql.getParameterMappings(), other.getParameterMappings());
+        Assert.assertArrayEquals(new Object[]{"sooner", 20, "sooner"}, values(ms, other));
+    }
+
+    @Test
+    public void testQuotedPlaceholder() {
+        MappedStatement ms = selectList();
+        String sql = "SELECT \"{1}\" FROM user WHERE name = '{0}' OR note = 'it''s {1}' OR name = {0} OR age > {1}";
+        BoundSql boundSql = ms.getBoundSql(sqlMap(sql, "sooner", 18));
+        Assert.assertEquals("SELECT \"{1}\" FROM user WHERE name = '{0}' OR note = 'it''s {1}' OR name = ? OR age > ?",
+            boundSql.getSql());
+        Assert.assertArrayEquals(new Object[]{"sooner", 18}, values(ms, boundSql));
+    }
+
+    @Test
+    public void testCollection() {
+        MappedStatement ms = selectList();
+        String sql = "SELECT * FROM user WHERE id IN {0} AND age > {1}";
+        BoundSql boundSql = ms.getBoundSql(sqlMap(sql, Arrays.asList(1L, 2L, 3L), 18));
+        Assert.assertEquals("SELECT * FROM user WHERE id IN (?, ?, ?) AND age > ?", boundSql.getSql());
+        Assert.assertArrayEquals(new Object[]{1L, 2L, 3L, 18}, values(ms, boundSql));
+
+        boundSql = ms.getBoundSql(sqlMap(sql, Arrays.asList(), 18));
+        Assert.assertEquals("SELECT * FROM user WHERE id IN (NULL) AND age > ?", boundSql.getSql());
+        Assert.assertArrayEquals(new Object[]{18}, values(ms, boundSql));
+    }
+
+    @Test
+    public void testFill() {
+        MappedStatement ms = selectList();
+        Map<String, Object> sqlMap = new HashMap<>();
+        sqlMap.put(ISqlRunner.SQL, "SELECT 1");
+        BoundSql boundSql = ms.getBoundSql(sqlMap);
+        Assert.assertEquals("SELECT 1", boundSql.getSql());
+        Assert.assertTrue(boundSql.getParameterMappings().isEmpty());
+    }
+}
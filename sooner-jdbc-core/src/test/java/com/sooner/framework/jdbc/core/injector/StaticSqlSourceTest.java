@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.FieldFill;
+import com.sooner.framework.jdbc.annotation.FieldStrategy;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.TableField;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.injector.source.InsertSqlSource;
+import com.sooner.framework.jdbc.core.injector.source.UpdateByIdSqlSource;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.toolkit.Constants;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+import lombok.Data;
+
+/**
+ * <p>
+ * 预编译 SqlSource 与 XMLLanguageDriver 动态 SqlSource 生成相同的 SQL 与参数（30 字段实体）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class StaticSqlSourceTest {
+
+    private MybatisConfiguration configuration(boolean staticSqlSource) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        GlobalConfigUtils.getGlobalConfig(configuration).getDbConfig().setStaticSqlSource(staticSqlSource);
+        configuration.addMapper(WideEntityMapper.class);
+        configuration.addMapper(FillEntityMapper.class);
+        return configuration;
+    }
+
+    private MappedStatement mappedStatement(MybatisConfiguration configuration, String method) {
+        return mappedStatement(configuration, WideEntityMapper.class, method);
+    }
+
+    private MappedStatement mappedStatement(MybatisConfiguration configuration, Class<?> mapperClass, String method) {
+        return configuration.getMappedStatement(mapperClass.getName() + "." + method);
+    }
+
+    @Test
+    public void testInsert() {
+        MappedStatement dynamic = mappedStatement(configuration(false), "insert");
+        MappedStatement prepared = mappedStatement(configuration(true), "insert");
+        Assert.assertTrue(prepared.getSqlSource() instanceof InsertSqlSource);
+        WideEntity entity = newEntity();
+        assertSameBoundSql(dynamic.getBoundSql(entity), prepared.getBoundSql(entity));
+        entity.setCol1("");
+        entity.setCol2(null);
+        assertSameBoundSql(dynamic.getBoundSql(entity), prepared.getBoundSql(entity));
+    }
+
+    @Test
+    public void testUpdateById() {
+        MappedStatement dynamic = mappedStatement(configuration(false), "updateById");
+        MappedStatement prepared = mappedStatement(configuration(true), "updateById");
+        Assert.assertTrue(prepared.getSqlSource() instanceof UpdateByIdSqlSource);
+        MapperMethod.ParamMap<Object> param = updateParam();
+        assertSameBoundSql(dynamic.getBoundSql(param), prepared.getBoundSql(param));
+    }
+
+    @Test
+    public void testFillFields() {
+        MybatisConfiguration dynamicConfiguration = configuration(false);
+        MybatisConfiguration preparedConfiguration = configuration(true);
+        FillEntity entity = new FillEntity();
+        entity.setId(1L);
+        entity.setName("fill");
+        // 填充字段值为空时仍参与 SQL，由 MetaObjectHandler 在设置参数前填充
+        BoundSql insert = mappedStatement(preparedConfiguration, FillEntityMapper.class, "insert").getBoundSql(entity);
+        assertSameBoundSql(mappedStatement(dynamicConfiguration, FillEntityMapper.class, "insert").getBoundSql(entity), insert);
+        Assert.assertEquals(Arrays.asList("id", "name", "createTime", "updateTime"),
+            properties(insert.getParameterMappings()));
+
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.ENTITY, entity);
+        entity.setName(null);
+        BoundSql update = mappedStatement(preparedConfiguration, FillEntityMapper.class, "updateById").getBoundSql(param);
+        assertSameBoundSql(mappedStatement(dynamicConfiguration, FillEntityMapper.class, "updateById").getBoundSql(param), update);
+        Assert.assertEquals(Arrays.asList("et.updateTime", "et.id"), properties(update.getParameterMappings()));
+    }
+
+    @Test
+    public void testMapParameterFallback() {
+        MappedStatement dynamic = mappedStatement(configuration(false), "insert");
+        MappedStatement prepared = mappedStatement(configuration(true), "insert");
+        Map<String, Object> entityMap = new HashMap<>();
+        entityMap.put("id", 1L);
+        entityMap.put("col1", "name");
+        entityMap.put("col3", 3L);
+        BoundSql boundSql = prepared.getBoundSql(entityMap);
+        assertSameBoundSql(dynamic.getBoundSql(entityMap), boundSql);
+        Assert.assertTrue(properties(boundSql.getParameterMappings()).contains("col3"));
+    }
+
+    @Test
+    public void testOptimisticLockFallback() {
+        MappedStatement dynamic = mappedStatement(configuration(false), "updateById");
+        MappedStatement prepared = mappedStatement(configuration(true), "updateById");
+        // 乐观锁插件把 et 替换为 Map，并带上原版本号
+        Map<String, Object> entityMap = new HashMap<>();
+        entityMap.put("id", 1L);
+        entityMap.put("col1", "name");
+        entityMap.put("col3", 4L);
+        entityMap.put("MP_OPTLOCK_VERSION_ORIGINAL", 3L);
+        entityMap.put("MP_OPTLOCK_VERSION_COLUMN", "col3");
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.ENTITY, entityMap);
+        BoundSql boundSql = prepared.getBoundSql(param);
+        assertSameBoundSql(dynamic.getBoundSql(param), boundSql);
+        Assert.assertTrue(boundSql.getSql().replaceAll("\\s+", " ").trim().endsWith("AND col3=?"));
+        Assert.assertEquals("et.MP_OPTLOCK_VERSION_ORIGINAL",
+            properties(boundSql.getParameterMappings()).get(boundSql.getParameterMappings().size() - 1));
+    }
+
+    private MapperMethod.ParamMap<Object> updateParam() {
+        WideEntity entity = newEntity();
+        entity.setCol3(null);
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.ENTITY, entity);
+        param.put("param1", entity);
+        return param;
+    }
+
+    private void assertSameBoundSql(BoundSql expected, BoundSql actual) {
+        Assert.assertEquals(expected.getSql().replaceAll("\\s+", ""), actual.getSql().replaceAll("\\s+", ""));
+        Assert.assertEquals(properties(expected.getParameterMappings()), properties(actual.getParameterMappings()));
+    }
+
+    private List<String> properties(List<ParameterMapping> parameterMappings) {
+        return parameterMappings.stream().map(ParameterMapping::getProperty).collect(Collectors.toList());
+    }
+
+    private WideEntity newEntity() {
+        WideEntity entity = new WideEntity();
+        entity.setId(1L);
+        entity.setCol1("name");
+        entity.setCol2(2);
+        entity.setCol3(3L);
+        entity.setCol4(BigDecimal.TEN);
+        entity.setCol5(LocalDateTime.now());
+        entity.setCol6("col6");
+        entity.setCol11("col11");
+        entity.setCol12(12);
+        entity.setCol25(LocalDateTime.now());
+        return entity;
+    }
+
+    public interface WideEntityMapper extends BaseMapper<WideEntity> {
+
+    }
+
+    public interface FillEntityMapper extends BaseMapper<FillEntity> {
+
+    }
+
+    @Data
+    public static class FillEntity {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+        private String name;
+        @TableField(fill = FieldFill.INSERT)
+        private LocalDateTime createTime;
+        @TableField(fill = FieldFill.INSERT_UPDATE)
+        private LocalDateTime updateTime;
+    }
+
+    @Data
+    public static class WideEntity {
+
+        @TableId(type = IdType.ID_WORKER)
+        private Long id;
+        @TableField(strategy = FieldStrategy.NOT_EMPTY)
+        private String col1;
+        @TableField(strategy = FieldStrategy.IGNORED)
+        private Integer col2;
+        private Long col3;
+        private BigDecimal col4;
+        private LocalDateTime col5;
+        private String col6;
+        private Integer col7;
+        private Long col8;
+        private BigDecimal col9;
+        private LocalDateTime col10;
+        private String col11;
+        private Integer col12;
+        private Long col13;
+        private BigDecimal col14;
+        private LocalDateTime col15;
+        private String col16;
+        private Integer col17;
+        private Long col18;
+        private BigDecimal col19;
+        private LocalDateTime col20;
+        private String col21;
+        private Integer col22;
+        private Long col23;
+        private BigDecimal col24;
+        private LocalDateTime col25;
+        private String col26;
+        private Integer col27;
+        private Long col28;
+        private BigDecimal col29;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlHelper;
+import lombok.Data;
+
+/**
+ * <p>
+ * 多行 VALUES 批量插入测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class InsertBatchSomeColumnTest {
+
+    private static final int ROWS = 2500;
+    private static final String INSERT_BATCH = BatchEntityMapper.class.getName() + ".insertBatchSomeColumn";
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        DataSource dataSource = H2Fixture.dataSource("insert_batch",
+            "CREATE TABLE batch_entity (id BIGINT PRIMARY KEY, name VARCHAR(30), age INT, email VARCHAR(50))");
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(dataSource, BatchEntityMapper.class);
+    }
+
+    @Test
+    public void testInsertBatchRows() {
+        Assert.assertEquals(69, SqlHelper.insertBatchRows(DbType.SQL_SERVER, 30, 5000));
+        Assert.assertEquals(1000, SqlHelper.insertBatchRows(DbType.SQL_SERVER, 1, 5000));
+        Assert.assertEquals(33, SqlHelper.insertBatchRows(DbType.SQLITE, 30, 1000));
+        Assert.assertEquals(1000, SqlHelper.insertBatchRows(DbType.MYSQL, 30, 1000));
+        Assert.assertEquals(1, SqlHelper.insertBatchRows(DbType.SQL_SERVER, 3000, 1000));
+    }
+
+    @Test
+    public void testInsertBatchSomeColumn() throws Exception {
+        List<BatchEntity> entityList = newEntityList("insertBatch");
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            sqlSession.getMapper(BatchEntityMapper.class).insertBatchSomeColumn(entityList.subList(0, 3));
+            SqlHelper.insertBatchSomeColumn(sqlSession, INSERT_BATCH, entityList.subList(3, entityList.size()), 1000);
+            sqlSession.commit();
+        }
+        Assert.assertTrue(entityList.stream().allMatch(i -> null != i.getId()));
+        Assert.assertEquals(ROWS, count("insertBatch"));
+    }
+
+    private List<BatchEntity> newEntityList(String name) {
+        List<BatchEntity> entityList = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            BatchEntity entity = new BatchEntity();
+            entity.setName(name);
+            entity.setAge(i % 100);
+            entity.setEmail(i % 3 == 0 ? null : name + i + "@sooner.com");
+            entityList.add(entity);
+        }
+        return entityList;
+    }
+
+    private int count(String name) throws Exception {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession();
+             Statement statement = sqlSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(1) FROM batch_entity WHERE name='" + name + "'")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    public interface BatchEntityMapper extends BaseMapper<BatchEntity> {
+
+    }
+
+    @Data
+    public static class BatchEntity {
+
+        @TableId(type = IdType.ID_WORKER)
+        private Long id;
+        private String name;
+        private Integer age;
+        private String email;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.Constants;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlHelper;
+import lombok.Data;
+
+/**
+ * <p>
+ * 游标查询测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SelectCursorTest {
+
+    private static final int ROWS = 1000;
+    private static final String SELECT_CURSOR = CursorEntityMapper.class.getName() + ".selectCursor";
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        DataSource dataSource = H2Fixture.dataSource("select_cursor",
+            "CREATE TABLE cursor_entity (id BIGINT PRIMARY KEY, age INT)");
+        String[] inserts = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            inserts[i] = "INSERT INTO cursor_entity VALUES (" + i + "," + (i % 10) + ")";
+        }
+        H2Fixture.execute(dataSource, inserts);
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(dataSource, CursorEntityMapper.class);
+    }
+
+    @Test
+    public void testMappedStatement() {
+        MappedStatement ms = sqlSessionFactory.getConfiguration().getMappedStatement(SELECT_CURSOR);
+        Assert.assertEquals(ResultSetType.FORWARD_ONLY, ms.getResultSetType());
+        Assert.assertEquals(SqlHelper.cursorFetchSize(DbType.H2), ms.getFetchSize());
+        Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE), SqlHelper.cursorFetchSize(DbType.MYSQL));
+    }
+
+    @Test
+    public void testSelectCursor() throws Exception {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession();
+             Cursor<CursorEntity> cursor = sqlSession.getMapper(CursorEntityMapper.class)
+                 .selectCursor(new QueryWrapper<CursorEntity>().eq("age", 1))) {
+            int count = 0;
+            for (CursorEntity entity : cursor) {
+                Assert.assertEquals(Integer.valueOf(1), entity.getAge());
+                count++;
+            }
+            Assert.assertEquals(ROWS / 10, count);
+        }
+    }
+
+    @Test
+    public void testFetchSize() throws Exception {
+        Map<String, Object> param = new HashMap<>(4);
+        param.put(Constants.WRAPPER, null);
+        param.put(Constants.FETCH_SIZE, 10);
+        try (SqlSession sqlSession = sqlSessionFactory.openSession();
+             Cursor<CursorEntity> cursor = sqlSession.selectCursor(SELECT_CURSOR, param)) {
+            int count = 0;
+            for (CursorEntity ignored : cursor) {
+                count++;
+            }
+            Assert.assertEquals(ROWS, count);
+        }
+    }
+
+    public interface CursorEntityMapper extends BaseMapper<CursorEntity> {
+
+    }
+
+    @Data
+    public static class CursorEntity {
+
+        @TableId
+        private Long id;
+        private Integer age;
+    }
+}
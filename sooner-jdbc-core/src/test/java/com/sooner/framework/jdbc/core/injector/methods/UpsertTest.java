@@ -0,0 +1,54 @@
+package com.sooner.framework.jdbc.core.injector.methods;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.FieldStrategy;
+import com.sooner.framework.jdbc.annotation.TableField;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+import lombok.Data;
+
+/**
+ * <p>
+ * 数据库原生 upsert SQL 测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class UpsertTest {
+
+    private String sqlUpsert(DbType dbType) {
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(null, UpsertEntity.class);
+        tableInfo.setDbType(dbType);
+        return new Upsert().sqlUpsert(tableInfo);
+    }
+
+    @Test
+    public void testSqlUpsert() {
+        Assert.assertEquals("INSERT INTO upsert_entity (id,name,age) VALUES (#{id},#{name},#{age})"
+                + " ON DUPLICATE KEY UPDATE name=COALESCE(VALUES(name),name),age=VALUES(age)",
+            sqlUpsert(DbType.MYSQL));
+        Assert.assertEquals("INSERT INTO upsert_entity AS t (id,name,age) VALUES (#{id},#{name},#{age})"
+                + " ON CONFLICT (id) DO UPDATE SET name=COALESCE(EXCLUDED.name,t.name),age=EXCLUDED.age",
+            sqlUpsert(DbType.POSTGRE_SQL));
+        Assert.assertEquals("MERGE INTO upsert_entity t USING (SELECT #{id} id,#{name} name,#{age} age FROM DUAL) s"
+                + " ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET name=COALESCE(s.name,t.name),age=s.age"
+                + " WHEN NOT MATCHED THEN INSERT (id,name,age) VALUES (s.id,s.name,s.age)",
+            sqlUpsert(DbType.ORACLE));
+        Assert.assertNull(sqlUpsert(DbType.SQLITE));
+    }
+
+    @Data
+    public static class UpsertEntity {
+
+        @TableId
+        private Long id;
+        private String name;
+        @TableField(strategy = FieldStrategy.IGNORED)
+        private Integer age;
+    }
+}
@@ -0,0 +1,86 @@
+package com.sooner.framework.jdbc.core.metadata;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.toolkit.ReflectionKit;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+
+/**
+ * <p>
+ * 实体属性访问器测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class EntityAccessorTest {
+
+    @Test
+    public void testAccessor() {
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(null, AccessorEntity.class);
+        EntityAccessor accessor = tableInfo.getEntityAccessor();
+        Assert.assertNotNull(accessor);
+        Assert.assertSame(accessor, EntityAccessor.getAccessor(AccessorEntity.class));
+        Assert.assertTrue(accessor.hasKey());
+        Assert.assertEquals(-1, accessor.indexOf("notExists"));
+
+        AccessorEntity entity = new AccessorEntity();
+        accessor.setKey(entity, 10L);
+        accessor.set(entity, accessor.indexOf("name"), "sooner");
+        accessor.set(entity, accessor.indexOf("age"), 18);
+        accessor.set(entity, accessor.indexOf("deleted"), Boolean.TRUE);
+        Assert.assertEquals(Long.valueOf(10L), entity.getId());
+        Assert.assertEquals("sooner", entity.getName());
+        Assert.assertEquals(18, entity.getAge());
+        Assert.assertTrue(entity.isDeleted());
+
+        Assert.assertEquals(10L, accessor.getKey(entity));
+        Assert.assertEquals("sooner", accessor.get(entity, accessor.indexOf("name")));
+        Assert.assertEquals(18, accessor.get(entity, accessor.indexOf("age")));
+        Assert.assertEquals(Boolean.TRUE, accessor.get(entity, accessor.indexOf("deleted")));
+        Assert.assertEquals("sooner", ReflectionKit.getMethodValue(AccessorEntity.class, entity, "name"));
+    }
+
+    public static class AccessorEntity {
+
+        @TableId
+        private Long id;
+        private String name;
+        private int age;
+        private boolean deleted;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isDeleted() {
+            return deleted;
+        }
+
+        public void setDeleted(boolean deleted) {
+            this.deleted = deleted;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.parser;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>
+ * SQL 解析结果缓存测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlParserCacheTest {
+
+    @Test
+    public void testCache() {
+        AtomicInteger count = new AtomicInteger();
+        ISqlParser sqlParser = new ISqlParser() {
+            @Override
+            public SqlInfo parser(MetaObject metaObject, String sql) {
+                count.incrementAndGet();
+                if (sql.startsWith("SELECT")) {
+                    SqlInfo sqlInfo = SqlInfo.newInstance();
+                    sqlInfo.setSql(sql + " WHERE 1 = 1");
+                    sqlInfo.setOrderBy(false);
+                    return sqlInfo;
+                }
+                return null;
+            }
+
+            @Override
+            public Object getCacheKey(MetaObject metaObject, String sql) {
+                return sql;
+            }
+        };
+        SqlParserCache cache = new SqlParserCache(16);
+        for (int i = 0; i < 3; i++) {
+            SqlInfo sqlInfo = cache.parser(sqlParser, null, "SELECT * FROM t");
+            Assert.assertEquals("SELECT * FROM t WHERE 1 = 1", sqlInfo.getSql());
+            Assert.assertFalse(sqlInfo.isOrderBy());
+            Assert.assertNull(cache.parser(sqlParser, null, "DELETE FROM t"));
+        }
+        Assert.assertEquals(2, count.get());
+        Assert.assertEquals(4, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(4 / 6d, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testParserWithCacheKey() {
+        AtomicInteger count = new AtomicInteger();
+        ISqlParser sqlParser = new ISqlParser() {
+            @Override
+            public SqlInfo parser(MetaObject metaObject, String sql) {
+                throw new IllegalStateException("cache key not passed");
+            }
+
+            @Override
+            public SqlInfo parser(MetaObject metaObject, String sql, Object cacheKey) {
+                count.incrementAndGet();
+                SqlInfo sqlInfo = SqlInfo.newInstance();
+                sqlInfo.setSql(sql + " /* " + cacheKey + " */");
+                return sqlInfo;
+            }
+
+            @Override
+            public Object getCacheKey(MetaObject metaObject, String sql) {
+                return "key-" + sql;
+            }
+        };
+        SqlParserCache cache = new SqlParserCache(1024);
+        for (int k = 0; k < 2; k++) {
+            for (int i = 0; i < 100; i++) {
+                String sql = "SELECT " + i;
+                Assert.assertEquals(sql + " /* key-" + sql + " */", cache.parser(sqlParser, null, sql).getSql());
+            }
+        }
+        Assert.assertEquals(100, count.get());
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(100, cache.getHitCount());
+    }
+
+    @Test
+    public void testNoCacheKey() {
+        AtomicInteger count = new AtomicInteger();
+        ISqlParser sqlParser = (metaObject, sql) -> {
+            count.incrementAndGet();
+            return null;
+        };
+        SqlParserCache cache = new SqlParserCache(16);
+        cache.parser(sqlParser, null, "SELECT 1");
+        cache.parser(sqlParser, null, "SELECT 1");
+        Assert.assertEquals(2, count.get());
+        Assert.assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.update.Update;
+
+/**
+ * <p>
+ * SQL 解析链共用语法树测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlParserChainTest {
+
+    private static final String SQL = "SELECT id, name FROM user WHERE age > 18 ORDER BY id";
+
+    @Test
+    public void testValidateOnly() {
+        CheckParser check = new CheckParser();
+        SqlParserChain chain = new SqlParserChain(Arrays.asList(check, new CheckParser()));
+        Assert.assertNull(chain.parser(null, SQL));
+        Assert.assertEquals(1, check.count.get());
+        Assert.assertNull(check.parser(null, SQL));
+    }
+
+    @Test
+    public void testParseOnce() {
+        SqlParserChain chain = new SqlParserChain(Arrays.asList(new TenantParser(), new CheckParser(), new TenantParser()));
+        Assert.assertEquals("SELECT id, name FROM user WHERE tenant_id = 1 AND tenant_id = 1 AND age > 18 ORDER BY id",
+            chain.parser(null, SQL).getSql());
+        // 与逐个解析结果一致
+        String sql = SQL;
+        for (ISqlParser sqlParser : chain.getSqlParserList()) {
+            SqlInfo sqlInfo = sqlParser.parser(null, sql);
+            if (null != sqlInfo) {
+                sql = sqlInfo.getSql();
+            }
+        }
+        Assert.assertEquals(sql, chain.parser(null, SQL).getSql());
+        Assert.assertEquals("SELECT a FROM t WHERE tenant_id = 1 AND b = 1;SELECT c FROM t WHERE tenant_id = 1 AND d = 1",
+            new SqlParserChain(Collections.singletonList(new TenantParser()))
+                .parser(null, "SELECT a FROM t WHERE b = 1;SELECT c FROM t WHERE d = 1").getSql());
+    }
+
+    @Test
+    public void testTextParser() {
+        ISqlParser suffix = (metaObject, sql) -> {
+            SqlInfo sqlInfo = SqlInfo.newInstance();
+            sqlInfo.setSql(sql + " LIMIT 1");
+            return sqlInfo;
+        };
+        SqlParserChain chain = new SqlParserChain(Arrays.asList(new TenantParser(), suffix, new CheckParser()));
+        Assert.assertEquals("SELECT id, name FROM user WHERE tenant_id = 1 AND age > 18 ORDER BY id LIMIT 1",
+            chain.parser(null, SQL).getSql());
+        Assert.assertNull(chain.getCacheKey(null, SQL));
+    }
+
+    @Test
+    public void testCacheKey() {
+        TenantParser skipped = new TenantParser() {
+            @Override
+            public boolean allowProcess(MetaObject metaObject) {
+                return false;
+            }
+        };
+        SqlParserChain chain = new SqlParserChain(Arrays.asList(new TenantParser(), skipped, new CheckParser()));
+        Assert.assertEquals(chain.getCacheKey(null, SQL), chain.getCacheKey(null, SQL));
+        Assert.assertNotEquals(chain.getCacheKey(null, SQL), chain.getCacheKey(null, "SELECT 1"));
+        SqlParserCache cache = new SqlParserCache(16);
+        Assert.assertEquals(cache.parser(chain, null, SQL).getSql(), cache.parser(chain, null, SQL).getSql());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testCustomParser() {
+        // 覆盖 processParser 的解析器按原方式调用
+        TenantParser comment = new TenantParser() {
+            @Override
+            public SqlInfo processParser(Statement statement) {
+                SqlInfo sqlInfo = super.processParser(statement);
+                sqlInfo.setSql(sqlInfo.getSql() + " /* tenant */");
+                return sqlInfo;
+            }
+        };
+        String expected = "SELECT id, name FROM user WHERE tenant_id = 1 AND age > 18 ORDER BY id /* tenant */";
+        Assert.assertEquals(expected, comment.parser(null, SQL).getSql());
+        Assert.assertEquals(expected, comment.parser(null, SQL, SQL).getSql());
+        Assert.assertEquals(expected, new SqlParserChain(Arrays.asList(new CheckParser(), comment)).parser(null, SQL).getSql());
+
+        // 覆盖 parser 的解析器按 SQL 文本调用
+        AtomicInteger count = new AtomicInteger();
+        TenantParser counter = new TenantParser() {
+            @Override
+            public SqlInfo parser(MetaObject metaObject, String sql) {
+                count.incrementAndGet();
+                return super.parser(metaObject, sql);
+            }
+        };
+        SqlParserChain chain = new SqlParserChain(Arrays.asList(new TenantParser(), counter));
+        Assert.assertEquals("SELECT id, name FROM user WHERE tenant_id = 1 AND tenant_id = 1 AND age > 18 ORDER BY id",
+            chain.parser(null, SQL, chain.getCacheKey(null, SQL)).getSql());
+        Assert.assertEquals(1, count.get());
+    }
+
+    /**
+     * 只校验的解析器
+     */
+    private static class CheckParser extends AbstractJsqlParser {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public boolean isModifySql() {
+            return false;
+        }
+
+        @Override
+        public Object getCacheKey(MetaObject metaObject, String sql) {
+            return sql;
+        }
+
+        @Override
+        public void processInsert(Insert insert) {
+        }
+
+        @Override
+        public void processDelete(Delete delete) {
+        }
+
+        @Override
+        public void processUpdate(Update update) {
+        }
+
+        @Override
+        public void processSelectBody(SelectBody selectBody) {
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * 追加条件的解析器
+     */
+    private static class TenantParser extends AbstractJsqlParser {
+
+        @Override
+        public Object getCacheKey(MetaObject metaObject, String sql) {
+            return sql;
+        }
+
+        @Override
+        public void processInsert(Insert insert) {
+        }
+
+        @Override
+        public void processDelete(Delete delete) {
+        }
+
+        @Override
+        public void processUpdate(Update update) {
+        }
+
+        @Override
+        public void processSelectBody(SelectBody selectBody) {
+            PlainSelect plainSelect = (PlainSelect) selectBody;
+            EqualsTo equalsTo = new EqualsTo();
+            equalsTo.setLeftExpression(new Column("tenant_id"));
+            equalsTo.setRightExpression(new LongValue(1));
+            plainSelect.setWhere(new AndExpression(equalsTo, plainSelect.getWhere()));
+        }
+    }
+}
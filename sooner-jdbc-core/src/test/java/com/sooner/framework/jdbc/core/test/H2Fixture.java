@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.MybatisSessionFactoryBuilder;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+
+/**
+ * <p>
+ * H2 内存库测试环境
+ * </p>
+ * <p>
+ * 各测试使用不同的库名互不影响，库在 JVM 退出前一直保留
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class H2Fixture {
+
+    private H2Fixture() {
+    }
+
+    /**
+     * <p>
+     * 创建内存库数据源并执行初始化语句
+     * </p>
+     *
+     * @param database 库名
+     * @param sqls     建表等初始化语句
+     * @return 数据源
+     */
+    public static UnpooledDataSource dataSource(String database, String... sqls) throws SQLException {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", url(database), "sa", "");
+        execute(dataSource, sqls);
+        return dataSource;
+    }
+
+    public static String url(String database) {
+        return "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * <p>
+     * 使用数据源的 H2 配置，调用方继续添加插件与 Mapper
+     * </p>
+     */
+    public static MybatisConfiguration configuration(DataSource dataSource) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        GlobalConfigUtils.getGlobalConfig(configuration).getDbConfig().setDbType(DbType.H2);
+        return configuration;
+    }
+
+    /**
+     * <p>
+     * 创建 SqlSessionFactory 并登记到全局配置，供 SqlHelper 按实体取批量 SqlSession
+     * </p>
+     */
+    public static SqlSessionFactory sqlSessionFactory(MybatisConfiguration configuration) {
+        SqlSessionFactory sqlSessionFactory = new MybatisSessionFactoryBuilder().build(configuration);
+        TableInfoHelper.initSqlSessionFactory(sqlSessionFactory);
+        return sqlSessionFactory;
+    }
+
+    /**
+     * <p>
+     * 注册 Mapper 并创建 SqlSessionFactory
+     * </p>
+     */
+    public static SqlSessionFactory sqlSessionFactory(DataSource dataSource, Class<?>... mappers) {
+        MybatisConfiguration configuration = configuration(dataSource);
+        for (Class<?> mapper : mappers) {
+            configuration.addMapper(mapper);
+        }
+        return sqlSessionFactory(configuration);
+    }
+
+    public static void execute(DataSource dataSource, String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * 查询第一行第一列
+     */
+    public static Object queryForObject(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() ? resultSet.getObject(1) : null;
+        }
+    }
+
+    public static long queryForLong(DataSource dataSource, String sql) throws SQLException {
+        Object value = queryForObject(dataSource, sql);
+        return null == value ? 0 : ((Number) value).longValue();
+    }
+}
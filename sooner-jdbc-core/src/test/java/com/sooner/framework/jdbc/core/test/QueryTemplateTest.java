@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.conditions.Wrapper;
+import com.sooner.framework.jdbc.core.conditions.query.LambdaQueryWrapper;
+import com.sooner.framework.jdbc.core.conditions.query.QueryTemplate;
+import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
+import com.sooner.framework.jdbc.core.exceptions.MybatisPlusException;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+
+/**
+ * <p>
+ * 查询模板编译及参数绑定测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class QueryTemplateTest {
+
+    private static final QueryTemplate<User> TEMPLATE = QueryTemplate.of(w -> w
+        .eq(User::getRoleId, QueryTemplate.param("roleId"))
+        .in(User::getId, QueryTemplate.listParam("ids"))
+        .like(User::getName, QueryTemplate.param("name"))
+        .eq(User::getName, "fixed")
+        .orderByDesc(User::getId));
+
+    @BeforeClass
+    public static void init() {
+        TableInfoHelper.initTableInfo(null, User.class);
+    }
+
+    @Test
+    public void testBind() {
+        Assert.assertEquals(Arrays.asList("roleId", "ids", "name"), TEMPLATE.getParamNames());
+        Wrapper<User> wrapper = TEMPLATE.bind(1, Arrays.asList(10, 20, 30), "jo");
+        LambdaQueryWrapper<User> expected = new QueryWrapper<User>().lambda()
+            .eq(User::getRoleId, 1)
+            .in(User::getId, Arrays.asList(10, 20, 30))
+            .like(User::getName, "jo")
+            .eq(User::getName, "fixed")
+            .orderByDesc(User::getId);
+        Assert.assertEquals(resolve(expected.getSqlSegment(), expected.getParamNameValuePairs()),
+            resolve(wrapper.getSqlSegment(), params(wrapper)));
+        Assert.assertEquals(expected.getSqlSelect(), wrapper.getSqlSelect());
+        Assert.assertFalse(wrapper.isEmptyOfWhere());
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("roleId", 2);
+        values.put("ids", new Integer[]{7});
+        values.put("name", "x");
+        String sql = resolve(TEMPLATE.bind(values).getSqlSegment(), params(TEMPLATE.bind(values)));
+        Assert.assertEquals("role_id = 2 AND id IN (7) AND username LIKE '%x%' AND username = 'fixed' ORDER BY id DESC", sql);
+
+        sql = TEMPLATE.bind(3, Collections.emptyList(), "y").getSqlSegment();
+        Assert.assertTrue(sql, sql.contains("IN (null)"));
+    }
+
+    @Test(expected = MybatisPlusException.class)
+    public void testParamCount() {
+        TEMPLATE.bind(1);
+    }
+
+    @Test(expected = MybatisPlusException.class)
+    public void testNullLikeParam() {
+        // like 值为 null 时不绑定 "%null%"
+        TEMPLATE.bind(1, Collections.singletonList(7), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> params(Wrapper<User> wrapper) {
+        return ((QueryTemplate.BoundWrapper<User>) wrapper).getParamNameValuePairs();
+    }
+
+    /**
+     * 参数值代入 SQL，用于对比
+     */
+    private String resolve(String sql, Map<String, Object> params) {
+        Matcher matcher = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}").matcher(sql);
+        StringBuffer buffer = new StringBuffer();
+        while (matcher.find()) {
+            Object value = params.get(matcher.group(1));
+            matcher.appendReplacement(buffer, value instanceof String ? "'" + value + "'" : String.valueOf(value));
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+}
@@ -20,11 +20,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.sooner.framework.jdbc.core.conditions.AbstractWrapper;
 import com.sooner.framework.jdbc.core.conditions.ISqlSegment;
+import com.sooner.framework.jdbc.core.conditions.query.LambdaQueryWrapper;
 import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.sooner.framework.jdbc.core.conditions.Wrapper;
@@ -187,6 +192,64 @@ public class WrapperTest {
         logParams(queryWrapper);
     }
 
+    @Test
+    public void testSqlSegmentCache() {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<User>()
+            .eq("id", 1).in("roleId", getList()).orderByAsc("id");
+        String sqlSegment = queryWrapper.getSqlSegment();
+        int paramSize = queryWrapper.getParamNameValuePairs().size();
+        Assert.assertFalse(queryWrapper.isEmptyOfWhere());
+        Assert.assertEquals(sqlSegment, queryWrapper.getSqlSegment());
+        Assert.assertEquals(paramSize, queryWrapper.getParamNameValuePairs().size());
+
+        queryWrapper.eq("name", "sss");
+        Assert.assertNotEquals(sqlSegment, queryWrapper.getSqlSegment());
+        Assert.assertEquals(paramSize + 4, queryWrapper.getParamNameValuePairs().size());
+        logSqlSegment("测试 SqlSegment 缓存", queryWrapper);
+        logParams(queryWrapper);
+    }
+
+    @Test
+    public void testClone() {
+        TableInfoHelper.initTableInfo(null, User.class);
+        QueryWrapper<User> base = new QueryWrapper<User>()
+            .eq("tenant_id", 1).in("roleId", getList())
+            .and(i -> i.eq("name", "a").or().like("name", "b"))
+            .orderByAsc("id");
+        QueryWrapper<User> copy = base.clone();
+        String baseSql = base.getSqlSegment();
+        int baseParams = base.getParamNameValuePairs().size();
+        Assert.assertEquals(baseSql, copy.getSqlSegment());
+        // 再次复制不再生成参数
+        Assert.assertEquals(baseSql, base.clone().getSqlSegment());
+        Assert.assertEquals(baseParams, base.getParamNameValuePairs().size());
+        copy.eq("age", 18);
+        String copySql = copy.getSqlSegment();
+        Assert.assertTrue(copySql.contains("age = #{ew.paramNameValuePairs.MPGENVAL"));
+        assertParamsPresent(copy);
+        // 复制后修改不影响原 Wrapper
+        Assert.assertEquals(baseSql, base.getSqlSegment());
+        Assert.assertEquals(baseParams, base.getParamNameValuePairs().size());
+        assertParamsPresent(base);
+
+        LambdaQueryWrapper<User> lambda = new QueryWrapper<User>().lambda().eq(User::getName, "sss");
+        LambdaQueryWrapper<User> lambdaCopy = lambda.clone().eq(User::getId, 2L);
+        Assert.assertNotEquals(lambda.getSqlSegment(), lambdaCopy.getSqlSegment());
+        assertParamsPresent(lambdaCopy);
+
+        UpdateWrapper<User> update = new UpdateWrapper<User>().set("name", "a").eq("id", 1);
+        UpdateWrapper<User> updateCopy = update.clone().set("age", 2);
+        Assert.assertNotEquals(update.getSqlSet(), updateCopy.getSqlSet());
+        Assert.assertEquals(update.getSqlSegment(), updateCopy.getSqlSegment());
+    }
+
+    private void assertParamsPresent(AbstractWrapper<?, ?, ?> wrapper) {
+        Matcher matcher = Pattern.compile("paramNameValuePairs\\.(MPGENVAL\\d+)").matcher(wrapper.getSqlSegment());
+        while (matcher.find()) {
+            Assert.assertTrue(matcher.group(1), wrapper.getParamNameValuePairs().containsKey(matcher.group(1)));
+        }
+    }
+
     private List<Object> getList() {
         List<Object> list = new ArrayList<>();
         for (int i = 0; i < 2; i++) {
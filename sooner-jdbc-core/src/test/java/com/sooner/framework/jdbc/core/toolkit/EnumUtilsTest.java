@@ -0,0 +1,69 @@
+package com.sooner.framework.jdbc.core.toolkit;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.enums.IEnum;
+
+public class EnumUtilsTest {
+
+    @Test
+    public void testValueOf() {
+        Assert.assertEquals(Status.ENABLED, EnumUtils.valueOf(Status.class, 1));
+        Assert.assertEquals(Status.ENABLED, EnumUtils.valueOf(Status.class, 1L));
+        Assert.assertEquals(Status.ENABLED, EnumUtils.valueOf(Status.class, (short) 1));
+        Assert.assertEquals(Status.ENABLED, EnumUtils.valueOf(Status.class, new BigDecimal("1.00")));
+        Assert.assertEquals(Status.ENABLED, EnumUtils.valueOf(Status.class, BigInteger.ONE));
+        Assert.assertEquals(Status.DISABLED, EnumUtils.valueOf(Status.class, 2.0D));
+        Assert.assertNull(EnumUtils.valueOf(Status.class, new BigDecimal("1.5")));
+        Assert.assertNull(EnumUtils.valueOf(Status.class, 3));
+        Assert.assertNull(EnumUtils.valueOf(Status.class, "1"));
+        Assert.assertEquals(Grade.HIGH, EnumUtils.valueOf(Grade.class, "high"));
+        Assert.assertNull(EnumUtils.valueOf(Grade.class, "HIGH"));
+    }
+
+    @Test
+    public void testValueOfField() throws Exception {
+        Field code = Grade.class.getDeclaredField("code");
+        code.setAccessible(true);
+        Field value = Status.class.getDeclaredField("value");
+        value.setAccessible(true);
+        Assert.assertEquals(Grade.LOW, EnumUtils.valueOf(Grade.class, "low", code));
+        Assert.assertEquals(Status.DISABLED, EnumUtils.valueOf(Status.class, 2L, value));
+        Assert.assertNull(EnumUtils.valueOf(Status.class, 5L, value));
+    }
+
+    public enum Status implements IEnum<Integer> {
+        ENABLED(1), DISABLED(2);
+
+        private final Integer value;
+
+        Status(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+    }
+
+    public enum Grade implements IEnum<String> {
+        LOW("low"), HIGH("high");
+
+        private final String code;
+
+        Grade(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getValue() {
+            return code;
+        }
+    }
+}
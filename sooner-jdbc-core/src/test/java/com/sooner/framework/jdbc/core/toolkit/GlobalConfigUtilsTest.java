@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.toolkit;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.config.GlobalConfig;
+
+/**
+ * <p>
+ * 全局配置按 Configuration 对象缓存测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class GlobalConfigUtilsTest {
+
+    @Test
+    public void testMybatisConfiguration() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        Assert.assertSame(globalConfig, configuration.getGlobalConfig());
+        Assert.assertSame(globalConfig, GlobalConfigUtils.getGlobalConfig(configuration));
+
+        GlobalConfig other = GlobalConfigUtils.defaults();
+        GlobalConfigUtils.setGlobalConfig(configuration, other);
+        Assert.assertSame(other, GlobalConfigUtils.getGlobalConfig(configuration));
+        Assert.assertNotSame(other, GlobalConfigUtils.getGlobalConfig(new MybatisConfiguration()));
+    }
+
+    @Test
+    public void testConfiguration() {
+        Configuration configuration = new Configuration();
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        Assert.assertSame(globalConfig, GlobalConfigUtils.getGlobalConfig(configuration));
+        Assert.assertNotSame(globalConfig, GlobalConfigUtils.getGlobalConfig(new Configuration()));
+
+        GlobalConfig other = GlobalConfigUtils.defaults();
+        GlobalConfigUtils.setGlobalConfig(configuration, other);
+        Assert.assertSame(other, GlobalConfigUtils.getGlobalConfig(configuration));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testConfigMark() {
+        Configuration configuration = new Configuration();
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        Assert.assertSame(globalConfig, GlobalConfigUtils.getGlobalConfig(configuration.toString()));
+
+        // 找不到 Configuration 的标记同样缓存默认配置
+        GlobalConfig unknown = GlobalConfigUtils.getGlobalConfig("unknown");
+        Assert.assertSame(unknown, GlobalConfigUtils.getGlobalConfig("unknown"));
+        Assert.assertNotSame(unknown, GlobalConfigUtils.getGlobalConfig("other"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.sooner.framework.jdbc.core.toolkit;
 
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.support.Property;
 import com.sooner.framework.jdbc.core.toolkit.support.SerializedLambda;
+import lombok.Data;
 import lombok.Getter;
 import org.junit.Assert;
 import org.junit.Test;
@@ -30,6 +32,43 @@ public class LambdaUtilsTest {
         }};
     }
 
+    @Test
+    public void testGetColumn() {
+        TableInfoHelper.initTableInfo(null, ColumnPojo.class);
+        Assert.assertEquals("user_name", LambdaUtils.getColumn(ColumnPojo::getUserName));
+        Assert.assertEquals("user_name", LambdaUtils.getColumn(ColumnPojo::getUserName));
+        Assert.assertEquals("id", LambdaUtils.getColumn(ColumnPojo::getId));
+        Property<ColumnPojo, ?> func = ColumnPojo::getAge;
+        // 只缓存解析出的字段，不缓存 SerializedLambda
+        Assert.assertNotSame(LambdaUtils.resolve(func), LambdaUtils.resolve(func));
+        Assert.assertEquals("age", LambdaUtils.getColumn(func));
+        TableInfoHelper.initTableInfo(null, ColumnPojo.class);
+        Assert.assertEquals("age", LambdaUtils.getColumn(func));
+
+        // 实体字段映射替换后按新的映射解析
+        Property<ColumnPojo, ?> id = ColumnPojo::getId;
+        Assert.assertEquals("id", LambdaUtils.getColumn(id));
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(ColumnPojo.class);
+        try {
+            tableInfo.setKeyColumn("pk");
+            LambdaUtils.createCache(ColumnPojo.class, tableInfo);
+            Assert.assertEquals("pk", LambdaUtils.getColumn(id));
+            Assert.assertEquals("age", LambdaUtils.getColumn(func));
+        } finally {
+            tableInfo.setKeyColumn("id");
+            LambdaUtils.createCache(ColumnPojo.class, tableInfo);
+        }
+        Assert.assertEquals("id", LambdaUtils.getColumn(id));
+    }
+
+    @Data
+    public static class ColumnPojo {
+
+        private Long id;
+        private String userName;
+        private Integer age;
+    }
+
     @Getter
     private class TestPojo {
 
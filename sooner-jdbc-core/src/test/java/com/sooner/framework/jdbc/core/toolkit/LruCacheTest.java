@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.toolkit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>
+ * LRU 缓存测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class LruCacheTest {
+
+    @Test
+    public void testEvict() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        cache.put("c", 3);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        Assert.assertEquals(Integer.valueOf(3), cache.get("c"));
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(2, 50);
+        cache.put("a", 1);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        Thread.sleep(120);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSegmentBound() {
+        LruCache<Integer, Integer> cache = new LruCache<>(1000);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i);
+        }
+        Assert.assertTrue(cache.size() <= 1000);
+        Assert.assertTrue(cache.size() > 900);
+        // 最近写入的条目均在各自分段内
+        for (int i = 9900; i < 10000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+        Assert.assertEquals(cache.size(), cache.keys().size());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        LruCache<Integer, Integer> cache = new LruCache<>(512);
+        for (int i = 0; i < 256; i++) {
+            cache.put(i, i);
+        }
+        int threads = 8;
+        int loops = 512 * 20;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < loops; i++) {
+                    // 一半命中，一半未命中
+                    Integer value = cache.get(i % 512);
+                    Assert.assertTrue(null == value || value == i % 512);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        Assert.assertEquals(threads * loops, cache.getHitCount() + cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.01);
+    }
+}
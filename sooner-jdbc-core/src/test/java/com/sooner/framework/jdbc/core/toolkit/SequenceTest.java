@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.toolkit;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>
+ * Sequence 并发唯一性与批量获取测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SequenceTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50000;
+
+    @Test
+    public void testUniqueUnderContention() throws Exception {
+        Sequence sequence = new Sequence(1, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        run(() -> {
+            long last = 0;
+            for (int i = 0; i < PER_THREAD; i++) {
+                long id = sequence.nextId();
+                // 单线程内有序
+                Assert.assertTrue(id > last);
+                last = id;
+                ids.add(id);
+            }
+        });
+        Assert.assertEquals(THREADS * PER_THREAD, ids.size());
+    }
+
+    @Test
+    public void testNextIds() {
+        Sequence sequence = new Sequence(1, 1);
+        Assert.assertEquals(0, sequence.nextIds(0).length);
+        long[] ids = sequence.nextIds(10000);
+        Assert.assertEquals(10000, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assert.assertTrue(sequence.nextId() > ids[ids.length - 1]);
+        Assert.assertEquals(3, IdWorker.getIds(3).length);
+    }
+
+    @Test
+    public void testBorrowMillis() {
+        // 时钟停止，同一毫秒序列用尽后借用未来毫秒
+        FixedSequence sequence = new FixedSequence();
+        sequence.setMaxBorrowMillis(2);
+        long[] ids = sequence.nextIds(3 * 4096 - 4);
+        Set<Long> unique = new HashSet<>();
+        for (long id : ids) {
+            Assert.assertTrue(unique.add(id));
+        }
+        Assert.assertEquals(sequence.now + 2, (ids[ids.length - 1] >> 22) + 1288834974657L);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testClockMovedBackwards() {
+        FixedSequence sequence = new FixedSequence();
+        sequence.nextId();
+        sequence.now -= 1000;
+        sequence.nextId();
+    }
+
+    private void run(Runnable runnable) throws Exception {
+        CountDownLatch latch = new CountDownLatch(THREADS);
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            new Thread(() -> {
+                try {
+                    runnable.run();
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        Assert.assertTrue(errors.toString(), errors.isEmpty());
+    }
+
+    private static class FixedSequence extends Sequence {
+
+        private long now = System.currentTimeMillis();
+
+        FixedSequence() {
+            super(1, 1);
+        }
+
+        @Override
+        protected long timeGen() {
+            return now;
+        }
+    }
+}
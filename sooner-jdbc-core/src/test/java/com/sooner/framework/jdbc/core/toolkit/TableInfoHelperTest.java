@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.core.toolkit;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+
+import lombok.Data;
+
+/**
+ * <p>
+ * 表信息按 Class 查找缓存测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class TableInfoHelperTest {
+
+    @Test
+    public void testGetTableInfo() {
+        Assert.assertNull(TableInfoHelper.getTableInfo(null));
+        // 未注册时缓存查找失败结果
+        Assert.assertNull(TableInfoHelper.getTableInfo(LookupEntity.class));
+        Assert.assertNull(TableInfoHelper.getTableInfo(LookupEntity.class));
+        Assert.assertNull(TableInfoHelper.getTableInfo(SubLookupEntity.class));
+        Assert.assertNull(TableInfoHelper.getTableInfo(HashMap.class));
+
+        // 注册后失败结果失效
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(null, LookupEntity.class);
+        Assert.assertSame(tableInfo, TableInfoHelper.getTableInfo(LookupEntity.class));
+        Assert.assertSame(tableInfo, TableInfoHelper.getTableInfo(SubLookupEntity.class));
+        Assert.assertSame(tableInfo, TableInfoHelper.initTableInfo(null, LookupEntity.class));
+        Assert.assertNull(TableInfoHelper.getTableInfo(HashMap.class));
+    }
+
+    @Test
+    public void testForeignClassLoader() throws Exception {
+        Assert.assertNull(TableInfoHelper.getTableInfo(HashMap.class));
+        // JDK 类上只挂启动类加载器的值，不持有本类加载器的对象
+        Field field = TableInfoHelper.class.getDeclaredField("TABLE_INFO_LOOKUP");
+        field.setAccessible(true);
+        ClassValue<?> lookup = (ClassValue<?>) field.get(null);
+        Assert.assertNull(lookup.get(HashMap.class).getClass().getClassLoader());
+        Assert.assertNotNull(lookup.get(LookupEntity.class).getClass().getClassLoader());
+    }
+
+    @Data
+    public static class LookupEntity {
+        private Long id;
+        private String name;
+    }
+
+    public static class SubLookupEntity extends LookupEntity {
+    }
+}
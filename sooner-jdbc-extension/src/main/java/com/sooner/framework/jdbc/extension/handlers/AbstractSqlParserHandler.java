@@ -18,6 +18,8 @@ package com.sooner.framework.jdbc.extension.handlers;
 import com.sooner.framework.jdbc.core.parser.ISqlParser;
 import com.sooner.framework.jdbc.core.parser.ISqlParserFilter;
 import com.sooner.framework.jdbc.core.parser.SqlInfo;
+import com.sooner.framework.jdbc.core.parser.SqlParserCache;
+import com.sooner.framework.jdbc.core.parser.SqlParserChain;
 import com.sooner.framework.jdbc.core.parser.SqlParserHelper;
 import com.sooner.framework.jdbc.core.toolkit.CollectionUtils;
 import com.sooner.framework.jdbc.core.toolkit.PluginUtils;
@@ -36,7 +38,19 @@ import java.util.List;
 public abstract class AbstractSqlParserHandler {
 
     private List<ISqlParser> sqlParserList;
+    private SqlParserChain sqlParserChain;
     private ISqlParserFilter sqlParserFilter;
+    /**
+     * <p>
+     * SQL 解析结果缓存条数，默认 1024，小于等于 0 不缓存
+     * </p>
+     * <p>
+     * 只缓存 {@link ISqlParser#getCacheKey(MetaObject, String)} 返回非 null 的解析器，未实现该方法的解析器每次解析；
+     * 租户解析器需 TenantHandler#isCacheable() 声明租户过滤与请求上下文无关才缓存
+     * </p>
+     */
+    private int sqlParserCacheSize = 1024;
+    private volatile SqlParserCache sqlParserCache;
 
     /**
      * 拦截 SQL 解析执行
@@ -52,21 +66,48 @@ public abstract class AbstractSqlParserHandler {
                 if (SqlParserHelper.getSqlParserInfo(metaObject)) {
                     return;
                 }
-                // 标记是否修改过 SQL
-                int flag = 0;
                 String originalSql = (String) metaObject.getValue(PluginUtils.DELEGATE_BOUNDSQL_SQL);
-                for (ISqlParser sqlParser : this.sqlParserList) {
-                    SqlInfo sqlInfo = sqlParser.parser(metaObject, originalSql);
-                    if (null != sqlInfo) {
-                        originalSql = sqlInfo.getSql();
-                        ++flag;
-                    }
+                SqlParserCache cache = this.getSqlParserCache();
+                SqlInfo sqlInfo = null == cache ? this.sqlParserChain.parser(metaObject, originalSql)
+                    : cache.parser(this.sqlParserChain, metaObject, originalSql);
+                // 未修改过 SQL 不回写
+                if (null != sqlInfo) {
+                    metaObject.setValue(PluginUtils.DELEGATE_BOUNDSQL_SQL, sqlInfo.getSql());
                 }
-                if (flag >= 1) {
-                    metaObject.setValue(PluginUtils.DELEGATE_BOUNDSQL_SQL, originalSql);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * SQL 解析结果缓存，可读取命中率
+     * </p>
+     *
+     * @return 未开启缓存返回 null
+     */
+    public SqlParserCache getSqlParserCache() {
+        if (sqlParserCacheSize <= 0) {
+            return null;
+        }
+        if (null == sqlParserCache) {
+            synchronized (this) {
+                if (null == sqlParserCache) {
+                    sqlParserCache = new SqlParserCache(sqlParserCacheSize);
                 }
             }
         }
+        return sqlParserCache;
+    }
+
+    public int getSqlParserCacheSize() {
+        return sqlParserCacheSize;
+    }
+
+    /**
+     * 设置 SQL 解析结果缓存条数，0 关闭缓存，首次解析后修改不生效
+     */
+    public void setSqlParserCacheSize(int sqlParserCacheSize) {
+        this.sqlParserCacheSize = sqlParserCacheSize;
     }
 
     public List<ISqlParser> getSqlParserList() {
@@ -75,6 +116,7 @@ public abstract class AbstractSqlParserHandler {
 
     public void setSqlParserList(List<ISqlParser> sqlParserList) {
         this.sqlParserList = sqlParserList;
+        this.sqlParserChain = null == sqlParserList ? null : new SqlParserChain(sqlParserList);
     }
 
     public ISqlParserFilter getSqlParserFilter() {
@@ -57,25 +57,19 @@ public class EnumTypeHandler<E extends Enum<?> & IEnum> extends BaseTypeHandler<
 
     @Override
     public E getNullableResult(ResultSet rs, String columnName) throws SQLException {
-        if (null == rs.getString(columnName) && rs.wasNull()) {
-            return null;
-        }
-        return EnumUtils.valueOf(type, rs.getObject(columnName));
+        Object value = rs.getObject(columnName);
+        return null == value ? null : EnumUtils.valueOf(type, value);
     }
 
     @Override
     public E getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-        if (null == rs.getString(columnIndex) && rs.wasNull()) {
-            return null;
-        }
-        return EnumUtils.valueOf(type, rs.getObject(columnIndex));
+        Object value = rs.getObject(columnIndex);
+        return null == value ? null : EnumUtils.valueOf(type, value);
     }
 
     @Override
     public E getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-        if (null == cs.getString(columnIndex) && cs.wasNull()) {
-            return null;
-        }
-        return EnumUtils.valueOf(type, cs.getObject(columnIndex));
+        Object value = cs.getObject(columnIndex);
+        return null == value ? null : EnumUtils.valueOf(type, value);
     }
 }
@@ -16,4 +16,10 @@ public class DB2KeyGenerator implements IKeyGenerator {
     public String executeSql(String incrementerName) {
         return "values nextval for " + incrementerName;
     }
+
+    @Override
+    public String executeBatchSql(String incrementerName, int size) {
+        return "with t(n) as (values 1 union all select n + 1 from t where n < " + size
+            + ") select nextval for " + incrementerName + " from t";
+    }
 }
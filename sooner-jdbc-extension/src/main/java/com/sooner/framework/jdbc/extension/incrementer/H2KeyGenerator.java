@@ -16,4 +16,9 @@ public class H2KeyGenerator implements IKeyGenerator {
     public String executeSql(String incrementerName) {
         return "select " + incrementerName + ".nextval";
     }
+
+    @Override
+    public String executeBatchSql(String incrementerName, int size) {
+        return "select " + incrementerName + ".nextval from system_range(1, " + size + ")";
+    }
 }
@@ -31,4 +31,9 @@ public class OracleKeyGenerator implements IKeyGenerator {
     public String executeSql(String incrementerName) {
         return "SELECT " + incrementerName + ".NEXTVAL FROM DUAL";
     }
+
+    @Override
+    public String executeBatchSql(String incrementerName, int size) {
+        return "SELECT " + incrementerName + ".NEXTVAL FROM DUAL CONNECT BY LEVEL <= " + size;
+    }
 }
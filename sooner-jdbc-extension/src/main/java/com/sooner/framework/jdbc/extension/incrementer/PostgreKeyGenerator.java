@@ -16,4 +16,9 @@ public class PostgreKeyGenerator implements IKeyGenerator {
     public String executeSql(String incrementerName) {
         return "select nextval('" + incrementerName + "')";
     }
+
+    @Override
+    public String executeBatchSql(String incrementerName, int size) {
+        return "select nextval('" + incrementerName + "') from generate_series(1, " + size + ")";
+    }
 }
@@ -25,6 +25,8 @@ import com.sooner.framework.jdbc.core.injector.AbstractMethod;
 import com.sooner.framework.jdbc.core.injector.AbstractSqlInjector;
 import com.sooner.framework.jdbc.core.injector.SqlRunnerInjector;
 import com.sooner.framework.jdbc.core.injector.methods.Insert;
+import com.sooner.framework.jdbc.core.injector.methods.InsertBatchSomeColumn;
+import com.sooner.framework.jdbc.core.injector.methods.Upsert;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicDelete;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicDeleteBatchByIds;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicDeleteById;
@@ -33,6 +35,7 @@ import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectBatchById
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectById;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectByMap;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectCount;
+import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectCursor;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectList;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectMaps;
 import com.sooner.framework.jdbc.extension.injector.methods.LogicSelectMapsPage;
@@ -58,6 +61,8 @@ public class LogicSqlInjector extends AbstractSqlInjector {
     public List<AbstractMethod> getMethodList() {
         return Stream.of(
             new Insert(),
+            new InsertBatchSomeColumn(),
+            new Upsert(),
             new LogicDelete(),
             new LogicDeleteByMap(),
             new LogicDeleteById(),
@@ -72,6 +77,7 @@ public class LogicSqlInjector extends AbstractSqlInjector {
             new LogicSelectMaps(),
             new LogicSelectMapsPage(),
             new LogicSelectObjs(),
+            new LogicSelectCursor(),
             new LogicSelectList(),
             new LogicSelectPage()
         ).collect(Collectors.toList());
@@ -15,7 +15,13 @@
  */
 package com.sooner.framework.jdbc.extension.injector.methods;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+
 import com.sooner.framework.jdbc.core.enums.SqlMethod;
+import com.sooner.framework.jdbc.core.injector.source.UpdateByIdSqlSource;
+import com.sooner.framework.jdbc.core.metadata.TableFieldInfo;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
 import com.sooner.framework.jdbc.core.toolkit.Constants;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
@@ -52,6 +58,12 @@ public class LogicUpdateById extends AbstractLogicMethod {
             tableInfo.getKeyColumn(), Constants.ENTITY_SPOT + tableInfo.getKeyProperty(),
             append);
         SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        if (isStaticSqlSource(tableInfo)) {
+            List<TableFieldInfo> fieldList = tableInfo.getFieldList().stream()
+                .filter(i -> !(logicDelete && i.isLogicDelete())).collect(toList());
+            sqlSource = new UpdateByIdSqlSource(configuration, modelClass, tableInfo, fieldList,
+                tableInfo.getLogicDeleteSql(true, false), sqlSource);
+        }
         return addUpdateMappedStatement(mapperClass, modelClass, sqlMethod.getMethod(), sqlSource);
     }
 }
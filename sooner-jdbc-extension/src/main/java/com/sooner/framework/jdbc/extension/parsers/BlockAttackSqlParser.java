@@ -21,6 +21,7 @@ import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.SelectBody;
 import net.sf.jsqlparser.statement.update.Update;
+import org.apache.ibatis.reflection.MetaObject;
 
 /**
  * <p>
@@ -32,6 +33,19 @@ import net.sf.jsqlparser.statement.update.Update;
  */
 public class BlockAttackSqlParser extends AbstractJsqlParser {
 
+    /**
+     * 只做校验，不修改 SQL
+     */
+    @Override
+    public boolean isModifySql() {
+        return false;
+    }
+
+    @Override
+    public Object getCacheKey(MetaObject metaObject, String sql) {
+        return this.allowProcess(metaObject) ? sql : null;
+    }
+
     @Override
     public void processInsert(Insert insert) {
         // to do nothing
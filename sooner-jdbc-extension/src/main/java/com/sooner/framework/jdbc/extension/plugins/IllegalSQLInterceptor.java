@@ -1,18 +1,23 @@
 package com.sooner.framework.jdbc.extension.plugins;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.sql.DataSource;
+
 import com.sooner.framework.jdbc.core.parser.SqlParserHelper;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
@@ -29,12 +34,18 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
 import com.sooner.framework.jdbc.core.exceptions.MybatisPlusException;
+import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.Assert;
 import com.sooner.framework.jdbc.core.toolkit.EncryptUtils;
+import com.sooner.framework.jdbc.core.toolkit.LruCache;
 import com.sooner.framework.jdbc.core.toolkit.PluginUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
 
 import net.sf.jsqlparser.expression.BinaryExpression;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
 import net.sf.jsqlparser.expression.Function;
 import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
@@ -74,22 +85,50 @@ import net.sf.jsqlparser.statement.update.Update;
  * 5.where条件使用了 not 关键字
  * 6.where条件使用了 or 关键字
  * 7.where条件使用了 使用子查询
+ * <p>
+ * 验证结果按 statementId + SQL 摘要缓存（有界）；表索引信息按小写表名缓存，所有实例共用。
+ * 设置 dataSource 后，使用该数据源自己的连接按 TableInfoHelper 中的表一次性预加载（也可调用 preload()），
+ * 未设置时只在拦截时按用到的表读取；调用 refresh() 重新加载。
+ * 联合索引的非首列，在其前面的列都出现在条件中时视为使用了索引
  * @date 2018-03-22
  */
 @Intercepts({@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})})
 public class IllegalSQLInterceptor implements Interceptor {
 
+    private static final Log logger = LogFactory.getLog(IllegalSQLInterceptor.class);
+
     /**
-     * 缓存验证结果，提高性能
+     * 验证结果缓存条数
      */
-    private static final Set<String> cacheValidResult = new HashSet<>();
-
-    private static final Log logger = LogFactory.getLog(IllegalSQLInterceptor.class);
+    private int validCacheSize = 4096;
+    /**
+     * 缓存验证结果，键为 statementId + SQL 摘要
+     */
+    private volatile LruCache<String, Boolean> validResultCache;
 
     /**
-     * 缓存表的索引信息
+     * 缓存表的索引信息，键为小写表名，所有实例共用
+     */
+    private static final Map<String, List<IndexInfo>> INDEX_INFO_MAP = new ConcurrentHashMap<>();
+    /**
+     * 已创建的实例，供已废弃的静态方法汇总验证结果
      */
-    private static Map<String, List<IndexInfo>> indexInfoMap = new ConcurrentHashMap<>();
+    private static final Set<IllegalSQLInterceptor> INSTANCES = Collections.newSetFromMap(
+        Collections.synchronizedMap(new WeakHashMap<>()));
+    /**
+     * 预加载索引信息使用的数据源
+     */
+    private DataSource dataSource;
+    private volatile boolean indexInfoLoaded;
+
+    public IllegalSQLInterceptor() {
+        INSTANCES.add(this);
+    }
+
+    public IllegalSQLInterceptor(DataSource dataSource) {
+        this();
+        this.dataSource = dataSource;
+    }
 
     /**
      * 验证expression对象是不是 or、not等等
@@ -134,13 +173,13 @@ public class IllegalSQLInterceptor implements Interceptor {
      * @param table
      * @param connection
      */
-    private static void validJoins(List<Join> joins, Table table, Connection connection) {
+    private void validJoins(List<Join> joins, Table table, Connection connection) {
         //允许执行join，验证jion是否使用索引等等
         if (joins != null) {
             for (Join join : joins) {
                 Table rightTable = (Table) join.getRightItem();
                 Expression expression = join.getOnExpression();
-                validWhere(expression, table, rightTable, connection);
+                validWhere(expression, table, rightTable, columnsOf(expression), connection);
             }
         }
     }
@@ -150,30 +189,17 @@ public class IllegalSQLInterceptor implements Interceptor {
      *
      * @param table
      * @param columnName
+     * @param columns    条件中出现的列，用于判断联合索引前缀
      * @param connection
      */
-    private static void validUseIndex(Table table, String columnName, Connection connection) {
-        //是否使用索引
-        boolean useIndexFlag = false;
-
-        String tableInfo = table.getName();
-        //表存在的索引
-        String dbName = null;
-        String tableName = null;
-        String[] tableArray = tableInfo.split("\\.");
-        if (tableArray.length == 1) {
-            tableName = tableArray[0];
-        } else {
-            dbName = tableArray[0];
-            tableName = tableArray[1];
-        }
-        List<IndexInfo> indexInfos = getIndexInfos(dbName, tableName, connection);
-        for (IndexInfo indexInfo : indexInfos) {
-            if (Objects.equals(columnName, indexInfo.getColumnName())) {
-                useIndexFlag = true;
-                break;
-            }
+    private void validUseIndex(Table table, String columnName, Set<String> columns, Connection connection) {
+        List<IndexInfo> indexInfos = getTableIndexInfos(table.getName(), connection);
+        if (indexInfos == null) {
+            throw new IndexInfoUnavailableException(table.getName());
         }
+        String column = normalize(columnName);
+        //是否使用索引
+        boolean useIndexFlag = indexInfos.stream().anyMatch(indexInfo -> indexInfo.matches(column, columns));
         if (!useIndexFlag) {
             throw new MybatisPlusException("非法SQL，SQL未使用到索引, table:" + table + ", columnName:" + columnName);
         }
@@ -186,8 +212,8 @@ public class IllegalSQLInterceptor implements Interceptor {
      * @param table
      * @param connection
      */
-    private static void validWhere(Expression expression, Table table, Connection connection) {
-        validWhere(expression, table, null, connection);
+    private void validWhere(Expression expression, Table table, Connection connection) {
+        validWhere(expression, table, null, columnsOf(expression), connection);
     }
 
     /**
@@ -196,9 +222,10 @@ public class IllegalSQLInterceptor implements Interceptor {
      * @param expression
      * @param table
      * @param joinTable
+     * @param columns
      * @param connection
      */
-    private static void validWhere(Expression expression, Table table, Table joinTable, Connection connection) {
+    private void validWhere(Expression expression, Table table, Table joinTable, Set<String> columns, Connection connection) {
         validExpression(expression);
         if (expression instanceof BinaryExpression) {
             //获得左边表达式
@@ -209,21 +236,21 @@ public class IllegalSQLInterceptor implements Interceptor {
             if (leftExpression instanceof Column) {
                 Expression rightExpression = ((BinaryExpression) expression).getRightExpression();
                 if (joinTable != null && rightExpression instanceof Column) {
-                    if (Objects.equals(((Column) rightExpression).getTable().getName(), table.getAlias().getName())) {
-                        validUseIndex(table, ((Column) rightExpression).getColumnName(), connection);
-                        validUseIndex(joinTable, ((Column) leftExpression).getColumnName(), connection);
+                    if (isColumnOf((Column) rightExpression, table)) {
+                        validUseIndex(table, ((Column) rightExpression).getColumnName(), columns, connection);
+                        validUseIndex(joinTable, ((Column) leftExpression).getColumnName(), columns, connection);
                     } else {
-                        validUseIndex(joinTable, ((Column) rightExpression).getColumnName(), connection);
-                        validUseIndex(table, ((Column) leftExpression).getColumnName(), connection);
+                        validUseIndex(joinTable, ((Column) rightExpression).getColumnName(), columns, connection);
+                        validUseIndex(table, ((Column) leftExpression).getColumnName(), columns, connection);
                     }
                 } else {
                     //获得列名
-                    validUseIndex(table, ((Column) leftExpression).getColumnName(), connection);
+                    validUseIndex(table, ((Column) leftExpression).getColumnName(), columns, connection);
                 }
             }
             //如果BinaryExpression，进行迭代
             else if (leftExpression instanceof BinaryExpression) {
-                validWhere(leftExpression, table, joinTable, connection);
+                validWhere(leftExpression, table, joinTable, columns, connection);
             }
 
             //获得右边表达式，并分解
@@ -232,58 +259,180 @@ public class IllegalSQLInterceptor implements Interceptor {
         }
     }
 
+    private static boolean isColumnOf(Column column, Table table) {
+        if (column.getTable() == null || column.getTable().getName() == null) {
+            return false;
+        }
+        String name = column.getTable().getName();
+        return table.getAlias() == null ? Objects.equals(name, table.getName()) : Objects.equals(name, table.getAlias().getName());
+    }
+
+    /**
+     * 条件中出现的列（小写，不含表名）
+     */
+    private static Set<String> columnsOf(Expression expression) {
+        Set<String> columns = new HashSet<>();
+        if (expression != null) {
+            expression.accept(new ExpressionVisitorAdapter() {
+                @Override
+                public void visit(Column column) {
+                    columns.add(normalize(column.getColumnName()));
+                }
+            });
+        }
+        return columns;
+    }
+
+    /**
+     * 去掉引号并转小写
+     */
+    private static String normalize(String name) {
+        return name == null ? null : unquote(name).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String unquote(String name) {
+        return name.replace(StringPool.BACKTICK, StringPool.EMPTY).replace(StringPool.QUOTE, StringPool.EMPTY);
+    }
+
+    /**
+     * <p>
+     * 获取表的索引信息，优先读取缓存
+     * </p>
+     *
+     * @param table      表名，可带库名
+     * @param connection
+     * @return 读取元数据失败返回 null，不缓存，下次重新读取
+     */
+    private List<IndexInfo> getTableIndexInfos(String table, Connection connection) {
+        String key = normalize(table);
+        List<IndexInfo> indexInfos = INDEX_INFO_MAP.get(key);
+        if (indexInfos == null) {
+            try {
+                indexInfos = loadIndexInfos(table, connection);
+            } catch (SQLException e) {
+                logger.error("Get index info of table '" + table + "' failed: " + e.getMessage(), e);
+                return null;
+            }
+            INDEX_INFO_MAP.putIfAbsent(key, indexInfos);
+        }
+        return indexInfos;
+    }
+
+    /**
+     * <p>
+     * 使用 dataSource 自己的连接一次性加载 TableInfoHelper 中所有表的索引信息，
+     * 应在 Mapper 初始化完成后调用；读取失败的表在拦截时再按表读取
+     * </p>
+     */
+    public synchronized void preload() {
+        Assert.notNull(dataSource, "Error: IllegalSQLInterceptor dataSource is not set !");
+        try (Connection connection = dataSource.getConnection()) {
+            for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
+                String tableName = tableInfo.getTableName();
+                if (StringUtils.isNotEmpty(tableName)) {
+                    getTableIndexInfos(tableName, connection);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Preload index info failed: " + e.getMessage(), e);
+        } finally {
+            indexInfoLoaded = true;
+        }
+    }
+
+    private static List<IndexInfo> loadIndexInfos(String table, Connection connection) throws SQLException {
+        //表存在的索引
+        String dbName = null;
+        String tableName;
+        String[] tableArray = unquote(table).split("\\.");
+        if (tableArray.length == 1) {
+            tableName = tableArray[0];
+        } else {
+            dbName = tableArray[0];
+            tableName = tableArray[1];
+        }
+        List<IndexInfo> indexInfos = queryIndexInfos(dbName, tableName, connection);
+        // 数据库元数据可能区分大小写
+        if (indexInfos.isEmpty() && !tableName.equals(tableName.toUpperCase(Locale.ENGLISH))) {
+            indexInfos = queryIndexInfos(dbName == null ? null : dbName.toUpperCase(Locale.ENGLISH),
+                tableName.toUpperCase(Locale.ENGLISH), connection);
+        }
+        if (indexInfos.isEmpty() && !tableName.equals(tableName.toLowerCase(Locale.ENGLISH))) {
+            indexInfos = queryIndexInfos(dbName == null ? null : dbName.toLowerCase(Locale.ENGLISH),
+                tableName.toLowerCase(Locale.ENGLISH), connection);
+        }
+        return indexInfos;
+    }
+
     /**
      * 得到表的索引信息
      *
      * @param dbName
      * @param tableName
      * @param conn
-     * @return
+     * @return 读取元数据失败返回空集合
      */
     public static List<IndexInfo> getIndexInfos(String dbName, String tableName, Connection conn) {
-        return getIndexInfos(null, dbName, tableName, conn);
+        try {
+            return queryIndexInfos(dbName, tableName, conn);
+        } catch (SQLException e) {
+            logger.error("Get index info of table '" + tableName + "' failed: " + e.getMessage(), e);
+            return Collections.emptyList();
+        }
     }
 
     /**
-     * 得到表的索引信息
+     * <p>
+     * 得到表的索引信息，优先读取共用的索引信息缓存
+     * </p>
      *
-     * @param key
+     * @param key       缓存键
      * @param dbName
      * @param tableName
      * @param conn
-     * @return
+     * @return 读取元数据失败返回空集合，不缓存
+     * @deprecated 索引信息由拦截器按小写表名缓存
      */
+    @Deprecated
     public static List<IndexInfo> getIndexInfos(String key, String dbName, String tableName, Connection conn) {
         List<IndexInfo> indexInfos = null;
         if (StringUtils.isNotEmpty(key)) {
-            indexInfos = indexInfoMap.get(key);
+            indexInfos = INDEX_INFO_MAP.get(key);
         }
         if (indexInfos == null || indexInfos.isEmpty()) {
-            ResultSet rs = null;
             try {
-                DatabaseMetaData metadata = conn.getMetaData();
-                rs = metadata.getIndexInfo(dbName, dbName, tableName, false, true);
-                indexInfos = new ArrayList<>();
-                while (rs.next()) {
-                    //索引中的列序列号等于1，才有效
-                    if (Objects.equals(rs.getString(8), "1")) {
-                        IllegalSQLInterceptor.IndexInfo indexInfo = new IllegalSQLInterceptor.IndexInfo();
-                        indexInfo.setDbName(rs.getString(1));
-                        indexInfo.setTableName(rs.getString(3));
-                        indexInfo.setColumnName(rs.getString(9));
-                        indexInfos.add(indexInfo);
-                    }
-                }
-                if (StringUtils.isNotEmpty(key)) {
-                    indexInfoMap.put(key, indexInfos);
-                }
+                indexInfos = queryIndexInfos(dbName, tableName, conn);
             } catch (SQLException e) {
-                e.printStackTrace();
+                logger.error("Get index info of table '" + tableName + "' failed: " + e.getMessage(), e);
+                return Collections.emptyList();
+            }
+            if (StringUtils.isNotEmpty(key)) {
+                INDEX_INFO_MAP.put(key, indexInfos);
             }
         }
         return indexInfos;
     }
 
+    private static List<IndexInfo> queryIndexInfos(String dbName, String tableName, Connection conn) throws SQLException {
+        Map<String, IndexInfo> indexInfos = new LinkedHashMap<>();
+        try (ResultSet rs = conn.getMetaData().getIndexInfo(dbName, dbName, tableName, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString(6);
+                String columnName = rs.getString(9);
+                if (indexName == null || columnName == null) {
+                    // 表统计信息
+                    continue;
+                }
+                IndexInfo indexInfo = indexInfos.computeIfAbsent(indexName, k -> new IndexInfo());
+                indexInfo.setDbName(rs.getString(1));
+                indexInfo.setTableName(rs.getString(3));
+                indexInfo.setIndexName(indexName);
+                indexInfo.addColumn(rs.getInt(8), normalize(columnName));
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(indexInfos.values()));
+    }
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         StatementHandler statementHandler = (StatementHandler) PluginUtils.realTarget(invocation.getTarget());
@@ -296,11 +445,15 @@ public class IllegalSQLInterceptor implements Interceptor {
         BoundSql boundSql = (BoundSql) metaObject.getValue("delegate.boundSql");
         String originalSql = boundSql.getSql();
         logger.debug("检查SQL是否合规，SQL:" + originalSql);
-        String md5Base64 = EncryptUtils.md5Base64(originalSql);
-        if (cacheValidResult.contains(md5Base64)) {
+        String cacheKey = mappedStatement.getId() + StringPool.COLON + EncryptUtils.md5Base64(originalSql);
+        LruCache<String, Boolean> cache = getValidResultCache();
+        if (cache.get(cacheKey) != null) {
             logger.debug("该SQL已验证，无需再次验证，，SQL:" + originalSql);
             return invocation.proceed();
         }
+        if (!indexInfoLoaded && dataSource != null) {
+            preload();
+        }
         Connection connection = (Connection) invocation.getArgs()[0];
         Statement statement = CCJSqlParserUtil.parse(originalSql);
         Expression where = null;
@@ -326,10 +479,16 @@ public class IllegalSQLInterceptor implements Interceptor {
         if (where == null) {
             throw new MybatisPlusException("非法SQL，必须要有where条件");
         }
-        validWhere(where, table, connection);
-        validJoins(joins, table, connection);
+        try {
+            validWhere(where, table, connection);
+            validJoins(joins, table, connection);
+        } catch (IndexInfoUnavailableException e) {
+            // 无法读取索引信息时不拦截，也不缓存验证结果
+            logger.warn("跳过索引检查，无法读取表索引信息, table:" + e.getMessage());
+            return invocation.proceed();
+        }
         //缓存验证结果
-        cacheValidResult.add(md5Base64);
+        cache.put(cacheKey, Boolean.TRUE);
         return invocation.proceed();
     }
 
@@ -343,19 +502,134 @@ public class IllegalSQLInterceptor implements Interceptor {
 
     @Override
     public void setProperties(Properties prop) {
+        String validCacheSize = prop.getProperty("validCacheSize");
+        if (StringUtils.isNotEmpty(validCacheSize)) {
+            this.validCacheSize = Integer.parseInt(validCacheSize);
+        }
+    }
 
+    /**
+     * <p>
+     * 清空验证结果及索引信息，表结构变更后调用；设置了 dataSource 时立即重新预加载，否则下次拦截时按表读取
+     * </p>
+     */
+    public synchronized void refresh() {
+        indexInfoLoaded = false;
+        INDEX_INFO_MAP.clear();
+        if (validResultCache != null) {
+            validResultCache.clear();
+        }
+        if (dataSource != null) {
+            preload();
+        }
+    }
+
+    public LruCache<String, Boolean> getValidResultCache() {
+        if (validResultCache == null) {
+            synchronized (this) {
+                if (validResultCache == null) {
+                    validResultCache = new LruCache<>(validCacheSize);
+                }
+            }
+        }
+        return validResultCache;
+    }
+
+    /**
+     * 表索引信息缓存，键为小写表名
+     */
+    public Map<String, List<IndexInfo>> getIndexInfoCache() {
+        return Collections.unmodifiableMap(INDEX_INFO_MAP);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * <p>
+     * 已验证通过的 SQL，键为 statementId + SQL 摘要
+     * </p>
+     *
+     * @return 所有实例的验证结果快照
+     * @deprecated 使用 {@link #getValidResultCache()}
+     */
+    @Deprecated
+    public static Set<String> getCacheValidResult() {
+        Set<String> keys = new HashSet<>();
+        synchronized (INSTANCES) {
+            for (IllegalSQLInterceptor interceptor : INSTANCES) {
+                keys.addAll(interceptor.getValidResultCache().keys());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return 共用的表索引信息缓存，键为小写表名
+     * @deprecated 使用 {@link #getIndexInfoCache()}
+     */
+    @Deprecated
+    public static Map<String, List<IndexInfo>> getIndexInfoMap() {
+        return INDEX_INFO_MAP;
+    }
+
+    /**
+     * <p>
+     * 预置表索引信息，键为表名，所有实例共用
+     * </p>
+     *
+     * @deprecated 索引信息从数据库元数据加载
+     */
+    @Deprecated
+    public static void setIndexInfoMap(Map<String, List<IndexInfo>> indexInfoMap) {
+        INDEX_INFO_MAP.clear();
+        indexInfoMap.forEach((key, value) -> {
+            if (key != null && value != null) {
+                INDEX_INFO_MAP.put(normalize(key), value);
+            }
+        });
+    }
+
+    public int getValidCacheSize() {
+        return validCacheSize;
+    }
+
+    public void setValidCacheSize(int validCacheSize) {
+        this.validCacheSize = validCacheSize;
+    }
+
+    /**
+     * 读取表索引信息失败
+     */
+    private static class IndexInfoUnavailableException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        IndexInfoUnavailableException(String table) {
+            super(table, null, false, false);
+        }
     }
 
     /**
      * 索引对象
      */
-    private static class IndexInfo {
+    public static class IndexInfo {
 
         private String dbName;
 
         private String tableName;
 
-        private String columnName;
+        private String indexName;
+
+        /**
+         * 索引列，按在索引中的顺序
+         */
+        private final List<String> columnNames = new ArrayList<>();
 
         public String getDbName() {
             return dbName;
@@ -373,25 +647,49 @@ public class IllegalSQLInterceptor implements Interceptor {
             this.tableName = tableName;
         }
 
-        public String getColumnName() {
-            return columnName;
+        public String getIndexName() {
+            return indexName;
         }
 
-        public void setColumnName(String columnName) {
-            this.columnName = columnName;
+        public void setIndexName(String indexName) {
+            this.indexName = indexName;
         }
-    }
 
-    public static Set<String> getCacheValidResult() {
-        return cacheValidResult;
-    }
+        /**
+         * 索引首列
+         */
+        public String getColumnName() {
+            return columnNames.isEmpty() ? null : columnNames.get(0);
+        }
 
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
 
-    public static Map<String, List<IndexInfo>> getIndexInfoMap() {
-        return indexInfoMap;
-    }
+        void addColumn(int position, String columnName) {
+            int index = Math.min(Math.max(position - 1, 0), columnNames.size());
+            columnNames.add(index, columnName);
+        }
 
-    public static void setIndexInfoMap(Map<String, List<IndexInfo>> indexInfoMap) {
-        IllegalSQLInterceptor.indexInfoMap = indexInfoMap;
+        /**
+         * <p>
+         * 列是否能使用该索引：是索引首列，或其前面的索引列都出现在条件中（最左前缀）
+         * </p>
+         *
+         * @param columnName 列名
+         * @param columns    条件中出现的列
+         */
+        public boolean matches(String columnName, Set<String> columns) {
+            int position = columnNames.indexOf(columnName);
+            if (position < 0) {
+                return false;
+            }
+            for (int i = 0; i < position; i++) {
+                if (!columns.contains(columnNames.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
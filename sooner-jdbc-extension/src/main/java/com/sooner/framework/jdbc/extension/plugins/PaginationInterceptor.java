@@ -20,14 +20,40 @@ import static java.util.stream.Collectors.joining;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
 
 import com.sooner.framework.jdbc.annotation.DbType;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
@@ -36,7 +62,10 @@ import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import com.sooner.framework.jdbc.core.MybatisDefaultParameterHandler;
@@ -44,12 +73,16 @@ import com.sooner.framework.jdbc.core.metadata.IPage;
 import com.sooner.framework.jdbc.core.parser.ISqlParser;
 import com.sooner.framework.jdbc.core.parser.SqlInfo;
 import com.sooner.framework.jdbc.core.toolkit.ArrayUtils;
+import com.sooner.framework.jdbc.core.toolkit.Assert;
 import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.LruCache;
 import com.sooner.framework.jdbc.core.toolkit.PluginUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
 import com.sooner.framework.jdbc.extension.handlers.AbstractSqlParserHandler;
 import com.sooner.framework.jdbc.extension.plugins.pagination.DialectFactory;
+import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.DialectModel;
+import com.sooner.framework.jdbc.extension.plugins.pagination.KeysetPage;
 import com.sooner.framework.jdbc.extension.toolkit.JdbcUtils;
 import com.sooner.framework.jdbc.extension.toolkit.SqlParserUtils;
 
@@ -61,9 +94,24 @@ import com.sooner.framework.jdbc.extension.toolkit.SqlParserUtils;
  * @author hubin
  * @since 2016-01-23
  */
-@Intercepts({@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})})
-public class PaginationInterceptor extends AbstractSqlParserHandler implements Interceptor {
+@Intercepts({@Signature(type = org.apache.ibatis.executor.Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+    @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+    @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class})})
+public class PaginationInterceptor extends AbstractSqlParserHandler implements Interceptor, Closeable {
 
+    /**
+     * 键集分页参数前缀
+     */
+    private static final String KEYSET_PARAMETER = "mp_keyset_";
+    /**
+     * 分页值参数前缀
+     */
+    private static final String PAGE_PARAMETER = "mp_page_";
+    /**
+     * 待合并的异步 COUNT，作为 BoundSql 附加参数随本次执行传递
+     */
+    private static final String PENDING_COUNT = "mp_pending_count";
     /**
      * COUNT SQL 解析
      */
@@ -80,6 +128,35 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
      * 方言实现类
      */
     private String dialectClazz;
+    /**
+     * COUNT 结果缓存条数，0 不缓存
+     */
+    private int countCacheSize = 0;
+    /**
+     * COUNT 结果缓存过期毫秒数，小于等于 0 不过期
+     */
+    private long countCacheTtl = 60000;
+    private volatile LruCache<List<Object>, Long> countCache;
+    /**
+     * 异步 COUNT，与分页查询并行执行于另一个连接
+     */
+    private boolean asyncCount = false;
+    /**
+     * 异步 COUNT 线程数
+     */
+    private int countThreads = 4;
+    /**
+     * 异步 COUNT 等待队列长度，队列满时同步查询
+     */
+    private int countQueueSize = 100;
+    /**
+     * 异步 COUNT 执行器
+     */
+    private volatile Executor countExecutor;
+    /**
+     * 拦截器创建的执行器，关闭时停止
+     */
+    private ExecutorService ownCountExecutor;
 
     /**
      * 查询SQL拼接Order By
@@ -125,7 +202,13 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
      */
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof org.apache.ibatis.executor.Executor) {
+            return this.queryPage(invocation);
+        }
         StatementHandler statementHandler = (StatementHandler) PluginUtils.realTarget(invocation.getTarget());
+        if (invocation.getArgs()[0] instanceof Statement) {
+            return this.joinCount(invocation, statementHandler);
+        }
         MetaObject metaObject = SystemMetaObject.forObject(statementHandler);
 
         // SQL 解析
@@ -142,17 +225,7 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
         Object paramObj = boundSql.getParameterObject();
 
         // 判断参数里是否有page对象
-        IPage page = null;
-        if (paramObj instanceof IPage) {
-            page = (IPage) paramObj;
-        } else if (paramObj instanceof Map) {
-            for (Object arg : ((Map) paramObj).values()) {
-                if (arg instanceof IPage) {
-                    page = (IPage) arg;
-                    break;
-                }
-            }
-        }
+        IPage page = findPage(paramObj);
 
         /**
          * 不需要分页的场合，如果 size 小于 0 返回结果集
@@ -167,16 +240,46 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
             : JdbcUtils.getDbType(connection.getMetaData().getURL());
 
         boolean orderBy = true;
-        if (page.getTotal() == 0) {
-            SqlInfo sqlInfo = SqlParserUtils.getOptimizeCountSql(page.optimizeCountSql(), sqlParser, originalSql);
+        PendingCount pendingCount = null;
+        if (page.isSearchCount() && page.getTotal() == 0) {
+            SqlInfo sqlInfo = SqlParserUtils.getOptimizeCountSql(page.optimizeCountSql(), sqlParser, originalSql,
+                this.getSqlParserCache());
             orderBy = sqlInfo.isOrderBy();
-            this.queryTotal(overflow, sqlInfo.getSql(), mappedStatement, boundSql, page, connection);
-            if (page.getTotal() <= 0) {
-                return invocation.proceed();
+            LruCache<List<Object>, Long> cache = this.getCountCache();
+            List<Object> cacheKey = null == cache ? null : countCacheKey(sqlInfo.getSql(), mappedStatement, boundSql);
+            Long total = null == cacheKey ? null : cache.get(cacheKey);
+            if (null != total) {
+                // 缓存总数可能已过时，仍执行分页查询
+                setTotal(overflow, total, page);
+            } else {
+                if (asyncCount) {
+                    // 执行器已满时同步查询
+                    pendingCount = this.queryTotalAsync(sqlInfo.getSql(), mappedStatement, boundSql, cacheKey);
+                }
+                if (null == pendingCount) {
+                    this.queryTotal(overflow, sqlInfo.getSql(), mappedStatement, boundSql, page, connection);
+                    if (null != cacheKey) {
+                        cache.put(cacheKey, page.getTotal());
+                    }
+                    if (page.getTotal() <= 0) {
+                        return invocation.proceed();
+                    }
+                }
             }
         }
-        String buildSql = concatOrderBy(originalSql, page, orderBy);
-        originalSql = DialectFactory.buildPaginationSql(page, buildSql, dbType, dialectClazz);
+        String buildSql;
+        if (page instanceof KeysetPage) {
+            buildSql = buildKeysetSql((KeysetPage) page, originalSql, dbType, mappedStatement, boundSql);
+        } else {
+            buildSql = concatOrderBy(originalSql, page, orderBy);
+        }
+        DialectModel model = DialectFactory.buildPaginationSql(page, buildSql, dbType, dialectClazz);
+        List<Object> pageValues = new ArrayList<>(model.getParameters().length);
+        for (long value : model.getParameters()) {
+            pageValues.add(value);
+        }
+        addParameters(mappedStatement.getConfiguration(), boundSql, PAGE_PARAMETER, pageValues);
+        originalSql = model.getDialectSql();
 
         /*
          * <p> 禁用内存分页 </p>
@@ -185,7 +288,208 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
         metaObject.setValue("delegate.boundSql.sql", originalSql);
         metaObject.setValue("delegate.rowBounds.offset", RowBounds.NO_ROW_OFFSET);
         metaObject.setValue("delegate.rowBounds.limit", RowBounds.NO_ROW_LIMIT);
-        return invocation.proceed();
+        if (null != pendingCount) {
+            boundSql.setAdditionalParameter(PENDING_COUNT, pendingCount);
+        }
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            if (null != pendingCount) {
+                pendingCount.cancel();
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * <p>
+     * 分页参数在 StatementHandler 中才改写 SQL，默认的缓存键不含分页对象，
+     * 同一 SqlSession 内翻页会命中一级缓存返回上一页数据，缓存键追加分页条件
+     * </p>
+     */
+    private Object queryPage(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        IPage page = findPage(args[1]);
+        if (null == page || page.getSize() < 0) {
+            return invocation.proceed();
+        }
+        org.apache.ibatis.executor.Executor executor = (org.apache.ibatis.executor.Executor) invocation.getTarget();
+        MappedStatement mappedStatement = (MappedStatement) args[0];
+        RowBounds rowBounds = (RowBounds) args[2];
+        BoundSql boundSql = mappedStatement.getBoundSql(args[1]);
+        CacheKey cacheKey = executor.createCacheKey(mappedStatement, args[1], rowBounds, boundSql);
+        cacheKey.update(page.offset());
+        cacheKey.update(page.getSize());
+        cacheKey.update(Arrays.toString(page.ascs()));
+        cacheKey.update(Arrays.toString(page.descs()));
+        if (page instanceof KeysetPage) {
+            KeysetPage<?> keysetPage = (KeysetPage<?>) page;
+            cacheKey.update(Arrays.toString(keysetPage.getKeys()));
+            cacheKey.update(keysetPage.isAscending());
+            cacheKey.updateAll(null == keysetPage.getLastValues() ? new Object[0] : keysetPage.getLastValues());
+        }
+        return executor.query(mappedStatement, args[1], rowBounds, (ResultHandler) args[3], cacheKey, boundSql);
+    }
+
+    /**
+     * <p>
+     * 分页查询结束后合并异步 COUNT 结果，游标查询在打开游标前合并
+     * </p>
+     * <p>
+     * 异步 COUNT 尚未取得连接时取消，改用当前连接同步查询，避免连接池耗尽时互相等待
+     * </p>
+     */
+    private Object joinCount(Invocation invocation, StatementHandler statementHandler) throws Throwable {
+        BoundSql boundSql = statementHandler.getBoundSql();
+        if (!boundSql.hasAdditionalParameter(PENDING_COUNT)) {
+            return invocation.proceed();
+        }
+        PendingCount pendingCount = (PendingCount) boundSql.getAdditionalParameter(PENDING_COUNT);
+        boundSql.setAdditionalParameter(PENDING_COUNT, null);
+        if (null == pendingCount) {
+            return invocation.proceed();
+        }
+        Connection connection = ((Statement) invocation.getArgs()[0]).getConnection();
+        if ("queryCursor".equals(invocation.getMethod().getName())) {
+            /* 游标打开后结果集可能仍占用连接（如 MySQL 流式读取），打开游标前合并 COUNT */
+            findPage(boundSql.getParameterObject()).setTotal(pendingCount.join(connection));
+            return invocation.proceed();
+        }
+        boolean joined = false;
+        try {
+            Object result = invocation.proceed();
+            findPage(boundSql.getParameterObject()).setTotal(pendingCount.join(connection));
+            joined = true;
+            return result;
+        } finally {
+            if (!joined) {
+                pendingCount.cancel();
+            }
+        }
+    }
+
+    /**
+     * 参数中的分页对象
+     */
+    private static IPage findPage(Object paramObj) {
+        if (paramObj instanceof IPage) {
+            return (IPage) paramObj;
+        }
+        if (paramObj instanceof Map) {
+            for (Object arg : ((Map) paramObj).values()) {
+                if (arg instanceof IPage) {
+                    return (IPage) arg;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * <p>
+     * 键集分页 SQL，原查询去除 ORDER BY 后作为子查询，追加排序键条件及排序，分页由方言完成
+     * </p>
+     * <p>
+     * 支持行值比较的数据库使用 (k1, k2) &gt; (?, ?)，其余展开为 k1 &gt; ? OR (k1 = ? AND k2 &gt; ?)
+     * </p>
+     *
+     * @param page            键集分页对象
+     * @param originalSql     原始 SQL
+     * @param dbType          数据库类型
+     * @param mappedStatement MappedStatement
+     * @param boundSql        BoundSql，追加排序键参数
+     * @return 待分页 SQL
+     */
+    protected String buildKeysetSql(KeysetPage<?> page, String originalSql, DbType dbType,
+                                    MappedStatement mappedStatement, BoundSql boundSql) throws Exception {
+        String[] keys = page.getKeys();
+        Assert.notEmpty(keys, "Error: KeysetPage keys must not be empty.");
+        StringBuilder sql = new StringBuilder("SELECT * FROM (").append(removeOrderBy(originalSql))
+            .append(") KEYSET_TMP");
+        Object[] lastValues = page.getLastValues();
+        List<Object> values = new ArrayList<>();
+        if (ArrayUtils.isNotEmpty(lastValues)) {
+            Assert.isTrue(lastValues.length == keys.length && Arrays.stream(lastValues).allMatch(Objects::nonNull),
+                "Error: KeysetPage lastValues must match keys and not be null.");
+            String operator = page.isAscending() ? " > " : " < ";
+            sql.append(" WHERE ");
+            if (isRowValueSupported(dbType)) {
+                sql.append(Arrays.stream(keys).collect(joining(", ", StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET)))
+                    .append(operator).append(Arrays.stream(keys).map(i -> "?")
+                    .collect(joining(", ", StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET)));
+                values.addAll(Arrays.asList(lastValues));
+            } else {
+                for (int i = 0; i < keys.length; i++) {
+                    sql.append(i > 0 ? " OR (" : StringPool.LEFT_BRACKET);
+                    for (int j = 0; j < i; j++) {
+                        sql.append(keys[j]).append(" = ? AND ");
+                        values.add(lastValues[j]);
+                    }
+                    sql.append(keys[i]).append(operator).append("?)");
+                    values.add(lastValues[i]);
+                }
+            }
+        }
+        String direction = page.isAscending() ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(Arrays.stream(keys).map(i -> i + direction).collect(joining(StringPool.COMMA)));
+        addParameters(mappedStatement.getConfiguration(), boundSql, KEYSET_PARAMETER, values);
+        return sql.toString();
+    }
+
+    /**
+     * <p>
+     * 按占位顺序向 BoundSql 追加参数
+     * </p>
+     *
+     * @param configuration 配置
+     * @param boundSql      BoundSql
+     * @param prefix        参数名前缀
+     * @param values        参数值
+     */
+    private static void addParameters(Configuration configuration, BoundSql boundSql, String prefix, List<Object> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+        for (int i = 0; i < values.size(); i++) {
+            String property = prefix + i;
+            boundSql.setAdditionalParameter(property, values.get(i));
+            parameterMappings.add(new ParameterMapping.Builder(configuration, property,
+                values.get(i).getClass()).build());
+        }
+        /* BoundSql 参数列表可能与 StaticSqlSource 共享，替换而不修改 */
+        SystemMetaObject.forObject(boundSql).setValue("parameterMappings", parameterMappings);
+    }
+
+    /**
+     * <p>
+     * 是否支持行值比较，不支持时展开为 OR 条件
+     * </p>
+     * <p>
+     * DB2 仅部分版本支持 (a, b) &gt; (?, ?)，未列入；需要时子类覆盖
+     * </p>
+     */
+    protected boolean isRowValueSupported(DbType dbType) {
+        return DbType.MYSQL == dbType || DbType.MARIADB == dbType || DbType.POSTGRE_SQL == dbType
+            || DbType.H2 == dbType || DbType.HSQL == dbType || DbType.SQLITE == dbType;
+    }
+
+    /**
+     * 去除最外层 ORDER BY，解析失败返回原 SQL
+     */
+    private static String removeOrderBy(String sql) {
+        try {
+            Select select = (Select) CCJSqlParserUtil.parse(sql);
+            SelectBody selectBody = select.getSelectBody();
+            if (selectBody instanceof PlainSelect) {
+                ((PlainSelect) selectBody).setOrderByElements(null);
+            } else if (selectBody instanceof SetOperationList) {
+                ((SetOperationList) selectBody).setOrderByElements(null);
+            }
+            return select.toString();
+        } catch (Exception e) {
+            return sql;
+        }
     }
 
     /**
@@ -197,32 +501,166 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
      * @param page
      */
     protected void queryTotal(boolean overflowCurrent, String sql, MappedStatement mappedStatement, BoundSql boundSql, IPage page, Connection connection) {
+        try {
+            setTotal(overflowCurrent, executeCount(sql, mappedStatement, boundSql, connection), page);
+        } catch (Exception e) {
+            throw ExceptionUtils.mpe("Error: Method queryTotal execution error.", e);
+        }
+    }
+
+    private static long executeCount(String sql, MappedStatement mappedStatement, BoundSql boundSql,
+                                     Connection connection) throws SQLException {
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             DefaultParameterHandler parameterHandler = new MybatisDefaultParameterHandler(mappedStatement, boundSql.getParameterObject(), boundSql);
             parameterHandler.setParameters(statement);
-            long total = 0;
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    total = resultSet.getLong(1);
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static void setTotal(boolean overflowCurrent, long total, IPage page) {
+        page.setTotal(total);
+        /*
+         * 溢出总页数，设置第一页
+         */
+        long pages = page.getPages();
+        if (overflowCurrent && page.getCurrent() > pages) {
+            // 设置为第一条
+            page.setCurrent(1);
+        }
+    }
+
+    /**
+     * <p>
+     * 另取连接异步查询总记录条数，分页查询结束后合并到分页对象
+     * </p>
+     * <p>
+     * 新连接不在当前事务中，看不到当前事务未提交的数据；溢出总页数不再回到第一页
+     * </p>
+     *
+     * @param sql             COUNT SQL
+     * @param mappedStatement MappedStatement
+     * @param boundSql        BoundSql
+     * @param cacheKey        缓存键，null 不缓存
+     * @return 待合并的 COUNT，执行器已满返回 null
+     */
+    private PendingCount queryTotalAsync(String sql, MappedStatement mappedStatement, BoundSql boundSql,
+                                         List<Object> cacheKey) {
+        Configuration configuration = mappedStatement.getConfiguration();
+        /* 分页参数随后追加到原 BoundSql，COUNT 使用当前参数的副本 */
+        BoundSql countBoundSql = new BoundSql(configuration, sql, new ArrayList<>(boundSql.getParameterMappings()),
+            boundSql.getParameterObject());
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            String name = new PropertyTokenizer(parameterMapping.getProperty()).getName();
+            if (boundSql.hasAdditionalParameter(name)) {
+                countBoundSql.setAdditionalParameter(name, boundSql.getAdditionalParameter(name));
+            }
+        }
+        PendingCount pendingCount = new PendingCount(sql, mappedStatement, countBoundSql, cacheKey);
+        try {
+            getCountExecutor().execute(pendingCount);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return pendingCount;
+    }
+
+    /**
+     * <p>
+     * COUNT 缓存键：MappedStatement ID、COUNT SQL 及参数值
+     * </p>
+     */
+    private static List<Object> countCacheKey(String sql, MappedStatement mappedStatement, BoundSql boundSql) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        List<Object> cacheKey = new ArrayList<>(parameterMappings.size() + 2);
+        cacheKey.add(mappedStatement.getId());
+        cacheKey.add(sql);
+        Object parameterObject = boundSql.getParameterObject();
+        Configuration configuration = mappedStatement.getConfiguration();
+        MetaObject metaObject = null;
+        for (ParameterMapping parameterMapping : parameterMappings) {
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String propertyName = parameterMapping.getProperty();
+            if (boundSql.hasAdditionalParameter(propertyName)) {
+                cacheKey.add(boundSql.getAdditionalParameter(propertyName));
+            } else if (null == parameterObject) {
+                cacheKey.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                cacheKey.add(parameterObject);
+            } else {
+                if (null == metaObject) {
+                    metaObject = configuration.newMetaObject(parameterObject);
                 }
+                cacheKey.add(metaObject.getValue(propertyName));
             }
-            page.setTotal(total);
-            /*
-             * 溢出总页数，设置第一页
-             */
-            long pages = page.getPages();
-            if (overflowCurrent && page.getCurrent() > pages) {
-                // 设置为第一条
-                page.setCurrent(1);
+        }
+        return cacheKey;
+    }
+
+    private LruCache<List<Object>, Long> getCountCache() {
+        if (countCacheSize <= 0) {
+            return null;
+        }
+        if (null == countCache) {
+            synchronized (this) {
+                if (null == countCache) {
+                    countCache = new LruCache<>(countCacheSize, countCacheTtl);
+                }
             }
-        } catch (Exception e) {
-            throw ExceptionUtils.mpe("Error: Method queryTotal execution error.", e);
+        }
+        return countCache;
+    }
+
+    private Executor getCountExecutor() {
+        if (null == countExecutor) {
+            synchronized (this) {
+                if (null == countExecutor) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(countThreads, countThreads, 60,
+                        TimeUnit.SECONDS, new ArrayBlockingQueue<>(countQueueSize), r -> {
+                        Thread thread = new Thread(r, "mp-count-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    ownCountExecutor = executor;
+                    countExecutor = executor;
+                }
+            }
+        }
+        return countExecutor;
+    }
+
+    /**
+     * <p>
+     * 停止拦截器创建的异步 COUNT 执行器，通过 {@link #setCountExecutor(Executor)} 设置的执行器由调用方管理
+     * </p>
+     */
+    @Override
+    public synchronized void close() {
+        if (null != ownCountExecutor) {
+            ownCountExecutor.shutdownNow();
+            ownCountExecutor = null;
+            countExecutor = null;
+        }
+    }
+
+    /**
+     * 清空 COUNT 缓存，数据变更后调用
+     */
+    public void clearCountCache() {
+        LruCache<List<Object>, Long> cache = countCache;
+        if (null != cache) {
+            cache.clear();
         }
     }
 
     @Override
     public Object plugin(Object target) {
-        if (target instanceof StatementHandler) {
+        if (target instanceof org.apache.ibatis.executor.Executor || target instanceof StatementHandler) {
             return Plugin.wrap(target, this);
         }
         return target;
@@ -238,5 +676,133 @@ public class PaginationInterceptor extends AbstractSqlParserHandler implements I
         if (StringUtils.isNotEmpty(dialectClazz)) {
             this.dialectClazz = dialectClazz;
         }
+        String countCacheSize = prop.getProperty("countCacheSize");
+        String countCacheTtl = prop.getProperty("countCacheTtl");
+        String asyncCount = prop.getProperty("asyncCount");
+        String countThreads = prop.getProperty("countThreads");
+        String countQueueSize = prop.getProperty("countQueueSize");
+        String sqlParserCacheSize = prop.getProperty("sqlParserCacheSize");
+        if (StringUtils.isNotEmpty(countCacheSize)) {
+            this.countCacheSize = Integer.parseInt(countCacheSize);
+        }
+        if (StringUtils.isNotEmpty(countCacheTtl)) {
+            this.countCacheTtl = Long.parseLong(countCacheTtl);
+        }
+        if (StringUtils.isNotEmpty(asyncCount)) {
+            this.asyncCount = Boolean.valueOf(asyncCount);
+        }
+        if (StringUtils.isNotEmpty(countThreads)) {
+            this.countThreads = Integer.parseInt(countThreads);
+        }
+        if (StringUtils.isNotEmpty(countQueueSize)) {
+            this.countQueueSize = Integer.parseInt(countQueueSize);
+        }
+        if (StringUtils.isNotEmpty(sqlParserCacheSize)) {
+            this.setSqlParserCacheSize(Integer.parseInt(sqlParserCacheSize));
+        }
+    }
+
+    public int getCountCacheSize() {
+        return countCacheSize;
+    }
+
+    public void setCountCacheSize(int countCacheSize) {
+        this.countCacheSize = countCacheSize;
+    }
+
+    public long getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    public void setCountCacheTtl(long countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    public boolean isAsyncCount() {
+        return asyncCount;
+    }
+
+    public void setAsyncCount(boolean asyncCount) {
+        this.asyncCount = asyncCount;
+    }
+
+    public void setCountThreads(int countThreads) {
+        this.countThreads = countThreads;
+    }
+
+    public void setCountQueueSize(int countQueueSize) {
+        this.countQueueSize = countQueueSize;
+    }
+
+    public void setCountExecutor(Executor countExecutor) {
+        this.countExecutor = countExecutor;
+    }
+
+    /**
+     * <p>
+     * 异步 COUNT，由执行器线程或分页查询线程其中之一执行
+     * </p>
+     * <p>
+     * 执行器线程取得连接后才认领任务；分页查询结束时任务仍未被认领，
+     * 则由分页查询线程用自己的连接同步执行，不等待连接池
+     * </p>
+     */
+    private final class PendingCount implements Runnable {
+
+        private final String sql;
+        private final MappedStatement mappedStatement;
+        private final BoundSql boundSql;
+        private final List<Object> cacheKey;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        PendingCount(String sql, MappedStatement mappedStatement, BoundSql boundSql, List<Object> cacheKey) {
+            this.sql = sql;
+            this.mappedStatement = mappedStatement;
+            this.boundSql = boundSql;
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.get()) {
+                return;
+            }
+            DataSource dataSource = mappedStatement.getConfiguration().getEnvironment().getDataSource();
+            try (Connection connection = dataSource.getConnection()) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.complete(count(connection));
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        /**
+         * 获取总记录条数，未被执行器认领时使用当前连接同步查询
+         */
+        long join(Connection connection) throws SQLException {
+            if (claimed.compareAndSet(false, true)) {
+                return count(connection);
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw ExceptionUtils.mpe("Error: Method queryTotal execution error.", e.getCause());
+            }
+        }
+
+        void cancel() {
+            claimed.set(true);
+            future.cancel(false);
+        }
+
+        private long count(Connection connection) throws SQLException {
+            long total = executeCount(sql, mappedStatement, boundSql, connection);
+            if (null != cacheKey) {
+                getCountCache().put(cacheKey, total);
+            }
+            return total;
+        }
     }
 }
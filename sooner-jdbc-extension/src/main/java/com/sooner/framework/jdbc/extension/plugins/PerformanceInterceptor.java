@@ -18,12 +18,9 @@ package com.sooner.framework.jdbc.extension.plugins;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
@@ -39,17 +36,19 @@ import org.apache.ibatis.reflection.SystemMetaObject;
 import org.apache.ibatis.session.ResultHandler;
 
 import com.sooner.framework.jdbc.core.toolkit.Assert;
-import com.sooner.framework.jdbc.core.toolkit.CollectionUtils;
 import com.sooner.framework.jdbc.core.toolkit.PluginUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
-import com.sooner.framework.jdbc.core.toolkit.SystemClock;
 import com.sooner.framework.jdbc.core.toolkit.sql.SqlUtils;
 
 /**
  * <p>
  * 性能分析拦截器，用于输出每条 SQL 语句及其执行时间
  * </p>
+ * <p>
+ * 每条 SQL 都会获取并格式化 SQL 文本，仅用于开发测试，
+ * 生产环境统计请使用 {@link SqlMetricsInterceptor}
+ * </p>
  *
  * @author hubin nieqiurong TaoYu
  * @since 2016-07-07
@@ -65,6 +64,8 @@ public class PerformanceInterceptor implements Interceptor {
     private static final String DruidPooledPreparedStatement = "com.alibaba.druid.pool.DruidPooledPreparedStatement";
     private static final String T4CPreparedStatement = "oracle.jdbc.driver.T4CPreparedStatement";
     private static final String OraclePreparedStatementWrapper = "oracle.jdbc.driver.OraclePreparedStatementWrapper";
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s]+");
+    private static final String[] SQL_STARTS = {"SELECT ", "UPDATE ", "INSERT ", "DELETE "};
     /**
      * SQL 执行最大时长，超过自动停止运行，有助于发现问题。
      */
@@ -150,16 +151,16 @@ public class PerformanceInterceptor implements Interceptor {
         if (originalSql == null) {
             originalSql = statement.toString();
         }
-        originalSql = originalSql.replaceAll("[\\s]+", StringPool.SPACE);
+        originalSql = WHITESPACE.matcher(originalSql).replaceAll(StringPool.SPACE);
         int index = indexOfSqlStart(originalSql);
         if (index > 0) {
             originalSql = originalSql.substring(index);
         }
 
         // 计算执行 SQL 耗时
-        long start = SystemClock.now();
+        long start = System.nanoTime();
         Object result = invocation.proceed();
-        long timing = SystemClock.now() - start;
+        long timing = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 
         // 格式化 SQL 打印执行结果
         Object target = PluginUtils.realTarget(invocation.getTarget());
@@ -230,19 +231,14 @@ public class PerformanceInterceptor implements Interceptor {
      * @return
      */
     private int indexOfSqlStart(String sql) {
-        String upperCaseSql = sql.toUpperCase();
-        Set<Integer> set = new HashSet<>();
-        set.add(upperCaseSql.indexOf("SELECT "));
-        set.add(upperCaseSql.indexOf("UPDATE "));
-        set.add(upperCaseSql.indexOf("INSERT "));
-        set.add(upperCaseSql.indexOf("DELETE "));
-        set.remove(-1);
-        if (CollectionUtils.isEmpty(set)) {
-            return -1;
+        for (int i = 0; i < sql.length(); i++) {
+            for (String start : SQL_STARTS) {
+                if (sql.regionMatches(true, i, start, 0, start.length())) {
+                    return i;
+                }
+            }
         }
-        List<Integer> list = new ArrayList<>(set);
-        list.sort(Comparator.naturalOrder());
-        return list.get(0);
+        return -1;
     }
 
     public static String getDruidPooledPreparedStatement() {
@@ -15,12 +15,41 @@
  */
 package com.sooner.framework.jdbc.extension.plugins;
 
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
@@ -28,37 +57,369 @@ import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.reflection.SystemMetaObject;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.core.toolkit.LruCache;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
 import com.sooner.framework.jdbc.extension.handlers.AbstractSqlParserHandler;
+import com.sooner.framework.jdbc.extension.toolkit.JdbcUtils;
+import com.sooner.framework.jdbc.extension.toolkit.ParameterUtils;
 
 /**
  * <p>
- * //todo 苗神来改个名
- * 防止全表更新与删除
+ * SQL 执行计划分析拦截器
+ * </p>
+ * <p>
+ * 更新语句执行配置的 SQL 解析器（例如防止全表更新与删除）；
+ * 查询、更新、删除语句按 explainSampleRate 采样，在后台线程另取连接执行 EXPLAIN，
+ * 执行计划按语句指纹（MappedStatement id + SQL）缓存，explainInterval 毫秒内不重复分析；
+ * 全表扫描、文件排序、临时表分别计数，执行计划新出现这些问题时输出警告
+ * </p>
+ * <p>
+ * 支持 MySQL、MariaDB（EXPLAIN）、PostgreSQL（EXPLAIN (FORMAT JSON)）、H2（EXPLAIN），其它数据库不分析
+ * </p>
+ * <p>
+ * explainSampleRate 默认为 0，需设置大于 0 的采样率才会分析执行计划；
+ * EXPLAIN 失败计数，每 ERROR_LOG_INTERVAL 毫秒最多输出一次警告
  * </p>
  *
  * @author hubin
  * @since 2016-08-16
  */
-@Intercepts({@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
-public class SqlExplainInterceptor extends AbstractSqlParserHandler implements Interceptor {
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlExplainInterceptor extends AbstractSqlParserHandler implements Interceptor, Closeable {
 
     private static final Log logger = LogFactory.getLog(SqlExplainInterceptor.class);
+    private static final Pattern PG_SEQ_SCAN = Pattern.compile("\"Node Type\"\\s*:\\s*\"Seq Scan\"");
+    private static final Pattern PG_SORT = Pattern.compile("\"Node Type\"\\s*:\\s*\"(Incremental )?Sort\"");
+    private static final Pattern PG_TEMPORARY = Pattern.compile("\"Node Type\"\\s*:\\s*\"(Materialize|HashAggregate)\"");
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("\\.tableScan\\b", Pattern.CASE_INSENSITIVE);
+    /**
+     * EXPLAIN 失败警告的最小间隔毫秒数
+     */
+    private static final long ERROR_LOG_INTERVAL = 60000;
 
     private Properties properties;
+    /**
+     * 数据库类型，不设置按连接地址识别
+     */
+    private String dialectType;
+    /**
+     * EXPLAIN 采样率，0 ~ 1，默认 0 不分析
+     */
+    private double explainSampleRate = 0;
+    /**
+     * 同一语句指纹两次 EXPLAIN 的最小间隔毫秒数
+     */
+    private long explainInterval = 60000;
+    /**
+     * 缓存的执行计划条数
+     */
+    private int explainCacheSize = 1024;
+    /**
+     * 等待执行的 EXPLAIN 个数，超出丢弃
+     */
+    private int explainQueueSize = 64;
+    private volatile LruCache<String, ExplainResult> explainCache;
+    private volatile ThreadPoolExecutor explainExecutor;
+    private final Set<String> pendingExplains = ConcurrentHashMap.newKeySet();
+    private final LongAdder explainCount = new LongAdder();
+    private final LongAdder fullScanCount = new LongAdder();
+    private final LongAdder filesortCount = new LongAdder();
+    private final LongAdder temporaryCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    /**
+     * 上次输出 EXPLAIN 失败警告的时间
+     */
+    private final AtomicLong errorLoggedAt = new AtomicLong();
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         Object[] args = invocation.getArgs();
         MappedStatement ms = (MappedStatement) args[0];
         Object parameter = args[1];
-        Configuration configuration = ms.getConfiguration();
-        Object target = invocation.getTarget();
-        StatementHandler handler = configuration.newStatementHandler((Executor) target, ms, parameter, RowBounds.DEFAULT, null, null);
-        this.sqlParser(SystemMetaObject.forObject(handler));
+        BoundSql boundSql = null;
+        if ("update".equals(invocation.getMethod().getName())) {
+            Configuration configuration = ms.getConfiguration();
+            Object target = invocation.getTarget();
+            StatementHandler handler = configuration.newStatementHandler((Executor) target, ms, parameter, RowBounds.DEFAULT, null, null);
+            this.sqlParser(SystemMetaObject.forObject(handler));
+            boundSql = handler.getBoundSql();
+        } else if (args.length == 6) {
+            boundSql = (BoundSql) args[5];
+        }
+        if (isSampled(ms)) {
+            explainAsync(ms, null == boundSql ? ms.getBoundSql(parameter) : boundSql);
+        }
         return invocation.proceed();
     }
 
+    private boolean isSampled(MappedStatement ms) {
+        if (explainSampleRate <= 0) {
+            return false;
+        }
+        SqlCommandType sqlCommandType = ms.getSqlCommandType();
+        if (sqlCommandType != SqlCommandType.SELECT && sqlCommandType != SqlCommandType.UPDATE
+            && sqlCommandType != SqlCommandType.DELETE) {
+            return false;
+        }
+        return explainSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < explainSampleRate;
+    }
+
+    /**
+     * <p>
+     * 提交 EXPLAIN 任务，指纹在间隔内已分析或正在分析时跳过
+     * </p>
+     */
+    private void explainAsync(MappedStatement ms, BoundSql boundSql) {
+        String sql = boundSql.getSql();
+        String fingerprint = ms.getId() + StringPool.COLON + sql;
+        ExplainResult previous = getExplainCache().get(fingerprint);
+        if (null != previous && System.currentTimeMillis() - previous.getExplainedAt() < explainInterval) {
+            return;
+        }
+        if (!pendingExplains.add(fingerprint)) {
+            return;
+        }
+        /* 参数对象随后可能被调用方修改，在当前线程取出参数值，后台线程只绑定这些值 */
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        Object[] parameterValues = ParameterUtils.parameterValues(ms.getConfiguration(), boundSql);
+        try {
+            getExplainExecutor().execute(() -> {
+                try {
+                    explain(fingerprint, ms, sql, parameterMappings, parameterValues, previous);
+                } finally {
+                    pendingExplains.remove(fingerprint);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingExplains.remove(fingerprint);
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * <p>
+     * 绑定请求线程取出的参数值，与 DefaultParameterHandler 一致
+     * </p>
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void setParameters(Configuration configuration, PreparedStatement statement,
+                               List<ParameterMapping> parameterMappings, Object[] parameterValues) throws SQLException {
+        for (int i = 0; i < parameterValues.length; i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            TypeHandler typeHandler = parameterMapping.getTypeHandler();
+            JdbcType jdbcType = parameterMapping.getJdbcType();
+            if (parameterValues[i] == null && jdbcType == null) {
+                jdbcType = configuration.getJdbcTypeForNull();
+            }
+            typeHandler.setParameter(statement, i + 1, parameterValues[i], jdbcType);
+        }
+    }
+
+    private void explain(String fingerprint, MappedStatement ms, String sql, List<ParameterMapping> parameterMappings,
+                         Object[] parameterValues, ExplainResult previous) {
+        Configuration configuration = ms.getConfiguration();
+        DataSource dataSource = configuration.getEnvironment().getDataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            DbType dbType = getDbType(connection);
+            String explainSql = explainSql(dbType, sql);
+            if (null == explainSql) {
+                return;
+            }
+            StringBuilder plan = new StringBuilder();
+            boolean fullScan = false;
+            boolean filesort = false;
+            boolean temporary = false;
+            try (PreparedStatement statement = connection.prepareStatement(explainSql)) {
+                setParameters(configuration, statement, parameterMappings, parameterValues);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    while (resultSet.next()) {
+                        if (plan.length() > 0) {
+                            plan.append(StringPool.NEWLINE);
+                        }
+                        for (int i = 1; i <= columnCount; i++) {
+                            String label = metaData.getColumnLabel(i);
+                            String value = resultSet.getString(i);
+                            if (columnCount > 1) {
+                                plan.append(i > 1 ? ", " : StringPool.EMPTY).append(label).append("=");
+                            }
+                            plan.append(value);
+                            if (null != value && (dbType == DbType.MYSQL || dbType == DbType.MARIADB)) {
+                                if ("type".equalsIgnoreCase(label)) {
+                                    fullScan |= "ALL".equalsIgnoreCase(value);
+                                } else if ("Extra".equalsIgnoreCase(label)) {
+                                    filesort |= value.contains("Using filesort");
+                                    temporary |= value.contains("Using temporary");
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            String planText = plan.toString();
+            if (dbType == DbType.POSTGRE_SQL) {
+                fullScan = PG_SEQ_SCAN.matcher(planText).find();
+                filesort = PG_SORT.matcher(planText).find();
+                temporary = PG_TEMPORARY.matcher(planText).find();
+            } else if (dbType == DbType.H2) {
+                fullScan = H2_TABLE_SCAN.matcher(planText).find();
+                String upperPlan = planText.toUpperCase(Locale.ENGLISH);
+                filesort = upperPlan.contains("ORDER BY") && !upperPlan.contains("/* INDEX SORTED */");
+            }
+            ExplainResult result = new ExplainResult(ms.getId(), sql, planText, fullScan, filesort,
+                temporary, System.currentTimeMillis());
+            getExplainCache().put(fingerprint, result);
+            explainCount.increment();
+            if (fullScan) {
+                fullScanCount.increment();
+            }
+            if (filesort) {
+                filesortCount.increment();
+            }
+            if (temporary) {
+                temporaryCount.increment();
+            }
+            if (result.isRegressionOf(previous)) {
+                logger.warn("Execution plan of " + ms.getId() + " uses" + (fullScan ? " full scan" : StringPool.EMPTY)
+                    + (filesort ? " filesort" : StringPool.EMPTY) + (temporary ? " temporary" : StringPool.EMPTY)
+                    + ": " + sql + StringPool.NEWLINE + planText);
+            }
+        } catch (Exception e) {
+            errorCount.increment();
+            logError(ms, e);
+        }
+    }
+
+    /**
+     * <p>
+     * EXPLAIN 失败按 ERROR_LOG_INTERVAL 限流输出警告，其余只计数
+     * </p>
+     */
+    private void logError(MappedStatement ms, Exception e) {
+        long now = System.currentTimeMillis();
+        long loggedAt = errorLoggedAt.get();
+        if (now - loggedAt < ERROR_LOG_INTERVAL || !errorLoggedAt.compareAndSet(loggedAt, now)) {
+            return;
+        }
+        StringWriter stackTrace = new StringWriter();
+        e.printStackTrace(new PrintWriter(stackTrace));
+        logger.warn("Failed to explain " + ms.getId() + " (" + errorCount.sum() + " failures in total): "
+            + e.getMessage() + StringPool.NEWLINE + stackTrace);
+    }
+
+    /**
+     * <p>
+     * 数据库类型按本次 EXPLAIN 使用的连接识别，配置多个数据源时各自识别
+     * </p>
+     */
+    private DbType getDbType(Connection connection) throws SQLException {
+        if (StringUtils.isNotEmpty(dialectType)) {
+            return DbType.getDbType(dialectType);
+        }
+        return JdbcUtils.getDbType(connection.getMetaData().getURL());
+    }
+
+    /**
+     * <p>
+     * 生成 EXPLAIN 语句，不支持的数据库返回 null
+     * </p>
+     */
+    protected String explainSql(DbType dbType, String sql) {
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case H2:
+                return "EXPLAIN " + sql;
+            case POSTGRE_SQL:
+                return "EXPLAIN (FORMAT JSON) " + sql;
+            default:
+                return null;
+        }
+    }
+
+    private LruCache<String, ExplainResult> getExplainCache() {
+        if (null == explainCache) {
+            synchronized (this) {
+                if (null == explainCache) {
+                    explainCache = new LruCache<>(explainCacheSize);
+                }
+            }
+        }
+        return explainCache;
+    }
+
+    private ThreadPoolExecutor getExplainExecutor() {
+        if (null == explainExecutor) {
+            synchronized (this) {
+                if (null == explainExecutor) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(explainQueueSize), r -> {
+                        Thread thread = new Thread(r, "mp-explain-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    explainExecutor = executor;
+                }
+            }
+        }
+        return explainExecutor;
+    }
+
+    /**
+     * <p>
+     * 获取缓存的执行计划
+     * </p>
+     *
+     * @param statementId MappedStatement id
+     * @param sql         SQL 语句
+     * @return 执行计划，未分析返回 null
+     */
+    public ExplainResult getExplainResult(String statementId, String sql) {
+        return getExplainCache().get(statementId + StringPool.COLON + sql);
+    }
+
+    /**
+     * 清空缓存的执行计划，下次采样时重新分析
+     */
+    public void clearExplainCache() {
+        LruCache<String, ExplainResult> cache = explainCache;
+        if (null != cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * <p>
+     * 停止后台 EXPLAIN 线程，丢弃尚未执行的 EXPLAIN
+     * </p>
+     */
+    @Override
+    public synchronized void close() {
+        if (null != explainExecutor) {
+            explainExecutor.shutdownNow();
+            explainExecutor = null;
+        }
+        pendingExplains.clear();
+    }
+
     @Override
     public Object plugin(Object target) {
         if (target instanceof Executor) {
@@ -70,9 +431,148 @@ public class SqlExplainInterceptor extends AbstractSqlParserHandler implements I
     @Override
     public void setProperties(Properties prop) {
         this.properties = prop;
+        String dialectType = prop.getProperty("dialectType");
+        String explainSampleRate = prop.getProperty("explainSampleRate");
+        String explainInterval = prop.getProperty("explainInterval");
+        String explainCacheSize = prop.getProperty("explainCacheSize");
+        String explainQueueSize = prop.getProperty("explainQueueSize");
+        if (StringUtils.isNotEmpty(dialectType)) {
+            this.dialectType = dialectType;
+        }
+        if (StringUtils.isNotEmpty(explainSampleRate)) {
+            this.explainSampleRate = Double.parseDouble(explainSampleRate);
+        }
+        if (StringUtils.isNotEmpty(explainInterval)) {
+            this.explainInterval = Long.parseLong(explainInterval);
+        }
+        if (StringUtils.isNotEmpty(explainCacheSize)) {
+            this.explainCacheSize = Integer.parseInt(explainCacheSize);
+        }
+        if (StringUtils.isNotEmpty(explainQueueSize)) {
+            this.explainQueueSize = Integer.parseInt(explainQueueSize);
+        }
     }
 
     public Properties getProperties() {
         return properties;
     }
+
+    public void setDialectType(String dialectType) {
+        this.dialectType = dialectType;
+    }
+
+    public double getExplainSampleRate() {
+        return explainSampleRate;
+    }
+
+    public void setExplainSampleRate(double explainSampleRate) {
+        this.explainSampleRate = explainSampleRate;
+    }
+
+    public long getExplainInterval() {
+        return explainInterval;
+    }
+
+    public void setExplainInterval(long explainInterval) {
+        this.explainInterval = explainInterval;
+    }
+
+    public void setExplainCacheSize(int explainCacheSize) {
+        this.explainCacheSize = explainCacheSize;
+    }
+
+    public void setExplainQueueSize(int explainQueueSize) {
+        this.explainQueueSize = explainQueueSize;
+    }
+
+    public long getExplainCount() {
+        return explainCount.sum();
+    }
+
+    public long getFullScanCount() {
+        return fullScanCount.sum();
+    }
+
+    public long getFilesortCount() {
+        return filesortCount.sum();
+    }
+
+    public long getTemporaryCount() {
+        return temporaryCount.sum();
+    }
+
+    /**
+     * 队列已满被丢弃的 EXPLAIN 个数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * 执行计划
+     */
+    public static class ExplainResult {
+
+        private final String statementId;
+        private final String sql;
+        private final String plan;
+        private final boolean fullScan;
+        private final boolean filesort;
+        private final boolean temporary;
+        private final long explainedAt;
+
+        public ExplainResult(String statementId, String sql, String plan, boolean fullScan, boolean filesort,
+                             boolean temporary, long explainedAt) {
+            this.statementId = statementId;
+            this.sql = sql;
+            this.plan = plan;
+            this.fullScan = fullScan;
+            this.filesort = filesort;
+            this.temporary = temporary;
+            this.explainedAt = explainedAt;
+        }
+
+        /**
+         * 相比上次执行计划新出现全表扫描、文件排序或临时表
+         */
+        boolean isRegressionOf(ExplainResult previous) {
+            if (null == previous) {
+                return fullScan || filesort || temporary;
+            }
+            return (fullScan && !previous.fullScan) || (filesort && !previous.filesort)
+                || (temporary && !previous.temporary);
+        }
+
+        public String getStatementId() {
+            return statementId;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+
+        public boolean isFullScan() {
+            return fullScan;
+        }
+
+        public boolean isFilesort() {
+            return filesort;
+        }
+
+        public boolean isTemporary() {
+            return temporary;
+        }
+
+        public long getExplainedAt() {
+            return explainedAt;
+        }
+    }
 }
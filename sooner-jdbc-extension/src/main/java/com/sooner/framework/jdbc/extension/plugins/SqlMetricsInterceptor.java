@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SlowQueryJournal;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetrics;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetricsExporter;
+import com.sooner.framework.jdbc.extension.plugins.metrics.StatementMetrics;
+import com.sooner.framework.jdbc.extension.toolkit.ParameterUtils;
+
+/**
+ * <p>
+ * SQL 执行指标拦截器，适用于生产环境
+ * </p>
+ * <p>
+ * 按 MappedStatement 统计执行次数、耗时分布（p50/p99/max）、影响行数及批量大小，
+ * 计时使用 System.nanoTime，包含结果映射时间；只对按 slowSampleRate 采样的慢 SQL 记录 SQL 文本
+ * </p>
+ * <p>
+ * 设置 {@link SlowQueryJournal} 后，所有慢 SQL 连同参数值异步写入慢 SQL 日志
+ * </p>
+ * <p>
+ * slowSampleRate 大于 0 或设置慢 SQL 日志时，执行前取出 BoundSql，设置慢 SQL 日志时还取出参数值；
+ * 日志中的参数为执行前传入的值，不包含执行过程中生成的主键及自动填充的字段
+ * </p>
+ * <p>
+ * BATCH 执行器的语句在 flushStatements 或 commit 时统计，
+ * 查询前由执行器内部触发的刷新不计入
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "flushStatements", args = {}),
+    @Signature(type = Executor.class, method = "commit", args = {boolean.class})
+})
+public class SqlMetricsInterceptor implements Interceptor, Closeable {
+
+    private static final Log logger = LogFactory.getLog(SqlMetricsInterceptor.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlMetrics sqlMetrics = new SqlMetrics();
+    private final List<SqlMetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    /**
+     * 慢 SQL 阈值（毫秒）
+     */
+    private long slowMillis = 1000;
+    /**
+     * 慢 SQL 文本采样率，0 ~ 1
+     */
+    private double slowSampleRate = 0.1;
+    /**
+     * 慢 SQL 日志
+     */
+    private SlowQueryJournal slowQueryJournal;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        if ("flushStatements".equals(method)) {
+            long start = System.nanoTime();
+            Object result = invocation.proceed();
+            recordBatchResults((List<?>) result, System.nanoTime() - start);
+            return result;
+        }
+        if ("commit".equals(method)) {
+            // 先刷新批量语句，使 commit 内部刷新的语句也能统计
+            long start = System.nanoTime();
+            List<BatchResult> batchResults = ((Executor) invocation.getTarget()).flushStatements();
+            recordBatchResults(batchResults, System.nanoTime() - start);
+            return invocation.proceed();
+        }
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        StatementMetrics metrics = sqlMetrics.get(ms.getId());
+        // 执行前取出语句与参数值，执行过程可能改写参数对象（如回填主键）
+        BoundSql boundSql = null;
+        Object[] parameterValues = null;
+        if (isSlowCaptured()) {
+            boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+            if (slowQueryJournal != null) {
+                parameterValues = ParameterUtils.parameterValues(ms.getConfiguration(), boundSql);
+            }
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            if (boundSql != null && args.length == 4) {
+                // 复用已取出的 BoundSql，执行器不再重复解析动态 SQL
+                Executor executor = (Executor) invocation.getTarget();
+                RowBounds rowBounds = (RowBounds) args[2];
+                CacheKey cacheKey = executor.createCacheKey(ms, args[1], rowBounds, boundSql);
+                result = executor.query(ms, args[1], rowBounds, (ResultHandler) args[3], cacheKey, boundSql);
+            } else {
+                result = invocation.proceed();
+            }
+        } catch (Throwable e) {
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        if (result instanceof Integer) {
+            int rows = (Integer) result;
+            if (rows == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+                // 批量语句尚未执行，刷新时统计
+                return result;
+            }
+            metrics.record(nanos, rows);
+        } else if (result instanceof Collection) {
+            metrics.record(nanos, ((Collection<?>) result).size());
+        } else {
+            metrics.record(nanos, 0);
+        }
+        if (isSlow(nanos)) {
+            metrics.incrementSlowCount();
+            if (boundSql != null) {
+                if (isSampled()) {
+                    metrics.recordSlowSql(nanos, compact(boundSql.getSql()));
+                }
+                if (slowQueryJournal != null) {
+                    slowQueryJournal.offer(ms.getId(), boundSql.getSql(), parameterValues, nanos);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void recordBatchResults(List<?> batchResults, long nanos) {
+        if (batchResults == null || batchResults.isEmpty()) {
+            return;
+        }
+        // 一次刷新包含多个批次时耗时平均分摊
+        long batchNanos = nanos / batchResults.size();
+        for (Object item : batchResults) {
+            BatchResult batchResult = (BatchResult) item;
+            StatementMetrics metrics = sqlMetrics.get(batchResult.getMappedStatement().getId());
+            int[] updateCounts = batchResult.getUpdateCounts();
+            long rows = 0;
+            for (int count : updateCounts) {
+                if (count > 0) {
+                    rows += count;
+                }
+            }
+            metrics.recordBatch(batchNanos, updateCounts.length, rows);
+            if (isSlow(batchNanos)) {
+                metrics.incrementSlowCount();
+                if (isSampled()) {
+                    metrics.recordSlowSql(batchNanos, compact(batchResult.getSql()));
+                }
+                if (slowQueryJournal != null) {
+                    slowQueryJournal.offer(metrics.getId(), batchResult.getSql(), null, batchNanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * 是否需要在执行前取出慢 SQL 的语句
+     */
+    private boolean isSlowCaptured() {
+        return slowMillis >= 0 && (slowSampleRate > 0 || slowQueryJournal != null);
+    }
+
+    private boolean isSlow(long nanos) {
+        return slowMillis >= 0 && nanos >= TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    }
+
+    private boolean isSampled() {
+        return slowSampleRate >= 1 || (slowSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < slowSampleRate);
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        if (target instanceof Executor) {
+            return Plugin.wrap(target, this);
+        }
+        return target;
+    }
+
+    @Override
+    public void setProperties(Properties prop) {
+        String slowMillis = prop.getProperty("slowMillis");
+        String slowSampleRate = prop.getProperty("slowSampleRate");
+        if (StringUtils.isNotEmpty(slowMillis)) {
+            this.slowMillis = Long.parseLong(slowMillis);
+        }
+        if (StringUtils.isNotEmpty(slowSampleRate)) {
+            this.slowSampleRate = Double.parseDouble(slowSampleRate);
+        }
+    }
+
+    /**
+     * <p>
+     * 添加指标导出并启动
+     * </p>
+     *
+     * @param exporter 指标导出
+     */
+    public SqlMetricsInterceptor addExporter(SqlMetricsExporter exporter) {
+        exporter.start(sqlMetrics);
+        exporters.add(exporter);
+        return this;
+    }
+
+    /**
+     * 停止所有指标导出及慢 SQL 日志
+     */
+    @Override
+    public void close() {
+        if (slowQueryJournal != null) {
+            slowQueryJournal.close();
+        }
+        for (SqlMetricsExporter exporter : exporters) {
+            try {
+                exporter.stop();
+            } catch (Exception e) {
+                logger.warn("Failed to stop sql metrics exporter: " + e.getMessage());
+            }
+        }
+        exporters.clear();
+    }
+
+    /**
+     * 慢 SQL 文本压缩空白
+     */
+    private static String compact(String sql) {
+        return WHITESPACE.matcher(sql).replaceAll(StringPool.SPACE).trim();
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    public SlowQueryJournal getSlowQueryJournal() {
+        return slowQueryJournal;
+    }
+
+    /**
+     * 设置慢 SQL 日志，需自行调用 {@link SlowQueryJournal#start()}
+     */
+    public void setSlowQueryJournal(SlowQueryJournal slowQueryJournal) {
+        this.slowQueryJournal = slowQueryJournal;
+    }
+
+    public long getSlowMillis() {
+        return slowMillis;
+    }
+
+    public void setSlowMillis(long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    public double getSlowSampleRate() {
+        return slowSampleRate;
+    }
+
+    public void setSlowSampleRate(double slowSampleRate) {
+        this.slowSampleRate = slowSampleRate;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import com.sooner.framework.jdbc.core.toolkit.Assert;
+import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.StringUtils;
+
+/**
+ * <p>
+ * 通过 JMX 导出 SQL 执行指标
+ * </p>
+ * <p>
+ * ObjectName 附加 datasource 键区分同一 JVM 内的多个数据源，名称已被注册时启动失败，不会注销已有的 MBean
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class JmxSqlMetricsExporter implements SqlMetricsExporter {
+
+    public static final String DEFAULT_OBJECT_NAME = "com.sooner.framework.jdbc:type=SqlMetrics";
+    public static final String DEFAULT_DATA_SOURCE = "default";
+
+    private final MBeanServer mBeanServer;
+    private final String objectName;
+    private final String dataSource;
+    private ObjectName registeredName;
+
+    public JmxSqlMetricsExporter() {
+        this(DEFAULT_OBJECT_NAME, DEFAULT_DATA_SOURCE);
+    }
+
+    /**
+     * @param objectName ObjectName 前缀，不包含 datasource 键
+     * @param dataSource 数据源名称
+     */
+    public JmxSqlMetricsExporter(String objectName, String dataSource) {
+        this(ManagementFactory.getPlatformMBeanServer(), objectName, dataSource);
+    }
+
+    public JmxSqlMetricsExporter(MBeanServer mBeanServer, String objectName, String dataSource) {
+        Assert.isTrue(StringUtils.isNotEmpty(dataSource), "JMX data source name must be not empty");
+        this.mBeanServer = mBeanServer;
+        this.objectName = objectName;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * <p>
+     * 附加 datasource 键后的 ObjectName
+     * </p>
+     */
+    public ObjectName getObjectName() {
+        try {
+            return new ObjectName(objectName + StringPool.COMMA + "datasource=" + ObjectName.quote(dataSource));
+        } catch (MalformedObjectNameException e) {
+            throw ExceptionUtils.mpe("Invalid SqlMetrics MBean name: " + objectName, e);
+        }
+    }
+
+    @Override
+    public synchronized void start(SqlMetrics sqlMetrics) {
+        ObjectName name = getObjectName();
+        if (mBeanServer.isRegistered(name)) {
+            throw ExceptionUtils.mpe("SqlMetrics MBean " + name + " is already registered, use a distinct data source name");
+        }
+        try {
+            mBeanServer.registerMBean(new SqlMetricsMBeanImpl(sqlMetrics), name);
+            registeredName = name;
+        } catch (JMException e) {
+            throw ExceptionUtils.mpe("Failed to register SqlMetrics MBean: " + name, e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (registeredName != null) {
+            try {
+                mBeanServer.unregisterMBean(registeredName);
+            } catch (JMException e) {
+                // 已注销
+            }
+            registeredName = null;
+        }
+    }
+
+    /**
+     * MXBean 实现
+     */
+    private static class SqlMetricsMBeanImpl implements SqlMetricsMXBean {
+
+        private final SqlMetrics sqlMetrics;
+
+        SqlMetricsMBeanImpl(SqlMetrics sqlMetrics) {
+            this.sqlMetrics = sqlMetrics;
+        }
+
+        @Override
+        public List<SqlMetricsSnapshot> getStatements() {
+            return sqlMetrics.getSnapshots();
+        }
+
+        @Override
+        public SqlMetricsSnapshot getStatement(String id) {
+            return sqlMetrics.getSnapshot(id);
+        }
+
+        @Override
+        public void reset() {
+            sqlMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import com.sooner.framework.jdbc.core.toolkit.Assert;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+import com.sooner.framework.jdbc.core.toolkit.sql.SqlUtils;
+
+/**
+ * <p>
+ * 慢 SQL 日志，异步写入本地滚动文件
+ * </p>
+ * <p>
+ * 执行线程只把记录写入预分配的环形缓冲区（CAS 占位，不加锁、不做 IO），
+ * 由后台线程取出格式化并写入文件；缓冲区满时丢弃记录并计数，
+ * 丢弃条数会在下次写入时记录到文件中
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SlowQueryJournal implements Runnable, Closeable {
+
+    private static final Log logger = LogFactory.getLog(SlowQueryJournal.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter
+        .ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    /**
+     * 缓冲区为空时后台线程等待时长
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final File file;
+    private final Record[] records;
+    /**
+     * 每个槽位已发布记录的序号，-1 表示未发布
+     */
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicLong writtenCount = new AtomicLong();
+    /**
+     * 正在写入缓冲区的调用数，关闭时等待其完成后再取出剩余记录
+     */
+    private final AtomicInteger offering = new AtomicInteger();
+    /**
+     * 单个文件最大字节数
+     */
+    private long maxFileSize = 10 * 1024 * 1024;
+    /**
+     * 保留的历史文件个数
+     */
+    private int maxHistory = 5;
+    /**
+     * 是否格式化 SQL
+     */
+    private boolean format = false;
+    private long reportedDropped;
+    private Writer writer;
+    private long fileSize;
+    private volatile boolean closed;
+    private Thread thread;
+
+    public SlowQueryJournal(File file) {
+        this(file, 1024);
+    }
+
+    /**
+     * @param file     日志文件
+     * @param capacity 缓冲区记录数，向上取 2 的幂
+     */
+    public SlowQueryJournal(File file, int capacity) {
+        Assert.notNull(file, "file must be not null");
+        Assert.isTrue(capacity > 0 && capacity <= 1 << 20, "capacity must be between 1 and 1048576");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.file = file;
+        this.records = new Record[size];
+        for (int i = 0; i < size; i++) {
+            records[i] = new Record();
+        }
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    public synchronized void start() {
+        if (thread == null && !closed) {
+            thread = new Thread(this, "mybatis-plus SlowQueryJournal");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * <p>
+     * 记录一条慢 SQL，缓冲区满时丢弃
+     * </p>
+     *
+     * @param statementId MappedStatement id
+     * @param sql         SQL 语句
+     * @param parameters  参数值，写入文件时才转换为字符串，null 表示不记录
+     * @param nanos       耗时纳秒
+     * @return 是否写入缓冲区
+     */
+    public boolean offer(String statementId, String sql, Object[] parameters, long nanos) {
+        offering.incrementAndGet();
+        try {
+            if (closed) {
+                return false;
+            }
+            long sequence;
+            do {
+                sequence = tail.get();
+                if (sequence - head.get() >= records.length) {
+                    droppedCount.increment();
+                    return false;
+                }
+            } while (!tail.compareAndSet(sequence, sequence + 1));
+            int index = (int) (sequence & mask);
+            Record record = records[index];
+            record.timestamp = System.currentTimeMillis();
+            record.statementId = statementId;
+            record.sql = sql;
+            record.parameters = parameters;
+            record.nanos = nanos;
+            published.set(index, sequence);
+            return true;
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            drain();
+        } finally {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 取出缓冲区中已发布的记录写入文件
+     *
+     * @return 写入条数
+     */
+    private int drain() {
+        StringBuilder buffer = new StringBuilder(512);
+        int count = 0;
+        long sequence = head.get();
+        while (true) {
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                break;
+            }
+            Record record = records[index];
+            appendDropped(buffer);
+            append(buffer, record);
+            record.clear();
+            head.lazySet(++sequence);
+            write(buffer);
+            buffer.setLength(0);
+            count++;
+        }
+        if (count == 0 && appendDropped(buffer)) {
+            write(buffer);
+        }
+        if (count > 0 || buffer.length() > 0) {
+            flush();
+        }
+        writtenCount.addAndGet(count);
+        return count;
+    }
+
+    private boolean appendDropped(StringBuilder buffer) {
+        long dropped = droppedCount.sum();
+        if (dropped == reportedDropped) {
+            return false;
+        }
+        buffer.append(DATE_FORMATTER.format(Instant.now())).append(" | ")
+            .append(dropped - reportedDropped).append(" slow queries dropped, journal buffer full")
+            .append(StringPool.NEWLINE);
+        reportedDropped = dropped;
+        return true;
+    }
+
+    private void append(StringBuilder buffer, Record record) {
+        buffer.append(DATE_FORMATTER.format(Instant.ofEpochMilli(record.timestamp)))
+            .append(" | ").append(TimeUnit.NANOSECONDS.toMillis(record.nanos)).append(" ms | ")
+            .append(record.statementId);
+        if (format) {
+            buffer.append(StringPool.NEWLINE).append(SqlUtils.sqlFormat(record.sql, true).trim())
+                .append(StringPool.NEWLINE);
+        } else {
+            buffer.append(" | ").append(WHITESPACE.matcher(record.sql).replaceAll(StringPool.SPACE).trim());
+        }
+        if (record.parameters != null) {
+            buffer.append(format ? StringPool.EMPTY : " | ").append("Parameters: ");
+            try {
+                buffer.append(Arrays.toString(record.parameters));
+            } catch (RuntimeException e) {
+                buffer.append("<").append(e).append(">");
+            }
+        }
+        buffer.append(StringPool.NEWLINE);
+    }
+
+    private void write(StringBuilder buffer) {
+        try {
+            if (writer == null) {
+                openWriter();
+            }
+            String text = buffer.toString();
+            writer.write(text);
+            fileSize += text.getBytes(StandardCharsets.UTF_8).length;
+            if (fileSize >= maxFileSize) {
+                rollover();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write slow query journal " + file + ": " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    private void flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to flush slow query journal " + file + ": " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    private void openWriter() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        fileSize = file.length();
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * journal.log 依次改名为 journal.log.1 ... journal.log.{maxHistory}，超出的删除
+     */
+    private void rollover() throws IOException {
+        writer.close();
+        writer = null;
+        if (maxHistory <= 0) {
+            if (!file.delete()) {
+                logger.warn("Failed to delete slow query journal " + file);
+            }
+            return;
+        }
+        File oldest = history(maxHistory);
+        if (oldest.exists() && !oldest.delete()) {
+            logger.warn("Failed to delete slow query journal " + oldest);
+        }
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            File history = history(i);
+            if (history.exists() && !history.renameTo(history(i + 1))) {
+                logger.warn("Failed to rename slow query journal " + history);
+            }
+        }
+        if (!file.renameTo(history(1))) {
+            logger.warn("Failed to rename slow query journal " + file);
+        }
+    }
+
+    private File history(int index) {
+        return new File(file.getPath() + StringPool.DOT + index);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * <p>
+     * 停止后台线程，写完缓冲区中的记录
+     * </p>
+     * <p>
+     * 后台线程退出后，等待关闭前已开始的 offer 完成，再由当前线程取出剩余记录
+     * </p>
+     */
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            if (closed && thread == null) {
+                return;
+            }
+            closed = true;
+            current = thread;
+            thread = null;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (current.isAlive()) {
+                logger.warn("Slow query journal writer did not stop in time, pending records may be lost");
+                return;
+            }
+        }
+        while (offering.get() > 0) {
+            Thread.yield();
+        }
+        try {
+            drain();
+        } finally {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 缓冲区满被丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 已写入文件的记录数
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * 缓冲区中待写入的记录数
+     */
+    public long getPendingCount() {
+        return tail.get() - head.get();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = maxHistory;
+    }
+
+    public boolean isFormat() {
+        return format;
+    }
+
+    public void setFormat(boolean format) {
+        this.format = format;
+    }
+
+    /**
+     * 预分配的缓冲区记录
+     */
+    private static final class Record {
+
+        private long timestamp;
+        private String statementId;
+        private String sql;
+        private Object[] parameters;
+        private long nanos;
+
+        void clear() {
+            statementId = null;
+            sql = null;
+            parameters = null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * SQL 执行指标，按 MappedStatement id 汇总
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlMetrics {
+
+    private final Map<String, StatementMetrics> statementMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * 获取 MappedStatement 的指标，不存在时创建
+     *
+     * @param id MappedStatement id
+     */
+    public StatementMetrics get(String id) {
+        StatementMetrics metrics = statementMetrics.get(id);
+        if (metrics == null) {
+            metrics = statementMetrics.computeIfAbsent(id, StatementMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * 所有 MappedStatement 的指标快照，按总耗时倒序
+     */
+    public List<SqlMetricsSnapshot> getSnapshots() {
+        List<SqlMetricsSnapshot> snapshots = new ArrayList<>(statementMetrics.size());
+        statementMetrics.values().forEach(i -> snapshots.add(i.snapshot()));
+        snapshots.sort(Comparator.comparingDouble(SqlMetricsSnapshot::getTotalMillis).reversed());
+        return snapshots;
+    }
+
+    /**
+     * MappedStatement 的指标快照，不存在返回 null
+     */
+    public SqlMetricsSnapshot getSnapshot(String id) {
+        StatementMetrics metrics = statementMetrics.get(id);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * 清空指标
+     */
+    public void reset() {
+        statementMetrics.values().forEach(StatementMetrics::reset);
+    }
+}
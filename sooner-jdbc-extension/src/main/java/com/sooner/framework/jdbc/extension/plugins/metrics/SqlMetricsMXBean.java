@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.util.List;
+
+/**
+ * <p>
+ * SQL 执行指标 JMX 接口
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public interface SqlMetricsMXBean {
+
+    /**
+     * 所有 MappedStatement 的指标，按总耗时倒序
+     */
+    List<SqlMetricsSnapshot> getStatements();
+
+    /**
+     * MappedStatement 的指标
+     *
+     * @param id MappedStatement id
+     */
+    SqlMetricsSnapshot getStatement(String id);
+
+    /**
+     * 清空指标
+     */
+    void reset();
+}
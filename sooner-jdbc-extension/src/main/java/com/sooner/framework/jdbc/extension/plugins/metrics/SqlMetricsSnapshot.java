@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.List;
+
+/**
+ * <p>
+ * MappedStatement 执行指标快照，耗时单位毫秒
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlMetricsSnapshot {
+
+    private final String id;
+    private final long count;
+    private final long errorCount;
+    private final double totalMillis;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final long rows;
+    private final long batchCount;
+    private final long batchStatementCount;
+    private final long maxBatchSize;
+    private final long slowCount;
+    /**
+     * 采样的慢 SQL
+     */
+    private final List<String> slowSqls;
+
+    @ConstructorProperties({"id", "count", "errorCount", "totalMillis", "p50Millis", "p99Millis", "maxMillis", "rows",
+        "batchCount", "batchStatementCount", "maxBatchSize", "slowCount", "slowSqls"})
+    public SqlMetricsSnapshot(String id, long count, long errorCount, double totalMillis, double p50Millis,
+                              double p99Millis, double maxMillis, long rows, long batchCount, long batchStatementCount,
+                              long maxBatchSize, long slowCount, List<String> slowSqls) {
+        this.id = id;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalMillis = totalMillis;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.rows = rows;
+        this.batchCount = batchCount;
+        this.batchStatementCount = batchStatementCount;
+        this.maxBatchSize = maxBatchSize;
+        this.slowCount = slowCount;
+        this.slowSqls = slowSqls;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    public long getBatchStatementCount() {
+        return batchStatementCount;
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public List<String> getSlowSqls() {
+        return slowSqls;
+    }
+
+    @Override
+    public String toString() {
+        return id + " count=" + count + " errors=" + errorCount + " mean=" + getMeanMillis() + "ms p50=" + p50Millis
+            + "ms p99=" + p99Millis + "ms max=" + maxMillis + "ms rows=" + rows + " batches=" + batchCount
+            + " slow=" + slowCount;
+    }
+}
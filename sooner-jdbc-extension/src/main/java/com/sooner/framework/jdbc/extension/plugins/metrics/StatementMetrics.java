@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 单个 MappedStatement 的执行指标，无锁累加
+ * </p>
+ * <p>
+ * 耗时按微秒记入对数分桶直方图（每个 2 的幂区间 8 个桶，相对误差不超过 12.5%），
+ * 每个桶为一个 LongAdder，高并发下同一桶的写入分散到多个单元，分位数由直方图估算
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class StatementMetrics {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /**
+     * 超过 2^40 微秒按 2^40 记录
+     */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS;
+    /**
+     * 保留的慢 SQL 条数
+     */
+    private static final int SLOW_SQL_SIZE = 8;
+
+    private final String id;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchStatementCount = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Long::max, 0L);
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final AtomicReferenceArray<String> slowSqls = new AtomicReferenceArray<>(SLOW_SQL_SIZE);
+    private final AtomicInteger slowSqlIndex = new AtomicInteger();
+
+    public StatementMetrics(String id) {
+        this.id = id;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * <p>
+     * 记录一次执行
+     * </p>
+     *
+     * @param nanos 耗时纳秒
+     * @param rows  返回或影响行数
+     */
+    public void record(long nanos, long rows) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets[bucketIndex(TimeUnit.NANOSECONDS.toMicros(nanos))].increment();
+        if (rows > 0) {
+            this.rows.add(rows);
+        }
+    }
+
+    /**
+     * <p>
+     * 记录一次批量执行
+     * </p>
+     *
+     * @param nanos     耗时纳秒
+     * @param batchSize 批量语句条数
+     * @param rows      影响行数
+     */
+    public void recordBatch(long nanos, int batchSize, long rows) {
+        record(nanos, rows);
+        batchCount.increment();
+        batchStatementCount.add(batchSize);
+        maxBatchSize.accumulate(batchSize);
+    }
+
+    /**
+     * 记录一次执行失败
+     */
+    public void recordError(long nanos) {
+        errorCount.increment();
+        record(nanos, 0);
+    }
+
+    /**
+     * 记录慢 SQL，只保留最近的几条
+     */
+    public void recordSlowSql(long nanos, String sql) {
+        slowSqls.set(Math.floorMod(slowSqlIndex.getAndIncrement(), SLOW_SQL_SIZE),
+            TimeUnit.NANOSECONDS.toMillis(nanos) + " ms: " + sql);
+    }
+
+    /**
+     * 慢 SQL 次数，不论是否采样
+     */
+    public void incrementSlowCount() {
+        slowCount.increment();
+    }
+
+    public void reset() {
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        rows.reset();
+        batchCount.reset();
+        batchStatementCount.reset();
+        maxBatchSize.reset();
+        slowCount.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        for (int i = 0; i < SLOW_SQL_SIZE; i++) {
+            slowSqls.set(i, null);
+        }
+    }
+
+    /**
+     * 当前指标快照，各项分别读取，并发写入时彼此间可能有少量偏差
+     */
+    public SqlMetricsSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long maxMicros = TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+        List<String> sqls = new ArrayList<>(SLOW_SQL_SIZE);
+        for (int i = 0; i < SLOW_SQL_SIZE; i++) {
+            String sql = slowSqls.get(i);
+            if (sql != null) {
+                sqls.add(sql);
+            }
+        }
+        long executions = count.sum();
+        return new SqlMetricsSnapshot(id, executions, errorCount.sum(), toMillis(TimeUnit.NANOSECONDS.toMicros(totalNanos.sum())),
+            percentile(counts, total, 0.5, maxMicros), percentile(counts, total, 0.99, maxMicros), toMillis(maxMicros),
+            rows.sum(), batchCount.sum(), batchStatementCount.sum(), maxBatchSize.get(), slowCount.sum(), sqls);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        long value = Math.min(micros, (1L << MAX_EXPONENT) - 1);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * 桶的上界（微秒）
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_BUCKETS + index % SUB_BUCKETS) * width + width - 1;
+    }
+
+    private static double percentile(long[] counts, long total, double percentile, long maxMicros) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return toMillis(Math.min(bucketUpperBound(i), maxMicros));
+            }
+        }
+        return toMillis(maxMicros);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * SQL 执行指标统计
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
@@ -26,6 +26,7 @@ import com.sooner.framework.jdbc.core.toolkit.Assert;
 import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringUtils;
 import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.DB2Dialect;
+import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.DialectModel;
 import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.DmDialect;
 import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.H2Dialect;
 import com.sooner.framework.jdbc.extension.plugins.pagination.dialects.HSQLDialect;
@@ -63,13 +64,13 @@ public class DialectFactory {
      * @param buildSql     执行 SQL
      * @param dbType       数据库类型
      * @param dialectClazz 自定义方言实现类
-     * @return
+     * @return 分页 SQL 及占位参数
      * @throws Exception
      */
-    public static String buildPaginationSql(Page page, String buildSql, DbType dbType, String dialectClazz)
+    public static DialectModel buildPaginationSql(Page page, String buildSql, DbType dbType, String dialectClazz)
         throws Exception {
         // fix #172, 196
-        return getDialect(dbType, dialectClazz).buildPaginationSql(buildSql, offsetCurrent(page), page.getSize());
+        return getDialect(dbType, dialectClazz).buildPaginationModel(buildSql, offsetCurrent(page), page.getSize());
     }
 
 
@@ -109,13 +110,13 @@ public class DialectFactory {
      * @param buildSql     编译 SQL
      * @param dbType       数据类型
      * @param dialectClazz 数据库方言
-     * @return
+     * @return 分页 SQL 及占位参数
      * @throws Exception
      */
-    public static String buildPaginationSql(IPage page, String buildSql, DbType dbType, String dialectClazz)
+    public static DialectModel buildPaginationSql(IPage page, String buildSql, DbType dbType, String dialectClazz)
         throws Exception {
         // fix #196
-        return getDialect(dbType, dialectClazz).buildPaginationSql(buildSql, page.offset(), page.getSize());
+        return getDialect(dbType, dialectClazz).buildPaginationModel(buildSql, page.offset(), page.getSize());
     }
 
     /**
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.pagination;
+
+/**
+ * <p>
+ * 键集（seek）分页模型
+ * </p>
+ * <p>
+ * 按排序键定位上一页最后一条记录之后的数据，不使用 OFFSET，默认不查询总记录数；
+ * 排序键为查询结果列名，最后一个须唯一（例如主键）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class KeysetPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 排序键
+     */
+    private String[] keys;
+    /**
+     * 上一页最后一条记录的排序键值，null 表示第一页
+     */
+    private Object[] lastValues;
+    /**
+     * 是否升序
+     */
+    private boolean ascending = true;
+
+    public KeysetPage() {
+        setSearchCount(false);
+    }
+
+    /**
+     * <p>
+     * 键集分页构造函数
+     * </p>
+     *
+     * @param size 每页显示条数
+     * @param keys 排序键
+     */
+    public KeysetPage(long size, String... keys) {
+        super(1, size);
+        this.keys = keys;
+        setSearchCount(false);
+    }
+
+    /**
+     * <p>
+     * 设置上一页最后一条记录的排序键值
+     * </p>
+     *
+     * @param lastValues 排序键值，与 keys 一一对应
+     * @return this
+     */
+    public KeysetPage<T> after(Object... lastValues) {
+        this.lastValues = lastValues;
+        return this;
+    }
+
+    @Override
+    public long offset() {
+        return 0;
+    }
+
+    public String[] getKeys() {
+        return keys;
+    }
+
+    public KeysetPage<T> setKeys(String... keys) {
+        this.keys = keys;
+        return this;
+    }
+
+    public Object[] getLastValues() {
+        return lastValues;
+    }
+
+    public KeysetPage<T> setLastValues(Object[] lastValues) {
+        this.lastValues = lastValues;
+        return this;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public KeysetPage<T> setAscending(boolean ascending) {
+        this.ascending = ascending;
+        return this;
+    }
+}
@@ -67,6 +67,12 @@ public class Page<T> implements IPage<T> {
      * </p>
      */
     private boolean optimizeCountSql = true;
+    /**
+     * <p>
+     * 是否查询总记录数
+     * </p>
+     */
+    private boolean searchCount = true;
 
     public Page() {
         // to do nothing
@@ -218,4 +224,14 @@ public class Page<T> implements IPage<T> {
         this.optimizeCountSql = optimizeCountSql;
         return this;
     }
+
+    @Override
+    public boolean isSearchCount() {
+        return searchCount;
+    }
+
+    public IPage<T> setSearchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+        return this;
+    }
 }
@@ -15,8 +15,6 @@
  */
 package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
 
-import com.sooner.framework.jdbc.core.toolkit.StringPool;
-
 /**
  * <p>
  * DB2 数据库分页方言
@@ -42,8 +40,17 @@ public class DB2Dialect implements IDialect {
         return originalSql.toLowerCase().contains("select distinct");
     }
 
+    /**
+     * <p>
+     * 第一页直接 fetch first，不需要 rownumber() 子查询；
+     * 部分 DB2 版本 fetch first 不支持 ? 占位，行数使用字面量
+     * </p>
+     */
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
+        if (offset <= 0) {
+            return new DialectModel(originalSql + " fetch first " + limit + " rows only");
+        }
         int startOfSelect = originalSql.toLowerCase().indexOf("select");
         StringBuilder pagingSelect = new StringBuilder(originalSql.length() + 100)
             .append(originalSql, 0, startOfSelect).append("select * from ( select ")
@@ -53,17 +60,7 @@ public class DB2Dialect implements IDialect {
         } else {
             pagingSelect.append(originalSql.substring(startOfSelect + 6));
         }
-        pagingSelect.append(" ) as temp_ where rownumber_ ");
-
-        // 20180829 modify by hepengju
-        // https://github.com/sooner/mybatis-plus/issues/450
-        if (offset > 0) {
-            String endString = offset + StringPool.PLUS + limit;
-            pagingSelect.append(" fetch first ").append(endString).append(" rows only) as temp_ where rownumber_ ")
-                .append("> ").append(offset);
-        } else {
-            pagingSelect.append(" fetch first ").append(limit).append(" rows only) as temp_ ");
-        }
-        return pagingSelect.toString();
+        pagingSelect.append(" ) as temp_ where rownumber_ between ? and ?");
+        return new DialectModel(pagingSelect.toString(), offset + 1, offset + limit);
     }
 }
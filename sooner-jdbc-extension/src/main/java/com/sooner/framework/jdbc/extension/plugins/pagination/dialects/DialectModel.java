@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
+
+import com.sooner.framework.jdbc.core.toolkit.Assert;
+import com.sooner.framework.jdbc.core.toolkit.StringPool;
+
+/**
+ * <p>
+ * 分页方言结果，SQL 中分页值使用 ? 占位
+ * </p>
+ * <p>
+ * 不同页码生成相同 SQL，便于驱动及数据库缓存预编译语句，占位参数按 SQL 中出现顺序绑定
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class DialectModel {
+
+    /**
+     * 分页 SQL
+     */
+    private final String dialectSql;
+    /**
+     * 占位参数值
+     */
+    private final long[] parameters;
+
+    public DialectModel(String dialectSql, long... parameters) {
+        this.dialectSql = dialectSql;
+        this.parameters = parameters;
+    }
+
+    public String getDialectSql() {
+        return dialectSql;
+    }
+
+    public long[] getParameters() {
+        return parameters;
+    }
+
+    /**
+     * <p>
+     * 分页值替换占位后的 SQL，分页占位为语句中最后的若干个 ?
+     * </p>
+     */
+    public String getLiteralSql() {
+        StringBuilder sql = new StringBuilder(dialectSql);
+        int index = sql.length();
+        for (int i = parameters.length - 1; i >= 0; i--) {
+            index = sql.lastIndexOf(StringPool.QUESTION_MARK, index - 1);
+            Assert.isTrue(index >= 0, "Error: dialect sql has fewer placeholders than parameters.");
+            sql.replace(index, index + 1, String.valueOf(parameters[i]));
+        }
+        return sql.toString();
+    }
+}
@@ -27,12 +27,9 @@ public class H2Dialect implements IDialect {
 
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql);
-        sql.append(" limit ").append(limit);
-        if (offset > 0) {
-            sql.append(" offset ").append(offset);
-        }
-        return sql.toString();
+        sql.append(" limit ? offset ?");
+        return new DialectModel(sql.toString(), limit, offset);
     }
 }
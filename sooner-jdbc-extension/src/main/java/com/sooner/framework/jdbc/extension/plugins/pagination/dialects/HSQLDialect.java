@@ -15,8 +15,6 @@
  */
 package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
 
-import com.sooner.framework.jdbc.core.toolkit.StringPool;
-
 /**
  * <p>
  * HSQL 数据库分页语句组装实现
@@ -29,9 +27,9 @@ public class HSQLDialect implements IDialect {
 
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql);
-        sql.append(" limit ").append(offset).append(StringPool.COMMA).append(limit);
-        return sql.toString();
+        sql.append(" limit ?,?");
+        return new DialectModel(sql.toString(), offset, limit);
     }
 }
@@ -25,6 +25,23 @@ package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
  */
 public interface IDialect {
 
+    /**
+     * <p>
+     * 组装分页语句，分页值使用 ? 占位，占位须位于原始语句之后
+     * </p>
+     * <p>
+     * 默认适配 {@link #buildPaginationSql(String, long, long)} 的字面量语句，实现类至少覆盖其中一个方法
+     * </p>
+     *
+     * @param originalSql 原始语句
+     * @param offset      偏移量
+     * @param limit       界限
+     * @return 分页语句及占位参数
+     */
+    default DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
+        return new DialectModel(buildPaginationSql(originalSql, offset, limit));
+    }
+
     /**
      * 组装分页语句
      *
@@ -32,6 +49,10 @@ public interface IDialect {
      * @param offset      偏移量
      * @param limit       界限
      * @return 分页语句
+     * @deprecated 分页值为字面量，每页生成不同的语句，请实现 {@link #buildPaginationModel(String, long, long)}
      */
-    String buildPaginationSql(String originalSql, long offset, long limit);
+    @Deprecated
+    default String buildPaginationSql(String originalSql, long offset, long limit) {
+        return buildPaginationModel(originalSql, offset, limit).getLiteralSql();
+    }
 }
@@ -15,8 +15,6 @@
  */
 package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
 
-import com.sooner.framework.jdbc.core.toolkit.StringPool;
-
 /**
  * <p>
  * MariaDB 数据库分页语句组装实现
@@ -28,9 +26,9 @@ import com.sooner.framework.jdbc.core.toolkit.StringPool;
 public class MariaDBDialect implements IDialect {
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql);
-        sql.append(" LIMIT ").append(offset).append(StringPool.COMMA).append(limit);
-        return sql.toString();
+        sql.append(" LIMIT ?,?");
+        return new DialectModel(sql.toString(), offset, limit);
     }
 }
@@ -26,11 +26,10 @@ package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
 public class OracleDialect implements IDialect {
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT * FROM ( SELECT TMP.*, ROWNUM ROW_ID FROM ( ");
-        sql.append(originalSql).append(" ) TMP WHERE ROWNUM <=").append((offset >= 1) ? (offset + limit) : limit);
-        sql.append(") WHERE ROW_ID > ").append(offset);
-        return sql.toString();
+        sql.append(originalSql).append(" ) TMP WHERE ROWNUM <= ?) WHERE ROW_ID > ?");
+        return new DialectModel(sql.toString(), offset + limit, offset);
     }
 }
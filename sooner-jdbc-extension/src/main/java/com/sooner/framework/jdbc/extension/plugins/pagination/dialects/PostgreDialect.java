@@ -27,9 +27,9 @@ public class PostgreDialect implements IDialect {
 
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql);
-        sql.append(" limit ").append(limit).append(" offset ").append(offset);
-        return sql.toString();
+        sql.append(" limit ? offset ?");
+        return new DialectModel(sql.toString(), limit, offset);
     }
 }
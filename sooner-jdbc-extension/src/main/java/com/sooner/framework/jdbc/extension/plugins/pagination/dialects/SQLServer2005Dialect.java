@@ -40,7 +40,7 @@ public class SQLServer2005Dialect implements IDialect {
     }
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder pagingBuilder = new StringBuilder();
         String orderby = getOrderByPart(originalSql);
         String distinctStr = StringPool.EMPTY;
@@ -65,11 +65,8 @@ public class SQLServer2005Dialect implements IDialect {
         StringBuilder sql = new StringBuilder();
         sql.append("WITH selectTemp AS (SELECT ").append(distinctStr).append("TOP 100 PERCENT ")
             .append(" ROW_NUMBER() OVER (").append(orderby).append(") as __row_number__, ").append(pagingBuilder)
-            .append(") SELECT * FROM selectTemp WHERE __row_number__ BETWEEN ")
-            //FIX#299：原因：mysql中limit 10(offset,size) 是从第10开始（不包含10）,；而这里用的BETWEEN是两边都包含，所以改为offset+1
-            .append(offset + 1)
-            .append(" AND ")
-            .append(offset + limit).append(" ORDER BY __row_number__");
-        return sql.toString();
+            .append(") SELECT * FROM selectTemp WHERE __row_number__ BETWEEN ? AND ? ORDER BY __row_number__");
+        //FIX#299：原因：mysql中limit 10(offset,size) 是从第10开始（不包含10）,；而这里用的BETWEEN是两边都包含，所以改为offset+1
+        return new DialectModel(sql.toString(), offset + 1, offset + limit);
     }
 }
@@ -27,10 +27,9 @@ public class SQLServerDialect implements IDialect {
 
 
     @Override
-    public String buildPaginationSql(String originalSql, long offset, long limit) {
+    public DialectModel buildPaginationModel(String originalSql, long offset, long limit) {
         StringBuilder sql = new StringBuilder(originalSql);
-        sql.append(" OFFSET ").append(offset).append(" ROWS FETCH NEXT ");
-        sql.append(limit).append(" ROWS ONLY");
-        return sql.toString();
+        sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        return new DialectModel(sql.toString(), offset, limit);
     }
 }
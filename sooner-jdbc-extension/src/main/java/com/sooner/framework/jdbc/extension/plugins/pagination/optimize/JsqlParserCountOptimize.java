@@ -97,6 +97,11 @@ public class JsqlParserCountOptimize implements ISqlParser {
         }
     }
 
+    @Override
+    public Object getCacheKey(MetaObject metaObject, String sql) {
+        return sql;
+    }
+
 
     /**
      * <p>
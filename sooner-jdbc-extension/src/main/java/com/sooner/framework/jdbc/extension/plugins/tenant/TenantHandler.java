@@ -48,4 +48,19 @@ public interface TenantHandler {
      * @return 是否进行过滤
      */
     boolean doTableFilter(String tableName);
+
+    /**
+     * <p>
+     * SQL 解析结果是否可缓存，默认不缓存
+     * </p>
+     * <p>
+     * 开启后解析结果按 SQL 与租户 ID 缓存，{@link #doTableFilter(String)} 与 {@link #getTenantIdColumn()}
+     * 必须与请求上下文无关，且租户 ID 的 toString 能区分不同租户，否则会读到其它租户的 SQL
+     * </p>
+     *
+     * @return 是否可缓存
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
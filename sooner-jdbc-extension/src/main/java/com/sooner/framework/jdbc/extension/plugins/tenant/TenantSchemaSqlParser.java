@@ -16,6 +16,8 @@
 package com.sooner.framework.jdbc.extension.plugins.tenant;
 
 
+import org.apache.ibatis.reflection.MetaObject;
+
 import com.sooner.framework.jdbc.core.parser.AbstractJsqlParser;
 
 import net.sf.jsqlparser.statement.delete.Delete;
@@ -35,6 +37,19 @@ public class TenantSchemaSqlParser extends AbstractJsqlParser {
 
     private TenantSchemaHandler tenantSchemaHandler;
 
+    /**
+     * 暂未实现 Schema 切换，不修改 SQL
+     */
+    @Override
+    public boolean isModifySql() {
+        return false;
+    }
+
+    @Override
+    public Object getCacheKey(MetaObject metaObject, String sql) {
+        return this.allowProcess(metaObject) ? sql : null;
+    }
+
     @Override
     public void processInsert(Insert insert) {
 
@@ -16,6 +16,9 @@
 package com.sooner.framework.jdbc.extension.plugins.tenant;
 
 import java.util.List;
+import java.util.Objects;
+
+import org.apache.ibatis.reflection.MetaObject;
 
 import com.sooner.framework.jdbc.core.parser.AbstractJsqlParser;
 import com.sooner.framework.jdbc.core.toolkit.Assert;
@@ -31,6 +34,7 @@ import net.sf.jsqlparser.expression.operators.relational.ItemsList;
 import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.FromItem;
@@ -56,8 +60,60 @@ import net.sf.jsqlparser.statement.update.Update;
  */
 public class TenantSqlParser extends AbstractJsqlParser {
 
+    /**
+     * 当前语句使用的租户 ID，每条语句只获取一次
+     */
+    private static final ThreadLocal<Expression> TENANT_ID = new ThreadLocal<>();
     private TenantHandler tenantHandler;
 
+    /**
+     * <p>
+     * {@link TenantHandler#isCacheable()} 时解析结果由 SQL 与当前租户 ID 决定
+     * </p>
+     */
+    @Override
+    public Object getCacheKey(MetaObject metaObject, String sql) {
+        if (!this.allowProcess(metaObject) || !tenantHandler.isCacheable()) {
+            return null;
+        }
+        return new TenantCacheKey(sql, tenantHandler.getTenantId());
+    }
+
+    @Override
+    public boolean processStatement(Statement statement) {
+        return this.processStatement(statement, null);
+    }
+
+    /**
+     * <p>
+     * 缓存未命中时沿用缓存键中的租户 ID，不再重复获取
+     * </p>
+     */
+    @Override
+    public boolean processStatement(Statement statement, Object cacheKey) {
+        Expression tenantId = cacheKey instanceof TenantCacheKey ? ((TenantCacheKey) cacheKey).tenantId
+            : tenantHandler.getTenantId();
+        Expression previous = TENANT_ID.get();
+        TENANT_ID.set(tenantId);
+        try {
+            return super.processStatement(statement);
+        } finally {
+            if (null == previous) {
+                TENANT_ID.remove();
+            } else {
+                TENANT_ID.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 当前语句的租户 ID
+     */
+    protected Expression getTenantId() {
+        Expression tenantId = TENANT_ID.get();
+        return null == tenantId ? tenantHandler.getTenantId() : tenantId;
+    }
+
     /**
      * select 语句处理
      */
@@ -96,9 +152,9 @@ public class TenantSqlParser extends AbstractJsqlParser {
             // fixed github pull/295
             ItemsList itemsList = insert.getItemsList();
             if (itemsList instanceof MultiExpressionList) {
-                ((MultiExpressionList) itemsList).getExprList().forEach(el -> el.getExpressions().add(tenantHandler.getTenantId()));
+                ((MultiExpressionList) itemsList).getExprList().forEach(el -> el.getExpressions().add(getTenantId()));
             } else {
-                ((ExpressionList) insert.getItemsList()).getExpressions().add(tenantHandler.getTenantId());
+                ((ExpressionList) insert.getItemsList()).getExpressions().add(getTenantId());
             }
         } else {
             throw ExceptionUtils.mpe("Failed to process multiple-table update, please exclude the tableName or statementId");
@@ -146,7 +202,7 @@ public class TenantSqlParser extends AbstractJsqlParser {
         //获得where条件表达式
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(this.getAliasColumn(table));
-        equalsTo.setRightExpression(tenantHandler.getTenantId());
+        equalsTo.setRightExpression(getTenantId());
         if (null != where) {
             return new AndExpression(equalsTo, where);
         }
@@ -245,7 +301,7 @@ public class TenantSqlParser extends AbstractJsqlParser {
         //生成字段名
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(this.getAliasColumn(table));
-        equalsTo.setRightExpression(tenantHandler.getTenantId());
+        equalsTo.setRightExpression(getTenantId());
         //加入判断防止条件为空时生成 "and null" 导致查询结果为空
         if (expression == null) {
             return equalsTo;
@@ -291,4 +347,37 @@ public class TenantSqlParser extends AbstractJsqlParser {
     public void setTenantHandler(TenantHandler tenantHandler) {
         this.tenantHandler = tenantHandler;
     }
+
+    /**
+     * 解析结果缓存键，按 SQL 与租户 ID 文本比较，同时携带租户 ID 供未命中时解析
+     */
+    private static final class TenantCacheKey {
+
+        private final String sql;
+        private final Expression tenantId;
+        private final String tenantIdText;
+
+        TenantCacheKey(String sql, Expression tenantId) {
+            this.sql = sql;
+            this.tenantId = tenantId;
+            this.tenantIdText = String.valueOf(tenantId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TenantCacheKey)) {
+                return false;
+            }
+            TenantCacheKey that = (TenantCacheKey) o;
+            return sql.equals(that.sql) && tenantIdText.equals(that.tenantIdText);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, tenantIdText);
+        }
+    }
 }
@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.sooner.framework.jdbc.core.conditions.Wrapper;
 import com.sooner.framework.jdbc.core.metadata.IPage;
@@ -63,6 +64,25 @@ public interface IService<T> {
      */
     boolean saveBatch(Collection<T> entityList, int batchSize);
 
+    /**
+     * <p>
+     * 插入（批量），固定字段多行 VALUES
+     * </p>
+     *
+     * @param entityList 实体对象集合
+     */
+    boolean saveBatchSomeColumn(Collection<T> entityList);
+
+    /**
+     * <p>
+     * 插入（批量），固定字段多行 VALUES
+     * </p>
+     *
+     * @param entityList 实体对象集合
+     * @param maxRows    每条语句最大行数（同时受数据库绑定参数上限约束）
+     */
+    boolean saveBatchSomeColumn(Collection<T> entityList, int maxRows);
+
     /**
      * <p>
      * 批量修改插入
@@ -76,9 +96,12 @@ public interface IService<T> {
      * <p>
      * 批量修改插入
      * </p>
+     * <p>
+     * 开启 nativeUpsert 时已有主键的记录按原生 upsert 执行，不做 updateFill 及乐观锁处理
+     * </p>
      *
      * @param entityList 实体对象集合
-     * @param batchSize  每次的数量
+     * @param batchSize  每次的数量，必须大于 0
      */
     boolean saveOrUpdateBatch(Collection<T> entityList, int batchSize);
 
@@ -237,6 +260,28 @@ public interface IService<T> {
      */
     List<T> list(Wrapper<T> queryWrapper);
 
+    /**
+     * <p>
+     * 流式查询列表，使用完毕需关闭 Stream（try-with-resources）
+     * </p>
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link QueryWrapper}
+     */
+    Stream<T> streamList(Wrapper<T> queryWrapper);
+
+    /**
+     * <p>
+     * 流式查询列表，使用完毕需关闭 Stream（try-with-resources）
+     * </p>
+     * <p>
+     * MySQL 需 Integer.MIN_VALUE 或开启 useCursorFetch 才能分批读取
+     * </p>
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link QueryWrapper}
+     * @param fetchSize    每次读取行数
+     */
+    Stream<T> streamList(Wrapper<T> queryWrapper, int fetchSize);
+
     /**
      * <p>
      * 翻页查询
@@ -15,15 +15,24 @@
  */
 package com.sooner.framework.jdbc.extension.service.impl;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.sooner.framework.jdbc.extension.service.IService;
 import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +42,7 @@ import com.sooner.framework.jdbc.core.enums.SqlMethod;
 import com.sooner.framework.jdbc.core.mapper.BaseMapper;
 import com.sooner.framework.jdbc.core.metadata.IPage;
 import com.sooner.framework.jdbc.core.metadata.TableInfo;
+import com.sooner.framework.jdbc.core.toolkit.Assert;
 import com.sooner.framework.jdbc.core.toolkit.CollectionUtils;
 import com.sooner.framework.jdbc.core.toolkit.Constants;
 import com.sooner.framework.jdbc.core.toolkit.ExceptionUtils;
@@ -135,6 +145,35 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         return true;
     }
 
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean saveBatchSomeColumn(Collection<T> entityList) {
+        return saveBatchSomeColumn(entityList, 1000);
+    }
+
+    /**
+     * 批量插入，固定字段多行 VALUES
+     *
+     * @param entityList
+     * @param maxRows
+     * @return
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean saveBatchSomeColumn(Collection<T> entityList, int maxRows) {
+        if (CollectionUtils.isEmpty(entityList)) {
+            throw new IllegalArgumentException("Error: entityList must not be empty");
+        }
+        try (SqlSession batchSqlSession = sqlSessionBatch()) {
+            List<T> list = new ArrayList<>(entityList);
+            SqlHelper.insertBatchSomeColumn(batchSqlSession, sqlStatement(SqlMethod.INSERT_BATCH_SOME_COLUMN), list, maxRows);
+            batchSqlSession.flushStatements();
+        } catch (Throwable e) {
+            throw ExceptionUtils.mpe("Error: Cannot execute saveBatchSomeColumn Method. Cause", e);
+        }
+        return true;
+    }
+
     /**
      * <p>
      * TableId 注解存在更新记录，否插入一条记录
@@ -177,17 +216,98 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         if (CollectionUtils.isEmpty(entityList)) {
             throw new IllegalArgumentException("Error: entityList must not be empty");
         }
+        Assert.isTrue(batchSize > 0, "Error: batchSize must be greater than 0");
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(currentModelClass());
+        if (null == tableInfo || StringUtils.isEmpty(tableInfo.getKeyProperty())) {
+            throw ExceptionUtils.mpe("Error:  Can not execute. Could not find @TableId.");
+        }
         try (SqlSession batchSqlSession = sqlSessionBatch()) {
+            List<T> batchList = new ArrayList<>(Math.min(batchSize, entityList.size()));
             for (T anEntityList : entityList) {
-                saveOrUpdate(anEntityList);
+                batchList.add(anEntityList);
+                if (batchList.size() >= batchSize) {
+                    saveOrUpdateBatch(batchSqlSession, tableInfo, batchList);
+                    batchList.clear();
+                }
+            }
+            if (!batchList.isEmpty()) {
+                saveOrUpdateBatch(batchSqlSession, tableInfo, batchList);
             }
-            batchSqlSession.flushStatements();
         } catch (Throwable e) {
             throw ExceptionUtils.mpe("Error: Cannot execute saveOrUpdateBatch Method. Cause", e);
         }
         return true;
     }
 
+    /**
+     * <p>
+     * 批量修改插入一个批次
+     * </p>
+     * <p>
+     * 注入了原生 upsert 时主键非空记录直接 upsert，否则一次 selectBatchIds 区分新旧记录，
+     * 再分别以 insert、updateById 两个 JDBC 批次执行
+     * </p>
+     * <p>
+     * 注意：原生 upsert 按插入语句执行，只做 insertFill，不做 updateFill，
+     * 也不经过乐观锁插件校验、递增 version，实体有 @Version 字段时不要开启 nativeUpsert
+     * </p>
+     *
+     * @param batchSqlSession 批量操作 SqlSession
+     * @param tableInfo       表信息
+     * @param entityList      当前批次实体
+     */
+    protected void saveOrUpdateBatch(SqlSession batchSqlSession, TableInfo tableInfo, List<T> entityList) {
+        List<T> insertList = new ArrayList<>(entityList.size());
+        List<T> updateList = new ArrayList<>(entityList.size());
+        List<Object> idList = new ArrayList<>(entityList.size());
+        for (T entity : entityList) {
+            Object idVal = getIdVal(tableInfo, entity);
+            if (StringUtils.checkValNull(idVal)) {
+                insertList.add(entity);
+            } else {
+                idList.add(idVal);
+                updateList.add(entity);
+            }
+        }
+        String upsertStatement = sqlStatement(SqlMethod.UPSERT);
+        if (!updateList.isEmpty() && batchSqlSession.getConfiguration().hasStatement(upsertStatement, false)) {
+            insertList.forEach(entity -> batchSqlSession.insert(sqlStatement(SqlMethod.INSERT_ONE), entity));
+            updateList.forEach(entity -> batchSqlSession.insert(upsertStatement, entity));
+            batchSqlSession.flushStatements();
+            return;
+        }
+        if (!updateList.isEmpty()) {
+            /* 一次查询已存在的主键 */
+            Map<String, Object> param = new HashMap<>(2);
+            param.put(Constants.COLLECTION, idList);
+            Set<Object> existIds = batchSqlSession.<T>selectList(sqlStatement(SqlMethod.SELECT_BATCH_BY_IDS), param)
+                .stream().map(i -> getIdVal(tableInfo, i)).collect(Collectors.toSet());
+            Set<Object> insertIds = new HashSet<>();
+            for (Iterator<T> iterator = updateList.iterator(); iterator.hasNext(); ) {
+                T entity = iterator.next();
+                Object idVal = getIdVal(tableInfo, entity);
+                /* 同批次重复主键首次插入，其余更新 */
+                if (!existIds.contains(idVal) && insertIds.add(idVal)) {
+                    insertList.add(entity);
+                    iterator.remove();
+                }
+            }
+        }
+        String insertStatement = sqlStatement(SqlMethod.INSERT_ONE);
+        insertList.forEach(entity -> batchSqlSession.insert(insertStatement, entity));
+        String updateStatement = sqlStatement(SqlMethod.UPDATE_BY_ID);
+        for (T entity : updateList) {
+            MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.ENTITY, entity);
+            batchSqlSession.update(updateStatement, param);
+        }
+        batchSqlSession.flushStatements();
+    }
+
+    private Object getIdVal(TableInfo tableInfo, T entity) {
+        return ReflectionKit.getMethodValue(entity.getClass(), entity, tableInfo.getKeyProperty());
+    }
+
     @Override
     public boolean removeById(Serializable id) {
         return SqlHelper.delBool(baseMapper.deleteById(id));
@@ -292,6 +412,48 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         return baseMapper.selectList(queryWrapper);
     }
 
+    @Override
+    public Stream<T> streamList(Wrapper<T> queryWrapper) {
+        return streamList(queryWrapper, null);
+    }
+
+    @Override
+    public Stream<T> streamList(Wrapper<T> queryWrapper, int fetchSize) {
+        return streamList(queryWrapper, Integer.valueOf(fetchSize));
+    }
+
+    /**
+     * <p>
+     * 独立 SqlSession 游标查询，关闭 Stream 时关闭游标及 SqlSession
+     * </p>
+     *
+     * @param queryWrapper 实体对象封装操作类
+     * @param fetchSize    每次读取行数，null 使用语句默认值
+     */
+    protected Stream<T> streamList(Wrapper<T> queryWrapper, Integer fetchSize) {
+        SqlSession sqlSession = SqlHelper.sqlSession(currentModelClass(), false);
+        try {
+            Map<String, Object> param = new HashMap<>(4);
+            param.put(Constants.WRAPPER, queryWrapper);
+            if (null != fetchSize) {
+                param.put(Constants.FETCH_SIZE, fetchSize);
+            }
+            Cursor<T> cursor = sqlSession.selectCursor(sqlStatement(SqlMethod.SELECT_CURSOR), param);
+            return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    throw ExceptionUtils.mpe("Error: Cannot close cursor. Cause", e);
+                } finally {
+                    sqlSession.close();
+                }
+            });
+        } catch (RuntimeException e) {
+            sqlSession.close();
+            throw e;
+        }
+    }
+
     @Override
     public IPage<T> page(IPage<T> page, Wrapper<T> queryWrapper) {
         queryWrapper = (Wrapper<T>) SqlHelper.fillWrapper(page, queryWrapper);
@@ -15,22 +15,42 @@
  */
 package com.sooner.framework.jdbc.extension.spring;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.net.URLConnection;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
 
-import org.apache.ibatis.binding.MapperRegistry;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
 import org.apache.ibatis.builder.xml.XMLMapperEntityResolver;
+import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
-import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.parsing.XNode;
@@ -42,10 +62,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.util.ResourceUtils;
 
-import com.sooner.framework.jdbc.core.config.GlobalConfig;
 import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
 import com.sooner.framework.jdbc.core.toolkit.StringPool;
-import com.sooner.framework.jdbc.core.toolkit.SystemClock;
 
 
 /**
@@ -54,29 +72,29 @@ import com.sooner.framework.jdbc.core.toolkit.SystemClock;
  * Mybatis 映射文件热加载（发生变动后自动重新加载）.<br>
  * 方便开发时使用，不用每次修改xml文件后都要去重启应用.<br>
  * </p>
+ * <p>
+ * 通过 WatchService 监听 xml 文件（jar 包内的 xml 监听 jar 文件）所在目录，变动在防抖时间内合并后，
+ * 按内容校验和判断是否变化；只有 select|insert|update|delete 变化时逐条替换 MappedStatement，
+ * 未变化的保持不动，resultMap、sql 等结构变化时才重新加载整个 xml。
+ * 目录中新增的 mapper xml 会被加载，删除的 xml 会被卸载；两次刷新之间至少间隔 sleepSeconds
+ * </p>
  *
  * @author nieqiurong
  * @since 2016-08-25
  */
-public class MybatisMapperRefresh implements Runnable {
+public class MybatisMapperRefresh implements Runnable, Closeable {
 
     private static final Log logger = LogFactory.getLog(MybatisMapperRefresh.class);
-    /**
-     * 记录jar包存在的mapper
-     */
-    private static final Map<String, List<Resource>> JAR_MAPPER = new HashMap<>();
+    private static final String STATEMENT_NODES = "select|insert|update|delete";
+    private static final Set<String> STATEMENT_NAMES = new HashSet<>(Arrays.asList(STATEMENT_NODES.split("\\|")));
+    private static final String XML_SUFFIX = ".xml";
     private SqlSessionFactory sqlSessionFactory;
     private Resource[] mapperLocations;
-    private Long beforeTime = 0L;
     private Configuration configuration;
     /**
      * 是否开启刷新mapper
      */
     private boolean enabled;
-    /**
-     * xml文件目录
-     */
-    private Set<String> fileSet;
     /**
      * 延迟加载时间
      */
@@ -85,6 +103,17 @@ public class MybatisMapperRefresh implements Runnable {
      * 刷新间隔时间
      */
     private int sleepSeconds = 20;
+    /**
+     * 防抖时间，最后一次变动后等待该时间无新的变动才刷新
+     */
+    private volatile long debounceMillis = 500L;
+    /**
+     * 监听文件（jar 包内的 xml 为 jar 文件）对应的 mapper
+     */
+    private final Map<Path, List<MapperResource>> watchedMappers = new HashMap<>();
+    private volatile WatchService watchService;
+    private volatile boolean closed;
+    private Thread thread;
 
     public MybatisMapperRefresh(Resource[] mapperLocations, SqlSessionFactory sqlSessionFactory, int delaySeconds,
                                 int sleepSeconds, boolean enabled) {
@@ -94,7 +123,7 @@ public class MybatisMapperRefresh implements Runnable {
         this.enabled = enabled;
         this.sleepSeconds = sleepSeconds;
         this.configuration = sqlSessionFactory.getConfiguration();
-        this.run();
+        this.start();
     }
 
     public MybatisMapperRefresh(Resource[] mapperLocations, SqlSessionFactory sqlSessionFactory, boolean enabled) {
@@ -102,127 +131,378 @@ public class MybatisMapperRefresh implements Runnable {
         this.sqlSessionFactory = sqlSessionFactory;
         this.enabled = enabled;
         this.configuration = sqlSessionFactory.getConfiguration();
-        this.run();
+        this.start();
+    }
+
+    public long getDebounceMillis() {
+        return debounceMillis;
+    }
+
+    /**
+     * <p>
+     * 设置防抖时间，默认 500 毫秒
+     * </p>
+     *
+     * @param debounceMillis 最后一次变动后等待的毫秒数
+     */
+    public void setDebounceMillis(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * 启动 XML 热加载
+     */
+    private synchronized void start() {
+        if (enabled && !closed) {
+            thread = new Thread(this, "mybatis-plus MapperRefresh");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * <p>
+     * 停止监听，随 Spring 容器关闭调用
+     * </p>
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Close WatchService failed: " + e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
     }
 
     @Override
     public void run() {
-        final GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
-        /*
-         * 启动 XML 热加载
-         */
-        if (enabled) {
-            beforeTime = SystemClock.now();
-            final MybatisMapperRefresh runnable = this;
-            new Thread(new Runnable() {
-
-                @Override
-                public void run() {
-                    if (fileSet == null) {
-                        fileSet = new HashSet<>();
-                        if (mapperLocations != null) {
-                            for (Resource mapperLocation : mapperLocations) {
-                                try {
-                                    if (ResourceUtils.isJarURL(mapperLocation.getURL())) {
-                                        String key = new UrlResource(ResourceUtils.extractJarFileURL(mapperLocation.getURL()))
-                                            .getFile().getPath();
-                                        fileSet.add(key);
-                                        if (JAR_MAPPER.get(key) != null) {
-                                            JAR_MAPPER.get(key).add(mapperLocation);
-                                        } else {
-                                            List<Resource> resourcesList = new ArrayList<>();
-                                            resourcesList.add(mapperLocation);
-                                            JAR_MAPPER.put(key, resourcesList);
-                                        }
-                                    } else {
-                                        fileSet.add(mapperLocation.getFile().getPath());
-                                    }
-                                } catch (IOException ioException) {
-                                    ioException.printStackTrace();
-                                }
-                            }
-                        }
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(delaySeconds));
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                watchService = FileSystems.getDefault().newWatchService();
+            }
+            register();
+            GlobalConfigUtils.getGlobalConfig(configuration).setRefresh(true);
+            while (!closed) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+                // 防抖：合并连续的变动
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                for (Path path : changed) {
+                    List<MapperResource> mappers = watchedMappers.get(path);
+                    if (mappers == null) {
+                        add(path);
+                    } else if (Files.exists(path)) {
+                        mappers.forEach(this::refresh);
+                    } else {
+                        remove(path, mappers);
                     }
-                    try {
-                        Thread.sleep(delaySeconds * 1000);
-                    } catch (InterruptedException interruptedException) {
-                        interruptedException.printStackTrace();
+                }
+                // 刷新间隔内的变动留到下一次合并处理
+                TimeUnit.SECONDS.sleep(sleepSeconds);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 关闭
+        } catch (IOException e) {
+            logger.error("Start mapper refresh failed: " + e.getMessage(), e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * 注册监听目录，并记录 mapper 当前内容
+     */
+    private void register() throws IOException {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Resource mapperLocation : mapperLocations) {
+            if (mapperLocation == null) {
+                continue;
+            }
+            try {
+                Path path;
+                boolean jar = ResourceUtils.isJarURL(mapperLocation.getURL());
+                if (jar) {
+                    path = new UrlResource(ResourceUtils.extractJarFileURL(mapperLocation.getURL())).getFile().toPath();
+                } else {
+                    path = mapperLocation.getFile().toPath();
+                }
+                path = path.toAbsolutePath().normalize();
+                MapperResource mapper = new MapperResource(mapperLocation, jar);
+                mapper.update(read(mapperLocation));
+                watchedMappers.computeIfAbsent(path, k -> new ArrayList<>()).add(mapper);
+                directories.add(path.getParent());
+            } catch (Exception e) {
+                logger.error("Mapper '" + mapperLocation + "' can not be watched: " + e.getMessage(), e);
+            }
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (Path path : watchedMappers.keySet()) {
+                    if (directory.equals(path.getParent())) {
+                        changed.add(path);
                     }
-                    do {
-                        try {
-                            for (String filePath : fileSet) {
-                                File file = new File(filePath);
-                                if (file.isFile() && file.lastModified() > beforeTime) {
-                                    globalConfig.setRefresh(true);
-                                    List<Resource> removeList = JAR_MAPPER.get(filePath);
-                                    if (removeList != null && !removeList.isEmpty()) {
-                                        for (Resource resource : removeList) {
-                                            runnable.refresh(resource);
-                                        }
-                                    } else {
-                                        runnable.refresh(new FileSystemResource(file));
-                                    }
-                                }
-                            }
-                            if (globalConfig.isRefresh()) {
-                                beforeTime = SystemClock.now();
-                            }
-                            globalConfig.setRefresh(true);
-                        } catch (Exception exception) {
-                            exception.printStackTrace();
-                        }
-                        try {
-                            Thread.sleep(sleepSeconds * 1000);
-                        } catch (InterruptedException interruptedException) {
-                            interruptedException.printStackTrace();
-                        }
-
-                    } while (true);
                 }
-            }, "mybatis-plus MapperRefresh").start();
+            } else {
+                Path path = directory.resolve((Path) event.context());
+                if (watchedMappers.containsKey(path) || (event.kind() != StandardWatchEventKinds.ENTRY_DELETE
+                    && path.getFileName().toString().endsWith(XML_SUFFIX))) {
+                    changed.add(path);
+                }
+            }
         }
+        key.reset();
     }
 
     /**
      * 刷新mapper
-     *
-     * @throws Exception
      */
-    @SuppressWarnings("rawtypes")
-    private void refresh(Resource resource) throws ClassNotFoundException, NoSuchFieldException, IllegalAccessException {
-        this.configuration = sqlSessionFactory.getConfiguration();
-        boolean isSupper = configuration.getClass().getSuperclass() == Configuration.class;
+    private void refresh(MapperResource mapper) {
         try {
-            Field loadedResourcesField = isSupper ? configuration.getClass().getSuperclass().getDeclaredField("loadedResources")
-                : configuration.getClass().getDeclaredField("loadedResources");
-            loadedResourcesField.setAccessible(true);
-            Set loadedResourcesSet = ((Set) loadedResourcesField.get(configuration));
-            XPathParser xPathParser = new XPathParser(resource.getInputStream(), true, configuration.getVariables(),
-                new XMLMapperEntityResolver());
-            XNode context = xPathParser.evalNode("/mapper");
+            byte[] content = read(mapper.resource);
+            long checksum = checksum(content);
+            if (checksum == mapper.checksum) {
+                return;
+            }
+            this.configuration = sqlSessionFactory.getConfiguration();
+            XNode context = parse(content);
             String namespace = context.getStringAttribute("namespace");
-            Field field = MapperRegistry.class.getDeclaredField("knownMappers");
-            field.setAccessible(true);
-            Map mapConfig = (Map) field.get(configuration.getMapperRegistry());
-            mapConfig.remove(Resources.classForName(namespace));
-            loadedResourcesSet.remove(resource.toString());
-            configuration.getCacheNames().remove(namespace);
-            cleanParameterMap(context.evalNodes("/mapper/parameterMap"), namespace);
-            cleanResultMap(context.evalNodes("/mapper/resultMap"), namespace);
-            cleanKeyGenerators(context.evalNodes("insert|update"), namespace);
-            cleanSqlElement(context.evalNodes("/mapper/sql"), namespace);
-            XMLMapperBuilder xmlMapperBuilder = new XMLMapperBuilder(resource.getInputStream(),
-                sqlSessionFactory.getConfiguration(),
-                resource.toString(), sqlSessionFactory.getConfiguration().getSqlFragments());
-            xmlMapperBuilder.parse();
-            logger.debug("refresh: '" + resource + "', success!");
-        } catch (IOException e) {
-            logger.error("Refresh IOException :" + e.getMessage());
+            Map<String, XNode> statements = statementsOf(context);
+            if (!namespace.equals(mapper.namespace)) {
+                refreshMapper(mapper, content, context);
+                removeStatements(mapper, Collections.emptySet());
+            } else {
+                if (structureOf(context).equals(mapper.structure)) {
+                    refreshStatements(mapper, context, statements);
+                } else {
+                    refreshMapper(mapper, content, context);
+                }
+                removeStatements(mapper, statements.keySet());
+            }
+            mapper.update(content);
+            logger.debug("refresh: '" + mapper.resource + "', success!");
+        } catch (Exception e) {
+            logger.error("Refresh '" + mapper.resource + "' failed: " + e.getMessage(), e);
         } finally {
             ErrorContext.instance().reset();
         }
     }
 
+    /**
+     * 加载监听目录中新增的 mapper xml
+     */
+    private void add(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        MapperResource mapper = new MapperResource(new FileSystemResource(path.toFile()), false);
+        try {
+            byte[] content = read(mapper.resource);
+            this.configuration = sqlSessionFactory.getConfiguration();
+            if (new XPathParser(new ByteArrayInputStream(content), false, configuration.getVariables(),
+                new XMLMapperEntityResolver()).evalNode("/mapper") == null) {
+                // 不是 mapper xml
+                return;
+            }
+            XNode context = parse(content);
+            refreshMapper(mapper, content, context);
+            mapper.update(content);
+            watchedMappers.computeIfAbsent(path, k -> new ArrayList<>()).add(mapper);
+            logger.debug("add: '" + mapper.resource + "', success!");
+        } catch (Exception e) {
+            logger.error("Add '" + mapper.resource + "' failed: " + e.getMessage(), e);
+        } finally {
+            ErrorContext.instance().reset();
+        }
+    }
+
+    /**
+     * 卸载已删除的 mapper xml，jar 包被删除时保持不动，等待替换后刷新
+     */
+    private void remove(Path path, List<MapperResource> mappers) {
+        this.configuration = sqlSessionFactory.getConfiguration();
+        for (Iterator<MapperResource> iterator = mappers.iterator(); iterator.hasNext(); ) {
+            MapperResource mapper = iterator.next();
+            if (mapper.jar) {
+                continue;
+            }
+            try {
+                XNode context = parse(mapper.content);
+                cleanMapper(mapper, context).remove(mapper.resource.toString());
+                removeStatements(mapper, Collections.emptySet());
+                iterator.remove();
+                logger.debug("remove: '" + mapper.resource + "', success!");
+            } catch (Exception e) {
+                logger.error("Remove '" + mapper.resource + "' failed: " + e.getMessage(), e);
+            } finally {
+                ErrorContext.instance().reset();
+            }
+        }
+        if (mappers.isEmpty()) {
+            watchedMappers.remove(path);
+        }
+    }
+
+    /**
+     * 只替换变化的 MappedStatement
+     */
+    private void refreshStatements(MapperResource mapper, XNode context, Map<String, XNode> statements) {
+        String namespace = mapper.namespace;
+        MapperBuilderAssistant builderAssistant = new MapperBuilderAssistant(configuration, mapper.resource.toString());
+        builderAssistant.setCurrentNamespace(namespace);
+        XNode cacheRef = context.evalNode("cache-ref");
+        String cacheNamespace = cacheRef == null ? namespace : cacheRef.getStringAttribute("namespace");
+        if (configuration.hasCache(cacheNamespace)) {
+            builderAssistant.useCacheRef(cacheNamespace);
+        }
+        List<XNode> changed = new ArrayList<>();
+        statements.forEach((key, node) -> {
+            if (!node.toString().equals(mapper.statements.get(key))) {
+                changed.add(node);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        cleanKeyGenerators(changed, namespace);
+        for (XNode node : changed) {
+            if (configuration.getDatabaseId() != null) {
+                new XMLStatementBuilder(configuration, builderAssistant, node, configuration.getDatabaseId()).parseStatementNode();
+            }
+            new XMLStatementBuilder(configuration, builderAssistant, node, null).parseStatementNode();
+        }
+        if (configuration.hasCache(cacheNamespace)) {
+            configuration.getCache(cacheNamespace).clear();
+        }
+    }
+
+    /**
+     * 重新加载整个 xml
+     */
+    private void refreshMapper(MapperResource mapper, byte[] content, XNode context) throws NoSuchFieldException, IllegalAccessException {
+        cleanMapper(mapper, context).remove(mapper.resource.toString());
+        XMLMapperBuilder xmlMapperBuilder = new XMLMapperBuilder(new ByteArrayInputStream(content),
+            configuration, mapper.resource.toString(), configuration.getSqlFragments());
+        xmlMapperBuilder.parse();
+    }
+
+    /**
+     * 清理 xml 中的 parameterMap、resultMap、selectKey、sql 节点
+     *
+     * @return 已加载资源集合
+     */
+    @SuppressWarnings("rawtypes")
+    private Set cleanMapper(MapperResource mapper, XNode context) throws NoSuchFieldException, IllegalAccessException {
+        boolean isSupper = configuration.getClass().getSuperclass() == Configuration.class;
+        Field loadedResourcesField = isSupper ? configuration.getClass().getSuperclass().getDeclaredField("loadedResources")
+            : configuration.getClass().getDeclaredField("loadedResources");
+        loadedResourcesField.setAccessible(true);
+        String namespace = context.getStringAttribute("namespace");
+        configuration.getCacheNames().remove(namespace);
+        cleanParameterMap(context.evalNodes("/mapper/parameterMap"), namespace);
+        cleanResultMap(context.evalNodes("/mapper/resultMap"), namespace);
+        cleanKeyGenerators(context.evalNodes("insert|update"), namespace);
+        cleanSqlElement(context.evalNodes("/mapper/sql"), namespace);
+        return (Set) loadedResourcesField.get(configuration);
+    }
+
+    /**
+     * 清理 xml 中已删除的节点
+     */
+    private void removeStatements(MapperResource mapper, Set<String> keys) {
+        Set<String> ids = new HashSet<>();
+        keys.forEach(key -> ids.add(key.split(StringPool.HASH)[0]));
+        for (String key : mapper.statements.keySet()) {
+            String statementId = key.split(StringPool.HASH)[0];
+            if (!ids.contains(statementId)) {
+                String id = mapper.namespace + StringPool.DOT + statementId;
+                configuration.getMappedStatementNames().remove(id);
+                configuration.getMappedStatementNames().remove(id + SelectKeyGenerator.SELECT_KEY_SUFFIX);
+                configuration.getKeyGeneratorNames().remove(id + SelectKeyGenerator.SELECT_KEY_SUFFIX);
+            }
+        }
+    }
+
+    /**
+     * 读取 mapper 内容，jar 包内的资源不使用 URLConnection 缓存
+     */
+    private static byte[] read(Resource resource) throws IOException {
+        InputStream inputStream;
+        if (ResourceUtils.isJarURL(resource.getURL())) {
+            URLConnection connection = resource.getURL().openConnection();
+            connection.setUseCaches(false);
+            inputStream = connection.getInputStream();
+        } else {
+            inputStream = resource.getInputStream();
+        }
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+        return crc32.getValue();
+    }
+
+    private XNode parse(byte[] content) {
+        return new XPathParser(new ByteArrayInputStream(content), true, configuration.getVariables(),
+            new XMLMapperEntityResolver()).evalNode("/mapper");
+    }
+
+    /**
+     * select|insert|update|delete 节点，key 为 id#databaseId
+     */
+    private static Map<String, XNode> statementsOf(XNode context) {
+        Map<String, XNode> statements = new LinkedHashMap<>();
+        for (XNode node : context.evalNodes(STATEMENT_NODES)) {
+            String databaseId = node.getStringAttribute("databaseId");
+            String key = node.getStringAttribute("id");
+            statements.put(databaseId == null ? key : key + StringPool.HASH + databaseId, node);
+        }
+        return statements;
+    }
+
+    /**
+     * 除 select|insert|update|delete 外的节点
+     */
+    private static String structureOf(XNode context) {
+        StringBuilder structure = new StringBuilder();
+        for (XNode node : context.getChildren()) {
+            if (!STATEMENT_NAMES.contains(node.getName())) {
+                structure.append(node.toString());
+            }
+        }
+        return structure.toString();
+    }
+
     /**
      * 清理parameterMap
      *
@@ -274,7 +554,7 @@ public class MybatisMapperRefresh implements Runnable {
      * @param list
      * @param namespace
      */
-    private void cleanKeyGenerators(List<XNode> list, String namespace) {
+    private void cleanKeyGenerators(Collection<XNode> list, String namespace) {
         for (XNode context : list) {
             String id = context.getStringAttribute("id");
             configuration.getKeyGeneratorNames().remove(id + SelectKeyGenerator.SELECT_KEY_SUFFIX);
@@ -296,4 +576,38 @@ public class MybatisMapperRefresh implements Runnable {
         }
     }
 
+    /**
+     * 监听的 mapper 及其最近一次加载的内容
+     */
+    private class MapperResource {
+
+        private final Resource resource;
+        /**
+         * 是否 jar 包内的 xml
+         */
+        private final boolean jar;
+        private byte[] content;
+        private long checksum;
+        private String namespace;
+        private String structure;
+        /**
+         * 节点 key 与节点内容
+         */
+        private Map<String, String> statements;
+
+        MapperResource(Resource resource, boolean jar) {
+            this.resource = resource;
+            this.jar = jar;
+        }
+
+        void update(byte[] content) {
+            XNode context = parse(content);
+            this.content = content;
+            this.checksum = checksum(content);
+            this.namespace = context.getStringAttribute("namespace");
+            this.structure = structureOf(context);
+            this.statements = new HashMap<>();
+            statementsOf(context).forEach((key, node) -> statements.put(key, node.toString()));
+        }
+    }
 }
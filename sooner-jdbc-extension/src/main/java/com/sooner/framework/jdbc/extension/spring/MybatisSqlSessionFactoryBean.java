@@ -57,6 +57,7 @@ import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationEvent;
@@ -91,7 +92,8 @@ import com.sooner.framework.jdbc.extension.toolkit.PackageHelper;
  * @author hubin
  * @since 2017-01-04
  */
-public class MybatisSqlSessionFactoryBean implements FactoryBean<SqlSessionFactory>, InitializingBean, ApplicationListener<ApplicationEvent> {
+public class MybatisSqlSessionFactoryBean implements FactoryBean<SqlSessionFactory>, InitializingBean, DisposableBean,
+    ApplicationListener<ApplicationEvent> {
 
     private static final Log LOGGER = LogFactory.getLog(SqlSessionFactoryBean.class);
 
@@ -144,6 +146,8 @@ public class MybatisSqlSessionFactoryBean implements FactoryBean<SqlSessionFacto
 
     private GlobalConfig globalConfig;
 
+    private MybatisMapperRefresh mapperRefresh;
+
     // TODO 注入全局配置
     public void setGlobalConfig(GlobalConfig globalConfig) {
         this.globalConfig = globalConfig;
@@ -617,7 +621,7 @@ public class MybatisSqlSessionFactoryBean implements FactoryBean<SqlSessionFacto
         if (!isEmpty(this.mapperLocations)) {
             if (globalConfig.isRefresh()) {
                 //TODO 设置自动刷新配置 减少配置
-                new MybatisMapperRefresh(this.mapperLocations, sqlSessionFactory, 2,
+                this.mapperRefresh = new MybatisMapperRefresh(this.mapperLocations, sqlSessionFactory, 2,
                     2, true);
             }
             for (Resource mapperLocation : this.mapperLocations) {
@@ -696,6 +700,16 @@ public class MybatisSqlSessionFactoryBean implements FactoryBean<SqlSessionFacto
         return true;
     }
 
+    /**
+     * 关闭 mapper 热加载
+     */
+    @Override
+    public void destroy() {
+        if (this.mapperRefresh != null) {
+            this.mapperRefresh.close();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
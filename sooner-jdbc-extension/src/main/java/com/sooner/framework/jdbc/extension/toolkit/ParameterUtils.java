@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.toolkit;
+
+import java.util.List;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * <p>
+ * SQL 参数工具类
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class ParameterUtils {
+
+    private ParameterUtils() {
+        // to do nothing
+    }
+
+    /**
+     * <p>
+     * 按 ParameterMapping 取出参数值，与 DefaultParameterHandler 一致，OUT 参数为 null
+     * </p>
+     *
+     * @param configuration MyBatis 配置
+     * @param boundSql      绑定 SQL
+     * @return 与 ParameterMapping 一一对应的参数值
+     */
+    public static Object[] parameterValues(Configuration configuration, BoundSql boundSql) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        if (parameterMappings == null || parameterMappings.isEmpty()) {
+            return new Object[0];
+        }
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        Object[] values = new Object[parameterMappings.size()];
+        for (int i = 0; i < values.length; i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String propertyName = parameterMapping.getProperty();
+            if (boundSql.hasAdditionalParameter(propertyName)) {
+                values[i] = boundSql.getAdditionalParameter(propertyName);
+            } else if (parameterObject == null) {
+                values[i] = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                values[i] = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                values[i] = metaObject.getValue(propertyName);
+            }
+        }
+        return values;
+    }
+}
@@ -17,6 +17,7 @@ package com.sooner.framework.jdbc.extension.toolkit;
 
 import com.sooner.framework.jdbc.core.parser.ISqlParser;
 import com.sooner.framework.jdbc.core.parser.SqlInfo;
+import com.sooner.framework.jdbc.core.parser.SqlParserCache;
 import com.sooner.framework.jdbc.extension.plugins.pagination.optimize.JsqlParserCountOptimize;
 
 /**
@@ -53,6 +54,22 @@ public class SqlParserUtils {
      * @return SqlInfo
      */
     public static SqlInfo getOptimizeCountSql(boolean optimizeCountSql, ISqlParser sqlParser, String originalSql) {
+        return getOptimizeCountSql(optimizeCountSql, sqlParser, originalSql, null);
+    }
+
+    /**
+     * <p>
+     * 获取CountOptimize，优先读取解析缓存
+     * </p>
+     *
+     * @param optimizeCountSql 是否优化 Count SQL
+     * @param sqlParser        Count SQL 解析类
+     * @param originalSql      需要计算Count SQL
+     * @param sqlParserCache   解析缓存，null 不缓存
+     * @return SqlInfo
+     */
+    public static SqlInfo getOptimizeCountSql(boolean optimizeCountSql, ISqlParser sqlParser, String originalSql,
+                                              SqlParserCache sqlParserCache) {
         if (!optimizeCountSql) {
             SqlInfo sqlInfo = SqlInfo.newInstance();
             sqlInfo.setSql(getOriginalCountSql(originalSql));
@@ -68,6 +85,9 @@ public class SqlParserUtils {
                 COUNT_SQL_PARSER = new JsqlParserCountOptimize();
             }
         }
+        if (null != sqlParserCache) {
+            return sqlParserCache.parser(COUNT_SQL_PARSER, null, originalSql);
+        }
         return COUNT_SQL_PARSER.parser(null, originalSql);
     }
 }
@@ -40,11 +40,17 @@ public class SqlRunner implements ISqlRunner {
 
     // 单例Query
     public static final SqlRunner DEFAULT = new SqlRunner();
+    // 单例预编译Query
+    public static final SqlRunner PREPARED = new SqlRunner(null, true);
     // 默认FACTORY
 //    public static SqlSessionFactory FACTORY;
     private SqlSessionFactory sqlSessionFactory;
 
     private Class<?> clazz;
+    /**
+     * 预编译模式，{0} 转换为 ? 绑定参数
+     */
+    private boolean prepared;
 
     public SqlRunner() {
         this.sqlSessionFactory = SqlHelper.FACTORY;
@@ -54,6 +60,11 @@ public class SqlRunner implements ISqlRunner {
         this.clazz = clazz;
     }
 
+    public SqlRunner(Class<?> clazz, boolean prepared) {
+        this.clazz = clazz;
+        this.prepared = prepared;
+    }
+
     /**
      * <p>
      * 获取默认的SqlQuery(适用于单库)
@@ -81,6 +92,32 @@ public class SqlRunner implements ISqlRunner {
         return new SqlRunner(clazz);
     }
 
+    /**
+     * <p>
+     * 获取默认的预编译SqlQuery(适用于单库)
+     * </p>
+     * <p>
+     * {0}, {1} 转换为 ? 并按类型处理器绑定参数，相同 SQL 模板生成相同语句，可复用驱动语句缓存及数据库执行计划
+     * </p>
+     *
+     * @return
+     */
+    public static SqlRunner prepared() {
+        return PREPARED;
+    }
+
+    /**
+     * <p>
+     * 根据当前class对象获取预编译SqlQuery(适用于多库)
+     * </p>
+     *
+     * @param clazz
+     * @return
+     */
+    public static SqlRunner prepared(Class<?> clazz) {
+        return new SqlRunner(clazz, true);
+    }
+
     @Transactional
     @Override
     public boolean insert(String sql, Object... args) {
@@ -101,12 +138,17 @@ public class SqlRunner implements ISqlRunner {
      * 获取sqlMap参数
      *
      * @param sql  指定参数的格式: {0}, {1}
-     * @param args 仅支持String
+     * @param args 拼接模式仅支持String，预编译模式支持任意类型
      * @return
      */
-    private Map<String, String> sqlMap(String sql, Object... args) {
-        Map<String, String> sqlMap = new HashMap<>();
-        sqlMap.put(SQL, StringUtils.sqlArgsFill(sql, args));
+    private Map<String, Object> sqlMap(String sql, Object... args) {
+        Map<String, Object> sqlMap = new HashMap<>();
+        if (prepared) {
+            sqlMap.put(SQL, sql);
+            sqlMap.put(ARGS, args);
+        } else {
+            sqlMap.put(SQL, StringUtils.sqlArgsFill(sql, args));
+        }
         return sqlMap;
     }
 
@@ -173,14 +215,25 @@ public class SqlRunner implements ISqlRunner {
         return SqlHelper.getObject(selectList(sql, args));
     }
 
+    /**
+     * 根据sql分页查询Map结果集，需配置分页插件 PaginationInterceptor 按数据库方言分页
+     *
+     * @param page 分页对象
+     * @param sql  sql语句，可添加参数，格式：{0},{1}
+     * @param args 参数
+     * @return
+     */
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public IPage<Map<String, Object>> selectPage(IPage page, String sql, Object... args) {
         if (null == page) {
             return null;
         }
-        // TODO 待完成
-      //  page.setRecords(sqlSession().selectList(SELECT_LIST, sqlMap(sql, args), page));
+        try (SqlSession session = sqlSession()) {
+            Map<String, Object> sqlMap = sqlMap(sql, args);
+            sqlMap.put(PAGE, page);
+            page.setRecords(session.selectList(SELECT_LIST, sqlMap));
+        }
         return page;
     }
 
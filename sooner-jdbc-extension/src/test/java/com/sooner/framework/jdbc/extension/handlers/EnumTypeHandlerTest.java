@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.handlers;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.enums.IEnum;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+
+/**
+ * <p>
+ * 枚举属性转换器读取 ResultSet 测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class EnumTypeHandlerTest {
+
+    private static DataSource dataSource;
+    private Connection connection;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = H2Fixture.dataSource("enum_handler",
+            "CREATE TABLE t_enum (i INT, l BIGINT, d DECIMAL(10, 2), s VARCHAR(10))",
+            "INSERT INTO t_enum VALUES (1, 2, 1.00, 'high')",
+            "INSERT INTO t_enum VALUES (NULL, NULL, 3.50, 'none')");
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = dataSource.getConnection();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testEnumTypeHandler() throws SQLException {
+        EnumTypeHandler<Status> status = new EnumTypeHandler<>(Status.class);
+        EnumTypeHandler<Grade> grade = new EnumTypeHandler<>(Grade.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT i, l, d, s FROM t_enum ORDER BY d")) {
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(Status.ENABLED, status.getResult(rs, "i"));
+            Assert.assertEquals(Status.DISABLED, status.getResult(rs, 2));
+            Assert.assertEquals(Status.ENABLED, status.getResult(rs, "d"));
+            Assert.assertEquals(Grade.HIGH, grade.getResult(rs, "s"));
+            Assert.assertTrue(rs.next());
+            Assert.assertNull(status.getResult(rs, "i"));
+            Assert.assertNull(status.getResult(rs, "l"));
+            Assert.assertNull(status.getResult(rs, "d"));
+            Assert.assertNull(grade.getResult(rs, "s"));
+        }
+    }
+
+    @Test
+    public void testEnumAnnotationTypeHandler() throws Exception {
+        Field code = Level.class.getDeclaredField("code");
+        code.setAccessible(true);
+        EnumAnnotationTypeHandler.addEnumType(Level.class, code);
+        EnumAnnotationTypeHandler<Level> level = new EnumAnnotationTypeHandler<>(Level.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT l, d FROM t_enum ORDER BY d")) {
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(Level.TWO, level.getResult(rs, "l"));
+            Assert.assertEquals(Level.ONE, level.getResult(rs, "d"));
+            Assert.assertTrue(rs.next());
+            Assert.assertNull(level.getResult(rs, "l"));
+        }
+    }
+
+    public enum Status implements IEnum<Integer> {
+        ENABLED(1), DISABLED(2);
+
+        private final Integer value;
+
+        Status(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+    }
+
+    public enum Grade implements IEnum<String> {
+        LOW("low"), HIGH("high");
+
+        private final String code;
+
+        Grade(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getValue() {
+            return code;
+        }
+    }
+
+    public enum Level {
+        ONE(1), TWO(2);
+
+        private final int code;
+
+        Level(int code) {
+            this.code = code;
+        }
+    }
+}
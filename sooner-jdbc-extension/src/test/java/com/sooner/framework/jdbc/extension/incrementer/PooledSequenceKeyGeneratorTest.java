@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.incrementer;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.KeySequence;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+
+/**
+ * <p>
+ * 序列段分配主键生成器测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class PooledSequenceKeyGeneratorTest {
+
+    private static DataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = H2Fixture.dataSource("pooled_sequence",
+            "CREATE SEQUENCE seq_pooled START WITH 1 INCREMENT BY 50",
+            "CREATE SEQUENCE seq_rows START WITH 1 INCREMENT BY 1",
+            "CREATE TABLE pooled_entity (id BIGINT PRIMARY KEY, name VARCHAR(30))",
+            "CREATE TABLE rows_entity (id INT PRIMARY KEY, name VARCHAR(30))");
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        GlobalConfigUtils.getGlobalConfig(configuration).getDbConfig().setKeyGenerator(new H2KeyGenerator());
+        configuration.addMapper(PooledEntityMapper.class);
+        configuration.addMapper(RowsEntityMapper.class);
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    @Test
+    public void testPooled() throws SQLException {
+        List<PooledEntity> entityList = new ArrayList<>();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            PooledEntityMapper mapper = sqlSession.getMapper(PooledEntityMapper.class);
+            for (int i = 0; i < 80; i++) {
+                PooledEntity entity = new PooledEntity();
+                entity.setName("pooled" + i);
+                mapper.insert(entity);
+                entityList.add(entity);
+            }
+            List<PooledEntity> batchList = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                PooledEntity entity = new PooledEntity();
+                entity.setName("batch" + i);
+                batchList.add(entity);
+            }
+            mapper.insertBatchSomeColumn(batchList);
+            entityList.addAll(batchList);
+            sqlSession.flushStatements();
+            sqlSession.commit();
+        }
+        for (int i = 0; i < entityList.size(); i++) {
+            Assert.assertEquals(Long.valueOf(i + 1), entityList.get(i).getId());
+        }
+        // 100 个主键只查询 2 次序列
+        Assert.assertEquals(51L, queryLong("select current_value from information_schema.sequences where sequence_name = 'SEQ_POOLED'"));
+        Assert.assertEquals(100L, queryLong("select count(1) from pooled_entity"));
+    }
+
+    @Test
+    public void testRowsConcurrent() throws Exception {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executorService.execute(() -> {
+                try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+                    RowsEntityMapper mapper = sqlSession.getMapper(RowsEntityMapper.class);
+                    for (int i = 0; i < 50; i++) {
+                        RowsEntity entity = new RowsEntity();
+                        entity.setName("rows" + i);
+                        mapper.insert(entity);
+                        ids.add(entity.getId());
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(200, ids.size());
+        Assert.assertEquals(200L, queryLong("select count(1) from rows_entity"));
+        // 每次查询获取 20 个序列值
+        Assert.assertEquals(200L, queryLong("select current_value from information_schema.sequences where sequence_name = 'SEQ_ROWS'"));
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 1; i <= 200; i++) {
+            expected.add(i);
+        }
+        Assert.assertEquals(expected, ids);
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        return H2Fixture.queryForLong(dataSource, sql);
+    }
+
+    public interface PooledEntityMapper extends BaseMapper<PooledEntity> {
+    }
+
+    public interface RowsEntityMapper extends BaseMapper<RowsEntity> {
+    }
+
+    @KeySequence(value = "seq_pooled", allocationSize = 50, pooled = true)
+    public static class PooledEntity {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @KeySequence(value = "seq_rows", clazz = Integer.class, allocationSize = 20)
+    public static class RowsEntity {
+
+        @TableId(type = IdType.INPUT)
+        private Integer id;
+        private String name;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
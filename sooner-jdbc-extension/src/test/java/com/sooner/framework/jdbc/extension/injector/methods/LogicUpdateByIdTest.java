@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.injector.methods;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.FieldFill;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.TableField;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.annotation.TableLogic;
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.annotation.Version;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.config.GlobalConfig;
+import com.sooner.framework.jdbc.core.handlers.MetaObjectHandler;
+import com.sooner.framework.jdbc.core.injector.source.UpdateByIdSqlSource;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.Constants;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+import com.sooner.framework.jdbc.extension.injector.LogicSqlInjector;
+import com.sooner.framework.jdbc.extension.plugins.OptimisticLockerInterceptor;
+
+/**
+ * <p>
+ * 逻辑删除 updateById 预编译 SqlSource 测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class LogicUpdateByIdTest {
+
+    private static final String UPDATE_BY_ID = LogicEntityMapper.class.getName() + ".updateById";
+    private static DataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+    private static MappedStatement dynamic;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = H2Fixture.dataSource("logic_update_by_id",
+            "CREATE TABLE t_logic (id BIGINT PRIMARY KEY, name VARCHAR(30), age INT, version INT, "
+                + "deleted INT, update_by VARCHAR(30))");
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration(true));
+        dynamic = configuration(false).getMappedStatement(UPDATE_BY_ID);
+    }
+
+    private static MybatisConfiguration configuration(boolean staticSqlSource) {
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        globalConfig.getDbConfig().setStaticSqlSource(staticSqlSource);
+        globalConfig.setSqlInjector(new LogicSqlInjector());
+        globalConfig.setMetaObjectHandler(new UpdateByHandler());
+        configuration.addInterceptor(new OptimisticLockerInterceptor());
+        configuration.addMapper(LogicEntityMapper.class);
+        return configuration;
+    }
+
+    @Test
+    public void testBoundSql() {
+        MappedStatement prepared = sqlSessionFactory.getConfiguration().getMappedStatement(UPDATE_BY_ID);
+        Assert.assertTrue(prepared.getSqlSource() instanceof UpdateByIdSqlSource);
+        LogicEntity entity = new LogicEntity();
+        entity.setId(1L);
+        entity.setAge(20);
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.ENTITY, entity);
+        BoundSql expected = dynamic.getBoundSql(param);
+        BoundSql actual = prepared.getBoundSql(param);
+        Assert.assertEquals(expected.getSql().replaceAll("\\s+", ""), actual.getSql().replaceAll("\\s+", ""));
+        // 逻辑删除字段不参与 SET，填充字段始终参与
+        Assert.assertEquals(Arrays.asList("et.age", "et.updateBy", "et.id"), properties(actual));
+        Assert.assertTrue(actual.getSql().replaceAll("\\s+", " ").endsWith("AND deleted=0"));
+    }
+
+    @Test
+    public void testUpdateById() throws SQLException {
+        H2Fixture.execute(dataSource, "INSERT INTO t_logic VALUES (1, 'a', 10, 1, 0, NULL)",
+            "INSERT INTO t_logic VALUES (2, 'b', 10, 1, 1, NULL)");
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            LogicEntityMapper mapper = session.getMapper(LogicEntityMapper.class);
+            LogicEntity entity = new LogicEntity();
+            entity.setId(1L);
+            entity.setAge(20);
+            entity.setVersion(1);
+            Assert.assertEquals(1, mapper.updateById(entity));
+            // 版本号已变化，乐观锁更新失败
+            entity.setAge(30);
+            entity.setVersion(1);
+            Assert.assertEquals(0, mapper.updateById(entity));
+            // 已逻辑删除的数据不更新
+            LogicEntity deleted = new LogicEntity();
+            deleted.setId(2L);
+            deleted.setName("c");
+            Assert.assertEquals(0, mapper.updateById(deleted));
+        }
+        Assert.assertEquals("a|20|2|0|handler", row(1));
+        Assert.assertEquals("b|10|1|1|null", row(2));
+    }
+
+    private static String row(long id) throws SQLException {
+        return String.valueOf(H2Fixture.queryForObject(dataSource,
+            "SELECT CONCAT_WS('|', name, age, version, deleted, IFNULL(update_by, 'null')) FROM t_logic WHERE id = " + id));
+    }
+
+    private static List<String> properties(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(Collectors.toList());
+    }
+
+    public static class UpdateByHandler implements MetaObjectHandler {
+
+        @Override
+        public void insertFill(MetaObject metaObject) {
+        }
+
+        @Override
+        public void updateFill(MetaObject metaObject) {
+            setFieldValByName("updateBy", "handler", metaObject);
+        }
+    }
+
+    public interface LogicEntityMapper extends BaseMapper<LogicEntity> {
+    }
+
+    @TableName("t_logic")
+    public static class LogicEntity {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+        private String name;
+        private Integer age;
+        @Version
+        private Integer version;
+        @TableLogic
+        private Integer deleted;
+        @TableField(fill = FieldFill.UPDATE)
+        private String updateBy;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public Integer getVersion() {
+            return version;
+        }
+
+        public void setVersion(Integer version) {
+            this.version = version;
+        }
+
+        public Integer getDeleted() {
+            return deleted;
+        }
+
+        public void setDeleted(Integer deleted) {
+            this.deleted = deleted;
+        }
+
+        public String getUpdateBy() {
+            return updateBy;
+        }
+
+        public void setUpdateBy(String updateBy) {
+            this.updateBy = updateBy;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.TableInfoHelper;
+import com.sooner.framework.jdbc.extension.plugins.IllegalSQLInterceptor.IndexInfo;
+
+/**
+ * <p>
+ * 非法 SQL 拦截器索引信息测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class IllegalSQLInterceptorTest {
+
+    @Test
+    public void testLeftmostPrefix() {
+        IndexInfo indexInfo = new IndexInfo();
+        // 按元数据返回顺序乱序加入
+        indexInfo.addColumn(2, "b");
+        indexInfo.addColumn(1, "a");
+        indexInfo.addColumn(3, "c");
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), indexInfo.getColumnNames());
+        Assert.assertEquals("a", indexInfo.getColumnName());
+
+        Assert.assertTrue(indexInfo.matches("a", Collections.emptySet()));
+        Assert.assertTrue(indexInfo.matches("b", new HashSet<>(Arrays.asList("a", "b"))));
+        Assert.assertTrue(indexInfo.matches("c", new HashSet<>(Arrays.asList("a", "b", "c"))));
+        Assert.assertFalse(indexInfo.matches("b", new HashSet<>(Arrays.asList("b", "c"))));
+        Assert.assertFalse(indexInfo.matches("c", new HashSet<>(Arrays.asList("a", "c"))));
+        Assert.assertFalse(indexInfo.matches("d", new HashSet<>(Arrays.asList("a", "b", "c", "d"))));
+    }
+
+    @Test
+    public void testGetIndexInfos() throws SQLException {
+        DataSource dataSource = H2Fixture.dataSource("illegal_sql",
+            "CREATE TABLE t_user (id BIGINT PRIMARY KEY, tenant_id BIGINT, name VARCHAR(30), age INT)",
+            "CREATE INDEX idx_tenant_name ON t_user (tenant_id, name)");
+        try (Connection connection = dataSource.getConnection()) {
+            List<IndexInfo> indexInfos = IllegalSQLInterceptor.getIndexInfos(null, "T_USER", connection);
+            IndexInfo composite = indexInfos.stream().filter(i -> "IDX_TENANT_NAME".equals(i.getIndexName()))
+                .findFirst().orElse(null);
+            Assert.assertNotNull(composite);
+            Assert.assertEquals(Arrays.asList("tenant_id", "name"), composite.getColumnNames());
+            Assert.assertTrue(indexInfos.stream().anyMatch(i -> i.matches("id", Collections.emptySet())));
+            Assert.assertFalse(indexInfos.stream().anyMatch(i -> i.matches("age", Collections.emptySet())));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testFailedLoadNotCached() throws SQLException {
+        IllegalSQLInterceptor interceptor = new IllegalSQLInterceptor();
+        Connection broken = Mockito.mock(Connection.class);
+        Mockito.when(broken.getMetaData()).thenThrow(new SQLException("closed"));
+        Assert.assertTrue(IllegalSQLInterceptor.getIndexInfos("t_user", null, "T_USER", broken).isEmpty());
+        Assert.assertFalse(interceptor.getIndexInfoCache().containsKey("t_user"));
+
+        DataSource dataSource = H2Fixture.dataSource("illegal_sql_retry", "CREATE TABLE t_user (id BIGINT PRIMARY KEY)");
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals(1, IllegalSQLInterceptor.getIndexInfos("t_user", null, "T_USER", connection).size());
+            Assert.assertEquals(1, IllegalSQLInterceptor.getIndexInfoMap().get("t_user").size());
+        }
+    }
+
+    @Test
+    public void testPreload() throws SQLException {
+        DataSource dataSource = H2Fixture.dataSource("illegal_sql_preload",
+            "CREATE TABLE t_preload (id BIGINT PRIMARY KEY, code VARCHAR(30))",
+            "CREATE INDEX idx_code ON t_preload (code)");
+        TableInfoHelper.initTableInfo(null, PreloadEntity.class);
+        IllegalSQLInterceptor interceptor = new IllegalSQLInterceptor(dataSource);
+        // 使用数据源自己的连接加载，不依赖拦截时的连接
+        interceptor.preload();
+        List<IndexInfo> indexInfos = interceptor.getIndexInfoCache().get("t_preload");
+        Assert.assertNotNull(indexInfos);
+        Assert.assertTrue(indexInfos.stream().anyMatch(i -> i.matches("code", Collections.emptySet())));
+
+        H2Fixture.execute(dataSource, "CREATE INDEX idx_id_code ON t_preload (id, code)");
+        interceptor.refresh();
+        Assert.assertTrue(interceptor.getIndexInfoCache().get("t_preload").stream()
+            .anyMatch(i -> "IDX_ID_CODE".equals(i.getIndexName())));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testSetIndexInfoMap() {
+        IndexInfo indexInfo = new IndexInfo();
+        indexInfo.addColumn(1, "code");
+        IllegalSQLInterceptor.setIndexInfoMap(Collections.singletonMap("T_PRESET",
+            Collections.singletonList(indexInfo)));
+        // 静态方法与所有实例共用同一份索引信息
+        IllegalSQLInterceptor interceptor = new IllegalSQLInterceptor();
+        Assert.assertEquals(Collections.singletonList(indexInfo), interceptor.getIndexInfoCache().get("t_preset"));
+        Assert.assertSame(indexInfo, IllegalSQLInterceptor.getIndexInfoMap().get("t_preset").get(0));
+        interceptor.refresh();
+        Assert.assertTrue(IllegalSQLInterceptor.getIndexInfoMap().isEmpty());
+    }
+
+    @TableName("t_preload")
+    public static class PreloadEntity {
+
+        private Long id;
+        private String code;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+}
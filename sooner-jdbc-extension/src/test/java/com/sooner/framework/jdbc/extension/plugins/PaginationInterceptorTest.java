@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.DbType;
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
+import com.sooner.framework.jdbc.core.exceptions.MybatisPlusException;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.metadata.IPage;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.extension.plugins.pagination.KeysetPage;
+import com.sooner.framework.jdbc.extension.plugins.pagination.Page;
+
+/**
+ * <p>
+ * 分页拦截器测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class PaginationInterceptorTest {
+
+    private static final int ROWS = 20;
+    private static final List<DbType> ROW_VALUE_TYPES = Arrays.asList(DbType.MYSQL, DbType.MARIADB,
+        DbType.POSTGRE_SQL, DbType.H2, DbType.HSQL, DbType.SQLITE);
+    private static final String ORIGINAL_SQL = "SELECT id, age FROM t_page WHERE age > ? ORDER BY id DESC";
+    private static final String COUNT_THREAD = "count-test";
+    private static CountDataSource dataSource;
+    private static MybatisConfiguration configuration;
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = new CountDataSource();
+        H2Fixture.execute(dataSource, "CREATE TABLE t_page (id BIGINT PRIMARY KEY, age INT)");
+        String[] inserts = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            inserts[i] = "INSERT INTO t_page VALUES (" + (i + 1) + ", " + (i * 7 % 5) + ")";
+        }
+        H2Fixture.execute(dataSource, inserts);
+        H2Fixture.execute(dataSource, "CREATE TABLE t_count (id BIGINT PRIMARY KEY, age INT)");
+        configuration = H2Fixture.configuration(dataSource);
+        configuration.addInterceptor(new PaginationInterceptor());
+        configuration.addMapper(PageMapper.class);
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    @Test
+    public void testKeysetFirstPage() throws Exception {
+        for (DbType dbType : DbType.values()) {
+            BoundSql boundSql = boundSql();
+            String sql = new PaginationInterceptor().buildKeysetSql(new KeysetPage<>(10, "age", "id"),
+                ORIGINAL_SQL, dbType, mappedStatement(), boundSql);
+            // 第一页不追加条件与参数，原 ORDER BY 被排序键替换
+            Assert.assertEquals(dbType.name(), "SELECT * FROM (SELECT id, age FROM t_page WHERE age > ?) KEYSET_TMP"
+                + " ORDER BY age ASC,id ASC", sql);
+            Assert.assertEquals(Collections.singletonList("ew.age"), properties(boundSql));
+        }
+    }
+
+    @Test
+    public void testKeysetSql() throws Exception {
+        for (DbType dbType : DbType.values()) {
+            BoundSql boundSql = boundSql();
+            KeysetPage<Object> page = new KeysetPage<>(10, "age", "name", "id").after(3, "b", 7L);
+            page.setAscending(false);
+            String sql = new PaginationInterceptor().buildKeysetSql(page, ORIGINAL_SQL, dbType, mappedStatement(),
+                boundSql);
+            String prefix = "SELECT * FROM (SELECT id, age FROM t_page WHERE age > ?) KEYSET_TMP WHERE ";
+            String orderBy = " ORDER BY age DESC,name DESC,id DESC";
+            if (ROW_VALUE_TYPES.contains(dbType)) {
+                Assert.assertEquals(dbType.name(), prefix + "(age, name, id) < (?, ?, ?)" + orderBy, sql);
+                Assert.assertEquals(Arrays.asList("ew.age", 3, "b", 7L), parameters(boundSql));
+            } else {
+                Assert.assertEquals(dbType.name(), prefix + "(age < ?) OR (age = ? AND name < ?)"
+                    + " OR (age = ? AND name = ? AND id < ?)" + orderBy, sql);
+                // 展开形式按占位顺序重复绑定前缀键
+                Assert.assertEquals(Arrays.asList("ew.age", 3, 3, "b", 3, "b", 7L), parameters(boundSql));
+            }
+        }
+    }
+
+    @Test(expected = MybatisPlusException.class)
+    public void testKeysetNullValue() throws Exception {
+        new PaginationInterceptor().buildKeysetSql(new KeysetPage<>(10, "age", "id").after(1, null),
+            ORIGINAL_SQL, DbType.H2, mappedStatement(), boundSql());
+    }
+
+    @Test
+    public void testKeysetPageWalk() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            PageMapper mapper = sqlSession.getMapper(PageMapper.class);
+            for (boolean ascending : new boolean[]{true, false}) {
+                // 条件参数在前，排序键参数与分页参数依次追加
+                QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().gt("age", 0);
+                Comparator<PageEntity> comparator = Comparator.comparing(PageEntity::getAge)
+                    .thenComparing(PageEntity::getId);
+                List<PageEntity> expected = mapper.selectList(wrapper).stream()
+                    .sorted(ascending ? comparator : comparator.reversed()).collect(Collectors.toList());
+                List<Long> walked = new ArrayList<>();
+                KeysetPage<PageEntity> page = new KeysetPage<>(3, "age", "id");
+                page.setAscending(ascending);
+                // 同一 SqlSession 内翻页，不能命中上一页的一级缓存
+                for (int n = 0; n <= ROWS; n++) {
+                    List<PageEntity> records = mapper.selectPage(page, wrapper).getRecords();
+                    if (records.isEmpty()) {
+                        break;
+                    }
+                    Assert.assertTrue(records.size() <= 3);
+                    records.forEach(i -> walked.add(i.getId()));
+                    PageEntity last = records.get(records.size() - 1);
+                    page = new KeysetPage<PageEntity>(3, "age", "id").after(last.getAge(), last.getId());
+                    page.setAscending(ascending);
+                }
+                Assert.assertEquals(expected.stream().map(PageEntity::getId).collect(Collectors.toList()), walked);
+                Assert.assertEquals(0, page.getTotal());
+            }
+        }
+    }
+
+    @Test
+    public void testCountCache() throws SQLException {
+        PaginationInterceptor interceptor = new PaginationInterceptor();
+        interceptor.setCountCacheSize(16);
+        interceptor.setCountCacheTtl(0);
+        SqlSessionFactory factory = sqlSessionFactory(interceptor);
+        insert(101, 1, 3);
+        Assert.assertEquals(3, total(factory, 101));
+        insert(101, 4, 4);
+        // 命中缓存，总数未变化
+        Assert.assertEquals(3, total(factory, 101));
+        interceptor.clearCountCache();
+        Assert.assertEquals(4, total(factory, 101));
+    }
+
+    @Test
+    public void testCountCacheTtl() throws Exception {
+        PaginationInterceptor interceptor = new PaginationInterceptor();
+        interceptor.setCountCacheSize(16);
+        interceptor.setCountCacheTtl(50);
+        SqlSessionFactory factory = sqlSessionFactory(interceptor);
+        insert(102, 1, 3);
+        Assert.assertEquals(3, total(factory, 102));
+        insert(102, 4, 4);
+        Assert.assertEquals(3, total(factory, 102));
+        Thread.sleep(150);
+        Assert.assertEquals(4, total(factory, 102));
+    }
+
+    @Test
+    public void testJoinInFlightCount() throws Exception {
+        insert(103, 1, 3);
+        PaginationInterceptor interceptor = new PaginationInterceptor();
+        interceptor.setAsyncCount(true);
+        CountDownLatch started = new CountDownLatch(1);
+        dataSource.onCountStatement = () -> {
+            started.countDown();
+            // 异步 COUNT 已认领并执行中，分页查询结束后等待其结果
+            sleep(200);
+        };
+        interceptor.setCountExecutor(r -> {
+            new Thread(r, COUNT_THREAD).start();
+            await(started);
+        });
+        try (SqlSession sqlSession = sqlSessionFactory(interceptor).openSession()) {
+            CountMapper mapper = sqlSession.getMapper(CountMapper.class);
+            mapper.insert(new CountEntity(103 * 100 + 4, 103));
+            IPage<CountEntity> page = mapper.selectPage(new Page<>(1, 10), wrapper(103));
+            // 当前事务可见未提交数据，异步 COUNT 使用另一连接
+            Assert.assertEquals(4, page.getRecords().size());
+            Assert.assertEquals(3, page.getTotal());
+            sqlSession.rollback();
+        } finally {
+            dataSource.onCountStatement = null;
+        }
+        Assert.assertEquals(0, started.getCount());
+    }
+
+    @Test
+    public void testRejectedCount() throws SQLException {
+        insert(104, 1, 3);
+        PaginationInterceptor interceptor = new PaginationInterceptor();
+        interceptor.setAsyncCount(true);
+        interceptor.setCountExecutor(r -> {
+            throw new RejectedExecutionException("full");
+        });
+        try (SqlSession sqlSession = sqlSessionFactory(interceptor).openSession()) {
+            CountMapper mapper = sqlSession.getMapper(CountMapper.class);
+            mapper.insert(new CountEntity(104 * 100 + 4, 104));
+            // 执行器拒绝时使用当前连接同步查询
+            IPage<CountEntity> page = mapper.selectPage(new Page<>(1, 10), wrapper(104));
+            Assert.assertEquals(4, page.getTotal());
+            sqlSession.rollback();
+        }
+    }
+
+    @Test
+    public void testCursorCount() throws Exception {
+        insert(105, 1, 3);
+        PaginationInterceptor interceptor = new PaginationInterceptor();
+        interceptor.setAsyncCount(true);
+        List<Runnable> deferred = new ArrayList<>();
+        interceptor.setCountExecutor(deferred::add);
+        try (SqlSession sqlSession = sqlSessionFactory(interceptor).openSession()) {
+            Page<CountEntity> page = new Page<>(1, 2);
+            try (Cursor<CountEntity> cursor = sqlSession.getMapper(CountMapper.class).selectPageCursor(page, 105)) {
+                // 游标打开前已使用当前连接合并 COUNT
+                Assert.assertEquals(3, page.getTotal());
+                List<Long> ids = new ArrayList<>();
+                cursor.forEach(i -> ids.add(i.getId()));
+                Assert.assertEquals(Arrays.asList(10501L, 10502L), ids);
+            }
+        }
+        Assert.assertEquals(1, deferred.size());
+        deferred.get(0).run();
+    }
+
+    private static SqlSessionFactory sqlSessionFactory(PaginationInterceptor interceptor) {
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(CountMapper.class);
+        return H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    /**
+     * 插入 age 相同的多条记录，主键为 age * 100 + 序号
+     */
+    private static void insert(int age, int from, int to) throws SQLException {
+        for (int i = from; i <= to; i++) {
+            H2Fixture.execute(dataSource, "INSERT INTO t_count VALUES (" + (age * 100 + i) + ", " + age + ")");
+        }
+    }
+
+    private static long total(SqlSessionFactory factory, int age) {
+        try (SqlSession sqlSession = factory.openSession(true)) {
+            return sqlSession.getMapper(CountMapper.class).selectPage(new Page<>(1, 2), wrapper(age)).getTotal();
+        }
+    }
+
+    private static QueryWrapper<CountEntity> wrapper(int age) {
+        return new QueryWrapper<CountEntity>().eq("age", age);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MappedStatement mappedStatement() {
+        return new MappedStatement.Builder(configuration, "keyset",
+            new StaticSqlSource(configuration, ORIGINAL_SQL), SqlCommandType.SELECT).build();
+    }
+
+    private static BoundSql boundSql() {
+        List<ParameterMapping> parameterMappings = new ArrayList<>();
+        parameterMappings.add(new ParameterMapping.Builder(configuration, "ew.age", Object.class).build());
+        return new BoundSql(configuration, ORIGINAL_SQL, parameterMappings, null);
+    }
+
+    private static List<String> properties(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(Collectors.toList());
+    }
+
+    /**
+     * 原参数取属性名，追加参数取绑定值
+     */
+    private static List<Object> parameters(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty)
+            .map(i -> boundSql.hasAdditionalParameter(i) ? boundSql.getAdditionalParameter(i) : i)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 异步 COUNT 线程执行语句时回调的数据源
+     */
+    private static class CountDataSource extends UnpooledDataSource {
+
+        private volatile Runnable onCountStatement;
+
+        CountDataSource() {
+            super("org.h2.Driver", H2Fixture.url("pagination"), "sa", "");
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            Runnable callback = onCountStatement;
+            if (null == callback || !COUNT_THREAD.equals(Thread.currentThread().getName())) {
+                return connection;
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class[]{Connection.class}, (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        callback.run();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+    }
+
+    public interface PageMapper extends BaseMapper<PageEntity> {
+    }
+
+    public interface CountMapper extends BaseMapper<CountEntity> {
+
+        @Select("SELECT id, age FROM t_count WHERE age = #{age} ORDER BY id")
+        Cursor<CountEntity> selectPageCursor(@Param("page") IPage<CountEntity> page, @Param("age") int age);
+    }
+
+    @TableName("t_count")
+    public static class CountEntity {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+        private Integer age;
+
+        public CountEntity() {
+        }
+
+        CountEntity(long id, int age) {
+            this.id = id;
+            this.age = age;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+
+    @TableName("t_page")
+    public static class PageEntity {
+
+        @TableId
+        private Long id;
+        private Integer age;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+
+/**
+ * <p>
+ * SQL 执行计划分析拦截器测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlExplainInterceptorTest {
+
+    private static final String SELECT_BY_ID = ExplainMapper.class.getName() + ".selectById";
+
+    private BlockingDataSource dataSource;
+    private SqlExplainInterceptor interceptor;
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Before
+    public void setUp() throws SQLException {
+        dataSource = new BlockingDataSource();
+        H2Fixture.execute(dataSource, "DROP TABLE IF EXISTS t_explain",
+            "CREATE TABLE t_explain (id BIGINT PRIMARY KEY, age INT)", "INSERT INTO t_explain VALUES (1, 20), (2, 30)");
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        interceptor = new SqlExplainInterceptor();
+        interceptor.setExplainSampleRate(1);
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(ExplainMapper.class);
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    @After
+    public void tearDown() {
+        dataSource.release();
+        interceptor.close();
+    }
+
+    @Test
+    public void testExplainPlan() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            ExplainMapper mapper = session.getMapper(ExplainMapper.class);
+            mapper.selectList(null);
+            awaitExplained(1);
+            Assert.assertEquals(1, interceptor.getFullScanCount());
+            Assert.assertEquals(0, interceptor.getFilesortCount());
+
+            // 主键查询不是全表扫描，参数在请求线程取出后绑定
+            Assert.assertEquals(Integer.valueOf(20), mapper.selectById(1L).getAge());
+            awaitExplained(2);
+            Assert.assertEquals(1, interceptor.getFullScanCount());
+
+            // 按主键排序 /* index sorted */ 不算文件排序
+            mapper.selectList(new QueryWrapper<ExplainEntity>().orderByAsc("id"));
+            awaitExplained(3);
+            Assert.assertEquals(0, interceptor.getFilesortCount());
+
+            mapper.selectList(new QueryWrapper<ExplainEntity>().orderByAsc("age"));
+            awaitExplained(4);
+            Assert.assertEquals(1, interceptor.getFilesortCount());
+        }
+        Assert.assertEquals(0, interceptor.getErrorCount());
+        Assert.assertEquals(0, interceptor.getDroppedCount());
+    }
+
+    @Test
+    public void testExplainInterval() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            ExplainMapper mapper = session.getMapper(ExplainMapper.class);
+            mapper.selectList(null);
+            awaitExplained(1);
+            // 间隔内不重复分析，单线程按提交顺序执行，主键查询分析完成时前一条已处理
+            mapper.selectList(null);
+            mapper.selectById(1L);
+            awaitSelectById();
+            Assert.assertEquals(2, interceptor.getExplainCount());
+            Assert.assertEquals(1, interceptor.getFullScanCount());
+
+            interceptor.setExplainInterval(0);
+            mapper.selectList(null);
+            mapper.selectById(1L);
+            awaitExplained(4);
+            Assert.assertEquals(2, interceptor.getFullScanCount());
+        }
+    }
+
+    @Test
+    public void testPendingExplain() {
+        interceptor.setExplainInterval(0);
+        dataSource.block();
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            ExplainMapper mapper = session.getMapper(ExplainMapper.class);
+            // 分析线程阻塞期间同一语句只提交一次
+            for (int i = 0; i < 3; i++) {
+                mapper.selectList(null);
+            }
+            mapper.selectById(1L);
+            Assert.assertEquals(0, interceptor.getExplainCount());
+            dataSource.release();
+            awaitSelectById();
+        }
+        Assert.assertEquals(2, interceptor.getExplainCount());
+        Assert.assertEquals(1, interceptor.getFullScanCount());
+        Assert.assertEquals(0, interceptor.getDroppedCount());
+    }
+
+    @Test
+    public void testDefaultSampleRate() {
+        // 默认不采样，需显式开启
+        Assert.assertEquals(0, new SqlExplainInterceptor().getExplainSampleRate(), 0);
+    }
+
+    @Test
+    public void testExplainError() {
+        dataSource.fail();
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            ExplainMapper mapper = session.getMapper(ExplainMapper.class);
+            mapper.selectList(null);
+            mapper.selectById(1L);
+            // 失败不影响请求线程，警告限流但每次失败都计数
+            await(interceptor::getErrorCount, 2);
+        }
+        Assert.assertEquals(2, interceptor.getErrorCount());
+        Assert.assertEquals(0, interceptor.getExplainCount());
+    }
+
+    private void awaitExplained(long count) {
+        await(interceptor::getExplainCount, count);
+        Assert.assertEquals(count, interceptor.getExplainCount());
+    }
+
+    private void awaitSelectById() {
+        String sql = sqlSessionFactory.getConfiguration().getMappedStatement(SELECT_BY_ID).getBoundSql(1L).getSql();
+        await(() -> null == interceptor.getExplainResult(SELECT_BY_ID, sql) ? 0 : 1, 1);
+        Assert.assertNotNull(interceptor.getExplainResult(SELECT_BY_ID, sql));
+    }
+
+    private static void await(LongSupplier supplier, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (supplier.getAsLong() < expected && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 可阻塞分析线程取连接或使其失败的数据源
+     */
+    private static class BlockingDataSource extends UnpooledDataSource {
+
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+        private volatile boolean fail;
+
+        BlockingDataSource() {
+            super("org.h2.Driver", H2Fixture.url("sql_explain"), "sa", "");
+        }
+
+        void fail() {
+            fail = true;
+        }
+
+        void block() {
+            latch = new CountDownLatch(1);
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (Thread.currentThread().getName().startsWith("mp-explain-")) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException(e);
+                }
+                if (fail) {
+                    throw new SQLException("Connection refused");
+                }
+            }
+            return super.getConnection();
+        }
+    }
+
+    public interface ExplainMapper extends BaseMapper<ExplainEntity> {
+    }
+
+    @TableName("t_explain")
+    public static class ExplainEntity {
+
+        @TableId
+        private Long id;
+        private Integer age;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
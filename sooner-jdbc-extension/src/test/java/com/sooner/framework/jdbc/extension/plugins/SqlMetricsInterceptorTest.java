@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.conditions.query.QueryWrapper;
+import com.sooner.framework.jdbc.core.exceptions.MybatisPlusException;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.extension.plugins.metrics.JmxSqlMetricsExporter;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SlowQueryJournal;
+import com.sooner.framework.jdbc.extension.plugins.metrics.SqlMetricsSnapshot;
+
+/**
+ * <p>
+ * SQL 执行指标拦截器测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlMetricsInterceptorTest {
+
+    private static final String INSERT = MetricsMapper.class.getName() + ".insert";
+    private static final String SELECT_LIST = MetricsMapper.class.getName() + ".selectList";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SqlMetricsInterceptor interceptor;
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Before
+    public void setUp() throws SQLException {
+        DataSource dataSource = H2Fixture.dataSource("sql_metrics", "DROP TABLE IF EXISTS t_metrics",
+            "CREATE TABLE t_metrics (id BIGINT PRIMARY KEY, age INT)");
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        interceptor = new SqlMetricsInterceptor();
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(MetricsMapper.class);
+        sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    @After
+    public void tearDown() {
+        interceptor.close();
+    }
+
+    @Test
+    public void testSimpleExecutor() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            MetricsMapper mapper = session.getMapper(MetricsMapper.class);
+            for (long i = 1; i <= 3; i++) {
+                mapper.insert(new MetricsEntity(i, 20));
+            }
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(3, mapper.selectList(null).size());
+            }
+            try {
+                mapper.insert(new MetricsEntity(1L, 20));
+                Assert.fail("duplicate key");
+            } catch (Exception e) {
+                // 主键冲突计入失败次数
+            }
+        }
+        SqlMetricsSnapshot insert = interceptor.getSqlMetrics().getSnapshot(INSERT);
+        Assert.assertEquals(4, insert.getCount());
+        Assert.assertEquals(1, insert.getErrorCount());
+        Assert.assertEquals(3, insert.getRows());
+        Assert.assertEquals(0, insert.getBatchCount());
+        SqlMetricsSnapshot select = interceptor.getSqlMetrics().getSnapshot(SELECT_LIST);
+        Assert.assertEquals(5, select.getCount());
+        Assert.assertEquals(15, select.getRows());
+        Assert.assertTrue(select.getP99Millis() <= select.getMaxMillis());
+        // 默认阈值 1 秒，内存库不应出现慢 SQL
+        Assert.assertEquals(0, select.getSlowCount());
+    }
+
+    @Test
+    public void testBatchExecutor() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            MetricsMapper mapper = session.getMapper(MetricsMapper.class);
+            for (long i = 1; i <= 20; i++) {
+                mapper.insert(new MetricsEntity(i, 20));
+            }
+            // commit 内部刷新
+            session.commit();
+            for (long i = 21; i <= 23; i++) {
+                mapper.insert(new MetricsEntity(i, 20));
+            }
+            session.flushStatements();
+            session.commit();
+        }
+        SqlMetricsSnapshot insert = interceptor.getSqlMetrics().getSnapshot(INSERT);
+        Assert.assertEquals(2, insert.getCount());
+        Assert.assertEquals(2, insert.getBatchCount());
+        Assert.assertEquals(23, insert.getBatchStatementCount());
+        Assert.assertEquals(20, insert.getMaxBatchSize());
+        Assert.assertEquals(23, insert.getRows());
+    }
+
+    @Test
+    public void testSlowSql() {
+        interceptor.setSlowMillis(0);
+        interceptor.setSlowSampleRate(1);
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            session.getMapper(MetricsMapper.class).selectList(null);
+        }
+        SqlMetricsSnapshot select = interceptor.getSqlMetrics().getSnapshot(SELECT_LIST);
+        Assert.assertEquals(1, select.getSlowCount());
+        Assert.assertEquals(1, select.getSlowSqls().size());
+        Assert.assertTrue(select.getSlowSqls().get(0).contains("FROM t_metrics"));
+    }
+
+    @Test
+    public void testSlowQueryJournal() throws Exception {
+        File file = new File(folder.getRoot(), "slow.log");
+        interceptor.setSlowMillis(0);
+        interceptor.setSlowSampleRate(0);
+        interceptor.setSlowQueryJournal(new SlowQueryJournal(file));
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            MetricsMapper mapper = session.getMapper(MetricsMapper.class);
+            mapper.insert(new MetricsEntity(1L, 20));
+            // 执行前取出的 BoundSql 交由执行器复用
+            Assert.assertEquals(1, mapper.selectList(new QueryWrapper<MetricsEntity>().eq("age", 20)).size());
+        }
+        interceptor.close();
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(2, lines.size());
+        Assert.assertTrue(lines.get(0).contains(" | " + INSERT + " | INSERT INTO t_metrics"));
+        Assert.assertTrue(lines.get(0).endsWith(" | Parameters: [1, 20]"));
+        Assert.assertTrue(lines.get(1).contains(" | " + SELECT_LIST + " | SELECT"));
+        Assert.assertTrue(lines.get(1).endsWith(" | Parameters: [20]"));
+        // 未采样不记录 SQL 文本
+        Assert.assertTrue(interceptor.getSqlMetrics().getSnapshot(SELECT_LIST).getSlowSqls().isEmpty());
+        Assert.assertEquals(1, interceptor.getSqlMetrics().getSnapshot(SELECT_LIST).getSlowCount());
+    }
+
+    @Test
+    public void testJmxExporter() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxSqlMetricsExporter first = new JmxSqlMetricsExporter(mBeanServer, JmxSqlMetricsExporter.DEFAULT_OBJECT_NAME, "first");
+        JmxSqlMetricsExporter second = new JmxSqlMetricsExporter(mBeanServer, JmxSqlMetricsExporter.DEFAULT_OBJECT_NAME, "second");
+        interceptor.addExporter(first).addExporter(second);
+        Assert.assertEquals("com.sooner.framework.jdbc:type=SqlMetrics,datasource=\"first\"",
+            first.getObjectName().toString());
+        Assert.assertTrue(mBeanServer.isRegistered(first.getObjectName()));
+        Assert.assertTrue(mBeanServer.isRegistered(second.getObjectName()));
+        try {
+            // 同名数据源不注销已注册的 MBean
+            new SqlMetricsInterceptor().addExporter(new JmxSqlMetricsExporter(mBeanServer,
+                JmxSqlMetricsExporter.DEFAULT_OBJECT_NAME, "first"));
+            Assert.fail("already registered");
+        } catch (MybatisPlusException e) {
+            Assert.assertTrue(e.getMessage().contains("already registered"));
+        }
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            session.getMapper(MetricsMapper.class).selectList(null);
+        }
+        Assert.assertEquals(1, ((Object[]) mBeanServer.getAttribute(first.getObjectName(), "Statements")).length);
+        interceptor.close();
+        Assert.assertFalse(mBeanServer.isRegistered(first.getObjectName()));
+        Assert.assertFalse(mBeanServer.isRegistered(second.getObjectName()));
+    }
+
+    public interface MetricsMapper extends BaseMapper<MetricsEntity> {
+    }
+
+    @TableName("t_metrics")
+    public static class MetricsEntity {
+
+        @TableId
+        private Long id;
+        private Integer age;
+
+        public MetricsEntity() {
+        }
+
+        MetricsEntity(Long id, Integer age) {
+            this.id = id;
+            this.age = age;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
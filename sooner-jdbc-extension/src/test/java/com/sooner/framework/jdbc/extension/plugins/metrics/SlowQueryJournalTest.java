@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <p>
+ * 慢 SQL 日志测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SlowQueryJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDroppedLine() throws IOException {
+        File file = new File(folder.getRoot(), "slow.log");
+        SlowQueryJournal journal = new SlowQueryJournal(file, 2);
+        Assert.assertTrue(journal.offer("test.select", "SELECT *\n  FROM t WHERE id = ?", new Object[]{1L}, ms(1500)));
+        Assert.assertTrue(journal.offer("test.update", "UPDATE t SET a = 1", null, ms(2000)));
+        Assert.assertFalse(journal.offer("test.delete", "DELETE FROM t", null, ms(3000)));
+        Assert.assertEquals(1, journal.getDroppedCount());
+        Assert.assertEquals(2, journal.getPendingCount());
+        // 未启动后台线程，关闭时由当前线程写入
+        journal.close();
+        Assert.assertFalse(journal.offer("test.select", "SELECT 1", null, ms(1)));
+
+        List<String> lines = lines(file);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertTrue(lines.get(0).endsWith(" | 1 slow queries dropped, journal buffer full"));
+        Assert.assertTrue(lines.get(1).endsWith(" | 1500 ms | test.select | SELECT * FROM t WHERE id = ? | Parameters: [1]"));
+        Assert.assertTrue(lines.get(2).endsWith(" | 2000 ms | test.update | UPDATE t SET a = 1"));
+        Assert.assertEquals(2, journal.getWrittenCount());
+        Assert.assertEquals(0, journal.getPendingCount());
+    }
+
+    @Test
+    public void testWrapAround() throws Exception {
+        File file = new File(folder.getRoot(), "slow.log");
+        SlowQueryJournal journal = new SlowQueryJournal(file, 3);
+        journal.start();
+        // 容量向上取 2 的幂为 4，写入 50 条需要多次回绕
+        for (int i = 0; i < 50; i++) {
+            while (!journal.offer("test.select", "SELECT " + i, null, ms(i))) {
+                Thread.yield();
+            }
+        }
+        journal.close();
+        List<String> lines = lines(file);
+        List<String> records = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.contains("dropped")) {
+                records.add(line);
+            }
+        }
+        Assert.assertEquals(50, records.size());
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(records.get(i).endsWith(" | SELECT " + i));
+        }
+        Assert.assertEquals(50, journal.getWrittenCount());
+        // 回绕期间缓冲区满被丢弃的次数写在丢弃行中
+        Assert.assertEquals(journal.getDroppedCount() > 0, lines.size() > 50);
+    }
+
+    @Test
+    public void testRollover() throws IOException {
+        File file = new File(folder.getRoot(), "slow.log");
+        SlowQueryJournal journal = new SlowQueryJournal(file, 64);
+        journal.setMaxFileSize(200);
+        journal.setMaxHistory(2);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(journal.offer("test.select", "SELECT * FROM t WHERE name = 'a fairly long literal " + i + "'",
+                null, ms(1000)));
+        }
+        journal.close();
+        File first = new File(file.getPath() + ".1");
+        File second = new File(file.getPath() + ".2");
+        Assert.assertTrue(first.exists());
+        Assert.assertTrue(second.exists());
+        Assert.assertFalse(new File(file.getPath() + ".3").exists());
+        // 最新记录在当前文件，较早的在 .1
+        List<String> current = file.exists() ? lines(file) : new ArrayList<>();
+        List<String> history = lines(first);
+        String last = current.isEmpty() ? history.get(history.size() - 1) : current.get(current.size() - 1);
+        Assert.assertTrue(last.endsWith("literal 19'"));
+        Assert.assertTrue(literal(history.get(0)) > literal(lines(second).get(0)));
+        Assert.assertTrue(first.length() >= 200);
+    }
+
+    @Test
+    public void testDrainOnClose() throws Exception {
+        File file = new File(folder.getRoot(), "slow.log");
+        SlowQueryJournal journal = new SlowQueryJournal(file, 1024);
+        journal.start();
+        int threads = 4;
+        AtomicLong accepted = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread writer = new Thread(() -> {
+                started.countDown();
+                while (!stop.get()) {
+                    if (journal.offer("test.select", "SELECT 1", null, ms(1))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        started.await();
+        Thread.sleep(50);
+        // 写入线程仍在运行时关闭，已接受的记录都必须写入文件
+        journal.close();
+        stop.set(true);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        Assert.assertEquals(accepted.get(), journal.getWrittenCount());
+        Assert.assertEquals(0, journal.getPendingCount());
+        long records = lines(file).stream().filter(line -> line.endsWith(" | SELECT 1")).count();
+        Assert.assertEquals(accepted.get(), records);
+    }
+
+    private static int literal(String line) {
+        return Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1, line.length() - 1));
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static List<String> lines(File file) throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>
+ * 单条语句执行指标测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class StatementMetricsTest {
+
+    @Test
+    public void testBucketIndex() {
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(i, StatementMetrics.bucketIndex(i));
+            Assert.assertEquals(i, StatementMetrics.bucketUpperBound(i));
+        }
+        Assert.assertEquals(0, StatementMetrics.bucketIndex(-1));
+        Assert.assertEquals(8, StatementMetrics.bucketIndex(8));
+        Assert.assertEquals(15, StatementMetrics.bucketIndex(15));
+        Assert.assertEquals(16, StatementMetrics.bucketIndex(16));
+        Assert.assertEquals(16, StatementMetrics.bucketIndex(17));
+        Assert.assertEquals(17, StatementMetrics.bucketIndex(18));
+        int last = StatementMetrics.bucketIndex((1L << 40) - 1);
+        Assert.assertEquals(last, StatementMetrics.bucketIndex(1L << 40));
+        Assert.assertEquals(last, StatementMetrics.bucketIndex(Long.MAX_VALUE));
+
+        int previous = -1;
+        for (long micros = 0; micros < 1L << 20; micros += 1 + micros / 64) {
+            int index = StatementMetrics.bucketIndex(micros);
+            // 单调不减，值落在桶的上界之内，上界相对误差不超过 12.5%
+            Assert.assertTrue(index >= previous);
+            long upper = StatementMetrics.bucketUpperBound(index);
+            Assert.assertTrue(micros <= upper);
+            Assert.assertTrue(upper - micros <= micros / 8);
+            if (index > 0) {
+                Assert.assertTrue(micros > StatementMetrics.bucketUpperBound(index - 1));
+            }
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        StatementMetrics metrics = new StatementMetrics("test.select");
+        SqlMetricsSnapshot empty = metrics.snapshot();
+        Assert.assertEquals(0, empty.getCount());
+        Assert.assertEquals(0, empty.getP50Millis(), 0);
+        Assert.assertEquals(0, empty.getP99Millis(), 0);
+
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(TimeUnit.MILLISECONDS.toNanos(i), 1);
+        }
+        SqlMetricsSnapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(100, snapshot.getRows());
+        Assert.assertEquals(5050, snapshot.getTotalMillis(), 0.001);
+        Assert.assertEquals(100, snapshot.getMaxMillis(), 0.001);
+        Assert.assertEquals(50, snapshot.getP50Millis(), 50 / 8d);
+        Assert.assertTrue(snapshot.getP50Millis() >= 50);
+        Assert.assertEquals(99, snapshot.getP99Millis(), 99 / 8d);
+        // 分位数不超过最大值
+        Assert.assertTrue(snapshot.getP99Millis() <= snapshot.getMaxMillis());
+
+        metrics.reset();
+        Assert.assertEquals(0, metrics.snapshot().getCount());
+        Assert.assertEquals(0, metrics.snapshot().getP99Millis(), 0);
+    }
+
+    @Test
+    public void testBatchAndErrors() {
+        StatementMetrics metrics = new StatementMetrics("test.insert");
+        metrics.recordBatch(TimeUnit.MILLISECONDS.toNanos(2), 10, 10);
+        metrics.recordBatch(TimeUnit.MILLISECONDS.toNanos(1), 5, 5);
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(1), -1);
+        metrics.recordError(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.incrementSlowCount();
+        metrics.recordSlowSql(TimeUnit.MILLISECONDS.toNanos(3), "INSERT INTO t VALUES (?)");
+
+        SqlMetricsSnapshot snapshot = metrics.snapshot();
+        Assert.assertEquals("test.insert", snapshot.getId());
+        Assert.assertEquals(4, snapshot.getCount());
+        Assert.assertEquals(1, snapshot.getErrorCount());
+        Assert.assertEquals(15, snapshot.getRows());
+        Assert.assertEquals(2, snapshot.getBatchCount());
+        Assert.assertEquals(15, snapshot.getBatchStatementCount());
+        Assert.assertEquals(10, snapshot.getMaxBatchSize());
+        Assert.assertEquals(1, snapshot.getSlowCount());
+        Assert.assertEquals(1, snapshot.getSlowSqls().size());
+        Assert.assertEquals("3 ms: INSERT INTO t VALUES (?)", snapshot.getSlowSqls().get(0));
+    }
+
+    @Test
+    public void testSlowSqlsKeepLatest() {
+        StatementMetrics metrics = new StatementMetrics("test.slow");
+        for (int i = 0; i < 20; i++) {
+            metrics.recordSlowSql(0, "SQL " + i);
+        }
+        SqlMetricsSnapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(8, snapshot.getSlowSqls().size());
+        Assert.assertTrue(snapshot.getSlowSqls().contains("0 ms: SQL 19"));
+        Assert.assertFalse(snapshot.getSlowSqls().contains("0 ms: SQL 11"));
+    }
+}
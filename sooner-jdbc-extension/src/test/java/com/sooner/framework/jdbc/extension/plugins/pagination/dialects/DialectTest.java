@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.plugins.pagination.dialects;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>
+ * 分页方言 SQL 及占位参数测试
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class DialectTest {
+
+    private static final String SQL = "SELECT id FROM t_user WHERE age > ? ORDER BY id";
+
+    @Test
+    public void testMySql() {
+        assertModel(new MySqlDialect(), SQL + " LIMIT ?,?", 20, 10);
+    }
+
+    @Test
+    public void testMariaDB() {
+        assertModel(new MariaDBDialect(), SQL + " LIMIT ?,?", 20, 10);
+    }
+
+    @Test
+    public void testOracle() {
+        assertModel(new OracleDialect(), "SELECT * FROM ( SELECT TMP.*, ROWNUM ROW_ID FROM ( " + SQL
+            + " ) TMP WHERE ROWNUM <= ?) WHERE ROW_ID > ?", 30, 20);
+    }
+
+    @Test
+    public void testDm() {
+        assertModel(new DmDialect(), "SELECT * FROM ( SELECT TMP.*, ROWNUM ROW_ID FROM ( " + SQL
+            + " ) TMP WHERE ROWNUM <= ?) WHERE ROW_ID > ?", 30, 20);
+    }
+
+    @Test
+    public void testDB2() {
+        assertModel(new DB2Dialect(), "select * from ( select rownumber() over(ORDER BY id) as rownumber_,"
+            + " id FROM t_user WHERE age > ? ORDER BY id ) as temp_ where rownumber_ between ? and ?", 21, 30);
+        // 第一页 fetch first 使用字面量
+        DialectModel model = new DB2Dialect().buildPaginationModel(SQL, 0, 10);
+        Assert.assertEquals(SQL + " fetch first 10 rows only", model.getDialectSql());
+        Assert.assertEquals(0, model.getParameters().length);
+    }
+
+    @Test
+    public void testH2() {
+        assertModel(new H2Dialect(), SQL + " limit ? offset ?", 10, 20);
+    }
+
+    @Test
+    public void testHSQL() {
+        assertModel(new HSQLDialect(), SQL + " limit ?,?", 20, 10);
+    }
+
+    @Test
+    public void testPostgre() {
+        assertModel(new PostgreDialect(), SQL + " limit ? offset ?", 10, 20);
+    }
+
+    @Test
+    public void testSQLite() {
+        assertModel(new SQLiteDialect(), SQL + " limit ? offset ?", 10, 20);
+    }
+
+    @Test
+    public void testSQLServer() {
+        assertModel(new SQLServerDialect(), SQL + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", 20, 10);
+    }
+
+    @Test
+    public void testSQLServer2005() {
+        assertModel(new SQLServer2005Dialect(), "WITH selectTemp AS (SELECT TOP 100 PERCENT  ROW_NUMBER()"
+            + " OVER (ORDER BY id) as __row_number__,  id FROM t_user WHERE age > ? ORDER BY id) SELECT * FROM"
+            + " selectTemp WHERE __row_number__ BETWEEN ? AND ? ORDER BY __row_number__", 21, 30);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedDialect() {
+        // 旧方言只实现字面量语句，无占位参数
+        IDialect legacy = new IDialect() {
+            @Override
+            public String buildPaginationSql(String originalSql, long offset, long limit) {
+                return originalSql + " LIMIT " + offset + "," + limit;
+            }
+        };
+        DialectModel model = legacy.buildPaginationModel(SQL, 20, 10);
+        Assert.assertEquals(SQL + " LIMIT 20,10", model.getDialectSql());
+        Assert.assertEquals(0, model.getParameters().length);
+        // 新方言的字面量语句只替换分页占位，原语句中的 ? 保留
+        Assert.assertEquals(SQL + " LIMIT 20,10", new MySqlDialect().buildPaginationSql(SQL, 20, 10));
+        Assert.assertEquals("SELECT * FROM ( SELECT TMP.*, ROWNUM ROW_ID FROM ( " + SQL
+                + " ) TMP WHERE ROWNUM <= 30) WHERE ROW_ID > 20",
+            new OracleDialect().buildPaginationSql(SQL, 20, 10));
+    }
+
+    private static void assertModel(IDialect dialect, String expectedSql, long... expectedParameters) {
+        DialectModel model = dialect.buildPaginationModel(SQL, 20, 10);
+        Assert.assertEquals(expectedSql, model.getDialectSql());
+        Assert.assertArrayEquals(expectedParameters, model.getParameters());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.service.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.Environment;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sooner.framework.jdbc.annotation.IdType;
+import com.sooner.framework.jdbc.annotation.TableId;
+import com.sooner.framework.jdbc.annotation.TableName;
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.mapper.BaseMapper;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+
+/**
+ * <p>
+ * saveOrUpdateBatch 按主键探测结果分为插入与更新两个批次（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class ServiceImplTest {
+
+    private static DataSource dataSource;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = H2Fixture.dataSource("service_impl",
+            "CREATE TABLE t_batch (id BIGINT PRIMARY KEY, name VARCHAR(30), age INT)");
+        MybatisConfiguration configuration = H2Fixture.configuration(dataSource);
+        // 批量 SqlSession 不自行提交，由 Spring 事务提交
+        configuration.setEnvironment(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.addMapper(BatchMapper.class);
+        H2Fixture.sqlSessionFactory(configuration);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    public void testSaveOrUpdateBatch() throws SQLException {
+        H2Fixture.execute(dataSource, "INSERT INTO t_batch VALUES (1, 'old1', 1)",
+            "INSERT INTO t_batch VALUES (2, 'old2', 2)", "INSERT INTO t_batch VALUES (3, 'old3', 3)");
+        List<BatchEntity> entityList = new ArrayList<>();
+        entityList.add(new BatchEntity(1L, "update1", null));
+        entityList.add(new BatchEntity(null, "insertNull1", 11));
+        entityList.add(new BatchEntity(10L, "insert10", 10));
+        entityList.add(new BatchEntity(3L, "update3", 33));
+        entityList.add(new BatchEntity(null, "insertNull2", 12));
+        // 同批次重复的新主键先插入后更新
+        entityList.add(new BatchEntity(20L, "insert20", 20));
+        entityList.add(new BatchEntity(20L, "update20", null));
+        BatchService service = new BatchService();
+        transactionTemplate.execute(status -> service.saveOrUpdateBatch(entityList, 4));
+
+        Assert.assertTrue(entityList.stream().allMatch(i -> null != i.getId()));
+        Assert.assertEquals(7, H2Fixture.queryForLong(dataSource, "SELECT COUNT(1) FROM t_batch"));
+        // updateById 忽略空字段
+        Assert.assertEquals("update1|1", row("id = 1"));
+        Assert.assertEquals("old2|2", row("id = 2"));
+        Assert.assertEquals("update3|33", row("id = 3"));
+        Assert.assertEquals("insert10|10", row("id = 10"));
+        Assert.assertEquals("update20|20", row("id = 20"));
+        Assert.assertEquals("insertNull1|11", row("id = " + entityList.get(1).getId()));
+        Assert.assertEquals("insertNull2|12", row("id = " + entityList.get(4).getId()));
+    }
+
+    @Test
+    public void testRollback() throws SQLException {
+        BatchService service = new BatchService();
+        try {
+            transactionTemplate.execute(status -> service.saveOrUpdateBatch(Arrays.asList(
+                new BatchEntity(100L, "ok", 1), new BatchEntity(101L, null, null),
+                new BatchEntity(102L, "tooLongNameForTheColumnWidthLimit", 1)), 2));
+            Assert.fail("value too long");
+        } catch (Exception e) {
+            // 第二个批次失败，整个事务回滚
+        }
+        Assert.assertEquals(0, H2Fixture.queryForLong(dataSource, "SELECT COUNT(1) FROM t_batch WHERE id IN (100, 101, 102)"));
+    }
+
+    private static String row(String where) throws SQLException {
+        return String.valueOf(H2Fixture.queryForObject(dataSource,
+            "SELECT CONCAT_WS('|', name, age) FROM t_batch WHERE " + where));
+    }
+
+    public static class BatchService extends ServiceImpl<BatchMapper, BatchEntity> {
+    }
+
+    public interface BatchMapper extends BaseMapper<BatchEntity> {
+    }
+
+    @TableName("t_batch")
+    public static class BatchEntity {
+
+        @TableId(type = IdType.ID_WORKER)
+        private Long id;
+        private String name;
+        private Integer age;
+
+        public BatchEntity() {
+        }
+
+        BatchEntity(Long id, String name, Integer age) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
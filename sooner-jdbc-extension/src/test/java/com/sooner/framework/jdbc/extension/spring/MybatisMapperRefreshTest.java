@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.spring;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.core.toolkit.GlobalConfigUtils;
+
+/**
+ * <p>
+ * Mapper xml 热加载测试，修改、新增、删除 xml 后检查 Configuration
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class MybatisMapperRefreshTest {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private MybatisConfiguration configuration;
+    private MybatisMapperRefresh mapperRefresh;
+
+    @Before
+    public void setUp() throws SQLException {
+        configuration = H2Fixture.configuration(H2Fixture.dataSource("mapper_refresh"));
+    }
+
+    @After
+    public void tearDown() {
+        if (mapperRefresh != null) {
+            mapperRefresh.close();
+        }
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        File userXml = write("UserMapper.xml", "refresh.user",
+            "<select id=\"selectName\" resultType=\"string\">SELECT name FROM t_user</select>",
+            "<select id=\"selectAge\" resultType=\"int\">SELECT age FROM t_user</select>");
+        Resource resource = new FileSystemResource(userXml);
+        new XMLMapperBuilder(resource.getInputStream(), configuration, resource.toString(),
+            configuration.getSqlFragments()).parse();
+        SqlSessionFactory sqlSessionFactory = H2Fixture.sqlSessionFactory(configuration);
+        mapperRefresh = new MybatisMapperRefresh(new Resource[]{resource}, sqlSessionFactory, 0, 0, true);
+        mapperRefresh.setDebounceMillis(100);
+        await(() -> GlobalConfigUtils.isRefresh(configuration));
+        Assert.assertEquals("SELECT name FROM t_user", sql("refresh.user.selectName"));
+
+        // 修改语句、新增语句、删除语句
+        write("UserMapper.xml", "refresh.user",
+            "<select id=\"selectName\" resultType=\"string\">SELECT name FROM t_user WHERE id = 1</select>",
+            "<select id=\"selectCount\" resultType=\"long\">SELECT COUNT(1) FROM t_user</select>");
+        await(() -> configuration.hasStatement("refresh.user.selectCount", false));
+        Assert.assertEquals("SELECT name FROM t_user WHERE id = 1", sql("refresh.user.selectName"));
+        Assert.assertFalse(configuration.hasStatement("refresh.user.selectAge", false));
+
+        // 新增 xml
+        File orderXml = write("OrderMapper.xml", "refresh.order",
+            "<select id=\"selectId\" resultType=\"long\">SELECT id FROM t_order</select>");
+        await(() -> configuration.hasStatement("refresh.order.selectId", false));
+        Assert.assertEquals("SELECT id FROM t_order", sql("refresh.order.selectId"));
+        Assert.assertTrue(configuration.isResourceLoaded(new FileSystemResource(orderXml).toString()));
+
+        // 删除 xml
+        Assert.assertTrue(orderXml.delete());
+        await(() -> !configuration.hasStatement("refresh.order.selectId", false));
+        Assert.assertFalse(configuration.isResourceLoaded(new FileSystemResource(orderXml).toString()));
+        Assert.assertEquals("SELECT name FROM t_user WHERE id = 1", sql("refresh.user.selectName"));
+    }
+
+    private File write(String name, String namespace, String... statements) throws IOException {
+        StringBuilder xml = new StringBuilder(HEADER).append("<mapper namespace=\"").append(namespace).append("\">\n");
+        for (String statement : statements) {
+            xml.append(statement).append('\n');
+        }
+        xml.append("</mapper>\n");
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), xml.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private String sql(String id) {
+        MappedStatement ms = configuration.getMappedStatement(id, false);
+        return ms.getBoundSql(null).getSql();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("refresh timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
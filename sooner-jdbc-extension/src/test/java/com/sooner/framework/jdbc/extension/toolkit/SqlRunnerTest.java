@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2020, hubin (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.sooner.framework.jdbc.extension.toolkit;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sooner.framework.jdbc.core.MybatisConfiguration;
+import com.sooner.framework.jdbc.core.metadata.IPage;
+import com.sooner.framework.jdbc.core.test.H2Fixture;
+import com.sooner.framework.jdbc.extension.plugins.PaginationInterceptor;
+import com.sooner.framework.jdbc.extension.plugins.pagination.Page;
+
+/**
+ * <p>
+ * SqlRunner 预编译模式测试（H2）
+ * </p>
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public class SqlRunnerTest {
+
+    private static DataSource dataSource;
+    private static MybatisConfiguration configuration;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        dataSource = H2Fixture.dataSource("sql_runner",
+            "CREATE TABLE t_runner (id BIGINT PRIMARY KEY, name VARCHAR(30), age INT)");
+        configuration = H2Fixture.configuration(dataSource);
+        configuration.addInterceptor(new PaginationInterceptor());
+        H2Fixture.sqlSessionFactory(configuration);
+        for (int i = 1; i <= 10; i++) {
+            Assert.assertTrue(SqlRunner.prepared().insert("INSERT INTO t_runner VALUES ({0}, {1}, {2})",
+                i, "name" + i, i * 10));
+        }
+        SqlRunner.prepared().insert("INSERT INTO t_runner VALUES ({0}, '{1}', {1})", 11, 0);
+    }
+
+    @Before
+    public void setUp() {
+        // SqlRunner 使用全局 SqlSessionFactory，其他测试类可能已替换
+        H2Fixture.sqlSessionFactory(configuration);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSelectPage() {
+        IPage<Map<String, Object>> page = SqlRunner.prepared().selectPage(new Page<>(2, 3),
+            "SELECT id, name FROM t_runner WHERE age > {0} ORDER BY id", 20);
+        Assert.assertEquals(8, page.getTotal());
+        Assert.assertEquals(3, page.getPages());
+        Assert.assertEquals(Arrays.asList(6L, 7L, 8L), ids(page.getRecords()));
+
+        // 集合参数展开后分页参数仍按顺序绑定
+        page = SqlRunner.prepared().selectPage(new Page<>(2, 1),
+            "SELECT id FROM t_runner WHERE id IN {0} AND age > {1} ORDER BY id", Arrays.asList(2L, 9L, 10L, 11L), 20);
+        Assert.assertEquals(2, page.getTotal());
+        Assert.assertEquals(Arrays.asList(10L), ids(page.getRecords()));
+    }
+
+    @Test
+    public void testQuotedPlaceholder() {
+        // 字符串字面量中的 {1} 不作为参数
+        List<Object> ids = SqlRunner.prepared().selectObjs(
+            "SELECT id FROM t_runner WHERE name = '{1}' OR name = {0} ORDER BY id", "name3", "ignored");
+        Assert.assertEquals(Arrays.asList(3L, 11L), ids);
+        Assert.assertEquals(1, SqlRunner.prepared().selectCount(
+            "SELECT COUNT(1) FROM t_runner WHERE name = 'it''s {0}' OR id = {0}", 5L));
+    }
+
+    private static List<Long> ids(List<Map<String, Object>> records) {
+        return records.stream().map(i -> ((Number) i.get("ID")).longValue()).collect(Collectors.toList());
+    }
+}